@@ -3,6 +3,12 @@ package com.guicedee.persistence;
 import com.fasterxml.jackson.annotation.*;
 import com.google.common.base.Strings;
 import com.guicedee.client.IGuiceContext;
+import com.guicedee.persistence.metrics.QueryCatalogOptions;
+import com.guicedee.persistence.metrics.QueryMetricsOptions;
+import com.guicedee.persistence.pool.CircuitBreakerOptions;
+import com.guicedee.persistence.pool.ConnectionRecyclingOptions;
+import com.guicedee.persistence.pool.ConnectionValidationOptions;
+import com.guicedee.persistence.pool.PoolTuningOptions;
 import io.vertx.sqlclient.SqlClient;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -96,6 +102,24 @@ public abstract class ConnectionBaseInfo
 
 	private String testQuery;
 
+	private Integer reconnectAttempts;
+	private Integer reconnectInterval;
+
+	private CircuitBreakerOptions circuitBreaker;
+
+	private ConnectionValidationOptions connectionValidation;
+
+	private QueryMetricsOptions queryMetrics;
+
+	private QueryCatalogOptions queryCatalog;
+
+	private PoolTuningOptions poolTuning;
+
+	private ConnectionRecyclingOptions connectionRecycling;
+
+	private String poolName;
+	private Boolean reconfigurablePool;
+
 	private String serverInstanceNameProperty;
 
 	private final Map<String, String> customProperties = new HashMap<>();
@@ -513,6 +537,267 @@ public abstract class ConnectionBaseInfo
 		return this;
 	}
 
+	/**
+	 * The number of times the Vert.x client attempts to reconnect a dropped connection before failing. When not set the vendor
+	 * default of the Vert.x client applies.
+	 *
+	 * @return
+	 */
+	public Integer getReconnectAttempts()
+	{
+		return reconnectAttempts;
+	}
+
+	/**
+	 * The number of times the Vert.x client attempts to reconnect a dropped connection before failing. When not set the vendor
+	 * default of the Vert.x client applies.
+	 *
+	 * @param reconnectAttempts
+	 * @return
+	 */
+	public ConnectionBaseInfo setReconnectAttempts(Integer reconnectAttempts)
+	{
+		this.reconnectAttempts = reconnectAttempts;
+		return this;
+	}
+
+	/**
+	 * The interval (in milliseconds) between reconnect attempts.
+	 *
+	 * @return
+	 */
+	public Integer getReconnectInterval()
+	{
+		return reconnectInterval;
+	}
+
+	/**
+	 * The interval (in milliseconds) between reconnect attempts.
+	 *
+	 * @param reconnectInterval
+	 * @return
+	 */
+	public ConnectionBaseInfo setReconnectInterval(Integer reconnectInterval)
+	{
+		this.reconnectInterval = reconnectInterval;
+		return this;
+	}
+
+	/**
+	 * The circuit breaker settings guarding the pool and session factory of this persistence unit.
+	 * When not set the {@link CircuitBreakerOptions} defaults are used.
+	 *
+	 * @return
+	 */
+	public CircuitBreakerOptions getCircuitBreaker()
+	{
+		return circuitBreaker;
+	}
+
+	/**
+	 * The circuit breaker settings guarding the pool and session factory of this persistence unit.
+	 *
+	 * @param circuitBreaker
+	 * @return
+	 */
+	public ConnectionBaseInfo setCircuitBreaker(CircuitBreakerOptions circuitBreaker)
+	{
+		this.circuitBreaker = circuitBreaker;
+		return this;
+	}
+
+	/**
+	 * The background validation settings for idle connections of this persistence unit.
+	 * When not set the {@link ConnectionValidationOptions} defaults are used.
+	 *
+	 * @return
+	 */
+	public ConnectionValidationOptions getConnectionValidation()
+	{
+		return connectionValidation;
+	}
+
+	/**
+	 * The background validation settings for idle connections of this persistence unit.
+	 *
+	 * @param connectionValidation
+	 * @return
+	 */
+	public ConnectionBaseInfo setConnectionValidation(ConnectionValidationOptions connectionValidation)
+	{
+		this.connectionValidation = connectionValidation;
+		return this;
+	}
+
+	/**
+	 * The query latency statistics settings of this persistence unit.
+	 * When not set the {@link QueryMetricsOptions} defaults are used.
+	 *
+	 * @return
+	 */
+	public QueryMetricsOptions getQueryMetrics()
+	{
+		return queryMetrics;
+	}
+
+	/**
+	 * The query latency statistics settings of this persistence unit.
+	 *
+	 * @param queryMetrics
+	 * @return
+	 */
+	public ConnectionBaseInfo setQueryMetrics(QueryMetricsOptions queryMetrics)
+	{
+		this.queryMetrics = queryMetrics;
+		return this;
+	}
+
+	/**
+	 * The recorded statement catalog settings of this persistence unit, prepared again at startup.
+	 * When not set no catalog is recorded.
+	 *
+	 * @return
+	 */
+	public QueryCatalogOptions getQueryCatalog()
+	{
+		return queryCatalog;
+	}
+
+	/**
+	 * The recorded statement catalog settings of this persistence unit, prepared again at startup.
+	 *
+	 * @param queryCatalog
+	 * @return
+	 */
+	public ConnectionBaseInfo setQueryCatalog(QueryCatalogOptions queryCatalog)
+	{
+		this.queryCatalog = queryCatalog;
+		return this;
+	}
+
+	/**
+	 * The event loop, wait queue, cleaner and sharing settings of the pool of this persistence unit.
+	 * When not set the {@link PoolTuningOptions} defaults are used.
+	 *
+	 * @return
+	 */
+	public PoolTuningOptions getPoolTuning()
+	{
+		return poolTuning;
+	}
+
+	/**
+	 * The event loop, wait queue, cleaner and sharing settings of the pool of this persistence unit.
+	 *
+	 * @param poolTuning
+	 * @return
+	 */
+	public ConnectionBaseInfo setPoolTuning(PoolTuningOptions poolTuning)
+	{
+		this.poolTuning = poolTuning;
+		return this;
+	}
+
+	/**
+	 * The staggered recycling settings of the pool of this persistence unit.
+	 * When not set connections are retired by the pool's own {@code maxLifeTime}.
+	 *
+	 * @return
+	 */
+	public ConnectionRecyclingOptions getConnectionRecycling()
+	{
+		return connectionRecycling;
+	}
+
+	/**
+	 * The staggered recycling settings of the pool of this persistence unit.
+	 *
+	 * @param connectionRecycling
+	 * @return
+	 */
+	public ConnectionBaseInfo setConnectionRecycling(ConnectionRecyclingOptions connectionRecycling)
+	{
+		this.connectionRecycling = connectionRecycling;
+		return this;
+	}
+
+	/**
+	 * The name of the shared Vert.x pool. Defaults to the persistence unit name; a reconfigured pool gets a new name so Vert.x
+	 * does not hand back the existing shared instance.
+	 *
+	 * @return
+	 */
+	public String getPoolName()
+	{
+		return poolName != null ? poolName : persistenceUnitName;
+	}
+
+	/**
+	 * The name of the shared Vert.x pool
+	 *
+	 * @param poolName
+	 * @return
+	 */
+	public ConnectionBaseInfo setPoolName(String poolName)
+	{
+		this.poolName = poolName;
+		return this;
+	}
+
+	/**
+	 * If Hibernate Reactive should borrow from the registered Vert.x pool of this persistence unit, so the pool can be
+	 * swapped at runtime through {@link com.guicedee.persistence.pool.PoolReconfigurer}
+	 *
+	 * @return
+	 */
+	public Boolean getReconfigurablePool()
+	{
+		return reconfigurablePool;
+	}
+
+	/**
+	 * If Hibernate Reactive should borrow from the registered Vert.x pool of this persistence unit
+	 *
+	 * @param reconfigurablePool
+	 * @return
+	 */
+	public ConnectionBaseInfo setReconfigurablePool(Boolean reconfigurablePool)
+	{
+		this.reconfigurablePool = reconfigurablePool;
+		return this;
+	}
+
+	/**
+	 * Returns the statement used to check that a pooled connection is still alive.
+	 * <p>
+	 * The configured {@link #getTestQuery()} wins. Otherwise, when {@link #getEnableJdbc4ConnectionTest()} is set, the cheapest
+	 * round-trip statement for the database is used, as the Vert.x clients have no driver-level isValid() check.
+	 *
+	 * @return the validation statement, or null when connection validation is not configured
+	 */
+	public String getValidationQuery()
+	{
+		if (!Strings.isNullOrEmpty(testQuery))
+		{
+			return testQuery;
+		}
+		if (Boolean.TRUE.equals(enableJdbc4ConnectionTest))
+		{
+			return getDefaultValidationQuery();
+		}
+		return null;
+	}
+
+	/**
+	 * The lightest statement the database answers, used when no test query is configured
+	 *
+	 * @return
+	 */
+	protected String getDefaultValidationQuery()
+	{
+		return "SELECT 1";
+	}
+
 	/**
 	 * Gets the jndi name
 	 *
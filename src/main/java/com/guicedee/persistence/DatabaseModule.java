@@ -12,6 +12,9 @@ import com.guicedee.persistence.annotations.EntityManager;
 import com.guicedee.persistence.bind.JtaPersistModule;
 import com.guicedee.persistence.bind.JtaPersistService;
 import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.persistence.pool.DrainablePool;
+import com.guicedee.persistence.pool.ReconfigurableSqlClientPool;
+import com.guicedee.persistence.pool.RecyclingPool;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.Vertx;
 import jakarta.validation.constraints.NotNull;
@@ -92,7 +95,23 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
         // runOnContext places us on an event-loop; executeBlocking from that context
         // then runs the blocking work on a worker thread that still has a valid Context.
         JtaPersistService ps = (JtaPersistService) IGuiceContext.get(Key.get(PersistService.class, Names.named(getPersistenceUnitName())));
-        return List.of(ps.start().replaceWith(true)
+        return List.of(ps.start()
+                .call(() -> {
+                    // Prepare the recorded statements on warmed connections before the unit reports ready
+                    var catalog = VertxPersistenceModule.getQueryCatalogs().get(getPersistenceUnitName());
+                    if (catalog == null) {
+                        return Uni.createFrom().voidItem();
+                    }
+                    return catalog.warmUp()
+                            .invoke(() -> catalog.start(com.guicedee.vertx.spi.VertXPreStartup.getVertx()));
+                })
+                .invoke(() -> {
+                    var validator = VertxPersistenceModule.getConnectionValidators().get(getPersistenceUnitName());
+                    if (validator != null) {
+                        validator.start(com.guicedee.vertx.spi.VertXPreStartup.getVertx());
+                    }
+                })
+                .replaceWith(true)
                 .onFailure().invoke(t -> log.error("❌ Failed to start PersistService for PU '{}': {}", getPersistenceUnitName(), t.getMessage(), t))
         );
     }
@@ -151,6 +170,13 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
             }
             log.info("💾 {} - Connection Base Info Final - {}", getPersistenceUnitName(), connectionBaseInfo);
             connectionBaseInfo.setPersistenceUnitName(getPersistenceUnitName());
+            // Let Hibernate Reactive borrow from the registered pool so it follows live pool swaps, context partitions and recycled slices
+            if (DrainablePool.appliesTo(connectionBaseInfo)
+                    && connectionBaseInfo.isReactive()
+                    && !jdbcProperties.containsKey("hibernate.vertx.pool.class")) {
+                jdbcProperties.put("hibernate.vertx.pool.class", ReconfigurableSqlClientPool.class.getName());
+                jdbcProperties.put(ReconfigurableSqlClientPool.PERSISTENCE_UNIT_PROPERTY, getPersistenceUnitName());
+            }
             // Pre-initialize a shared, named Vert.x SQL pool as early as possible so HR can reuse it
             // We try hard to execute this on a Vert.x event-loop, but also provide safe fallbacks
             try {
@@ -163,8 +189,9 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
                     vertx.runOnContext(v -> {
                         try {
                             log.info("[DB-POOL-INIT] runOnContext executing for PU='{}' on thread='{}'", puName, Thread.currentThread().getName());
-                            io.vertx.sqlclient.SqlClient client = connectionBaseInfo.toPooledDatasource();
+                            io.vertx.sqlclient.SqlClient client = RecyclingPool.create(connectionBaseInfo);
                             if (client != null) {
+                                registerPool(puName, client);
                                 log.info("[DB-POOL-INIT] runOnContext pool init complete for PU='{}'", puName);
                             } else {
                                 log.warn("[DB-POOL-INIT] runOnContext pool init returned null for PU='{}'", puName);
@@ -179,8 +206,9 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
                         vertx.setTimer(0, id -> {
                             try {
                                 log.info("[DB-POOL-INIT] setTimer(0) executing for PU='{}' on thread='{}'", puName, Thread.currentThread().getName());
-                                io.vertx.sqlclient.SqlClient client = connectionBaseInfo.toPooledDatasource();
+                                io.vertx.sqlclient.SqlClient client = RecyclingPool.create(connectionBaseInfo);
                                 if (client != null) {
+                                    registerPool(puName, client);
                                     log.info("[DB-POOL-INIT] setTimer(0) pool init complete for PU='{}'", puName);
                                 } else {
                                     log.warn("[DB-POOL-INIT] setTimer(0) pool init returned null for PU='{}'", puName);
@@ -197,8 +225,9 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
                     // and our implementation sets shared+name so HR can still reuse it.
                     try {
                         log.info("[DB-POOL-INIT] Vert.x not ready; performing immediate fallback pool init for PU='{}' on thread='{}'", puName, Thread.currentThread().getName());
-                        io.vertx.sqlclient.SqlClient client = connectionBaseInfo.toPooledDatasource();
+                        io.vertx.sqlclient.SqlClient client = RecyclingPool.create(connectionBaseInfo);
                         if (client != null) {
+                            registerPool(puName, client);
                             log.info("[DB-POOL-INIT] Immediate fallback pool init complete for PU='{}'", puName);
                         } else {
                             log.warn("[DB-POOL-INIT] Immediate fallback pool init returned null for PU='{}'", puName);
@@ -224,6 +253,19 @@ public abstract class DatabaseModule<J extends DatabaseModule<J>>
         }
     }
 
+    /**
+     * Registers a pre-initialized pool, closing the handle when another init path already registered one.
+     *
+     * @param puName the persistence unit name
+     * @param client the pool created for the unit
+     */
+    private static void registerPool(String puName, io.vertx.sqlclient.SqlClient client) {
+        var existing = VertxPersistenceModule.getSqlClientMap().putIfAbsent(puName, client);
+        if (existing != null && existing != client) {
+            client.close();
+        }
+    }
+
     /**
      * Returns the persistence unit name as defined in persistence.xml.
      *
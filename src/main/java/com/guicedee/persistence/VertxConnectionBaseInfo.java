@@ -1,6 +1,7 @@
 package com.guicedee.persistence;
 
 import com.guicedee.client.IGuiceContext;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.core.Vertx;
 import lombok.extern.log4j.Log4j2;
@@ -8,6 +9,7 @@ import lombok.extern.log4j.Log4j2;
 import java.lang.reflect.Method;
 import java.util.Map;
 
+import io.vertx.sqlclient.PoolOptions;
 import io.vertx.sqlclient.SqlClient;
 
 /**
@@ -106,16 +108,8 @@ public class VertxConnectionBaseInfo
 				}
 			}
 
-			// Set idle timeout
-			if (getMaxIdleTime() != null) {
-				try {
-					Method setIdleTimeoutMethod = sqlConnectOptionsClass.getMethod("setIdleTimeout", int.class);
-					// Convert seconds to milliseconds
-					setIdleTimeoutMethod.invoke(connectOptions, getMaxIdleTime() * 1000);
-				} catch (Exception e) {
-					log.error("Error setting idle timeout", e);
-				}
-			}
+			// Set idle timeout, in seconds
+			PoolOptionsCompiler.applyIdleTimeout(connectOptions, this);
 
 			// Set transaction isolation level if specified
 			if (getTransactionIsolation() != null) {
@@ -162,82 +156,12 @@ public class VertxConnectionBaseInfo
 			}
 
 			// Configure pool options
-			Class<?> poolOptionsClass;
-			Object poolOptions;
-			try {
-				poolOptionsClass = Class.forName("io.vertx.sqlclient.PoolOptions");
-				poolOptions = poolOptionsClass.getDeclaredConstructor().newInstance();
-			} catch (Exception e) {
-				log.error("Error creating PoolOptions", e);
-				return null;
-			}
-
-			// Set pool size limits
-			if (getMaxPoolSize() != null) {
-				try {
-					Method setMaxSizeMethod = poolOptionsClass.getMethod("setMaxSize", int.class);
-					setMaxSizeMethod.invoke(poolOptions, getMaxPoolSize());
-				} catch (Exception e) {
-					log.error("Error setting max pool size", e);
-				}
-			}
-
-			if (getMinPoolSize() != null) {
-				try {
-					Method setMinSizeMethod = poolOptionsClass.getMethod("setMinSize", int.class);
-					setMinSizeMethod.invoke(poolOptions, getMinPoolSize());
-				} catch (NoSuchMethodException e) {
-					// Min size might not be supported in all versions, ignore if method not found
-					log.debug("Min size method not found in PoolOptions, skipping");
-				} catch (Exception e) {
-					log.error("Error setting min pool size", e);
-				}
-			}
-
-			// Set max wait queue size if acquire increment is specified
-			if (getAcquireIncrement() != null) {
-				try {
-					Method setMaxWaitQueueSizeMethod = poolOptionsClass.getMethod("setMaxWaitQueueSize", int.class);
-					setMaxWaitQueueSizeMethod.invoke(poolOptions, getAcquireIncrement());
-				} catch (NoSuchMethodException e) {
-					// Max wait queue size might not be supported in all versions, ignore if method not found
-					log.debug("Max wait queue size method not found in PoolOptions, skipping");
-				} catch (Exception e) {
-					log.error("Error setting max wait queue size", e);
-				}
-			}
-
-			// Set connection lifetime
-			if (getMaxLifeTime() != null) {
-				try {
-					Method setMaxLifetimeMethod = poolOptionsClass.getMethod("setMaxLifetime", int.class);
-					// Convert seconds to milliseconds
-					setMaxLifetimeMethod.invoke(poolOptions, getMaxLifeTime() * 1000);
-				} catch (NoSuchMethodException e) {
-					// Max lifetime might not be supported in all versions, ignore if method not found
-					log.debug("Max lifetime method not found in PoolOptions, skipping");
-				} catch (Exception e) {
-					log.error("Error setting max lifetime", e);
-				}
-			}
-
-			// Set connection test query if specified
-			if (getTestQuery() != null && !getTestQuery().isEmpty()) {
-				try {
-					Method setConnectionTestQueryMethod = poolOptionsClass.getMethod("setConnectionTestQuery", String.class);
-					setConnectionTestQueryMethod.invoke(poolOptions, getTestQuery());
-				} catch (NoSuchMethodException e) {
-					// Connection test query might not be supported in all versions, ignore if method not found
-					log.debug("Connection test query method not found in PoolOptions, skipping");
-				} catch (Exception e) {
-					log.error("Error setting connection test query", e);
-				}
-			}
+			PoolOptions poolOptions = PoolOptionsCompiler.compile(this, "vertx-default");
 
 			// Create the pool
 			try {
 				Class<?> poolClass = Class.forName("io.vertx.sqlclient.Pool");
-				Method poolMethod = poolClass.getMethod("pool", Vertx.class, sqlConnectOptionsClass, poolOptionsClass);
+				Method poolMethod = poolClass.getMethod("pool", Vertx.class, sqlConnectOptionsClass, PoolOptions.class);
 				Object client = poolMethod.invoke(null, vertx, connectOptions, poolOptions);
 				return (SqlClient) client;
 			} catch (Exception e) {
@@ -1,15 +1,18 @@
 package com.guicedee.persistence;
+import com.guicedee.persistence.metrics.QueryMetricsTracer;
 import com.guicedee.vertx.spi.*;
 import io.vertx.core.VertxBuilder;
 
 /**
  * Vert.x configuration hook used by the persistence module.
- * Keeps the builder available for future customizations without forcing defaults.
+ * Installs the {@link QueryMetricsTracer} so SQL client queries are recorded per persistence unit, only when
+ * {@link QueryMetricsTracer#isRequired()}; otherwise the builder and any tracer the application set on it are left alone.
  */
 public class VertxVerticalPersistenceConfiguration implements VertxConfigurator
 {
     /**
-     * Returns the provided builder after optional customization.
+     * Returns the provided builder, with the query metrics tracer installed in front of the application's tracer when
+     * query metrics are switched on.
      *
      * @param builder the Vert.x builder passed in by the runtime
      * @return the same builder instance for chaining
@@ -18,9 +21,13 @@ public class VertxVerticalPersistenceConfiguration implements VertxConfigurator
     public VertxBuilder builder(VertxBuilder builder)
     {
         /*builder.withMetrics()
-                .withTracer()
                 .withTransport()
                 .withClusterManager()*/
+        if (!QueryMetricsTracer.isRequired())
+        {
+            return builder;
+        }
+        builder.withTracer(QueryMetricsTracer.factory());
         return builder;
     }
 }
@@ -0,0 +1,45 @@
+package com.guicedee.persistence.annotations;
+
+/**
+ * Signals that a single operation of a bulk write batch was rejected by the database, or was not executed because an
+ * earlier operation of an ordered batch failed.
+ */
+public class BulkWriteOperationException
+		extends RuntimeException
+{
+	private final int code;
+
+	/**
+	 * Creates a new exception for an operation the database rejected.
+	 *
+	 * @param message the detail message
+	 * @param code the database error code, or -1 when the operation was not executed
+	 */
+	public BulkWriteOperationException(String message, int code)
+	{
+		super(message);
+		this.code = code;
+	}
+
+	/**
+	 * Creates a new exception for an operation that failed together with its batch.
+	 *
+	 * @param message the detail message
+	 * @param cause the underlying cause
+	 */
+	public BulkWriteOperationException(String message, Throwable cause)
+	{
+		super(message, cause);
+		this.code = -1;
+	}
+
+	/**
+	 * Returns the database error code of the failed operation
+	 *
+	 * @return the error code, or -1 when the operation was not executed or the whole batch failed
+	 */
+	public int getCode()
+	{
+		return code;
+	}
+}
@@ -0,0 +1,29 @@
+package com.guicedee.persistence.annotations;
+
+/**
+ * Signals that a call was short-circuited because the persistence unit's circuit breaker is open.
+ */
+public class CircuitBreakerOpenException
+		extends RuntimeException
+{
+	/**
+	 * Creates a new exception with a detail message.
+	 *
+	 * @param message the detail message
+	 */
+	public CircuitBreakerOpenException(String message)
+	{
+		super(message, null, false, false);
+	}
+
+	/**
+	 * Creates a new exception with a detail message and cause.
+	 *
+	 * @param message the detail message
+	 * @param cause the underlying cause
+	 */
+	public CircuitBreakerOpenException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
@@ -0,0 +1,291 @@
+package com.guicedee.persistence.bind;
+
+import com.guicedee.persistence.metrics.QueryCatalog;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryEngine;
+import org.hibernate.stat.Statistics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles the HQL of a persistence unit into Hibernate's query interpretation cache in the background after boot.
+ * <p>
+ * {@code hibernate.query.startup_check=false}, set by
+ * {@link com.guicedee.persistence.implementations.hibernateproperties.HibernateEntityManagerProperties#enableQuickestBoot()},
+ * saves boot time, but each HQL string is then parsed into its SQM tree by the first request that runs it. With
+ * {@value #PRECOMPILE_PROPERTY}{@code =true} the persist service hands the factory to this class once it has started,
+ * and a worker thread resolves every named query, every {@link #register(String, Class) registered} query and every
+ * query recorded by the previous run through the interpretation cache, so requests find them already compiled.
+ * <p>
+ * SQM trees are not serializable, so the catalog kept in {@code <directory>/<unit>.hql} holds the query strings and
+ * their result types, which are compiled again at the next boot. It is written when the persist service stops and also
+ * includes the queries Hibernate statistics saw, when {@code hibernate.generate_statistics} is on. Queries that no
+ * longer compile are dropped from it. Named queries are compiled without a result type, which is the key Hibernate
+ * uses for {@code createNamedQuery(name)}.
+ */
+@Log4j2
+public class HqlPrecompiler {
+
+    /**
+     * The persistence property enabling background precompilation
+     */
+    public static final String PRECOMPILE_PROPERTY = "hibernate.vertx.query.precompile";
+
+    /**
+     * The persistence property naming the directory the query catalogs are kept in
+     */
+    public static final String DIRECTORY_PROPERTY = "hibernate.vertx.query.precompile-directory";
+
+    /**
+     * The directory the query catalogs are kept in when none is configured
+     */
+    public static final String DEFAULT_DIRECTORY = ".guicedee/hql-catalog";
+
+    private static final String UNTYPED = "-";
+
+    private final String persistenceUnitName;
+    private final boolean enabled;
+    private final Path directory;
+
+    private final Set<HqlQuery> queries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong compiled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile long lastDurationMillis;
+    private volatile boolean dirty;
+
+    /**
+     * Creates the precompiler of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param enabled             whether queries are precompiled and recorded
+     * @param directory           the directory of the query catalog, null for {@link #DEFAULT_DIRECTORY}
+     */
+    public HqlPrecompiler(String persistenceUnitName, boolean enabled, String directory) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.enabled = enabled;
+        this.directory = Path.of(directory == null || directory.isBlank() ? DEFAULT_DIRECTORY : directory);
+    }
+
+    /**
+     * Creates the precompiler of a persistence unit from its persistence properties.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param properties          the persistence properties, may be null
+     * @return the precompiler, disabled unless {@value #PRECOMPILE_PROPERTY} is {@code true}
+     */
+    public static HqlPrecompiler fromProperties(String persistenceUnitName, Map<?, ?> properties) {
+        Object enabled = properties == null ? null : properties.get(PRECOMPILE_PROPERTY);
+        Object directory = properties == null ? null : properties.get(DIRECTORY_PROPERTY);
+        return new HqlPrecompiler(persistenceUnitName, enabled != null && Boolean.parseBoolean(enabled.toString()),
+                directory == null ? null : directory.toString());
+    }
+
+    /**
+     * Registers a query run without a result type, such as {@code session.createQuery(hql)}.
+     *
+     * @param hql the query string
+     * @return this instance
+     */
+    public HqlPrecompiler register(String hql) {
+        return register(hql, null);
+    }
+
+    /**
+     * Registers a query to compile at every boot, such as {@code session.createSelectionQuery(hql, resultType)}.
+     *
+     * @param hql        the query string
+     * @param resultType the result type the query is created with, or null
+     * @return this instance
+     */
+    public HqlPrecompiler register(String hql, Class<?> resultType) {
+        if (queries.add(new HqlQuery(hql, resultType == null ? null : resultType.getName()))) {
+            dirty = true;
+        }
+        return this;
+    }
+
+    /**
+     * Precompiles the unit's queries on a worker thread; failures are logged and never affect the persist service.
+     *
+     * @param factory the started factory
+     */
+    public void start(EntityManagerFactory factory) {
+        if (!enabled) {
+            return;
+        }
+        precompile(factory).subscribe().with(
+                count -> {
+                },
+                t -> log.warn("⚠️ Precompiling HQL of PU '{}' failed: {}", persistenceUnitName, t.getMessage()));
+    }
+
+    /**
+     * Loads the query catalog and compiles the named, registered and recorded queries into the interpretation cache.
+     *
+     * @param factory the started factory
+     * @return the number of queries compiled
+     */
+    public Uni<Integer> precompile(EntityManagerFactory factory) {
+        return Uni.createFrom().item(() -> compileAll(factory.unwrap(SessionFactoryImplementor.class)))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    /**
+     * Adds the queries Hibernate statistics saw and writes the query catalog when it changed.
+     *
+     * @param factory the factory before it is closed, may be null
+     */
+    public synchronized void save(EntityManagerFactory factory) {
+        if (!enabled) {
+            return;
+        }
+        if (factory != null && factory.isOpen()) {
+            Statistics statistics = factory.unwrap(SessionFactoryImplementor.class).getStatistics();
+            if (statistics.isStatisticsEnabled()) {
+                for (String hql : statistics.getQueries()) {
+                    register(hql);
+                }
+            }
+        }
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        Path file = getFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            List<String> lines = queries.stream()
+                    .map(query -> (query.resultType() == null ? UNTYPED : query.resultType()) + "\t" + QueryCatalog.encode(query.hql()))
+                    .sorted()
+                    .toList();
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("⚠️ Writing the HQL catalog of PU '{}' to {} failed: {}", persistenceUnitName, file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the query catalog into the registered queries.
+     *
+     * @return the number of queries read, 0 when there is no file
+     */
+    public int load() {
+        Path file = getFile();
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        try {
+            int read = 0;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    String type = line.substring(0, tab);
+                    queries.add(new HqlQuery(QueryCatalog.decode(line.substring(tab + 1)), UNTYPED.equals(type) ? null : type));
+                    read++;
+                }
+            }
+            return read;
+        } catch (IOException e) {
+            log.warn("⚠️ Reading the HQL catalog of PU '{}' from {} failed: {}", persistenceUnitName, file, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * @return the query catalog file of the persistence unit
+     */
+    public Path getFile() {
+        return directory.resolve(persistenceUnitName.replaceAll("[^A-Za-z0-9._-]", "_") + ".hql");
+    }
+
+    /**
+     * @return whether queries are precompiled and recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return a snapshot of the registered and recorded query strings
+     */
+    public Set<String> getQueries() {
+        Set<String> strings = new LinkedHashSet<>();
+        queries.forEach(query -> strings.add(query.hql()));
+        return strings;
+    }
+
+    /**
+     * @return the number of queries compiled since startup
+     */
+    public long getCompiledCount() {
+        return compiled.get();
+    }
+
+    /**
+     * @return the number of queries dropped because they no longer compiled
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return milliseconds the last precompilation took
+     */
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    private int compileAll(SessionFactoryImplementor sessionFactory) {
+        long started = System.currentTimeMillis();
+        load();
+        QueryEngine queryEngine = sessionFactory.getQueryEngine();
+        List<HqlQuery> pending = new ArrayList<>(queries);
+        queryEngine.getNamedObjectRepository().visitSqmQueryMementos(memento -> pending.add(new HqlQuery(memento.getHqlString(), null)));
+
+        int count = 0;
+        for (HqlQuery query : pending) {
+            try {
+                Class<?> resultType = query.resultType() == null ? null : Class.forName(query.resultType(), false, classLoader());
+                queryEngine.getInterpretationCache().resolveHqlInterpretation(query.hql(), resultType, queryEngine.getHqlTranslator());
+                count++;
+            } catch (Exception | LinkageError e) {
+                failed.incrementAndGet();
+                if (queries.remove(query)) {
+                    dirty = true;
+                }
+                log.debug("📋 Dropping HQL of PU '{}' that no longer compiles: {}", persistenceUnitName, e.getMessage());
+            }
+        }
+        compiled.addAndGet(count);
+        lastDurationMillis = System.currentTimeMillis() - started;
+        log.info("⚡ Precompiled {} HQL queries of PU '{}' in {}ms", count, persistenceUnitName, lastDurationMillis);
+        return count;
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : HqlPrecompiler.class.getClassLoader();
+    }
+
+    private record HqlQuery(String hql, String resultType) {
+    }
+}
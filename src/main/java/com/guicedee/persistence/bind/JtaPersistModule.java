@@ -22,6 +22,20 @@ import com.google.inject.name.Names;
 import com.guicedee.persistence.ConnectionBaseInfo;
 import com.guicedee.persistence.PersistService;
 import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.health.PersistenceHealth;
+import com.guicedee.persistence.health.PersistenceUnitHealthProbe;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.persistence.implementations.postgres.PostgresBulkCopy;
+import com.guicedee.persistence.implementations.postgres.PostgresConnectionBaseInfo;
+import com.guicedee.persistence.implementations.postgres.PostgresNotifications;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.metrics.QueryMetrics;
+import com.guicedee.persistence.metrics.QueryMetricsTracer;
+import com.guicedee.persistence.pool.ConnectionValidator;
+import com.guicedee.persistence.pool.PoolCircuitBreaker;
+import com.guicedee.persistence.pool.PoolReconfigurer;
+import com.guicedee.persistence.tracing.PersistenceTracing;
+import com.guicedee.vertx.spi.VertXPreStartup;
 import org.hibernate.reactive.mutiny.Mutiny;
 
 import java.util.List;
@@ -117,13 +131,90 @@ public final class JtaPersistModule extends PersistModule
             bind(key).to(jtaPersistServiceKey);
         }
 
+        // Guard the pool and session factory with a circuit breaker; it probes the unguarded registered pool,
+        // while getSqlClientByEntityManager and the bound session factory go through the breaker
+        PoolCircuitBreaker circuitBreaker = new PoolCircuitBreaker(jpaUnit,
+                connectionBaseInfo.getCircuitBreaker(),
+                connectionBaseInfo.getTestQuery(),
+                () -> VertxPersistenceModule.getRegisteredSqlClient(jpaUnit),
+                connectionBaseInfo.isReactive() ? ps.getSessionFactoryProvider() : null);
+        VertxPersistenceModule.getCircuitBreakers().put(jpaUnit, circuitBreaker);
+        for (Key<PoolCircuitBreaker> key : getKeys(PoolCircuitBreaker.class))
+        {
+            bind(key).toInstance(circuitBreaker);
+        }
+
         // Check if the connection is reactive
         if (connectionBaseInfo.isReactive())
         {
             // Bind Mutiny.SessionFactory with the provider
             for (Key<Mutiny.SessionFactory> key : getKeys(Mutiny.SessionFactory.class))
             {
-                bind(key).toProvider(ps.getSessionFactoryProvider());
+                bind(key).toProvider(circuitBreaker.guardedSessionFactoryProvider());
+            }
+        }
+
+        // Validate idle connections in the background, started once the persist service is up
+        ConnectionValidator connectionValidator = new ConnectionValidator(jpaUnit,
+                connectionBaseInfo.getConnectionValidation(),
+                connectionBaseInfo.getValidationQuery(),
+                () -> VertxPersistenceModule.getRegisteredSqlClient(jpaUnit),
+                circuitBreaker,
+                () -> PoolReconfigurer.renew(jpaUnit, PoolReconfigurer.DEFAULT_DRAIN_TIMEOUT));
+        VertxPersistenceModule.getConnectionValidators().put(jpaUnit, connectionValidator);
+        for (Key<ConnectionValidator> key : getKeys(ConnectionValidator.class))
+        {
+            bind(key).toInstance(connectionValidator);
+        }
+
+        // Record query latencies of this unit, fed by the Vert.x tracer
+        QueryMetrics queryMetrics = new QueryMetrics(jpaUnit, connectionBaseInfo.getQueryMetrics());
+        VertxPersistenceModule.getQueryMetrics().put(jpaUnit, queryMetrics);
+        QueryMetricsTracer.register(queryMetrics, connectionBaseInfo.getDatabaseName(), connectionBaseInfo.getUsername());
+        for (Key<QueryMetrics> key : getKeys(QueryMetrics.class))
+        {
+            bind(key).toInstance(queryMetrics);
+        }
+
+        // Record the unit's distinct statements and prepare them again at the next startup
+        if (connectionBaseInfo.getQueryCatalog() != null && connectionBaseInfo.getQueryCatalog().isEnabled())
+        {
+            QueryCatalog queryCatalog = new QueryCatalog(jpaUnit, connectionBaseInfo.getQueryCatalog(),
+                    connectionBaseInfo.getMaxPoolSize() != null ? connectionBaseInfo.getMaxPoolSize() : 1,
+                    () -> VertxPersistenceModule.getRegisteredSqlClient(jpaUnit));
+            queryMetrics.setCatalog(queryCatalog);
+            VertxPersistenceModule.getQueryCatalogs().put(jpaUnit, queryCatalog);
+            for (Key<QueryCatalog> key : getKeys(QueryCatalog.class))
+            {
+                bind(key).toInstance(queryCatalog);
+            }
+        }
+        PersistenceTracing.registerVendor(jpaUnit, connectionBaseInfo.getDriver());
+
+        // Report the unit's start status and pool state to health checks
+        PersistenceHealth.register(new PersistenceUnitHealthProbe(jpaUnit, ps, circuitBreaker, connectionValidator,
+                VertxPersistenceModule.getQueryCatalogs().get(jpaUnit),
+                () -> VertxPersistenceModule.getRegisteredSqlClient(jpaUnit),
+                connectionBaseInfo.getValidationQuery()));
+
+        // Deliver LISTEN/NOTIFY messages over a dedicated connection and bind the bulk loader; the driver check keeps the pg client optional
+        // and the subscriber is created on the first listen, as Vert.x may not be started while modules are configured
+        if ("postgresql".equals(connectionBaseInfo.getDriver()) && connectionBaseInfo instanceof PostgresConnectionBaseInfo postgres)
+        {
+            PostgresNotifications notifications = new PostgresNotifications(jpaUnit, VertXPreStartup::getVertx,
+                    postgres.toConnectOptions(), postgres.getNotifications(),
+                    () -> VertxPersistenceModule.getSqlClientByEntityManager(jpaUnit));
+            VertxPersistenceModule.getUnitResources().put("notifications:" + jpaUnit, notifications);
+            for (Key<PostgresNotifications> key : getKeys(PostgresNotifications.class))
+            {
+                bind(key).toInstance(notifications);
+            }
+
+            PostgresBulkCopy bulkCopy = new PostgresBulkCopy(jpaUnit, postgres.getBulkCopy(),
+                    () -> VertxPersistenceModule.getSqlClientByEntityManager(jpaUnit));
+            for (Key<PostgresBulkCopy> key : getKeys(PostgresBulkCopy.class))
+            {
+                bind(key).toInstance(bulkCopy);
             }
         }
 
@@ -135,7 +226,7 @@ public final class JtaPersistModule extends PersistModule
             //    bind(EntityManager.class).to(getKey(EntityManager.class));
             bind(PersistService.class).to(getKey(PersistService.class));
             //   bind(JtaPersistOptions.class).to(getKey(JtaPersistOptions.class));
-            bind(Mutiny.SessionFactory.class).toProvider(ps.getSessionFactoryProvider());
+            bind(Mutiny.SessionFactory.class).toProvider(circuitBreaker.guardedSessionFactoryProvider());
             //  bind(Mutiny.Session.class).toProvider(MutinySessionProvider.class);
         }
         else if (defaultSet && connectionBaseInfo.isDefaultConnection())
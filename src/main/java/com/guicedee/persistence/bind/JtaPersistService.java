@@ -18,6 +18,9 @@ package com.guicedee.persistence.bind;
 
 import com.google.inject.Provider;
 import com.guicedee.persistence.PersistService;
+import com.guicedee.persistence.tracing.PersistenceSpan;
+import com.guicedee.persistence.tracing.PersistenceTracer;
+import com.guicedee.persistence.tracing.PersistenceTracing;
 import io.smallrye.mutiny.Uni;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
@@ -50,14 +53,71 @@ public class JtaPersistService implements PersistService {
         this.persistenceUnitName = persistenceUnitName;
         this.persistenceProperties = persistenceProperties;
         sessionFactoryProvider = new SessionFactoryProvider(this);
+        hqlPrecompiler = HqlPrecompiler.fromProperties(persistenceUnitName, persistenceProperties);
     }
 
     private volatile EntityManagerFactory emFactory;
     private volatile Mutiny.SessionFactory sessionFactory;
 
+    /**
+     * The lifecycle states of the service.
+     */
+    public enum Status {
+        /**
+         * {@link #start()} has not been called.
+         */
+        NEW,
+        /**
+         * The EntityManagerFactory is being created.
+         */
+        STARTING,
+        /**
+         * The EntityManagerFactory is open.
+         */
+        STARTED,
+        /**
+         * Creating the EntityManagerFactory failed, see {@link #getStartFailure()}.
+         */
+        FAILED,
+        /**
+         * The EntityManagerFactory has been closed.
+         */
+        STOPPED
+    }
+
+    /**
+     * The current lifecycle state.
+     */
+    @Getter
+    private volatile Status status = Status.NEW;
+
+    /**
+     * The epoch milliseconds the EntityManagerFactory was created, or 0.
+     */
+    @Getter
+    private volatile long startedAt;
+
+    /**
+     * Milliseconds spent creating the EntityManagerFactory, or 0.
+     */
+    @Getter
+    private volatile long startDurationMillis;
+
+    /**
+     * The message of the last start failure, or null.
+     */
+    @Getter
+    private volatile String startFailure;
+
     @Getter
     private final Provider<Mutiny.SessionFactory> sessionFactoryProvider;
 
+    /**
+     * Compiles the unit's HQL in the background once the factory has started.
+     */
+    @Getter
+    private final HqlPrecompiler hqlPrecompiler;
+
     /**
      * Creates the EntityManagerFactory if it has not already been initialized.
      */
@@ -73,14 +133,31 @@ public class JtaPersistService implements PersistService {
             return Uni.createFrom().item(() -> {
                 log.debug("📋 Creating EntityManagerFactory for persistence unit: '{}'", persistenceUnitName);
                 long startTime = System.currentTimeMillis();
-                this.emFactory =
-                        Persistence.createEntityManagerFactory(persistenceUnitName, persistenceProperties);
-                this.sessionFactory = this.emFactory.unwrap(Mutiny.SessionFactory.class);
-                log.info("✅ Successfully created EntityManagerFactory for persistence unit: '{}' in {}ms", persistenceUnitName, System.currentTimeMillis() - startTime);
+                status = Status.STARTING;
+                PersistenceSpan span = PersistenceTracing.startSpan(PersistenceTracer.EMF_START, persistenceUnitName);
+                try {
+                    this.emFactory =
+                            Persistence.createEntityManagerFactory(persistenceUnitName, persistenceProperties);
+                    this.sessionFactory = this.emFactory.unwrap(Mutiny.SessionFactory.class);
+                    span.end();
+                } catch (RuntimeException e) {
+                    span.end(e);
+                    startFailure = e.getMessage();
+                    status = Status.FAILED;
+                    throw e;
+                }
+                startedAt = System.currentTimeMillis();
+                startDurationMillis = startedAt - startTime;
+                startFailure = null;
+                status = Status.STARTED;
+                log.info("✅ Successfully created EntityManagerFactory for persistence unit: '{}' in {}ms", persistenceUnitName, startDurationMillis);
+                hqlPrecompiler.start(emFactory);
                 return null;
             });
         } else {
             log.fatal("⚠️ No persistence properties provided for persistence unit: '{}'", persistenceUnitName);
+            startFailure = "No persistence properties provided";
+            status = Status.FAILED;
             return Uni.createFrom().failure(new RuntimeException("No persistence properties provided for persistence unit: " + persistenceUnitName));
         }
     }
@@ -94,8 +171,10 @@ public class JtaPersistService implements PersistService {
         if (null != emFactory && emFactory.isOpen()) {
             return Uni.createFrom().item(() -> {
                 log.trace("📋 Closing EntityManagerFactory for persistence unit: '{}'", persistenceUnitName);
+                hqlPrecompiler.save(emFactory);
                 sessionFactory.close();
                 emFactory.close();
+                status = Status.STOPPED;
                 log.info("✅ Successfully closed EntityManagerFactory for persistence unit: '{}'", persistenceUnitName);
                 return null;
             });
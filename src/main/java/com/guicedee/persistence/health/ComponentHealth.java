@@ -0,0 +1,52 @@
+package com.guicedee.persistence.health;
+
+import java.util.Map;
+
+/**
+ * The outcome of probing one persistence component.
+ *
+ * @param name          the component name, e.g. {@code pu:orders} or {@code mongo:catalog}
+ * @param type          the component type, see {@link HealthProbe#getType()}
+ * @param status        the health of the component
+ * @param details       component specific values such as pool sizes and start timings
+ * @param error         the failure message when the probe failed, otherwise null
+ * @param checkedAt     the epoch milliseconds the probe completed
+ * @param latencyMillis how long the probe took
+ */
+public record ComponentHealth(String name, String type, HealthStatus status, Map<String, Object> details,
+                              String error, long checkedAt, long latencyMillis) {
+
+    /**
+     * Creates the result of a probe; the timing is filled in by {@link PersistenceHealth}.
+     *
+     * @param probe   the probe reporting
+     * @param status  the health of the component
+     * @param details component specific values
+     * @return the result
+     */
+    public static ComponentHealth of(HealthProbe probe, HealthStatus status, Map<String, Object> details) {
+        return new ComponentHealth(probe.getName(), probe.getType(), status, details, null, 0, 0);
+    }
+
+    /**
+     * Creates the result of a failed probe.
+     *
+     * @param probe   the probe reporting
+     * @param details component specific values
+     * @param error   the failure
+     * @return the result, {@link HealthStatus#DOWN}
+     */
+    public static ComponentHealth down(HealthProbe probe, Map<String, Object> details, Throwable error) {
+        return new ComponentHealth(probe.getName(), probe.getType(), HealthStatus.DOWN, details,
+                error == null ? null : String.valueOf(error.getMessage()), 0, 0);
+    }
+
+    /**
+     * @param checkedAt     the epoch milliseconds the probe completed
+     * @param latencyMillis how long the probe took
+     * @return a copy with the timing set
+     */
+    public ComponentHealth withTiming(long checkedAt, long latencyMillis) {
+        return new ComponentHealth(name, type, status, details, error, checkedAt, latencyMillis);
+    }
+}
@@ -0,0 +1,40 @@
+package com.guicedee.persistence.health;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Checks one persistence component. Probes are registered with {@link PersistenceHealth}, which caches their results,
+ * so a probe may touch the database.
+ */
+public interface HealthProbe {
+
+    /**
+     * Type of the probes of persistence units.
+     */
+    String PERSISTENCE_UNIT = "persistence-unit";
+    /**
+     * Type of the probes of MongoDB clients.
+     */
+    String MONGODB = "mongodb";
+    /**
+     * Type of the probes of Cassandra clients.
+     */
+    String CASSANDRA = "cassandra";
+
+    /**
+     * @return the unique component name
+     */
+    String getName();
+
+    /**
+     * @return the component type, e.g. {@link #PERSISTENCE_UNIT}
+     */
+    String getType();
+
+    /**
+     * Checks the component.
+     *
+     * @return the health of the component; failures are reported as {@link HealthStatus#DOWN}
+     */
+    Uni<ComponentHealth> probe();
+}
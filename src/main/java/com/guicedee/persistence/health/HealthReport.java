@@ -0,0 +1,27 @@
+package com.guicedee.persistence.health;
+
+import java.util.List;
+
+/**
+ * The health of every registered persistence component.
+ *
+ * @param status     the worst status of all components, {@link HealthStatus#UP} when none are registered
+ * @param ready      whether traffic can be routed, i.e. no component is starting or down
+ * @param components the health of each component
+ */
+public record HealthReport(HealthStatus status, boolean ready, List<ComponentHealth> components) {
+
+    /**
+     * Summarises component results.
+     *
+     * @param components the health of each component
+     * @return the report
+     */
+    public static HealthReport of(List<ComponentHealth> components) {
+        HealthStatus status = HealthStatus.UP;
+        for (ComponentHealth component : components) {
+            status = status.worst(component.status());
+        }
+        return new HealthReport(status, status == HealthStatus.UP || status == HealthStatus.DEGRADED, components);
+    }
+}
@@ -0,0 +1,31 @@
+package com.guicedee.persistence.health;
+
+/**
+ * The health of a persistence component, ordered from best to worst.
+ */
+public enum HealthStatus {
+    /**
+     * The component answers its probe.
+     */
+    UP,
+    /**
+     * The component answers but is recovering, e.g. a circuit breaker probing the database.
+     */
+    DEGRADED,
+    /**
+     * The component has not finished starting; traffic should not be routed to it yet.
+     */
+    STARTING,
+    /**
+     * The component failed to start or does not answer its probe.
+     */
+    DOWN;
+
+    /**
+     * @param other another status
+     * @return the worse of both statuses
+     */
+    public HealthStatus worst(HealthStatus other) {
+        return other.ordinal() > ordinal() ? other : this;
+    }
+}
@@ -0,0 +1,173 @@
+package com.guicedee.persistence.health;
+
+import io.smallrye.mutiny.Uni;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds the {@link HealthProbe}s of the persistence components and serves their cached results.
+ * <p>
+ * Each probe runs at most once per {@link #getCacheMillis()}: calls within that window receive the cached result, and
+ * concurrent calls after it share a single probe, so frequent health checks from an orchestrator do not add load to
+ * the databases. A probe that does not answer within {@link #getTimeoutMillis()} reports {@link HealthStatus#DOWN}.
+ * <p>
+ * {@code DatabaseModule}, {@code MongoModule} and {@code CassandraModule} register their probes as they are
+ * configured. With {@code com.guicedee.rest} on the module path the results are served by
+ * {@link com.guicedee.persistence.health.rest.PersistenceHealthResource}.
+ */
+@Log4j2
+public final class PersistenceHealth {
+
+    private static final Map<String, CachedProbe> probes = new ConcurrentHashMap<>();
+    private static volatile long cacheMillis = 5000;
+    private static volatile long timeoutMillis = 2000;
+
+    private PersistenceHealth() {
+    }
+
+    /**
+     * Registers a probe, replacing any probe with the same name.
+     *
+     * @param probe the probe
+     */
+    public static void register(HealthProbe probe) {
+        probes.put(probe.getName(), new CachedProbe(probe));
+    }
+
+    /**
+     * Removes a probe.
+     *
+     * @param name the probe name
+     */
+    public static void unregister(String name) {
+        probes.remove(name);
+    }
+
+    /**
+     * Removes every probe of a type.
+     *
+     * @param type the probe type, e.g. {@link HealthProbe#PERSISTENCE_UNIT}
+     */
+    public static void unregisterType(String type) {
+        probes.values().removeIf(cached -> type.equals(cached.probe.getType()));
+    }
+
+    /**
+     * @return the names of the registered probes
+     */
+    public static Collection<String> getProbeNames() {
+        return List.copyOf(probes.keySet());
+    }
+
+    /**
+     * Checks every component, probing those whose cached result has expired.
+     *
+     * @return the report
+     */
+    public static Uni<HealthReport> check() {
+        List<Uni<ComponentHealth>> checks = new ArrayList<>();
+        probes.values().forEach(cached -> checks.add(cached.get()));
+        if (checks.isEmpty()) {
+            return Uni.createFrom().item(HealthReport.of(List.of()));
+        }
+        return Uni.join().all(checks).andFailFast()
+                .map(HealthReport::of);
+    }
+
+    /**
+     * Reports the last known health of every component without probing.
+     *
+     * @return the report; components never probed are {@link HealthStatus#STARTING}
+     */
+    public static HealthReport lastKnown() {
+        List<ComponentHealth> components = new ArrayList<>();
+        probes.values().forEach(cached -> {
+            ComponentHealth last = cached.last;
+            components.add(last != null ? last
+                    : ComponentHealth.of(cached.probe, HealthStatus.STARTING, Map.of()));
+        });
+        return HealthReport.of(components);
+    }
+
+    /**
+     * @return how long a probe result is reused, in milliseconds
+     */
+    public static long getCacheMillis() {
+        return cacheMillis;
+    }
+
+    /**
+     * @param millis how long a probe result is reused, in milliseconds
+     */
+    public static void setCacheMillis(long millis) {
+        cacheMillis = Math.max(0, millis);
+    }
+
+    /**
+     * @return how long a probe may take before it reports down, in milliseconds
+     */
+    public static long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param millis how long a probe may take before it reports down, in milliseconds
+     */
+    public static void setTimeoutMillis(long millis) {
+        timeoutMillis = Math.max(1, millis);
+    }
+
+    private static final class CachedProbe {
+        private final HealthProbe probe;
+        private volatile ComponentHealth last;
+        private Uni<ComponentHealth> running;
+
+        private CachedProbe(HealthProbe probe) {
+            this.probe = probe;
+        }
+
+        private Uni<ComponentHealth> get() {
+            ComponentHealth cached = last;
+            if (cached != null && System.currentTimeMillis() - cached.checkedAt() < cacheMillis) {
+                return Uni.createFrom().item(cached);
+            }
+            synchronized (this) {
+                if (running == null) {
+                    running = run();
+                }
+                return running;
+            }
+        }
+
+        private Uni<ComponentHealth> run() {
+            long started = System.nanoTime();
+            Uni<ComponentHealth> result;
+            try {
+                result = probe.probe();
+            } catch (RuntimeException e) {
+                result = Uni.createFrom().failure(e);
+            }
+            return result
+                    .ifNoItem().after(Duration.ofMillis(timeoutMillis)).fail()
+                    .onFailure().invoke(t -> log.debug("⚠️ [HEALTH] Probe '{}' failed: {}", probe.getName(), t.getMessage()))
+                    .onFailure().recoverWithItem(t -> ComponentHealth.down(probe, Map.of(), t instanceof TimeoutException
+                            ? new TimeoutException("No answer within " + timeoutMillis + " ms") : t))
+                    .map(health -> health.withTiming(System.currentTimeMillis(),
+                            Duration.ofNanos(System.nanoTime() - started).toMillis()))
+                    .invoke(health -> {
+                        synchronized (this) {
+                            last = health;
+                            running = null;
+                        }
+                    })
+                    .memoize().indefinitely();
+        }
+    }
+}
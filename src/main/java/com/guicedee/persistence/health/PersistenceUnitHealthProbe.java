@@ -0,0 +1,135 @@
+package com.guicedee.persistence.health;
+
+import com.guicedee.persistence.bind.JtaPersistService;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.pool.CircuitBreakerState;
+import com.guicedee.persistence.pool.ConnectionValidator;
+import com.guicedee.persistence.pool.PoolCircuitBreaker;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Probes a persistence unit: the start status and timings of its {@link JtaPersistService}, the state of its
+ * {@link PoolCircuitBreaker}, the size of its pool and one round trip through the pool.
+ * <p>
+ * A started unit is still reported as starting while its {@link QueryCatalog} prepares the catalogued statements, as
+ * {@code DatabaseModule} only reports the unit ready after that warm-up.
+ * <p>
+ * The database is only touched once the service has started and while the breaker is not open, so a unit that is
+ * starting or known to be failing is reported without adding load.
+ */
+public class PersistenceUnitHealthProbe implements HealthProbe {
+
+    private final String persistenceUnitName;
+    private final JtaPersistService persistService;
+    private final PoolCircuitBreaker circuitBreaker;
+    private final ConnectionValidator connectionValidator;
+    private final QueryCatalog queryCatalog;
+    private final Supplier<SqlClient> poolSupplier;
+    private final String probeQuery;
+
+    /**
+     * Creates the probe of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit name
+     * @param persistService      the persist service of the unit
+     * @param circuitBreaker      the circuit breaker of the unit, may be null
+     * @param connectionValidator the background validator of the unit, may be null
+     * @param queryCatalog        the query catalog of the unit, may be null
+     * @param poolSupplier        supplies the current pool of the unit
+     * @param probeQuery          the query sent through the pool, or null to only acquire and release a connection
+     */
+    public PersistenceUnitHealthProbe(String persistenceUnitName,
+                                      JtaPersistService persistService,
+                                      PoolCircuitBreaker circuitBreaker,
+                                      ConnectionValidator connectionValidator,
+                                      QueryCatalog queryCatalog,
+                                      Supplier<SqlClient> poolSupplier,
+                                      String probeQuery) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.persistService = persistService;
+        this.circuitBreaker = circuitBreaker;
+        this.connectionValidator = connectionValidator;
+        this.queryCatalog = queryCatalog;
+        this.poolSupplier = poolSupplier;
+        this.probeQuery = probeQuery;
+    }
+
+    @Override
+    public String getName() {
+        return "pu:" + persistenceUnitName;
+    }
+
+    @Override
+    public String getType() {
+        return PERSISTENCE_UNIT;
+    }
+
+    @Override
+    public Uni<ComponentHealth> probe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        JtaPersistService.Status status = persistService.getStatus();
+        details.put("persistService", status.name());
+        if (status == JtaPersistService.Status.STARTED) {
+            details.put("startedAt", persistService.getStartedAt());
+            details.put("startDurationMillis", persistService.getStartDurationMillis());
+        }
+        if (persistService.getStartFailure() != null) {
+            details.put("startFailure", persistService.getStartFailure());
+        }
+        CircuitBreakerState breaker = circuitBreaker == null ? null : circuitBreaker.getState();
+        if (breaker != null) {
+            details.put("circuitBreaker", breaker.name());
+        }
+        if (connectionValidator != null) {
+            details.put("validatedConnections", connectionValidator.getValidatedCount());
+            details.put("failedValidations", connectionValidator.getFailedCount());
+        }
+        SqlClient client = poolSupplier.get();
+        if (client instanceof Pool pool) {
+            details.put("poolSize", pool.size());
+        }
+
+        switch (status) {
+            case NEW, STARTING -> {
+                return Uni.createFrom().item(ComponentHealth.of(this, HealthStatus.STARTING, details));
+            }
+            case FAILED, STOPPED -> {
+                return Uni.createFrom().item(ComponentHealth.of(this, HealthStatus.DOWN, details));
+            }
+            default -> {
+            }
+        }
+        if (queryCatalog != null && queryCatalog.isWarming()) {
+            details.put("queryCatalog", "WARMING");
+            return Uni.createFrom().item(ComponentHealth.of(this, HealthStatus.STARTING, details));
+        }
+        if (breaker == CircuitBreakerState.OPEN) {
+            return Uni.createFrom().item(ComponentHealth.of(this, HealthStatus.DOWN, details));
+        }
+        if (client == null) {
+            // Units without a Vert.x pool are up once their factory is open
+            return Uni.createFrom().item(ComponentHealth.of(this, HealthStatus.UP, details));
+        }
+        HealthStatus healthy = breaker == CircuitBreakerState.HALF_OPEN ? HealthStatus.DEGRADED : HealthStatus.UP;
+        return Uni.createFrom().completionStage(() -> roundTrip(client).toCompletionStage())
+                .map(v -> ComponentHealth.of(this, healthy, details))
+                .onFailure().recoverWithItem(t -> ComponentHealth.down(this, details, t));
+    }
+
+    private Future<Void> roundTrip(SqlClient client) {
+        if (probeQuery != null && !probeQuery.isBlank()) {
+            return client.query(probeQuery).execute().mapEmpty();
+        }
+        if (client instanceof Pool pool) {
+            return pool.getConnection().compose(conn -> conn.close());
+        }
+        return Future.succeededFuture();
+    }
+}
@@ -0,0 +1,54 @@
+package com.guicedee.persistence.health.rest;
+
+import com.guicedee.persistence.health.HealthReport;
+import com.guicedee.persistence.health.PersistenceHealth;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Serves the {@link PersistenceHealth} reports when {@code com.guicedee.rest} is present.
+ * <ul>
+ *   <li>{@code GET /health/persistence} – the health of every component, probing expired results</li>
+ *   <li>{@code GET /health/persistence/ready} – {@code 200} once every component is up, {@code 503} otherwise</li>
+ *   <li>{@code GET /health/persistence/live} – the last known results without probing, always {@code 200}</li>
+ * </ul>
+ */
+@Path("health/persistence")
+@Produces(MediaType.APPLICATION_JSON)
+public class PersistenceHealthResource {
+
+    /**
+     * @return the health of every component
+     */
+    @GET
+    public CompletionStage<HealthReport> health() {
+        return PersistenceHealth.check().subscribeAsCompletionStage();
+    }
+
+    /**
+     * @return the health of every component, with status {@code 503} while not ready
+     */
+    @GET
+    @Path("ready")
+    public CompletionStage<Response> ready() {
+        return PersistenceHealth.check()
+                .map(report -> Response.status(report.ready() ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE)
+                        .entity(report)
+                        .build())
+                .subscribeAsCompletionStage();
+    }
+
+    /**
+     * @return the last known health of every component
+     */
+    @GET
+    @Path("live")
+    public HealthReport live() {
+        return PersistenceHealth.lastKnown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.guicedee.persistence.implementations;
+
+/**
+ * The limits a {@link BatchingWriter} batches and throttles its writes by.
+ */
+public interface BatchWriteLimits {
+
+    /**
+     * @return the maximum number of writes per batch
+     */
+    int getMaxBatchSize();
+
+    /**
+     * @return the maximum estimated size of a batch in bytes, {@code 0} disables the byte budget
+     */
+    long getMaxBatchBytes();
+
+    /**
+     * @return milliseconds a partially filled batch waits for more writes, {@code 0} waits for a flush
+     */
+    long getFlushInterval();
+
+    /**
+     * @return the maximum number of batches sent concurrently
+     */
+    int getMaxInFlightBatches();
+
+    /**
+     * @return the maximum number of batches open at once, {@code 0} disables the limit
+     */
+    int getMaxOpenBatches();
+
+    /**
+     * @return the maximum number of writes accepted but not yet acknowledged, {@code 0} disables the limit
+     */
+    int getMaxPendingWrites();
+}
@@ -0,0 +1,284 @@
+package com.guicedee.persistence.implementations;
+
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects writes into batches keyed by their target and sends each batch once it is full, its byte budget is reached
+ * or its time window elapses, see {@link BatchWriteLimits}.
+ * <p>
+ * At most {@link BatchWriteLimits#getMaxInFlightBatches()} batches are sent at a time; later batches queue behind them,
+ * so callers that wait for their writes are slowed to the speed of the store. Once
+ * {@link BatchWriteLimits#getMaxPendingWrites()} writes are waiting, further writes fail at once with a
+ * {@link BulkWriteOperationException} instead of growing the queue. When a write needs a new batch while
+ * {@link BatchWriteLimits#getMaxOpenBatches()} batches are open, the oldest open batch is sent first, so writes spread
+ * over many keys cannot hold an unbounded number of batches and timers.
+ * <p>
+ * Writes with a null key are sent on their own. Subclasses send a batch and map its failure onto the writes it holds;
+ * every write of a successful batch completes.
+ *
+ * @param <K> the batch key, such as a collection or partition
+ * @param <T> the write
+ * @param <L> the settings holding the limits
+ */
+public abstract class BatchingWriter<K, T, L extends BatchWriteLimits> {
+
+    /**
+     * The writer name, used in log and error messages
+     */
+    protected final String name;
+
+    /**
+     * The batching settings, read on every write
+     */
+    protected final L limits;
+
+    private final Vertx vertx;
+
+    private final Map<K, Batch<K, T>> open = new LinkedHashMap<>();
+    private final ArrayDeque<Batch<K, T>> queued = new ArrayDeque<>();
+    private final List<Batch<K, T>> inFlight = new ArrayList<>();
+    private int pendingWrites;
+
+    /**
+     * Creates the batching engine of a writer.
+     *
+     * @param name   the writer name, used in log and error messages
+     * @param vertx  the Vert.x instance used for the batch time window, may be null to only flush on size
+     * @param limits the batching limits, read on every write
+     */
+    protected BatchingWriter(String name, Vertx vertx, L limits) {
+        this.name = name;
+        this.vertx = vertx;
+        this.limits = limits;
+    }
+
+    /**
+     * Sends a batch.
+     *
+     * @param batch the batch to send
+     * @return completes when the store acknowledged the batch
+     */
+    protected abstract Future<?> send(Batch<K, T> batch);
+
+    /**
+     * Fails the writes of a batch the store did not acknowledge.
+     *
+     * @param batch the failed batch
+     * @param cause the failure
+     */
+    protected abstract void fail(Batch<K, T> batch, Throwable cause);
+
+    /**
+     * Estimates the size a write adds to its batch, only called when a byte budget is set.
+     *
+     * @param write the write
+     * @return the estimated size in bytes
+     */
+    protected abstract long estimateSize(T write);
+
+    /**
+     * Adds a write to the open batch of its key once subscribed to.
+     *
+     * @param key   the batch key, null to send the write on its own
+     * @param write the write
+     * @return completes when the batch holding the write is acknowledged
+     */
+    protected Uni<Void> submit(K key, T write) {
+        return Uni.createFrom().emitter(emitter -> dispatch(enqueue(key, write, emitter)));
+    }
+
+    /**
+     * Sends every open batch immediately.
+     *
+     * @return completes once all batches accepted so far have been written, whatever their outcome
+     */
+    public Uni<Void> flush() {
+        List<Batch<K, T>> ready = new ArrayList<>();
+        List<Future<Void>> settled = new ArrayList<>();
+        synchronized (this) {
+            for (Batch<K, T> batch : new ArrayList<>(open.values())) {
+                seal(batch, ready);
+            }
+            queued.forEach(batch -> settled.add(batch.settled.future()));
+            inFlight.forEach(batch -> settled.add(batch.settled.future()));
+        }
+        dispatch(ready);
+        if (settled.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(() -> Future.join(settled).<Void>mapEmpty().toCompletionStage());
+    }
+
+    /**
+     * @return the number of writes accepted but not yet acknowledged
+     */
+    public synchronized int getPendingWrites() {
+        return pendingWrites;
+    }
+
+    /**
+     * @return the number of batches currently being sent
+     */
+    public synchronized int getInFlightBatches() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return the number of batches open for more writes
+     */
+    public synchronized int getOpenBatches() {
+        return open.size();
+    }
+
+    private synchronized List<Batch<K, T>> enqueue(K key, T write, UniEmitter<? super Void> emitter) {
+        List<Batch<K, T>> ready = new ArrayList<>(1);
+        if (limits.getMaxPendingWrites() > 0 && pendingWrites >= limits.getMaxPendingWrites()) {
+            emitter.fail(new BulkWriteOperationException("Writer '" + name + "' already has " + pendingWrites
+                    + " pending writes, its limit of " + limits.getMaxPendingWrites(), -1));
+            return ready;
+        }
+        long size = limits.getMaxBatchBytes() > 0 ? estimateSize(write) : 0;
+        Batch<K, T> batch = key == null ? null : open.get(key);
+        if (batch != null && batch.bytes + size > limits.getMaxBatchBytes() && limits.getMaxBatchBytes() > 0) {
+            seal(batch, ready);
+            batch = null;
+        }
+        if (batch == null) {
+            batch = openBatch(key, ready);
+        }
+        batch.writes.add(write);
+        batch.emitters.add(emitter);
+        batch.bytes += size;
+        pendingWrites++;
+        if (key == null || batch.writes.size() >= limits.getMaxBatchSize()) {
+            seal(batch, ready);
+        }
+        return ready;
+    }
+
+    private Batch<K, T> openBatch(K key, List<Batch<K, T>> ready) {
+        Batch<K, T> batch = new Batch<>(key);
+        if (key == null) {
+            return batch;
+        }
+        while (limits.getMaxOpenBatches() > 0 && open.size() >= limits.getMaxOpenBatches()) {
+            // Open batches are kept in the order they were opened, send the oldest
+            seal(open.values().iterator().next(), ready);
+        }
+        open.put(key, batch);
+        if (vertx != null && limits.getFlushInterval() > 0) {
+            batch.timerId = vertx.setTimer(limits.getFlushInterval(), id -> {
+                List<Batch<K, T>> timedOut = new ArrayList<>(1);
+                synchronized (this) {
+                    batch.timerId = -1;
+                    if (open.get(key) == batch) {
+                        seal(batch, timedOut);
+                    }
+                }
+                dispatch(timedOut);
+            });
+        }
+        return batch;
+    }
+
+    private void seal(Batch<K, T> batch, List<Batch<K, T>> ready) {
+        if (batch.key != null) {
+            open.remove(batch.key, batch);
+        }
+        if (batch.timerId >= 0 && vertx != null) {
+            vertx.cancelTimer(batch.timerId);
+            batch.timerId = -1;
+        }
+        queued.add(batch);
+        promote(ready);
+    }
+
+    private void promote(List<Batch<K, T>> ready) {
+        while (inFlight.size() < Math.max(1, limits.getMaxInFlightBatches()) && !queued.isEmpty()) {
+            Batch<K, T> next = queued.poll();
+            inFlight.add(next);
+            ready.add(next);
+        }
+    }
+
+    private void dispatch(List<Batch<K, T>> ready) {
+        for (Batch<K, T> batch : ready) {
+            Future<?> result;
+            try {
+                result = send(batch);
+            } catch (Throwable t) {
+                result = Future.failedFuture(t);
+            }
+            result.onComplete(ar -> complete(batch, ar));
+        }
+    }
+
+    private void complete(Batch<K, T> batch, AsyncResult<?> ar) {
+        List<Batch<K, T>> ready = new ArrayList<>(1);
+        synchronized (this) {
+            inFlight.remove(batch);
+            pendingWrites -= batch.writes.size();
+            promote(ready);
+        }
+        dispatch(ready);
+
+        if (ar.succeeded()) {
+            batch.emitters.forEach(emitter -> emitter.complete(null));
+        } else {
+            fail(batch, ar.cause());
+        }
+        batch.settled.complete();
+    }
+
+    /**
+     * The writes sent together to one key.
+     *
+     * @param <K> the batch key
+     * @param <T> the write
+     */
+    protected static final class Batch<K, T> {
+        private final K key;
+        private final List<T> writes = new ArrayList<>();
+        private final List<UniEmitter<? super Void>> emitters = new ArrayList<>();
+        private final Promise<Void> settled = Promise.promise();
+        private long bytes;
+        private long timerId = -1;
+
+        private Batch(K key) {
+            this.key = key;
+        }
+
+        /**
+         * @return the batch key, null for a write sent on its own
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * @return the writes in the order they were accepted
+         */
+        public List<T> getWrites() {
+            return writes;
+        }
+
+        /**
+         * @return the emitters of the writes, by the index of their write
+         */
+        public List<UniEmitter<? super Void>> getEmitters() {
+            return emitters;
+        }
+    }
+}
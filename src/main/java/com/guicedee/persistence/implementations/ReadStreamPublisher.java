@@ -0,0 +1,101 @@
+package com.guicedee.persistence.implementations;
+
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Adapts a Vert.x {@link ReadStream} to a {@link Flow.Publisher} whose subscriber demand drives {@link ReadStream#fetch(long)}.
+ * <p>
+ * The stream is created per subscription and starts paused, so nothing is read until the subscriber requests items
+ * and never more than it requested is delivered. Cancelling detaches the handlers, which for the Vert.x database
+ * client streams also closes the server cursor.
+ *
+ * @param <T> the item type
+ */
+public final class ReadStreamPublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<? extends ReadStream<T>> streamSupplier;
+
+    /**
+     * Creates a publisher over streams from a supplier.
+     *
+     * @param streamSupplier creates the stream for each subscription
+     */
+    public ReadStreamPublisher(Supplier<? extends ReadStream<T>> streamSupplier) {
+        this.streamSupplier = streamSupplier;
+    }
+
+    /**
+     * Creates a {@link Multi} over streams from a supplier.
+     *
+     * @param streamSupplier creates the stream for each subscription
+     * @param <T>            the item type
+     * @return the demand-driven multi
+     */
+    public static <T> Multi<T> multi(Supplier<? extends ReadStream<T>> streamSupplier) {
+        return Multi.createFrom().publisher(new ReadStreamPublisher<>(streamSupplier));
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        ReadStream<T> stream;
+        try {
+            stream = streamSupplier.get();
+        } catch (Throwable t) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(t);
+            return;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        stream.pause();
+        stream.exceptionHandler(t -> {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onError(t);
+            }
+        });
+        stream.endHandler(v -> {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onComplete();
+            }
+        });
+        stream.handler(item -> {
+            if (!done.get()) {
+                subscriber.onNext(item);
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    if (done.compareAndSet(false, true)) {
+                        stream.handler(null);
+                        subscriber.onError(new IllegalArgumentException("Requested " + n + " items, the request must be positive"));
+                    }
+                    return;
+                }
+                if (!done.get()) {
+                    stream.fetch(n);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                if (done.compareAndSet(false, true)) {
+                    stream.handler(null);
+                }
+            }
+        });
+    }
+}
@@ -8,6 +8,16 @@ import com.guicedee.client.services.lifecycle.IGuiceModule;
 import com.guicedee.persistence.ConnectionBaseInfo;
 import com.guicedee.persistence.annotations.EntityManager;
 import com.guicedee.persistence.bind.JtaPersistModule;
+import com.guicedee.persistence.health.HealthProbe;
+import com.guicedee.persistence.health.PersistenceHealth;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.metrics.QueryMetrics;
+import com.guicedee.persistence.metrics.QueryMetricsTracer;
+import com.guicedee.persistence.pool.ConnectionValidator;
+import com.guicedee.persistence.pool.PoolCircuitBreaker;
+import com.guicedee.persistence.pool.PoolPartitions;
+import com.guicedee.persistence.pool.RecyclingPool;
+import com.guicedee.persistence.tracing.PersistenceTracing;
 import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.PackageInfo;
 import io.github.classgraph.ScanResult;
@@ -20,6 +30,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Guice module that wires persistence units, entity manager annotations,
@@ -35,7 +46,37 @@ public class VertxPersistenceModule extends AbstractModule implements IGuiceModu
      * Map to store SqlClient instances by entity manager name
      */
     @Getter
-    private static final Map<String, SqlClient> sqlClientMap = new HashMap<>();
+    private static final Map<String, SqlClient> sqlClientMap = new ConcurrentHashMap<>();
+
+    /**
+     * Map to store the circuit breaker guarding each entity manager
+     */
+    @Getter
+    private static final Map<String, PoolCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * Map to store the background connection validator of each entity manager
+     */
+    @Getter
+    private static final Map<String, ConnectionValidator> connectionValidators = new ConcurrentHashMap<>();
+
+    /**
+     * Map to store the query latency statistics of each entity manager
+     */
+    @Getter
+    private static final Map<String, QueryMetrics> queryMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * Map to store the recorded statement catalog of each entity manager
+     */
+    @Getter
+    private static final Map<String, QueryCatalog> queryCatalogs = new ConcurrentHashMap<>();
+
+    /**
+     * Map to store the resources opened for each entity manager outside its pool, closed on reset
+     */
+    @Getter
+    private static final Map<String, AutoCloseable> unitResources = new ConcurrentHashMap<>();
 
     /**
      * Map to store EntityManager annotations by their value (entity manager name)
@@ -53,7 +94,39 @@ public class VertxPersistenceModule extends AbstractModule implements IGuiceModu
 
     public static void reset() {
         connectionModules.clear();
+        // Closing a recycling pool also cancels its rotation timer
+        sqlClientMap.forEach((name, client) -> {
+            try
+            {
+                client.close();
+            }
+            catch (Exception e)
+            {
+                log.debug("⚠️ Closing the pool of '{}' failed: {}", name, e.getMessage());
+            }
+        });
         sqlClientMap.clear();
+        PoolPartitions.closeAll();
+        circuitBreakers.clear();
+        connectionValidators.values().forEach(ConnectionValidator::stop);
+        connectionValidators.clear();
+        queryMetrics.clear();
+        queryCatalogs.values().forEach(QueryCatalog::stop);
+        queryCatalogs.clear();
+        unitResources.forEach((name, resource) -> {
+            try
+            {
+                resource.close();
+            }
+            catch (Exception e)
+            {
+                log.debug("⚠️ Closing '{}' failed: {}", name, e.getMessage());
+            }
+        });
+        unitResources.clear();
+        QueryMetricsTracer.clear();
+        PersistenceTracing.clearVendors();
+        PersistenceHealth.unregisterType(HealthProbe.PERSISTENCE_UNIT);
         entityManagerAnnotations.clear();
         packageNamesByEntityManager.clear();
     }
@@ -297,7 +370,7 @@ public class VertxPersistenceModule extends AbstractModule implements IGuiceModu
         // Ensure SqlClient is populated in the map if not already
         if (!sqlClientMap.containsKey(persistenceUnitName))
         {
-            SqlClient sqlClient = connectionInfo.toPooledDatasource();
+            SqlClient sqlClient = RecyclingPool.create(connectionInfo);
             if (sqlClient != null)
             {
                 sqlClientMap.put(persistenceUnitName, sqlClient);
@@ -444,11 +517,31 @@ public class VertxPersistenceModule extends AbstractModule implements IGuiceModu
     /**
      * Gets the SqlClient associated with the specified entity manager name.
      * This method allows easy retrieval of the SqlClient associated with a specific @EntityManager annotation.
+     * The pool is handed out behind the unit's circuit breaker, see {@link PoolCircuitBreaker#guard(SqlClient)}.
      *
      * @param entityManagerName The name of the entity manager to look up (value from the @EntityManager annotation)
      * @return The SqlClient for the specified entity manager, or null if not found
      */
     public static SqlClient getSqlClientByEntityManager(String entityManagerName)
+    {
+        SqlClient client = getRegisteredSqlClient(entityManagerName);
+        PoolCircuitBreaker circuitBreaker = getCircuitBreakerByEntityManager(entityManagerName);
+        if (client == null || circuitBreaker == null)
+        {
+            return client;
+        }
+        return circuitBreaker.guard(client);
+    }
+
+    /**
+     * Gets the pool registered for the specified entity manager name, without the circuit breaker in front of it.
+     * Used by the breaker's probe, the connection validator and health checks, which must reach the database while the
+     * breaker is open.
+     *
+     * @param entityManagerName The name of the entity manager to look up (value from the @EntityManager annotation)
+     * @return The registered SqlClient for the specified entity manager, or null if not found
+     */
+    public static SqlClient getRegisteredSqlClient(String entityManagerName)
     {
         if (entityManagerName == null)
         {
@@ -458,6 +551,22 @@ public class VertxPersistenceModule extends AbstractModule implements IGuiceModu
         return sqlClientMap.get(entityManagerName);
     }
 
+    /**
+     * Gets the circuit breaker guarding the specified entity manager.
+     *
+     * @param entityManagerName The name of the entity manager to look up (value from the @EntityManager annotation)
+     * @return The PoolCircuitBreaker for the specified entity manager, or null if not found
+     */
+    public static PoolCircuitBreaker getCircuitBreakerByEntityManager(String entityManagerName)
+    {
+        if (entityManagerName == null)
+        {
+            entityManagerName = DEFAULT_PACKAGE;
+        }
+
+        return circuitBreakers.get(entityManagerName);
+    }
+
     /**
      * Gets the default SqlClient.
      * This is a convenience method to retrieve the SqlClient for the default entity manager.
@@ -0,0 +1,70 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.implementations.BatchWriteLimits;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Batching settings of the {@link CassandraBatchWriter} bound for a {@link CassandraConnectionInfo}.
+ * <p>
+ * A partition's batch is sent once it holds {@link #maxBatchSize} statements, once adding a statement would exceed
+ * {@link #maxBatchBytes}, or {@link #flushInterval} milliseconds after its first statement, whichever comes first.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CassandraBatchWriteOptions implements BatchWriteLimits {
+
+    /**
+     * Maximum number of statements per batch. Defaults to {@code 50}.
+     */
+    private int maxBatchSize = 50;
+
+    /**
+     * Maximum size of the bound values of a batch in bytes, {@code 0} disables the byte budget.
+     * Defaults to 5 KiB, the server's default {@code batch_size_warn_threshold}.
+     */
+    private long maxBatchBytes = 5 * 1024;
+
+    /**
+     * Milliseconds a partially filled batch waits for more statements of its partition before it is sent,
+     * {@code 0} sends partial batches only on {@link CassandraBatchWriter#flush()}. Defaults to {@code 10}.
+     */
+    private long flushInterval = 10;
+
+    /**
+     * Maximum number of batches executed concurrently; further batches wait their turn. Defaults to {@code 32}.
+     */
+    private int maxInFlightBatches = 32;
+
+    /**
+     * Maximum number of statements accepted but not yet acknowledged per connection; further writes fail at once with a
+     * {@link com.guicedee.persistence.annotations.BulkWriteOperationException}, {@code 0} disables the limit.
+     * Defaults to {@code 10000}.
+     */
+    private int maxPendingStatements = 10_000;
+
+    /**
+     * Maximum number of partitions with an open batch per connection; writing to another partition sends the oldest
+     * open batch first, {@code 0} disables the limit. Defaults to {@code 1024}.
+     */
+    private int maxOpenBatches = 1024;
+
+    @Override
+    public int getMaxPendingWrites() {
+        return maxPendingStatements;
+    }
+}
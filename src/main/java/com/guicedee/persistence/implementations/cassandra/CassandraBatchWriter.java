@@ -0,0 +1,167 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import com.guicedee.persistence.implementations.BatchingWriter;
+import io.smallrye.mutiny.Uni;
+import io.vertx.cassandra.CassandraClient;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import lombok.extern.log4j.Log4j2;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Groups Cassandra writes by partition and sends each group as an {@code UNLOGGED} batch.
+ * <p>
+ * A batch whose statements all target the same partition is applied by the replicas of that partition as a single
+ * mutation, so it costs one request instead of one per statement and, unlike a multi-partition batch, adds no
+ * coordinator work. The writer keeps one open batch per table and routing key; a batch is sent when it is full, its
+ * byte budget is reached, or its time window elapses (see {@link CassandraBatchWriteOptions}). Statements without a
+ * routing key, such as unprepared statements, are sent on their own. At most
+ * {@link CassandraBatchWriteOptions#getMaxInFlightBatches()} batches are executed at a time; later batches queue
+ * behind them, so callers that wait for their writes are slowed to the speed of the cluster. Once
+ * {@link CassandraBatchWriteOptions#getMaxPendingStatements()} statements are waiting, further writes fail at once
+ * instead of growing the queue. At most {@link CassandraBatchWriteOptions#getMaxOpenBatches()} partitions have an open
+ * batch; writing to another partition sends the oldest open batch first, so writes spread over many partitions do not
+ * hold a batch and a timer each. The batching itself is done by {@link BatchingWriter}.
+ * <p>
+ * Each write completes when its batch is acknowledged. Unlogged batches are not atomic; when a batch fails every write
+ * in it fails with a {@link BulkWriteOperationException}, although some of them may have been applied.
+ * <p>
+ * One writer is bound per {@link CassandraConnectionInfo#getName()} as {@code @Named("name") CassandraBatchWriter}.
+ *
+ * <pre>{@code
+ * @Inject @Named("metrics")
+ * CassandraBatchWriter writer;
+ *
+ * Multi.createFrom().iterable(samples)
+ *      .onItem().transformToUniAndMerge(s -> writer.write(
+ *              "INSERT INTO metrics.samples (sensor, ts, value) VALUES (?, ?, ?)", s.sensor(), s.ts(), s.value()))
+ *      .collect().last();
+ * }</pre>
+ */
+@Log4j2
+public class CassandraBatchWriter extends BatchingWriter<CassandraBatchWriter.PartitionKey, BatchableStatement<?>, CassandraBatchWriteOptions> {
+
+    private final CassandraClient client;
+    private final CassandraStatements statements;
+
+    /**
+     * Creates a writer for a Cassandra client.
+     *
+     * @param name       the connection name, used in log messages
+     * @param client     the client to write with
+     * @param statements the prepared statement registry of the client
+     * @param vertx      the Vert.x instance used for the batch time window, may be null to only flush on size
+     * @param options    the batching settings, or null for the defaults
+     */
+    public CassandraBatchWriter(String name, CassandraClient client, CassandraStatements statements, Vertx vertx,
+                                CassandraBatchWriteOptions options) {
+        super(name, vertx, options == null ? new CassandraBatchWriteOptions() : options);
+        this.client = client;
+        this.statements = statements;
+    }
+
+    /**
+     * Binds values to a cached prepared statement and adds it to the batch of its partition.
+     *
+     * @param cql    the statement text
+     * @param values the values of the bind markers, in order
+     * @return completes when the batch holding the statement is acknowledged
+     */
+    public Uni<Void> write(String cql, Object... values) {
+        return statements.bind(cql, values).chain(this::write);
+    }
+
+    /**
+     * Adds a statement to the batch of its partition once subscribed to.
+     *
+     * @param statement the statement to write
+     * @return completes when the batch holding the statement is acknowledged
+     */
+    public Uni<Void> write(BatchableStatement<?> statement) {
+        return submit(partitionKey(statement), statement);
+    }
+
+    /**
+     * @return the number of statements accepted but not yet acknowledged
+     */
+    public int getPendingStatements() {
+        return getPendingWrites();
+    }
+
+    /**
+     * @return the number of partitions with an open batch
+     */
+    public int getOpenPartitions() {
+        return getOpenBatches();
+    }
+
+    /**
+     * @return the batching settings in use
+     */
+    public CassandraBatchWriteOptions getOptions() {
+        return limits;
+    }
+
+    @Override
+    protected Future<?> send(Batch<PartitionKey, BatchableStatement<?>> batch) {
+        List<BatchableStatement<?>> batched = batch.getWrites();
+        log.trace("📦 [CASSANDRA-BATCH] '{}' writing {} statements to {}", name, batched.size(),
+                batch.getKey() == null ? "an unrouted partition" : batch.getKey().table());
+        Statement<?> statement = batched.size() == 1
+                ? batched.getFirst()
+                : BatchStatement.newInstance(BatchType.UNLOGGED, batched);
+        return client.execute(statement);
+    }
+
+    @Override
+    protected void fail(Batch<PartitionKey, BatchableStatement<?>> batch, Throwable cause) {
+        log.warn("⚠️ [CASSANDRA-BATCH] '{}' batch of {} statements failed: {}",
+                name, batch.getWrites().size(), cause.getMessage());
+        BulkWriteOperationException failure = new BulkWriteOperationException(
+                "Unlogged batch of " + batch.getWrites().size() + " statements failed", cause);
+        batch.getEmitters().forEach(emitter -> emitter.fail(failure));
+    }
+
+    private static PartitionKey partitionKey(BatchableStatement<?> statement) {
+        if (!(statement instanceof BoundStatement bound)) {
+            return null;
+        }
+        ByteBuffer routingKey = bound.getRoutingKey();
+        ColumnDefinitions variables = bound.getPreparedStatement().getVariableDefinitions();
+        if (routingKey == null || variables.size() == 0) {
+            return null;
+        }
+        ColumnDefinition column = variables.get(0);
+        return new PartitionKey(column.getKeyspace().asInternal() + "." + column.getTable().asInternal(), routingKey);
+    }
+
+    @Override
+    protected long estimateSize(BatchableStatement<?> statement) {
+        if (!(statement instanceof BoundStatement bound)) {
+            return 0;
+        }
+        long size = 0;
+        for (ByteBuffer value : bound.getValues()) {
+            if (value != null) {
+                size += value.remaining();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A partition of a table, identified by its serialized partition key.
+     */
+    record PartitionKey(String table, ByteBuffer routingKey) {
+    }
+}
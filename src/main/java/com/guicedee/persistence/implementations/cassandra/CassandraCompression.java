@@ -0,0 +1,50 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+/**
+ * Protocol compression of the Cassandra driver.
+ */
+public enum CassandraCompression {
+    /**
+     * No compression, the driver default
+     */
+    NONE("none", null, null),
+    /**
+     * LZ4, fast and supported by every protocol version
+     */
+    LZ4("lz4", "net.jpountz.lz4.LZ4Factory", "org.lz4:lz4-java"),
+    /**
+     * Snappy, not available with protocol v5
+     */
+    SNAPPY("snappy", "org.xerial.snappy.Snappy", "org.xerial.snappy:snappy-java");
+
+    private final String driverName;
+    private final String requiredClass;
+    private final String requiredArtifact;
+
+    CassandraCompression(String driverName, String requiredClass, String requiredArtifact) {
+        this.driverName = driverName;
+        this.requiredClass = requiredClass;
+        this.requiredArtifact = requiredArtifact;
+    }
+
+    /**
+     * @return the name used in the driver configuration
+     */
+    public String getDriverName() {
+        return driverName;
+    }
+
+    /**
+     * @return a class of the library implementing the algorithm, or null when none is needed
+     */
+    public String getRequiredClass() {
+        return requiredClass;
+    }
+
+    /**
+     * @return the artifact providing {@link #getRequiredClass()}
+     */
+    public String getRequiredArtifact() {
+        return requiredArtifact;
+    }
+}
@@ -18,7 +18,7 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
  * Configuration holder for a Vert.x Cassandra client connection.
  * <p>
  * Supports multiple contact points and an optional keyspace.
- * Maps directly to {@code CassandraClientOptions}.
+ * Maps directly to {@code CassandraClientOptions}, with {@link #performance} applied to the driver configuration.
  */
 @JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
 @JsonInclude(NON_NULL)
@@ -64,6 +64,31 @@ public class CassandraConnectionInfo {
      */
     private boolean defaultConnection = true;
 
+    /**
+     * Routing, pooling, throttling, speculative execution and compression settings.
+     */
+    private CassandraPerformanceOptions performance = new CassandraPerformanceOptions();
+
+    /**
+     * Number of rows the {@link CassandraStreamReader} fetches per page. Defaults to {@code 1000}.
+     */
+    private int streamPageSize = 1000;
+
+    /**
+     * Batching settings of the {@link CassandraBatchWriter} bound for this connection.
+     */
+    private CassandraBatchWriteOptions batchWrite = new CassandraBatchWriteOptions();
+
+    /**
+     * Settings of the full-table scans run by the {@link CassandraTokenRangeScanner} bound for this connection.
+     */
+    private CassandraScanOptions scan = new CassandraScanOptions();
+
+    /**
+     * CQL statements prepared by {@link CassandraStatements} when the client starts.
+     */
+    private final List<String> preparedStatements = new ArrayList<>();
+
     /**
      * Adds a contact point.
      *
@@ -76,6 +101,17 @@ public class CassandraConnectionInfo {
         return this;
     }
 
+    /**
+     * Adds a statement to prepare at startup.
+     *
+     * @param cql the statement text, as later passed to {@link CassandraStatements}
+     * @return this instance for chaining
+     */
+    public CassandraConnectionInfo addPreparedStatement(String cql) {
+        preparedStatements.add(cql);
+        return this;
+    }
+
     /**
      * A single contact point in the Cassandra cluster.
      */
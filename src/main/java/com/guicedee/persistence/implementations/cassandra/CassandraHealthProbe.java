@@ -0,0 +1,56 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.guicedee.persistence.health.ComponentHealth;
+import com.guicedee.persistence.health.HealthProbe;
+import com.guicedee.persistence.health.HealthStatus;
+import io.smallrye.mutiny.Uni;
+import io.vertx.cassandra.CassandraClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Probes a Cassandra connection by reading the coordinator's {@code system.local} row, registered by {@link CassandraModule}.
+ */
+public class CassandraHealthProbe implements HealthProbe {
+
+    private final String name;
+    private final CassandraClient client;
+
+    /**
+     * Creates the probe of a Cassandra client.
+     *
+     * @param name   the connection name
+     * @param client the client to probe
+     */
+    public CassandraHealthProbe(String name, CassandraClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    @Override
+    public String getName() {
+        return "cassandra:" + name;
+    }
+
+    @Override
+    public String getType() {
+        return CASSANDRA;
+    }
+
+    @Override
+    public Uni<ComponentHealth> probe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        return Uni.createFrom().completionStage(() -> client.execute("SELECT data_center, release_version FROM system.local").toCompletionStage())
+                .map(resultSet -> {
+                    Row row = resultSet.one();
+                    if (row != null) {
+                        details.put("datacenter", row.getString("data_center"));
+                        details.put("releaseVersion", row.getString("release_version"));
+                    }
+                    return ComponentHealth.of(this, HealthStatus.UP, details);
+                })
+                .onFailure().recoverWithItem(t -> ComponentHealth.down(this, details, t));
+    }
+}
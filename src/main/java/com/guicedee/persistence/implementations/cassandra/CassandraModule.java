@@ -1,15 +1,20 @@
 package com.guicedee.persistence.implementations.cassandra;
 
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import com.guicedee.client.services.lifecycle.IGuiceModule;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
+import com.guicedee.persistence.health.PersistenceHealth;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.cassandra.CassandraClient;
 import io.vertx.cassandra.CassandraClientOptions;
 import io.vertx.core.Vertx;
 import lombok.extern.log4j.Log4j2;
 
+import java.time.Duration;
+import java.util.ServiceLoader;
+
 /**
  * A Guice module that creates and binds a Vert.x {@link CassandraClient} into the injector.
  * <p>
@@ -22,6 +27,10 @@ import lombok.extern.log4j.Log4j2;
  *   <li>Subclass this class and implement {@link #getCassandraConnectionInfo()}.</li>
  *   <li>Register the subclass as an {@code IGuiceModule} SPI provider.</li>
  *   <li>Inject {@code CassandraClient} (optionally with {@code @Named("yourName")}).</li>
+ *   <li>Inject {@link CassandraStatements} with the same qualifier to execute cached prepared statements.</li>
+ *   <li>Inject {@link CassandraStreamReader} and {@link CassandraBatchWriter} with the same qualifier to page through
+ *       large results and to batch writes per partition.</li>
+ *   <li>Inject {@link CassandraTokenRangeScanner} with the same qualifier to scan whole tables in parallel token ranges.</li>
  * </ol>
  *
  * <pre>{@code
@@ -41,6 +50,7 @@ public abstract class CassandraModule<J extends CassandraModule<J>>
         implements IGuiceModule<J>, IGuicePreDestroy<J> {
 
     private CassandraClient cassandraClient;
+    private CassandraBatchWriter batchWriter;
 
     /**
      * Provides the Cassandra connection info for this module.
@@ -82,6 +92,20 @@ public abstract class CassandraModule<J extends CassandraModule<J>>
                 options.setKeyspace(info.getKeyspace());
             }
 
+            // Apply routing, pooling, throttling and compression settings to the driver
+            CassandraPerformanceOptions performance = info.getPerformance();
+            if (performance != null) {
+                performance.validate(info.getName());
+                DriverConfigLoader configLoader = performance.toConfigLoader();
+                if (configLoader != null) {
+                    options.dataStaxClusterBuilder().withConfigLoader(configLoader);
+                }
+                if (performance.getLocalDatacenter() != null) {
+                    options.dataStaxClusterBuilder().withLocalDatacenter(performance.getLocalDatacenter());
+                }
+                log.debug("📋 Cassandra '{}' performance options: {}", info.getName(), performance);
+            }
+
             cassandraClient = CassandraClient.createShared(vertx, info.getName(), options);
 
             // Bind with @Named qualifier
@@ -89,9 +113,46 @@ public abstract class CassandraModule<J extends CassandraModule<J>>
                     .annotatedWith(Names.named(info.getName()))
                     .toInstance(cassandraClient);
 
+            CassandraStatements statements = new CassandraStatements(info.getName(), cassandraClient);
+            bind(CassandraStatements.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(statements);
+            if (!info.getPreparedStatements().isEmpty()) {
+                // Failures are logged by warmUp, the statements are prepared again on first use
+                statements.warmUp(info.getPreparedStatements()).subscribe().with(v -> {}, t -> {});
+            }
+
+            CassandraStreamReader streamReader = new CassandraStreamReader(cassandraClient, statements, info.getStreamPageSize());
+            bind(CassandraStreamReader.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(streamReader);
+
+            batchWriter = new CassandraBatchWriter(info.getName(), cassandraClient, statements, vertx, info.getBatchWrite());
+            bind(CassandraBatchWriter.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(batchWriter);
+
+            String checkpointTable = info.getScan().getCheckpointTable().contains(".")
+                    || info.getKeyspace() == null || info.getKeyspace().isEmpty()
+                    ? info.getScan().getCheckpointTable()
+                    : info.getKeyspace() + "." + info.getScan().getCheckpointTable();
+            CassandraScanCheckpointStore checkpointStore = ServiceLoader.load(CassandraScanCheckpointStore.class).findFirst()
+                    .orElseGet(() -> new CassandraTableScanCheckpointStore(statements, checkpointTable));
+            CassandraTokenRangeScanner scanner = new CassandraTokenRangeScanner(info.getName(), statements, streamReader,
+                    info.getScan(), checkpointStore);
+            bind(CassandraTokenRangeScanner.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(scanner);
+
+            PersistenceHealth.register(new CassandraHealthProbe(info.getName(), cassandraClient));
+
             // If this is the default connection, also bind without @Named
             if (info.isDefaultConnection()) {
                 bind(CassandraClient.class).toInstance(cassandraClient);
+                bind(CassandraStatements.class).toInstance(statements);
+                bind(CassandraStreamReader.class).toInstance(streamReader);
+                bind(CassandraBatchWriter.class).toInstance(batchWriter);
+                bind(CassandraTokenRangeScanner.class).toInstance(scanner);
             }
 
             log.info("✅ CassandraClient bound as @Named(\"{}\"){}",
@@ -105,6 +166,14 @@ public abstract class CassandraModule<J extends CassandraModule<J>>
 
     @Override
     public void onDestroy() {
+        PersistenceHealth.unregister("cassandra:" + getCassandraConnectionInfo().getName());
+        if (batchWriter != null) {
+            try {
+                batchWriter.flush().await().atMost(Duration.ofSeconds(30));
+            } catch (Throwable t) {
+                log.warn("⚠️ Flushing CassandraBatchWriter '{}' failed: {}", getCassandraConnectionInfo().getName(), t.getMessage());
+            }
+        }
         if (cassandraClient != null) {
             try {
                 cassandraClient.close();
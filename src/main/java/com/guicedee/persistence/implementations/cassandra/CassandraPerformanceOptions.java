@@ -0,0 +1,203 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.ProgrammaticDriverConfigLoaderBuilder;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.time.Duration;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Routing, pooling, throttling, speculative execution and compression settings of a Cassandra connection.
+ * <p>
+ * The settings are applied to the DataStax driver configuration when {@link CassandraModule} creates the client.
+ * Load balancing is token aware by default; setting {@link #localDatacenter} keeps requests inside the local
+ * datacenter so they do not pay cross-DC round trips. Zero or null values leave the driver defaults in place.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CassandraPerformanceOptions {
+
+    /**
+     * The datacenter requests are routed to; replicas in other datacenters are only used by explicit consistency levels.
+     */
+    private String localDatacenter;
+
+    /**
+     * Connections per node in the local datacenter, {@code 0} uses the driver default of 1.
+     */
+    private int connectionsPerLocalNode;
+
+    /**
+     * Connections per node in remote datacenters, {@code 0} uses the driver default of 1.
+     */
+    private int connectionsPerRemoteNode;
+
+    /**
+     * Maximum concurrent requests per connection, {@code 0} uses the driver default of 1024.
+     */
+    private int maxRequestsPerConnection;
+
+    /**
+     * Limits the requests in flight across the session, queueing the rest. {@code 0} disables concurrency throttling.
+     */
+    private int maxConcurrentRequests;
+
+    /**
+     * Limits the requests started per second, queueing the rest. {@code 0} disables rate throttling.
+     * Cannot be combined with {@link #maxConcurrentRequests}.
+     */
+    private int maxRequestsPerSecond;
+
+    /**
+     * Requests queued by the throttler before new requests are rejected. Defaults to {@code 10000}.
+     */
+    private int maxThrottleQueueSize = 10000;
+
+    /**
+     * Additional executions sent to other replicas when a request is slow, {@code 0} disables speculative execution.
+     * Only idempotent statements are retried speculatively, see {@link #defaultIdempotence}.
+     */
+    private int speculativeExecutions;
+
+    /**
+     * Milliseconds to wait before each speculative execution. Defaults to {@code 100}.
+     */
+    private long speculativeExecutionDelay = 100;
+
+    /**
+     * Whether statements are idempotent unless marked otherwise, null uses the driver default ({@code false}).
+     */
+    private Boolean defaultIdempotence;
+
+    /**
+     * Whether the load balancer avoids replicas that are slow to respond, null uses the driver default ({@code true}).
+     */
+    private Boolean slowReplicaAvoidance;
+
+    /**
+     * Protocol compression, null uses the driver default ({@link CassandraCompression#NONE}).
+     */
+    private CassandraCompression compression;
+
+    /**
+     * Request timeout in milliseconds, {@code 0} uses the driver default of 2 seconds.
+     */
+    private long requestTimeout;
+
+    /**
+     * Rows fetched per page, {@code 0} uses the driver default of 5000.
+     */
+    private int pageSize;
+
+    /**
+     * Checks the settings for consistency.
+     *
+     * @param connectionName the connection the settings belong to, used in messages
+     * @throws InvalidConnectionInfoException when a value is out of range, throttlers are combined, or a compression library is missing
+     */
+    public void validate(String connectionName) {
+        if (connectionsPerLocalNode < 0 || connectionsPerRemoteNode < 0 || maxRequestsPerConnection < 0
+                || maxConcurrentRequests < 0 || maxRequestsPerSecond < 0 || maxThrottleQueueSize < 0
+                || speculativeExecutions < 0 || speculativeExecutionDelay < 0 || requestTimeout < 0 || pageSize < 0) {
+            throw new InvalidConnectionInfoException("Cassandra '" + connectionName + "': performance options must not be negative");
+        }
+        if (maxConcurrentRequests > 0 && maxRequestsPerSecond > 0) {
+            throw new InvalidConnectionInfoException("Cassandra '" + connectionName
+                    + "': only one of maxConcurrentRequests and maxRequestsPerSecond can be set");
+        }
+        if (localDatacenter != null && localDatacenter.isBlank()) {
+            throw new InvalidConnectionInfoException("Cassandra '" + connectionName + "': localDatacenter must not be blank");
+        }
+        if (compression != null && compression.getRequiredClass() != null) {
+            try {
+                Class.forName(compression.getRequiredClass(), false, CassandraPerformanceOptions.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new InvalidConnectionInfoException("Cassandra '" + connectionName + "': " + compression.getDriverName()
+                        + " compression requires " + compression.getRequiredArtifact() + " on the module path", e);
+            }
+        }
+    }
+
+    /**
+     * Builds a driver configuration loader holding the settings on top of the driver defaults.
+     *
+     * @return the loader, or null when every setting keeps its driver default
+     */
+    public DriverConfigLoader toConfigLoader() {
+        ProgrammaticDriverConfigLoaderBuilder builder = DriverConfigLoader.programmaticBuilder();
+        boolean configured = false;
+        if (localDatacenter != null) {
+            builder.withString(DefaultDriverOption.LOAD_BALANCING_LOCAL_DATACENTER, localDatacenter);
+            configured = true;
+        }
+        if (connectionsPerLocalNode > 0) {
+            builder.withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, connectionsPerLocalNode);
+            configured = true;
+        }
+        if (connectionsPerRemoteNode > 0) {
+            builder.withInt(DefaultDriverOption.CONNECTION_POOL_REMOTE_SIZE, connectionsPerRemoteNode);
+            configured = true;
+        }
+        if (maxRequestsPerConnection > 0) {
+            builder.withInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS, maxRequestsPerConnection);
+            configured = true;
+        }
+        if (maxConcurrentRequests > 0) {
+            builder.withString(DefaultDriverOption.REQUEST_THROTTLER_CLASS, "ConcurrencyLimitingRequestThrottler")
+                    .withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS, maxConcurrentRequests)
+                    .withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE, maxThrottleQueueSize);
+            configured = true;
+        } else if (maxRequestsPerSecond > 0) {
+            builder.withString(DefaultDriverOption.REQUEST_THROTTLER_CLASS, "RateLimitingRequestThrottler")
+                    .withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_REQUESTS_PER_SECOND, maxRequestsPerSecond)
+                    .withInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE, maxThrottleQueueSize)
+                    .withDuration(DefaultDriverOption.REQUEST_THROTTLER_DRAIN_INTERVAL, Duration.ofMillis(10));
+            configured = true;
+        }
+        if (speculativeExecutions > 0) {
+            builder.withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, "ConstantSpeculativeExecutionPolicy")
+                    // The policy counts the initial execution
+                    .withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, speculativeExecutions + 1)
+                    .withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, Duration.ofMillis(speculativeExecutionDelay));
+            configured = true;
+        }
+        if (defaultIdempotence != null) {
+            builder.withBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE, defaultIdempotence);
+            configured = true;
+        }
+        if (slowReplicaAvoidance != null) {
+            builder.withBoolean(DefaultDriverOption.LOAD_BALANCING_POLICY_SLOW_AVOIDANCE, slowReplicaAvoidance);
+            configured = true;
+        }
+        if (compression != null) {
+            builder.withString(DefaultDriverOption.PROTOCOL_COMPRESSION, compression.getDriverName());
+            configured = true;
+        }
+        if (requestTimeout > 0) {
+            builder.withDuration(DefaultDriverOption.REQUEST_TIMEOUT, Duration.ofMillis(requestTimeout));
+            configured = true;
+        }
+        if (pageSize > 0) {
+            builder.withInt(DefaultDriverOption.REQUEST_PAGE_SIZE, pageSize);
+            configured = true;
+        }
+        return configured ? builder.build() : null;
+    }
+}
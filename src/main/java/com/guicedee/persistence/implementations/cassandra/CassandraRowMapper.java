@@ -0,0 +1,160 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Maps a Cassandra {@link Row} to an object.
+ * <p>
+ * {@link #forRecord(Class)} builds a mapper for a record once, when it is bound: the canonical constructor is
+ * resolved to a {@link MethodHandle} and every component to a column and driver codec type, and the column positions
+ * are resolved once per result shape. Mapping a row then only reads the columns by position and invokes the
+ * constructor handle, without reflection.
+ *
+ * <pre>{@code
+ * public record Book(String id, String title, String author) {}
+ *
+ * CassandraRowMapper<Book> books = CassandraRowMapper.forRecord(Book.class);
+ * statements.query("SELECT id, title, author FROM shop.books WHERE id = ?", books, id);
+ * }</pre>
+ *
+ * @param <T> the mapped type
+ */
+@FunctionalInterface
+public interface CassandraRowMapper<T> {
+
+    /**
+     * Maps one row.
+     *
+     * @param row the row to map
+     * @return the mapped object
+     */
+    T map(Row row);
+
+    /**
+     * Builds a mapper for a public record in an exported package.
+     * Components are matched to columns by name, falling back to the snake_case form ({@code authorName} to
+     * {@code author_name}); components without a column receive null or the primitive default.
+     *
+     * @param type the record type
+     * @param <R>  the record type
+     * @return the mapper
+     */
+    static <R extends Record> CassandraRowMapper<R> forRecord(Class<R> type) {
+        return forRecord(type, MethodHandles.publicLookup());
+    }
+
+    /**
+     * Builds a mapper for a record using a lookup with access to its constructor, for records that are not public.
+     *
+     * @param type   the record type
+     * @param lookup a lookup with access to the canonical constructor, e.g. {@code MethodHandles.lookup()} from the record's module
+     * @param <R>    the record type
+     * @return the mapper
+     */
+    static <R extends Record> CassandraRowMapper<R> forRecord(Class<R> type, MethodHandles.Lookup lookup) {
+        return new RecordMapper<>(type, lookup);
+    }
+
+    /**
+     * The record mapper built by {@link #forRecord(Class, MethodHandles.Lookup)}.
+     *
+     * @param <R> the record type
+     */
+    final class RecordMapper<R extends Record> implements CassandraRowMapper<R> {
+        private final Class<R> type;
+        private final String[] columns;
+        private final GenericType<?>[] types;
+        private final Object[] defaults;
+        private final MethodHandle constructor;
+        private volatile Shape shape;
+
+        private RecordMapper(Class<R> type, MethodHandles.Lookup lookup) {
+            this.type = type;
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            columns = new String[components.length];
+            types = new GenericType<?>[components.length];
+            defaults = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                Class<?> componentType = components[i].getType();
+                parameterTypes[i] = componentType;
+                columns[i] = components[i].getName();
+                if (componentType.isPrimitive()) {
+                    defaults[i] = Array.get(Array.newInstance(componentType, 1), 0);
+                    types[i] = GenericType.of(MethodType.methodType(componentType).wrap().returnType());
+                } else {
+                    types[i] = GenericType.of(components[i].getGenericType());
+                }
+            }
+            try {
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access the canonical constructor of " + type.getName()
+                        + ", pass a lookup from its module", e);
+            }
+        }
+
+        @Override
+        public R map(Row row) {
+            int[] indexes = indexes(row.getColumnDefinitions());
+            Object[] values = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                Object value = indexes[i] < 0 ? null : row.get(indexes[i], types[i]);
+                values[i] = value == null ? defaults[i] : value;
+            }
+            try {
+                return type.cast(constructor.invokeExact(values));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unable to create " + type.getName() + " from row", t);
+            }
+        }
+
+        private int[] indexes(ColumnDefinitions definitions) {
+            Shape current = shape;
+            if (current != null && current.definitions == definitions) {
+                return current.indexes;
+            }
+            int[] indexes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                int index = definitions.firstIndexOf(columns[i]);
+                if (index < 0) {
+                    index = definitions.firstIndexOf(snakeCase(columns[i]));
+                }
+                indexes[i] = index;
+            }
+            shape = new Shape(definitions, indexes);
+            return indexes;
+        }
+
+        private static String snakeCase(String name) {
+            StringBuilder out = new StringBuilder(name.length() + 4);
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (Character.isUpperCase(c)) {
+                    if (i > 0) {
+                        out.append('_');
+                    }
+                    out.append(Character.toLowerCase(c));
+                } else {
+                    out.append(c);
+                }
+            }
+            return out.toString();
+        }
+
+        private record Shape(ColumnDefinitions definitions, int[] indexes) {
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.guicedee.persistence.implementations.cassandra.CassandraScanCheckpointStore.Checkpoint;
+import com.guicedee.persistence.implementations.cassandra.CassandraTokenRangeScanner.TokenRange;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One full-table scan prepared by {@link CassandraTokenRangeScanner}, with its progress.
+ * <p>
+ * The scan starts when {@link #rows()} is subscribed to and should be subscribed to once. Every row carries the
+ * partition token in the {@link CassandraTokenRangeScanner#TOKEN_COLUMN} column. A partition is checkpointed once the
+ * first row of the following partition of its sub-range has been handed to the subscriber.
+ */
+@Log4j2
+public class CassandraScan {
+
+    private final String name;
+    private final String cql;
+    private final List<TokenRange> tokenRanges;
+    private final String scanId;
+    private final CassandraScanOptions options;
+    private final CassandraStatements statements;
+    private final CassandraStreamReader reader;
+    private final CassandraScanCheckpointStore checkpointStore;
+    private final Multi<Row> rows;
+
+    private final Map<Integer, RangeState> states = new HashMap<>();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicInteger completedRanges = new AtomicInteger();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    CassandraScan(String name, String cql, List<TokenRange> tokenRanges, String scanId, CassandraScanOptions options,
+                  CassandraStatements statements, CassandraStreamReader reader, CassandraScanCheckpointStore checkpointStore) {
+        this.name = name;
+        this.cql = cql;
+        this.tokenRanges = tokenRanges;
+        this.scanId = scanId;
+        this.options = options;
+        this.statements = statements;
+        this.reader = reader;
+        this.checkpointStore = checkpointStore;
+        this.rows = Multi.createFrom().deferred(this::start);
+    }
+
+    /**
+     * @return the rows of every sub-range, merged in no particular order
+     */
+    public Multi<Row> rows() {
+        return rows;
+    }
+
+    /**
+     * @return the scan id checkpoints are stored under, or null when the scan is not checkpointed
+     */
+    public String getScanId() {
+        return scanId;
+    }
+
+    /**
+     * @return the number of sub-ranges of the scan
+     */
+    public int getTotalRanges() {
+        return tokenRanges.size();
+    }
+
+    /**
+     * @return the number of sub-ranges fully delivered, including those finished by a previous run
+     */
+    public int getCompletedRanges() {
+        return completedRanges.get();
+    }
+
+    /**
+     * @return the number of rows delivered by this run
+     */
+    public long getRowsScanned() {
+        return rowsScanned.get();
+    }
+
+    /**
+     * @return the fraction of sub-ranges completed, between {@code 0} and {@code 1}
+     */
+    public double getProgress() {
+        return (double) completedRanges.get() / tokenRanges.size();
+    }
+
+    /**
+     * @return the milliseconds since the scan started, until it finished, or {@code 0} before it started
+     */
+    public long getElapsedMillis() {
+        long started = startedAt;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = finishedAt;
+        return (finished == 0 ? System.currentTimeMillis() : finished) - started;
+    }
+
+    /**
+     * @return the average rows delivered per second by this run
+     */
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : rowsScanned.get() * 1000d / elapsed;
+    }
+
+    /**
+     * @return whether every sub-range has been delivered
+     */
+    public boolean isDone() {
+        return finishedAt != 0;
+    }
+
+    private Multi<Row> start() {
+        Uni<List<Checkpoint>> checkpoints = checkpointStore == null
+                ? Uni.createFrom().item(List.of())
+                : checkpointStore.load(scanId);
+        return checkpoints.onItem().transformToMulti(loaded -> {
+            startedAt = System.currentTimeMillis();
+            List<RangeState> pending = restore(loaded);
+            log.info("🔍 [CASSANDRA-SCAN] '{}' scanning {} of {} token ranges{}, {} at a time", name, pending.size(),
+                    tokenRanges.size(), scanId == null ? "" : " for '" + scanId + "'", options.getParallelism());
+            return Multi.createFrom().iterable(pending)
+                    .onItem().transformToMulti(this::scanRange).merge(options.getParallelism())
+                    .onItem().invoke(this::track)
+                    .filter(rangeRow -> rangeRow.row() != null)
+                    .map(RangeRow::row)
+                    .onCompletion().call(this::finish);
+        });
+    }
+
+    private List<RangeState> restore(List<Checkpoint> checkpoints) {
+        Map<Integer, Checkpoint> byRange = new HashMap<>();
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.splits() == tokenRanges.size()) {
+                byRange.put(checkpoint.range(), checkpoint);
+            }
+        }
+        if (byRange.size() < checkpoints.size()) {
+            log.warn("⚠️ [CASSANDRA-SCAN] '{}' ignoring checkpoints of '{}' taken with a different number of splits", name, scanId);
+        }
+        List<RangeState> pending = new ArrayList<>();
+        synchronized (states) {
+            states.clear();
+            completedRanges.set(0);
+            for (TokenRange range : tokenRanges) {
+                Checkpoint checkpoint = byRange.get(range.index());
+                RangeState state = new RangeState(range, checkpoint == null ? range.start() : checkpoint.lastToken());
+                states.put(range.index(), state);
+                if (checkpoint != null && checkpoint.done()) {
+                    completedRanges.incrementAndGet();
+                } else {
+                    pending.add(state);
+                }
+            }
+        }
+        return pending;
+    }
+
+    private Multi<RangeRow> scanRange(RangeState state) {
+        Multi<RangeRow> rangeRows = statements.bind(cql, state.from, state.range.end())
+                .onItem().transformToMulti(bound -> reader.stream(bound.setPageSize(reader.getPageSize())))
+                .map(row -> new RangeRow(state, row));
+        // Marks the end of the sub-range once all of its rows have passed the merge
+        return Multi.createBy().concatenating().streams(rangeRows, Multi.createFrom().item(new RangeRow(state, null)));
+    }
+
+    private void track(RangeRow rangeRow) {
+        RangeState state = rangeRow.state();
+        if (rangeRow.row() == null) {
+            completedRanges.incrementAndGet();
+            checkpoint(state, state.range.end(), true);
+            log.debug("🔍 [CASSANDRA-SCAN] '{}' token range {} done, {}/{} ranges", name, state.range.index(),
+                    completedRanges.get(), tokenRanges.size());
+            return;
+        }
+        rowsScanned.incrementAndGet();
+        long token = rangeRow.row().getLong(CassandraTokenRangeScanner.TOKEN_COLUMN);
+        if (state.hasToken && state.token != token
+                && System.currentTimeMillis() - state.lastCheckpoint >= options.getCheckpointInterval()) {
+            // Every row of the previous partition has been delivered
+            checkpoint(state, state.token, false);
+        }
+        state.token = token;
+        state.hasToken = true;
+    }
+
+    private void checkpoint(RangeState state, long lastToken, boolean done) {
+        if (checkpointStore == null) {
+            return;
+        }
+        state.lastCheckpoint = System.currentTimeMillis();
+        Checkpoint checkpoint = new Checkpoint(state.range.index(), tokenRanges.size(), lastToken, done);
+        // Saves of one sub-range are chained so an older checkpoint never overwrites a newer one
+        state.saved = state.saved
+                .thenCompose(v -> checkpointStore.save(scanId, checkpoint).subscribeAsCompletionStage())
+                .exceptionally(t -> {
+                    log.warn("⚠️ [CASSANDRA-SCAN] '{}' checkpointing token range {} of '{}' failed: {}",
+                            name, checkpoint.range(), scanId, t.getMessage());
+                    return null;
+                });
+    }
+
+    private Uni<Void> finish() {
+        finishedAt = System.currentTimeMillis();
+        log.info("✅ [CASSANDRA-SCAN] '{}' scanned {} rows in {} ms", name, rowsScanned.get(), getElapsedMillis());
+        if (checkpointStore == null) {
+            return Uni.createFrom().voidItem();
+        }
+        List<CompletableFuture<Void>> saves = new ArrayList<>();
+        synchronized (states) {
+            states.values().forEach(state -> saves.add(state.saved.toCompletableFuture()));
+        }
+        return Uni.createFrom().completionStage(CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)))
+                .chain(() -> checkpointStore.clear(scanId))
+                .onFailure().invoke(t -> log.warn("⚠️ [CASSANDRA-SCAN] '{}' clearing checkpoints of '{}' failed: {}",
+                        name, scanId, t.getMessage()))
+                .onFailure().recoverWithNull();
+    }
+
+    private record RangeRow(RangeState state, Row row) {
+    }
+
+    private static final class RangeState {
+        private final TokenRange range;
+        private final long from;
+        private volatile long token;
+        private volatile boolean hasToken;
+        private volatile long lastCheckpoint = System.currentTimeMillis();
+        private volatile CompletionStage<Void> saved = CompletableFuture.completedFuture(null);
+
+        private RangeState(TokenRange range, long from) {
+            this.range = range;
+            this.from = from;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+
+/**
+ * SPI storing the sub-range checkpoints of {@link CassandraTokenRangeScanner} scans so an interrupted scan continues
+ * where it stopped.
+ * <p>
+ * Register an implementation with JPMS {@code provides} or {@code META-INF/services}; without one the checkpoints are
+ * kept in a table by {@link CassandraTableScanCheckpointStore}.
+ */
+public interface CassandraScanCheckpointStore {
+
+    /**
+     * The progress of one sub-range of a scan.
+     *
+     * @param range     the index of the sub-range
+     * @param splits    the number of sub-ranges the scan was split into
+     * @param lastToken the token of the last partition fully delivered
+     * @param done      whether every partition of the sub-range was delivered
+     */
+    record Checkpoint(int range, int splits, long lastToken, boolean done) {
+    }
+
+    /**
+     * Loads the checkpoints of a scan.
+     *
+     * @param scanId the stable identifier of the scan
+     * @return the checkpoints, empty when the scan has never been checkpointed
+     */
+    Uni<List<Checkpoint>> load(String scanId);
+
+    /**
+     * Stores the checkpoint of a sub-range, replacing the previous one.
+     *
+     * @param scanId     the stable identifier of the scan
+     * @param checkpoint the checkpoint
+     * @return completes once the checkpoint is stored
+     */
+    Uni<Void> save(String scanId, Checkpoint checkpoint);
+
+    /**
+     * Removes the checkpoints of a scan once it has completed.
+     *
+     * @param scanId the stable identifier of the scan
+     * @return completes once the checkpoints are removed
+     */
+    Uni<Void> clear(String scanId);
+}
@@ -0,0 +1,49 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings of the full-table scans run by the {@link CassandraTokenRangeScanner} bound for a {@link CassandraConnectionInfo}.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CassandraScanOptions {
+
+    /**
+     * Number of equal token sub-ranges the ring is split into. Defaults to {@code 64}.
+     * Restarting a scan from its checkpoints requires the same value.
+     */
+    private int splits = 64;
+
+    /**
+     * Number of sub-ranges queried concurrently. Defaults to {@code 4}.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Minimum milliseconds between two checkpoints of a sub-range; a finished sub-range is always checkpointed.
+     * Defaults to {@code 5000}.
+     */
+    private long checkpointInterval = 5000;
+
+    /**
+     * Table keeping the checkpoints of the default {@link CassandraTableScanCheckpointStore}, created when missing.
+     * Unqualified names are placed in the connection keyspace. Defaults to {@code guicedee_scan_checkpoints}.
+     */
+    private String checkpointTable = "guicedee_scan_checkpoints";
+}
@@ -0,0 +1,163 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import io.smallrye.mutiny.Uni;
+import io.vertx.cassandra.CassandraClient;
+import io.vertx.cassandra.ResultSet;
+import io.vertx.core.Future;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of prepared statements for one Cassandra connection.
+ * <p>
+ * Executing literal CQL makes the coordinator parse and plan every query again. Statements executed through the
+ * registry are prepared once per CQL text and cached; each execution only sends the statement id and the bound
+ * values. The statements listed in {@link CassandraConnectionInfo#getPreparedStatements()} are prepared at startup so
+ * the first requests do not pay for preparation.
+ * <p>
+ * One registry is bound per {@link CassandraConnectionInfo#getName()} as {@code @Named("name") CassandraStatements}.
+ *
+ * <pre>{@code
+ * @Inject @Named("shop")
+ * CassandraStatements statements;
+ *
+ * statements.query("SELECT id, title, author FROM shop.books WHERE id = ?", CassandraRowMapper.forRecord(Book.class), id);
+ * }</pre>
+ */
+@Log4j2
+public class CassandraStatements {
+
+    private final String name;
+    private final CassandraClient client;
+    private final Map<String, Future<PreparedStatement>> prepared = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry for a Cassandra client.
+     *
+     * @param name   the connection name, used in log messages
+     * @param client the client to prepare and execute with
+     */
+    public CassandraStatements(String name, CassandraClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    /**
+     * Prepares a statement, or returns the cached preparation.
+     *
+     * @param cql the statement text
+     * @return the prepared statement
+     */
+    public Uni<PreparedStatement> prepare(String cql) {
+        return Uni.createFrom().completionStage(() -> preparedFuture(cql).toCompletionStage());
+    }
+
+    /**
+     * Prepares statements ahead of their first use.
+     *
+     * @param statements the statement texts
+     * @return completes once every statement is prepared, fails with the first preparation failure
+     */
+    public Uni<Void> warmUp(Collection<String> statements) {
+        if (statements.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Future<PreparedStatement>> futures = new ArrayList<>(statements.size());
+        for (String cql : statements) {
+            futures.add(preparedFuture(cql));
+        }
+        return Uni.createFrom().completionStage(() -> Future.all(futures).toCompletionStage())
+                .invoke(() -> log.info("✅ Prepared {} Cassandra statements for '{}'", statements.size(), name))
+                .onFailure().invoke(t -> log.warn("⚠️ Preparing Cassandra statements for '{}' failed: {}", name, t.getMessage()))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Binds values to a cached statement.
+     *
+     * @param cql    the statement text
+     * @param values the values of the bind markers, in order
+     * @return the bound statement
+     */
+    public Uni<BoundStatement> bind(String cql, Object... values) {
+        return prepare(cql).map(statement -> statement.bind(values));
+    }
+
+    /**
+     * Executes a cached statement with bound values.
+     *
+     * @param cql    the statement text
+     * @param values the values of the bind markers, in order
+     * @return the first page of results
+     */
+    public Uni<ResultSet> execute(String cql, Object... values) {
+        return Uni.createFrom().completionStage(() -> preparedFuture(cql)
+                .compose(statement -> client.execute(statement.bind(values)))
+                .toCompletionStage());
+    }
+
+    /**
+     * Executes a cached statement and maps every row of the result.
+     *
+     * @param cql    the statement text
+     * @param mapper maps each row
+     * @param values the values of the bind markers, in order
+     * @param <T>    the mapped type
+     * @return the mapped rows of all pages
+     */
+    public <T> Uni<List<T>> query(String cql, CassandraRowMapper<T> mapper, Object... values) {
+        return Uni.createFrom().completionStage(() -> preparedFuture(cql)
+                .compose(statement -> client.executeWithFullFetch(statement.bind(values)))
+                .map(rows -> {
+                    List<T> mapped = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        mapped.add(mapper.map(row));
+                    }
+                    return mapped;
+                })
+                .toCompletionStage());
+    }
+
+    /**
+     * Executes a cached statement and maps the first row of the result.
+     *
+     * @param cql    the statement text
+     * @param mapper maps the row
+     * @param values the values of the bind markers, in order
+     * @param <T>    the mapped type
+     * @return the mapped row, or null when the result is empty
+     */
+    public <T> Uni<T> queryOne(String cql, CassandraRowMapper<T> mapper, Object... values) {
+        return execute(cql, values).map(resultSet -> {
+            Row row = resultSet.one();
+            return row == null ? null : mapper.map(row);
+        });
+    }
+
+    /**
+     * @return the number of statements prepared or being prepared
+     */
+    public int size() {
+        return prepared.size();
+    }
+
+    private Future<PreparedStatement> preparedFuture(String cql) {
+        Future<PreparedStatement> future = prepared.get(cql);
+        if (future == null || future.failed()) {
+            if (future != null) {
+                // The previous preparation failed, prepare again
+                prepared.remove(cql, future);
+            }
+            future = prepared.computeIfAbsent(cql, client::prepare);
+        }
+        return future;
+    }
+}
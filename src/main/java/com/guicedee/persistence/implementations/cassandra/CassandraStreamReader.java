@@ -0,0 +1,89 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.guicedee.persistence.implementations.ReadStreamPublisher;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.cassandra.CassandraClient;
+
+/**
+ * Streams Cassandra query results as a {@link Multi}, fetching the following pages automatically.
+ * <p>
+ * Pages of {@link CassandraConnectionInfo#getStreamPageSize()} rows are requested only as fast as the subscriber
+ * consumes them, so full-partition and full-table reads run in bounded memory without handling paging state.
+ * Statements given as CQL text are prepared once through {@link CassandraStatements}.
+ * <p>
+ * One reader is bound per {@link CassandraConnectionInfo#getName()} as {@code @Named("name") CassandraStreamReader}.
+ *
+ * <pre>{@code
+ * @Inject @Named("shop")
+ * CassandraStreamReader reader;
+ *
+ * reader.stream("SELECT * FROM shop.orders WHERE customer_id = ?", ORDERS, customerId)
+ *       .onItem().transformToUniAndConcatenate(exporter::write)
+ *       .collect().last();
+ * }</pre>
+ */
+public class CassandraStreamReader {
+
+    private final CassandraClient client;
+    private final CassandraStatements statements;
+    private final int pageSize;
+
+    /**
+     * Creates a reader for a Cassandra client.
+     *
+     * @param client     the client to read with
+     * @param statements the prepared statement registry of the client
+     * @param pageSize   the number of rows fetched per page
+     */
+    public CassandraStreamReader(CassandraClient client, CassandraStatements statements, int pageSize) {
+        this.client = client;
+        this.statements = statements;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Streams the rows of a prepared statement.
+     *
+     * @param cql    the statement text
+     * @param values the values of the bind markers, in order
+     * @return the rows of all pages
+     */
+    public Multi<Row> stream(String cql, Object... values) {
+        return statements.bind(cql, values)
+                .onItem().transformToMulti(bound -> stream(bound.setPageSize(pageSize)));
+    }
+
+    /**
+     * Streams the rows of a prepared statement, mapping each row.
+     *
+     * @param cql    the statement text
+     * @param mapper maps each row
+     * @param values the values of the bind markers, in order
+     * @param <T>    the mapped type
+     * @return the mapped rows of all pages
+     */
+    public <T> Multi<T> stream(String cql, CassandraRowMapper<T> mapper, Object... values) {
+        return stream(cql, values).map(mapper::map);
+    }
+
+    /**
+     * Streams the rows of a statement, using its own page size.
+     *
+     * @param statement the statement to execute
+     * @return the rows of all pages
+     */
+    public Multi<Row> stream(Statement<?> statement) {
+        return Uni.createFrom().completionStage(() -> client.queryStream(statement).toCompletionStage())
+                .onItem().transformToMulti(rows -> ReadStreamPublisher.multi(() -> rows));
+    }
+
+    /**
+     * @return the number of rows fetched per page
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,69 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+
+/**
+ * The default {@link CassandraScanCheckpointStore}, keeping one row per scan and sub-range in a table that is created
+ * on first use.
+ */
+public class CassandraTableScanCheckpointStore implements CassandraScanCheckpointStore {
+
+    private static final CassandraRowMapper<Checkpoint> CHECKPOINTS = CassandraTableScanCheckpointStore::toCheckpoint;
+
+    private final CassandraStatements statements;
+    private final String table;
+    private volatile Uni<Void> created;
+
+    /**
+     * Creates a store writing to a table.
+     *
+     * @param statements the prepared statement registry to store checkpoints with
+     * @param table      the keyspace-qualified table holding the checkpoints
+     */
+    public CassandraTableScanCheckpointStore(CassandraStatements statements, String table) {
+        this.statements = statements;
+        this.table = table;
+    }
+
+    @Override
+    public Uni<List<Checkpoint>> load(String scanId) {
+        return created().chain(() -> statements.query(
+                "SELECT range_index, splits, last_token, done FROM " + table + " WHERE scan_id = ?", CHECKPOINTS, scanId));
+    }
+
+    @Override
+    public Uni<Void> save(String scanId, Checkpoint checkpoint) {
+        return created().chain(() -> statements.execute(
+                        "INSERT INTO " + table + " (scan_id, range_index, splits, last_token, done) VALUES (?, ?, ?, ?, ?)",
+                        scanId, checkpoint.range(), checkpoint.splits(), checkpoint.lastToken(), checkpoint.done()))
+                .replaceWithVoid();
+    }
+
+    @Override
+    public Uni<Void> clear(String scanId) {
+        return created().chain(() -> statements.execute("DELETE FROM " + table + " WHERE scan_id = ?", scanId))
+                .replaceWithVoid();
+    }
+
+    private Uni<Void> created() {
+        Uni<Void> current = created;
+        if (current == null) {
+            current = statements.execute("CREATE TABLE IF NOT EXISTS " + table
+                            + " (scan_id text, range_index int, splits int, last_token bigint, done boolean,"
+                            + " PRIMARY KEY (scan_id, range_index))")
+                    .replaceWithVoid()
+                    // Try again on the next call when the table could not be created
+                    .onFailure().invoke(t -> created = null)
+                    .memoize().indefinitely();
+            created = current;
+        }
+        return current;
+    }
+
+    private static Checkpoint toCheckpoint(Row row) {
+        return new Checkpoint(row.getInt("range_index"), row.getInt("splits"), row.getLong("last_token"), row.getBoolean("done"));
+    }
+}
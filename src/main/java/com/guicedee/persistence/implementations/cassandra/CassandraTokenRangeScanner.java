@@ -0,0 +1,152 @@
+package com.guicedee.persistence.implementations.cassandra;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans whole Cassandra tables by splitting the token ring into sub-ranges that are queried concurrently.
+ * <p>
+ * A single {@code SELECT} over a table is served by one coordinator walking the ring range by range. The scanner
+ * splits the ring into {@link CassandraScanOptions#getSplits()} equal sub-ranges, each read with a
+ * {@code token(pk) > ? AND token(pk) <= ?} query that the driver routes to a replica owning it, and runs
+ * {@link CassandraScanOptions#getParallelism()} of them at a time. Rows of all sub-ranges are merged into one
+ * {@link io.smallrye.mutiny.Multi} and each sub-range is paged like {@link CassandraStreamReader}, so the subscriber's
+ * demand bounds the memory in use.
+ * <p>
+ * Scans given a scan id checkpoint the token of the last delivered partition of each sub-range to a
+ * {@link CassandraScanCheckpointStore}; running the same scan id again after a failure skips the finished sub-ranges
+ * and resumes the others after their checkpoint. The checkpoints are removed once the scan completes. Splitting assumes
+ * the default {@code Murmur3Partitioner}.
+ * <p>
+ * One scanner is bound per {@link CassandraConnectionInfo#getName()} as {@code @Named("name") CassandraTokenRangeScanner}.
+ *
+ * <pre>{@code
+ * @Inject @Named("shop")
+ * CassandraTokenRangeScanner scanner;
+ *
+ * CassandraScan scan = scanner.scan("shop.orders", "customer_id", "customer_id, order_id, total", "nightly-orders");
+ * scan.rows()
+ *     .onItem().transformToUniAndConcatenate(exporter::write)
+ *     .collect().last();
+ * }</pre>
+ */
+public class CassandraTokenRangeScanner {
+
+    /**
+     * The alias of the partition token added to every scanned row.
+     */
+    public static final String TOKEN_COLUMN = "scan_token";
+
+    private static final BigInteger RING_SIZE = BigInteger.valueOf(Long.MAX_VALUE).subtract(BigInteger.valueOf(Long.MIN_VALUE));
+
+    private final String name;
+    private final CassandraStatements statements;
+    private final CassandraStreamReader reader;
+    private final CassandraScanOptions options;
+    private final CassandraScanCheckpointStore checkpointStore;
+
+    /**
+     * Creates a scanner for a Cassandra connection.
+     *
+     * @param name            the connection name, used in log messages
+     * @param statements      the prepared statement registry of the client
+     * @param reader          the stream reader of the client, providing the page size
+     * @param options         the default scan settings, or null for the defaults
+     * @param checkpointStore the store for sub-range checkpoints
+     */
+    public CassandraTokenRangeScanner(String name, CassandraStatements statements, CassandraStreamReader reader,
+                                      CassandraScanOptions options, CassandraScanCheckpointStore checkpointStore) {
+        this.name = name;
+        this.statements = statements;
+        this.reader = reader;
+        this.options = options == null ? new CassandraScanOptions() : options;
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Prepares a scan of a table without checkpoints.
+     *
+     * @param table        the table, qualified with its keyspace unless the connection has one
+     * @param partitionKey the partition key columns, comma separated in key order
+     * @param columns      the selected columns, comma separated; {@code *} cannot be combined with the token column
+     * @return the scan, started when its rows are subscribed to
+     */
+    public CassandraScan scan(String table, String partitionKey, String columns) {
+        return scan(table, partitionKey, columns, null, options);
+    }
+
+    /**
+     * Prepares a restartable scan of a table.
+     *
+     * @param table        the table, qualified with its keyspace unless the connection has one
+     * @param partitionKey the partition key columns, comma separated in key order
+     * @param columns      the selected columns, comma separated; {@code *} cannot be combined with the token column
+     * @param scanId       the stable identifier the checkpoints are stored under, or null to not checkpoint
+     * @return the scan, started when its rows are subscribed to
+     */
+    public CassandraScan scan(String table, String partitionKey, String columns, String scanId) {
+        return scan(table, partitionKey, columns, scanId, options);
+    }
+
+    /**
+     * Prepares a restartable scan of a table with its own settings.
+     *
+     * @param table        the table, qualified with its keyspace unless the connection has one
+     * @param partitionKey the partition key columns, comma separated in key order
+     * @param columns      the selected columns, comma separated; {@code *} cannot be combined with the token column
+     * @param scanId       the stable identifier the checkpoints are stored under, or null to not checkpoint
+     * @param options      the scan settings
+     * @return the scan, started when its rows are subscribed to
+     */
+    public CassandraScan scan(String table, String partitionKey, String columns, String scanId, CassandraScanOptions options) {
+        if (options.getSplits() < 1 || options.getParallelism() < 1) {
+            throw new IllegalArgumentException("Cassandra scan splits and parallelism must be at least 1");
+        }
+        if (columns == null || columns.isBlank() || "*".equals(columns.trim())) {
+            throw new IllegalArgumentException("Cassandra scans need the selected columns listed explicitly");
+        }
+        String token = "token(" + partitionKey + ")";
+        String cql = "SELECT " + token + " AS " + TOKEN_COLUMN + ", " + columns + " FROM " + table
+                + " WHERE " + token + " > ? AND " + token + " <= ?";
+        return new CassandraScan(name, cql, split(options.getSplits()), scanId, options,
+                statements, reader, scanId == null ? null : checkpointStore);
+    }
+
+    /**
+     * @return the default scan settings
+     */
+    public CassandraScanOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Splits the Murmur3 token ring into contiguous sub-ranges of equal width.
+     *
+     * @param splits the number of sub-ranges
+     * @return the sub-ranges in ring order, the first starting after {@link Long#MIN_VALUE} and the last ending at {@link Long#MAX_VALUE}
+     */
+    public static List<TokenRange> split(int splits) {
+        List<TokenRange> ranges = new ArrayList<>(splits);
+        BigInteger count = BigInteger.valueOf(splits);
+        long start = Long.MIN_VALUE;
+        for (int i = 0; i < splits; i++) {
+            long end = i == splits - 1
+                    ? Long.MAX_VALUE
+                    : RING_SIZE.multiply(BigInteger.valueOf(i + 1)).divide(count).add(BigInteger.valueOf(Long.MIN_VALUE)).longValueExact();
+            ranges.add(new TokenRange(i, start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * A sub-range of the token ring.
+     *
+     * @param index the position of the sub-range in the ring
+     * @param start the exclusive lower token
+     * @param end   the inclusive upper token
+     */
+    public record TokenRange(int index, long start, long end) {
+    }
+}
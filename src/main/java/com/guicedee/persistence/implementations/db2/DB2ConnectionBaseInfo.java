@@ -1,8 +1,10 @@
 package com.guicedee.persistence.implementations.db2;
 
 import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.core.Vertx;
+import io.vertx.core.net.NetClientOptions;
 import io.vertx.db2client.DB2Builder;
 import io.vertx.db2client.DB2ConnectOptions;
 import io.vertx.sqlclient.PoolOptions;
@@ -16,6 +18,11 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class DB2ConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
 
+    /**
+     * Statement cache, pipelining and keepalive settings of the unit.
+     */
+    private DB2PerformanceOptions performance;
+
     /**
      * Creates a new DB2ConnectionBaseInfo instance.
      */
@@ -34,6 +41,34 @@ public class DB2ConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
         setDriver("db2");
     }
 
+    /**
+     * @return the statement cache, pipelining and keepalive settings, or null for the client defaults
+     */
+    public DB2PerformanceOptions getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Sets the statement cache, pipelining and keepalive settings of the unit.
+     *
+     * @param performance the settings
+     * @return this instance for chaining
+     */
+    public DB2ConnectionBaseInfo setPerformance(DB2PerformanceOptions performance) {
+        this.performance = performance;
+        return this;
+    }
+
+    /**
+     * Returns the lightest statement the database answers, used to validate pooled connections.
+     *
+     * @return the validation statement
+     */
+    @Override
+    protected String getDefaultValidationQuery() {
+        return "SELECT 1 FROM SYSIBM.SYSDUMMY1";
+    }
+
     /**
      * Returns a Vertx SqlClient configured for DB2.
      *
@@ -42,63 +77,113 @@ public class DB2ConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
     @Override
     public SqlClient toPooledDatasource() {
         try {
-            Vertx vertx = VertXPreStartup.getVertx();
-            if (vertx == null) {
-                log.error("❌ Vert.x instance is not available. Cannot create DB2 pool.");
-                return null;
-            }
-
-            DB2ConnectOptions connectOptions = new DB2ConnectOptions();
-
-            if (getServerName() != null) {
-                connectOptions.setHost(getServerName());
-            }
-
-            if (getPort() != null) {
-                connectOptions.setPort(Integer.parseInt(getPort()));
-            } else {
-                connectOptions.setPort(50000);
-            }
-
-            if (getDatabaseName() != null) {
-                connectOptions.setDatabase(getDatabaseName());
-            }
-
-            if (getUsername() != null) {
-                connectOptions.setUser(getUsername());
-            }
-
-            if (getPassword() != null) {
-                connectOptions.setPassword(getPassword());
-            }
-
-            // Set SSL if specified in custom properties
-            if (getCustomProperties().containsKey("ssl")) {
-                connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
-            }
-
-            // Configure pool options
-            PoolOptions poolOptions = new PoolOptions();
-
-            if (getMaxPoolSize() != null) {
-                poolOptions.setMaxSize(getMaxPoolSize());
-            }
-
-            // Set shared pool name so Hibernate Reactive can reuse it
-            String puName = getPersistenceUnitName() != null ? getPersistenceUnitName() : "db2-default";
-            poolOptions.setShared(true);
-            poolOptions.setName(puName);
-
-            // Create the pool using DB2Builder
-            return DB2Builder.pool()
-                    .with(poolOptions)
-                    .connectingTo(connectOptions)
-                    .using(vertx)
-                    .build();
-
+            return createPool(VertXPreStartup.getVertx(), toConnectOptions(), toPoolOptions(), toNetClientOptions());
         } catch (Exception e) {
             log.error("❌ Error creating DB2 SqlClient", e);
             return null;
         }
     }
+
+    /**
+     * Builds the DB2 connect options of this unit, including the {@link DB2PerformanceOptions}.
+     *
+     * @return the connect options
+     * @throws com.guicedee.persistence.annotations.InvalidConnectionInfoException when the performance options are invalid
+     */
+    public DB2ConnectOptions toConnectOptions() {
+        DB2ConnectOptions connectOptions = new DB2ConnectOptions();
+
+        if (getServerName() != null) {
+            connectOptions.setHost(getServerName());
+        }
+
+        if (getPort() != null) {
+            connectOptions.setPort(Integer.parseInt(getPort()));
+        } else {
+            connectOptions.setPort(50000);
+        }
+
+        if (getDatabaseName() != null) {
+            connectOptions.setDatabase(getDatabaseName());
+        }
+
+        if (getUsername() != null) {
+            connectOptions.setUser(getUsername());
+        }
+
+        if (getPassword() != null) {
+            connectOptions.setPassword(getPassword());
+        }
+
+        // Set SSL if specified in custom properties
+        if (getCustomProperties().containsKey("ssl")) {
+            connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
+        }
+
+        // Reconnect policy, only applied when configured
+        if (getReconnectAttempts() != null) {
+            connectOptions.setReconnectAttempts(getReconnectAttempts());
+        }
+        if (getReconnectInterval() != null) {
+            connectOptions.setReconnectInterval(getReconnectInterval());
+        }
+
+        DB2PerformanceOptions options = effectivePerformance();
+        options.validate(getPersistenceUnitName());
+        options.applyTo(connectOptions, getPreparedStatementCacheSize());
+        return connectOptions;
+    }
+
+    /**
+     * Builds the pool options of this unit through the {@link PoolOptionsCompiler}.
+     *
+     * @return the pool options
+     */
+    public PoolOptions toPoolOptions() {
+        return PoolOptionsCompiler.compile(this, "db2-default");
+    }
+
+    /**
+     * Builds the transport options of this unit, carrying the keepalive setting.
+     *
+     * @return the client options
+     */
+    public NetClientOptions toNetClientOptions() {
+        return effectivePerformance().applyTo(new NetClientOptions());
+    }
+
+    /**
+     * Creates the pool from the compiled options.
+     *
+     * @param vertx            the Vert.x instance, may be null when Vert.x has not started
+     * @param connectOptions   the connect options
+     * @param poolOptions      the pool options
+     * @param netClientOptions the transport options
+     * @return the pool, or null when Vert.x is not available
+     */
+    protected SqlClient createPool(Vertx vertx, DB2ConnectOptions connectOptions, PoolOptions poolOptions, NetClientOptions netClientOptions) {
+        if (vertx == null) {
+            log.error("❌ Vert.x instance is not available. Cannot create DB2 pool.");
+            return null;
+        }
+        log.info("[DB-POOL] Creating DB2 pool='{}' maxSize={} pipeliningLimit={} keepAlive={}", poolOptions.getName(),
+                poolOptions.getMaxSize(), connectOptions.getPipeliningLimit(), netClientOptions.isTcpKeepAlive());
+        return DB2Builder.pool()
+                .with(netClientOptions)
+                .with(poolOptions)
+                .connectingTo(connectOptions)
+                .using(vertx)
+                .build();
+    }
+
+    /**
+     * @return the configured performance options, else those read from the custom properties, else the defaults
+     */
+    private DB2PerformanceOptions effectivePerformance() {
+        if (performance != null) {
+            return performance;
+        }
+        DB2PerformanceOptions fromProperties = DB2PerformanceOptions.fromProperties(getCustomProperties());
+        return fromProperties != null ? fromProperties : new DB2PerformanceOptions();
+    }
 }
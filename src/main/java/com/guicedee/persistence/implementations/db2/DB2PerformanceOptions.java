@@ -0,0 +1,159 @@
+package com.guicedee.persistence.implementations.db2;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.db2client.DB2ConnectOptions;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Statement cache, pipelining and keepalive settings of a DB2 persistence unit.
+ * <p>
+ * Firewalls between the application and DB2 often drop connections that stay idle, after which the pool hands out
+ * dead connections and reconnects in bursts. {@link #tcpKeepAlive} keeps idle connections visible to the firewall;
+ * combine it with a unit {@code maxIdleTime} below the firewall timeout so idle connections are closed by the pool
+ * first. Every setting can also be given as a persistence unit property, see {@link #fromProperties(Map)}. Zero or
+ * null values leave the client defaults in place.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class DB2PerformanceOptions {
+
+    /**
+     * The property prefix read by {@link #fromProperties(Map)}, after the {@code vertx.sql.} or {@code hibernate.vertx.} prefix.
+     */
+    public static final String PROPERTY_PREFIX = "db2.";
+
+    /**
+     * Commands a connection sends before waiting for responses, {@code 0} uses the client default of 1 (no pipelining).
+     */
+    private int pipeliningLimit;
+
+    /**
+     * Whether prepared statements are cached per connection, null enables the cache when a size is configured.
+     */
+    private Boolean cachePreparedStatements;
+
+    /**
+     * Prepared statements cached per connection, {@code 0} falls back to the unit's {@code preparedStatementCacheSize}.
+     */
+    private int preparedStatementCacheMaxSize;
+
+    /**
+     * Longest SQL text, in characters, that is cached, {@code 0} uses the client default of 2048.
+     */
+    private int preparedStatementCacheSqlLimit;
+
+    /**
+     * Whether TCP keepalive probes are sent on idle connections, null uses the client default ({@code false}).
+     */
+    private Boolean tcpKeepAlive;
+
+    /**
+     * Reads the settings from persistence unit properties with the {@link #PROPERTY_PREFIX} stripped of the
+     * {@code vertx.sql.} or {@code hibernate.vertx.} prefix, e.g. {@code hibernate.vertx.db2.pipelining-limit}.
+     *
+     * @param properties the unit's custom properties
+     * @return the settings, or null when no property is present
+     * @throws InvalidConnectionInfoException when a value cannot be parsed
+     */
+    public static DB2PerformanceOptions fromProperties(Map<String, String> properties) {
+        DB2PerformanceOptions options = null;
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (!entry.getKey().startsWith(PROPERTY_PREFIX)) {
+                continue;
+            }
+            String key = entry.getKey().substring(PROPERTY_PREFIX.length());
+            String value = entry.getValue().trim();
+            options = options == null ? new DB2PerformanceOptions() : options;
+            switch (key) {
+                case "pipelining-limit" -> options.setPipeliningLimit(parseInt(entry.getKey(), value));
+                case "cache-prepared-statements" -> options.setCachePreparedStatements(Boolean.parseBoolean(value));
+                case "prepared-statement-cache-max-size" -> options.setPreparedStatementCacheMaxSize(parseInt(entry.getKey(), value));
+                case "prepared-statement-cache-sql-limit" -> options.setPreparedStatementCacheSqlLimit(parseInt(entry.getKey(), value));
+                case "tcp-keep-alive" -> options.setTcpKeepAlive(Boolean.parseBoolean(value));
+                default -> {
+                    // unknown keys are left to the driver
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Checks the settings for consistency.
+     *
+     * @param unitName the persistence unit the settings belong to, used in messages
+     * @throws InvalidConnectionInfoException when a value is out of range
+     */
+    public void validate(String unitName) {
+        if (pipeliningLimit < 0 || preparedStatementCacheMaxSize < 0 || preparedStatementCacheSqlLimit < 0) {
+            throw new InvalidConnectionInfoException("DB2 '" + unitName + "': performance options must not be negative");
+        }
+        if (Boolean.FALSE.equals(cachePreparedStatements) && preparedStatementCacheMaxSize > 0) {
+            throw new InvalidConnectionInfoException("DB2 '" + unitName
+                    + "': preparedStatementCacheMaxSize is set but cachePreparedStatements is false");
+        }
+    }
+
+    /**
+     * Applies the connection settings to connect options.
+     *
+     * @param connectOptions   the options to update
+     * @param defaultCacheSize the unit's prepared statement cache size, used when no cache size is set here; may be null
+     * @return the connect options
+     */
+    public DB2ConnectOptions applyTo(DB2ConnectOptions connectOptions, Integer defaultCacheSize) {
+        if (pipeliningLimit > 0) {
+            connectOptions.setPipeliningLimit(pipeliningLimit);
+        }
+        int cacheSize = preparedStatementCacheMaxSize > 0 ? preparedStatementCacheMaxSize
+                : defaultCacheSize != null && defaultCacheSize > 0 ? defaultCacheSize : 0;
+        boolean cache = cachePreparedStatements != null ? cachePreparedStatements : cacheSize > 0;
+        connectOptions.setCachePreparedStatements(cache);
+        if (cache && cacheSize > 0) {
+            connectOptions.setPreparedStatementCacheMaxSize(cacheSize);
+        }
+        if (preparedStatementCacheSqlLimit > 0) {
+            connectOptions.setPreparedStatementCacheSqlLimit(preparedStatementCacheSqlLimit);
+        }
+        return connectOptions;
+    }
+
+    /**
+     * Applies the transport settings to client options.
+     *
+     * @param netClientOptions the options to update
+     * @return the client options
+     */
+    public NetClientOptions applyTo(NetClientOptions netClientOptions) {
+        if (tcpKeepAlive != null) {
+            netClientOptions.setTcpKeepAlive(tcpKeepAlive);
+        }
+        return netClientOptions;
+    }
+
+    private static int parseInt(String property, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidConnectionInfoException("DB2 property " + property + " is not a number: " + value, e);
+        }
+    }
+}
@@ -42,11 +42,11 @@ public class HibernateDefaultConnectionBaseBuilder
         }
         if (cbi.getMaxIdleTime() == null)
         {
-            cbi.setMaxIdleTime(1800000);
+            cbi.setMaxIdleTime(1800);
         }
         if (cbi.getMaxLifeTime() == null)
         {
-            cbi.setMaxLifeTime(3600000);
+            cbi.setMaxLifeTime(3600);
         }
         if (cbi.getEnableJdbc4ConnectionTest() == null)
         {
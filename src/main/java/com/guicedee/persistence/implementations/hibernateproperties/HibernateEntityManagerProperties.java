@@ -1,6 +1,7 @@
 package com.guicedee.persistence.implementations.hibernateproperties;
 
 import com.guicedee.persistence.IPropertiesEntityManagerReader;
+import com.guicedee.persistence.bind.HqlPrecompiler;
 import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
 
 
@@ -71,6 +72,10 @@ public class HibernateEntityManagerProperties
 	 * Performs named query startup checks
 	 */
 	private Boolean useQueryStartupCheck;
+	/**
+	 * Compiles named, registered and recorded HQL in the background after boot
+	 */
+	private Boolean precompileQueries;
 	/**
 	 * validation-mode
 	 * <p>
@@ -243,6 +248,10 @@ public class HibernateEntityManagerProperties
 		{
 			incomingProperties.put("hibernate.query.startup_check", Boolean.toString(useQueryStartupCheck));
 		}
+		if (precompileQueries != null)
+		{
+			incomingProperties.put(HqlPrecompiler.PRECOMPILE_PROPERTY, Boolean.toString(precompileQueries));
+		}
 		if (persistenceValidationMode != null)
 		{
 			incomingProperties.put("jakarta.persistence.validation.mode", persistenceValidationMode.toString());
@@ -313,6 +322,18 @@ public class HibernateEntityManagerProperties
 		useValidatorApplyToDDL = false;
 	}
 
+	/**
+	 * Applies {@link #enableQuickestBoot()} and precompiles HQL in the background once the unit has started
+	 * <p>
+	 * Named queries are no longer checked at boot, so they, the registered queries and the queries recorded by the
+	 * previous run are compiled by the {@link HqlPrecompiler} off the request path instead.
+	 */
+	public void enablePrecompiledBoot()
+	{
+		enableQuickestBoot();
+		precompileQueries = true;
+	}
+
 	/**
 	 * Method getShowSql returns the showSql of this HibernateEntityManagerProperties object.
 	 * <p>
@@ -538,6 +559,31 @@ public class HibernateEntityManagerProperties
 		this.useQueryStartupCheck = useQueryStartupCheck;
 	}
 
+	/**
+	 * Method getPrecompileQueries returns the precompileQueries of this HibernateEntityManagerProperties object.
+	 * <p>
+	 * Compiles named, registered and recorded HQL in the background after boot
+	 *
+	 * @return the precompileQueries (type Boolean) of this HibernateEntityManagerProperties object.
+	 */
+	public Boolean getPrecompileQueries()
+	{
+		return precompileQueries;
+	}
+
+	/**
+	 * Method setPrecompileQueries sets the precompileQueries of this HibernateEntityManagerProperties object.
+	 * <p>
+	 * Compiles named, registered and recorded HQL in the background after boot
+	 *
+	 * @param precompileQueries
+	 * 		the precompileQueries of this HibernateEntityManagerProperties object.
+	 */
+	public void setPrecompileQueries(Boolean precompileQueries)
+	{
+		this.precompileQueries = precompileQueries;
+	}
+
 	/**
 	 * Method getPersistenceValidationMode returns the persistenceValidationMode of this HibernateEntityManagerProperties object.
 	 * <p>
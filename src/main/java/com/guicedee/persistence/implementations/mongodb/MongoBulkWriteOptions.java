@@ -0,0 +1,76 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.implementations.BatchWriteLimits;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Batching settings of the {@link MongoBulkWriter} bound for a {@link MongoConnectionInfo}.
+ * <p>
+ * A batch is sent once it holds {@link #maxBatchSize} operations, once adding an operation would exceed
+ * {@link #maxBatchBytes}, or {@link #flushInterval} milliseconds after its first operation, whichever comes first.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class MongoBulkWriteOptions implements BatchWriteLimits {
+
+    /**
+     * Whether batches are written in order, stopping at the first failed operation. Defaults to {@code true}.
+     * Unordered batches let the server apply the remaining operations and run faster on sharded clusters.
+     */
+    private boolean ordered = true;
+
+    /**
+     * Maximum number of operations per batch. Defaults to {@code 1000}.
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Maximum estimated size of a batch in bytes, {@code 0} disables the byte budget. Defaults to 16 MiB.
+     */
+    private long maxBatchBytes = 16L * 1024 * 1024;
+
+    /**
+     * Milliseconds a partially filled batch waits for more operations before it is sent,
+     * {@code 0} sends partial batches only on {@link MongoBulkWriter#flush()}. Defaults to {@code 50}.
+     */
+    private long flushInterval = 50;
+
+    /**
+     * Maximum number of batches written concurrently per connection; further batches wait their turn.
+     * Defaults to {@code 4}.
+     */
+    private int maxInFlightBatches = 4;
+
+    /**
+     * Maximum number of operations accepted but not yet acknowledged per connection; further writes fail at once with a
+     * {@link com.guicedee.persistence.annotations.BulkWriteOperationException}, {@code 0} disables the limit.
+     * Defaults to {@code 100000}.
+     */
+    private int maxPendingOperations = 100_000;
+
+    /**
+     * Maximum number of collections with an open batch per connection; writing to another collection sends the oldest
+     * open batch first, {@code 0} disables the limit. Defaults to {@code 64}.
+     */
+    private int maxOpenBatches = 64;
+
+    @Override
+    public int getMaxPendingWrites() {
+        return maxPendingOperations;
+    }
+}
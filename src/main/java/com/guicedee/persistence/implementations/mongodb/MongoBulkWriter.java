@@ -0,0 +1,194 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import com.guicedee.persistence.implementations.BatchingWriter;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.MongoClient;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates MongoDB write operations into {@code bulkWrite} batches, one open batch per collection.
+ * <p>
+ * Writing one document per call costs one round trip per document. The writer collects operations and sends them as
+ * a single bulk write when the batch is full, its byte budget is reached, or its time window elapses
+ * (see {@link MongoBulkWriteOptions}). At most {@link MongoBulkWriteOptions#getMaxInFlightBatches()} batches are
+ * written at a time; later batches queue behind them, so callers that wait for their writes are slowed to the speed of
+ * the database. Once {@link MongoBulkWriteOptions#getMaxPendingOperations()} operations are waiting, further writes fail
+ * at once instead of growing the queue, so producers that do not wait for their writes cannot exhaust the heap. At most
+ * {@link MongoBulkWriteOptions#getMaxOpenBatches()} collections have an open batch; writing to another one sends the
+ * oldest open batch first. The batching itself is done by {@link BatchingWriter}.
+ * <p>
+ * Each operation completes when its batch is acknowledged. When a batch partially fails only the affected operations
+ * fail, with a {@link BulkWriteOperationException}: in an ordered batch the first rejected operation and every
+ * operation after it, in an unordered batch exactly the rejected operations.
+ * <p>
+ * One writer is bound per {@link MongoConnectionInfo#getName()} as {@code @Named("name") MongoBulkWriter}.
+ *
+ * <pre>{@code
+ * @Inject @Named("events")
+ * MongoBulkWriter writer;
+ *
+ * Multi.createFrom().iterable(events)
+ *      .onItem().transformToUniAndMerge(event -> writer.insert("events", event))
+ *      .collect().last();
+ * }</pre>
+ */
+@Log4j2
+public class MongoBulkWriter extends BatchingWriter<String, BulkOperation, MongoBulkWriteOptions> {
+
+    private final MongoClient client;
+    private final BulkWriteOptions bulkWriteOptions;
+
+    /**
+     * Creates a writer for a Mongo client.
+     *
+     * @param name    the connection name, used in log messages
+     * @param client  the client to write with
+     * @param vertx   the Vert.x instance used for the batch time window, may be null to only flush on size
+     * @param options the batching settings, or null for the defaults
+     */
+    public MongoBulkWriter(String name, MongoClient client, Vertx vertx, MongoBulkWriteOptions options) {
+        super(name, vertx, options == null ? new MongoBulkWriteOptions() : options);
+        this.client = client;
+        this.bulkWriteOptions = new BulkWriteOptions(limits.isOrdered());
+    }
+
+    /**
+     * Inserts a document.
+     *
+     * @param collection the collection name
+     * @param document   the document to insert
+     * @return completes when the batch holding the insert is acknowledged
+     */
+    public Uni<Void> insert(String collection, JsonObject document) {
+        return write(collection, BulkOperation.createInsert(document));
+    }
+
+    /**
+     * Replaces the document matching a filter.
+     *
+     * @param collection the collection name
+     * @param filter     selects the document to replace
+     * @param document   the replacement document
+     * @param upsert     whether to insert the document when nothing matches
+     * @return completes when the batch holding the replacement is acknowledged
+     */
+    public Uni<Void> replace(String collection, JsonObject filter, JsonObject document, boolean upsert) {
+        return write(collection, BulkOperation.createReplace(filter, document, upsert));
+    }
+
+    /**
+     * Updates the documents matching a filter.
+     *
+     * @param collection the collection name
+     * @param filter     selects the documents to update
+     * @param update     the update operators to apply
+     * @param upsert     whether to insert a document when nothing matches
+     * @param multi      whether to update every matching document rather than the first
+     * @return completes when the batch holding the update is acknowledged
+     */
+    public Uni<Void> update(String collection, JsonObject filter, JsonObject update, boolean upsert, boolean multi) {
+        return write(collection, BulkOperation.createUpdate(filter, update, upsert, multi));
+    }
+
+    /**
+     * Deletes the document matching a filter.
+     *
+     * @param collection the collection name
+     * @param filter     selects the document to delete
+     * @return completes when the batch holding the delete is acknowledged
+     */
+    public Uni<Void> delete(String collection, JsonObject filter) {
+        return write(collection, BulkOperation.createDelete(filter));
+    }
+
+    /**
+     * Adds an operation to the open batch of a collection once subscribed to.
+     *
+     * @param collection the collection name
+     * @param operation  the operation to write
+     * @return completes when the batch holding the operation is acknowledged
+     */
+    public Uni<Void> write(String collection, BulkOperation operation) {
+        return submit(collection, operation);
+    }
+
+    /**
+     * @return the number of operations accepted but not yet acknowledged
+     */
+    public int getPendingOperations() {
+        return getPendingWrites();
+    }
+
+    /**
+     * @return the batching settings in use
+     */
+    public MongoBulkWriteOptions getOptions() {
+        return limits;
+    }
+
+    @Override
+    protected Future<?> send(Batch<String, BulkOperation> batch) {
+        log.trace("📦 [MONGO-BULK] '{}' writing {} operations to '{}'", name, batch.getWrites().size(), batch.getKey());
+        return client.bulkWriteWithOptions(batch.getKey(), batch.getWrites(), bulkWriteOptions);
+    }
+
+    @Override
+    protected void fail(Batch<String, BulkOperation> batch, Throwable cause) {
+        if (cause instanceof MongoBulkWriteException bulkFailure) {
+            failPartially(batch, bulkFailure);
+            return;
+        }
+        log.warn("⚠️ [MONGO-BULK] '{}' batch of {} operations to '{}' failed: {}",
+                name, batch.getWrites().size(), batch.getKey(), cause.getMessage());
+        BulkWriteOperationException failure = new BulkWriteOperationException(
+                "Bulk write to '" + batch.getKey() + "' failed", cause);
+        batch.getEmitters().forEach(emitter -> emitter.fail(failure));
+    }
+
+    private void failPartially(Batch<String, BulkOperation> batch, MongoBulkWriteException bulkFailure) {
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        int firstError = Integer.MAX_VALUE;
+        for (BulkWriteError error : bulkFailure.getWriteErrors()) {
+            errors.put(error.getIndex(), error);
+            firstError = Math.min(firstError, error.getIndex());
+        }
+        int operations = batch.getWrites().size();
+        log.warn("⚠️ [MONGO-BULK] '{}' batch to '{}' partially failed - {} of {} operations rejected{}",
+                name, batch.getKey(), errors.size(), operations,
+                limits.isOrdered() && firstError < operations ? ", stopped at operation " + firstError : "");
+        for (int i = 0; i < batch.getEmitters().size(); i++) {
+            BulkWriteError error = errors.get(i);
+            if (error != null) {
+                batch.getEmitters().get(i).fail(new BulkWriteOperationException(error.getMessage(), error.getCode()));
+            } else if (limits.isOrdered() && i > firstError) {
+                batch.getEmitters().get(i).fail(new BulkWriteOperationException(
+                        "Not executed, operation " + firstError + " of the ordered batch failed", -1));
+            } else {
+                batch.getEmitters().get(i).complete(null);
+            }
+        }
+    }
+
+    @Override
+    protected long estimateSize(BulkOperation operation) {
+        long size = 0;
+        if (operation.getDocument() != null) {
+            size += operation.getDocument().toBuffer().length();
+        }
+        if (operation.getFilter() != null) {
+            size += operation.getFilter().toBuffer().length();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,21 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * One event of a MongoDB change stream.
+ *
+ * @param operationType the operation, e.g. {@code insert}, {@code update}, {@code replace}, {@code delete}
+ * @param collection    the collection the change applies to, null for database level events
+ * @param documentKey   the {@code _id} (and shard key) of the changed document, null for collection level events
+ * @param fullDocument  the document after the change when full documents are requested, otherwise null
+ * @param resumeToken   the resume token of this event in extended JSON
+ * @param eventTime     the server time of the change in epoch milliseconds
+ */
+public record MongoChangeEvent(String operationType,
+                               String collection,
+                               JsonObject documentKey,
+                               JsonObject fullDocument,
+                               String resumeToken,
+                               long eventTime) {
+}
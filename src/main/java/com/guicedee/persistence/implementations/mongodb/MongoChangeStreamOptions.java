@@ -0,0 +1,57 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings of the {@link MongoChangeStreams} bound for a {@link MongoConnectionInfo}.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class MongoChangeStreamOptions {
+
+    /**
+     * Number of events fetched per cursor round trip. Defaults to {@code 100}.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Whether update events carry the current full document. Defaults to {@code false}.
+     */
+    private boolean fullDocument = false;
+
+    /**
+     * Minimum milliseconds between resume token checkpoints of a stream. Defaults to {@code 1000}.
+     */
+    private long checkpointInterval = 1000;
+
+    /**
+     * Milliseconds before a failed stream is reopened from its last token, doubling up to {@link #maxRetryDelay}.
+     * Defaults to {@code 1000}.
+     */
+    private long retryDelay = 1000;
+
+    /**
+     * Upper bound of the reopen delay in milliseconds. Defaults to {@code 30000}.
+     */
+    private long maxRetryDelay = 30000;
+
+    /**
+     * The collection used by {@link MongoCollectionResumeTokenStore}. Defaults to {@code guicedee_resume_tokens}.
+     */
+    private String resumeTokenCollection = "guicedee_resume_tokens";
+}
@@ -0,0 +1,348 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.MongoServerException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+import com.mongodb.reactivestreams.client.MongoClients;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes MongoDB change streams as hot {@link Multi} streams with resume tokens checkpointed to a
+ * {@link MongoResumeTokenStore}.
+ * <p>
+ * Each watched collection and pipeline opens a single server cursor that is shared by every subscriber; the cursor is
+ * closed when the last subscriber cancels. The token of each delivered event is checkpointed at most every
+ * {@link MongoChangeStreamOptions#getCheckpointInterval()} milliseconds, and a stream reopened after a failure or a
+ * restart resumes after the checkpointed token instead of starting over. When the token has fallen off the oplog the
+ * server reports the history as lost; the gap is logged and the stream restarts from the current time. The slowest
+ * subscriber sets the pace of the shared cursor. {@link #getLagMillis(String)} reports how far behind the server the
+ * last delivered event was.
+ * <p>
+ * The Vert.x {@code MongoClient.watch} cannot resume from a token, so the streams are read with the MongoDB
+ * reactive streams driver through a separate client, created on the first watch. Events are delivered on a Vert.x
+ * context.
+ * <p>
+ * One instance is bound per {@link MongoConnectionInfo#getName()} as {@code @Named("name") MongoChangeStreams}.
+ *
+ * <pre>{@code
+ * @Inject @Named("catalog")
+ * MongoChangeStreams changes;
+ *
+ * changes.watch("products")
+ *        .subscribe().with(event -> cache.invalidate(event.documentKey()));
+ * }</pre>
+ */
+@Log4j2
+public class MongoChangeStreams {
+
+    /**
+     * The server error code of a resume token that is no longer in the oplog
+     */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoConnectionInfo info;
+    private final MongoChangeStreamOptions options;
+    private final MongoResumeTokenStore tokenStore;
+    private final Context context;
+    private final Map<String, SharedStream> streams = new ConcurrentHashMap<>();
+    private volatile com.mongodb.reactivestreams.client.MongoClient driverClient;
+    private volatile boolean closed;
+
+    /**
+     * Creates the change streams of a connection.
+     *
+     * @param info       the connection info, also used to open the driver client
+     * @param tokenStore the store for resume tokens
+     * @param vertx      the Vert.x instance events are delivered on, may be null to deliver on driver threads
+     */
+    public MongoChangeStreams(MongoConnectionInfo info, MongoResumeTokenStore tokenStore, Vertx vertx) {
+        this.info = info;
+        this.options = info.getChangeStreams() == null ? new MongoChangeStreamOptions() : info.getChangeStreams();
+        this.tokenStore = tokenStore;
+        this.context = vertx == null ? null : vertx.getOrCreateContext();
+    }
+
+    /**
+     * Watches every change of a collection.
+     *
+     * @param collection the collection name
+     * @return the shared stream of changes
+     */
+    public Multi<MongoChangeEvent> watch(String collection) {
+        return watch(collection, new JsonArray());
+    }
+
+    /**
+     * Watches the changes of a collection that pass an aggregation pipeline, e.g. a {@code $match} on the operation type.
+     *
+     * @param collection the collection name
+     * @param pipeline   the aggregation stages applied on the server
+     * @return the shared stream of changes
+     */
+    public Multi<MongoChangeEvent> watch(String collection, JsonArray pipeline) {
+        String streamId = streamId(collection, pipeline);
+        return streams.computeIfAbsent(streamId, id -> new SharedStream(id, collection, pipeline)).multi;
+    }
+
+    /**
+     * Returns the delay between the last delivered event of an unfiltered collection stream and the server change.
+     *
+     * @param collection the collection name
+     * @return the lag in milliseconds, or -1 before the first event
+     */
+    public long getLagMillis(String collection) {
+        SharedStream stream = streams.get(streamId(collection, new JsonArray()));
+        return stream == null ? -1 : stream.lagMillis.get();
+    }
+
+    /**
+     * @return the lag in milliseconds of every stream opened so far, keyed by stream id
+     */
+    public Map<String, Long> getLagMillis() {
+        Map<String, Long> lags = new ConcurrentHashMap<>();
+        streams.forEach((id, stream) -> lags.put(id, stream.lagMillis.get()));
+        return lags;
+    }
+
+    /**
+     * Checkpoints the last token of every stream and closes the driver client.
+     */
+    public void close() {
+        closed = true;
+        streams.values().forEach(stream -> stream.checkpoint(true));
+        com.mongodb.reactivestreams.client.MongoClient client = driverClient;
+        if (client != null) {
+            client.close();
+            driverClient = null;
+        }
+    }
+
+    private String streamId(String collection, JsonArray pipeline) {
+        String id = info.getName() + ":" + collection;
+        if (pipeline != null && !pipeline.isEmpty()) {
+            id += "#" + Integer.toHexString(pipeline.encode().hashCode());
+        }
+        return id;
+    }
+
+    private com.mongodb.reactivestreams.client.MongoClient driverClient() {
+        com.mongodb.reactivestreams.client.MongoClient client = driverClient;
+        if (client == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Change streams of MongoDB connection '" + info.getName() + "' are closed");
+                }
+                if (driverClient == null) {
+                    driverClient = MongoClients.create(settings());
+                    log.info("🍃 Opened change stream client for MongoDB connection '{}'", info.getName());
+                }
+                client = driverClient;
+            }
+        }
+        return client;
+    }
+
+    private MongoClientSettings settings() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        if (info.getConnectionString() != null && !info.getConnectionString().isEmpty()) {
+            builder.applyConnectionString(new ConnectionString(info.getConnectionString()));
+        } else {
+            builder.applyToClusterSettings(cluster -> cluster.hosts(List.of(new ServerAddress(info.getHost(), info.getPort()))));
+            if (info.getUsername() != null && !info.getUsername().isEmpty()) {
+                String source = info.getAuthSource() != null && !info.getAuthSource().isEmpty() ? info.getAuthSource() : info.getDatabaseName();
+                char[] password = info.getPassword() == null ? new char[0] : info.getPassword().toCharArray();
+                builder.credential(MongoCredential.createCredential(info.getUsername(), source, password));
+            }
+            if (info.isSsl()) {
+                builder.applyToSslSettings(ssl -> ssl.enabled(true).invalidHostNameAllowed(info.isTrustAll()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static JsonObject toJson(BsonDocument document) {
+        return document == null ? null : new JsonObject(document.toJson());
+    }
+
+    private final class SharedStream {
+        private final String id;
+        private final String collection;
+        private final List<Bson> pipeline = new ArrayList<>();
+        private final Multi<MongoChangeEvent> multi;
+        private final AtomicLong lagMillis = new AtomicLong(-1);
+        private final AtomicBoolean saving = new AtomicBoolean();
+        private volatile String lastToken;
+        private volatile String checkpointedToken;
+        private volatile long lastCheckpoint;
+        private volatile boolean tokenLoaded;
+
+        private SharedStream(String id, String collection, JsonArray stages) {
+            this.id = id;
+            this.collection = collection;
+            for (Object stage : stages) {
+                if (stage instanceof JsonObject json) {
+                    pipeline.add(BsonDocument.parse(json.encode()));
+                }
+            }
+            Multi<MongoChangeEvent> events = Multi.createFrom().deferred(this::open)
+                    .onFailure(t -> !closed).invoke(this::onFailure)
+                    .onFailure(t -> !closed).retry()
+                    .withBackOff(Duration.ofMillis(Math.max(1, options.getRetryDelay())), Duration.ofMillis(Math.max(1, options.getMaxRetryDelay())))
+                    .indefinitely();
+            if (context != null) {
+                events = events.emitOn(command -> context.runOnContext(v -> command.run()));
+            }
+            // Runs right before the broadcast hands the event to the subscribers
+            this.multi = events.onItem().invoke(this::onEvent)
+                    .onTermination().invoke(() -> checkpoint(true))
+                    .broadcast()
+                    .withCancellationAfterLastSubscriberDeparture()
+                    .toAllSubscribers();
+        }
+
+        private Multi<MongoChangeEvent> open() {
+            Uni<String> token = tokenLoaded || lastToken != null
+                    ? Uni.createFrom().item(lastToken != null ? lastToken : checkpointedToken)
+                    : tokenStore.load(id).invoke(loaded -> {
+                        tokenLoaded = true;
+                        checkpointedToken = loaded;
+                    });
+            return token.onItem().transformToMulti(resumeAfter -> {
+                ChangeStreamPublisher<BsonDocument> publisher = driverClient()
+                        .getDatabase(info.getDatabaseName())
+                        .getCollection(collection, BsonDocument.class)
+                        .watch(pipeline, BsonDocument.class)
+                        .batchSize(Math.max(1, options.getBatchSize()));
+                if (options.isFullDocument()) {
+                    publisher = publisher.fullDocument(FullDocument.UPDATE_LOOKUP);
+                }
+                if (resumeAfter != null) {
+                    publisher = publisher.resumeAfter(BsonDocument.parse(resumeAfter));
+                    log.debug("🔁 Resuming change stream '{}' after checkpointed token", id);
+                }
+                return Multi.createFrom().publisher(toFlow(publisher))
+                        .map(this::toEvent);
+            });
+        }
+
+        private void onFailure(Throwable failure) {
+            if (isHistoryLost(failure)) {
+                log.error("🚨 Change stream '{}' cannot resume, its token is no longer in the oplog; restarting from now, "
+                        + "changes since the last checkpoint are lost: {}", id, failure.getMessage());
+                tokenLoaded = true;
+                lastToken = null;
+                checkpointedToken = null;
+                return;
+            }
+            log.warn("⚠️ Change stream '{}' failed, reopening: {}", id, failure.getMessage());
+        }
+
+        private MongoChangeEvent toEvent(ChangeStreamDocument<BsonDocument> change) {
+            long eventTime = change.getWallTime() != null
+                    ? change.getWallTime().getValue()
+                    : change.getClusterTime() == null ? System.currentTimeMillis() : change.getClusterTime().getTime() * 1000L;
+            return new MongoChangeEvent(change.getOperationTypeString(),
+                    change.getNamespace() == null ? null : change.getNamespace().getCollectionName(),
+                    toJson(change.getDocumentKey()),
+                    toJson(change.getFullDocument()),
+                    change.getResumeToken() == null ? null : change.getResumeToken().toJson(),
+                    eventTime);
+        }
+
+        private void onEvent(MongoChangeEvent event) {
+            lagMillis.set(Math.max(0, System.currentTimeMillis() - event.eventTime()));
+            // The previous event has been handed to every subscriber by now
+            checkpoint(false);
+            if (event.resumeToken() != null) {
+                lastToken = event.resumeToken();
+            }
+        }
+
+        private void checkpoint(boolean force) {
+            String token = lastToken;
+            if (token == null || token.equals(checkpointedToken)) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (!force && now - lastCheckpoint < options.getCheckpointInterval()) {
+                return;
+            }
+            if (!saving.compareAndSet(false, true)) {
+                return;
+            }
+            lastCheckpoint = now;
+            tokenStore.save(id, token)
+                    .onItemOrFailure().invoke((v, t) -> saving.set(false))
+                    .subscribe().with(v -> checkpointedToken = token,
+                            t -> log.warn("⚠️ Checkpointing change stream '{}' failed: {}", id, t.getMessage()));
+        }
+    }
+
+    private static boolean isHistoryLost(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof MongoServerException server && server.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> Flow.Publisher<T> toFlow(Publisher<T> publisher) {
+        return subscriber -> publisher.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.UpdateOptions;
+
+/**
+ * The default {@link MongoResumeTokenStore}, keeping one document per stream in a collection of the watched database.
+ */
+public class MongoCollectionResumeTokenStore implements MongoResumeTokenStore {
+
+    private final MongoClient client;
+    private final String collection;
+
+    /**
+     * Creates a store writing to a collection.
+     *
+     * @param client     the client to store tokens with
+     * @param collection the collection holding the tokens
+     */
+    public MongoCollectionResumeTokenStore(MongoClient client, String collection) {
+        this.client = client;
+        this.collection = collection;
+    }
+
+    @Override
+    public Uni<String> load(String streamId) {
+        return Uni.createFrom().completionStage(() -> client.findOne(collection, new JsonObject().put("_id", streamId), null).toCompletionStage())
+                .onItem().ifNotNull().transform(document -> document.getString("token"));
+    }
+
+    @Override
+    public Uni<Void> save(String streamId, String resumeToken) {
+        JsonObject document = new JsonObject()
+                .put("_id", streamId)
+                .put("token", resumeToken)
+                .put("updated", System.currentTimeMillis());
+        return Uni.createFrom().completionStage(() -> client.replaceDocumentsWithOptions(collection,
+                        new JsonObject().put("_id", streamId), document, new UpdateOptions().setUpsert(true)).toCompletionStage())
+                .replaceWithVoid();
+    }
+}
@@ -0,0 +1,32 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+/**
+ * Wire compression algorithms a MongoDB client can negotiate with the server, in order of preference.
+ */
+public enum MongoCompressor {
+    /**
+     * Zstandard, the best ratio at low CPU cost (MongoDB 4.2+)
+     */
+    ZSTD("zstd"),
+    /**
+     * Snappy, fast with a moderate ratio
+     */
+    SNAPPY("snappy"),
+    /**
+     * Zlib, widely available with a higher CPU cost
+     */
+    ZLIB("zlib");
+
+    private final String driverName;
+
+    MongoCompressor(String driverName) {
+        this.driverName = driverName;
+    }
+
+    /**
+     * @return the name used in connection strings
+     */
+    public String getDriverName() {
+        return driverName;
+    }
+}
@@ -1,6 +1,7 @@
 package com.guicedee.persistence.implementations.mongodb;
 
 import com.fasterxml.jackson.annotation.*;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
 import io.vertx.core.json.JsonObject;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -8,8 +9,15 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
@@ -99,6 +107,50 @@ public class MongoConnectionInfo {
      */
     private long maxLifeTimeMS = 0;
 
+    /**
+     * Maximum number of connections a pool establishes concurrently, {@code 0} uses the driver default of 2.
+     */
+    private int maxConnecting = 0;
+
+    /**
+     * Maximum time in milliseconds an operation waits for a pooled connection, {@code 0} uses the driver default.
+     */
+    private long waitQueueTimeoutMS = 0;
+
+    /**
+     * Wire compressors offered to the server in order of preference. Empty disables compression.
+     * {@link MongoCompressor#ZSTD} needs {@code com.github.luben:zstd-jni} and {@link MongoCompressor#SNAPPY}
+     * needs {@code org.xerial.snappy:snappy-java} on the module path.
+     */
+    private List<MongoCompressor> compressors = new ArrayList<>();
+
+    /**
+     * The replica set members reads are routed to, null uses the driver default ({@link MongoReadPreference#PRIMARY}).
+     */
+    private MongoReadPreference readPreference;
+
+    /**
+     * Read preference of the additional analytics client bound as {@code @Named("name-analytics")}, usually
+     * {@link MongoReadPreference#SECONDARY_PREFERRED}. Null binds no analytics client.
+     */
+    private MongoReadPreference analyticsReadPreference;
+
+    /**
+     * The write concern acknowledgement, {@code majority}, a number of members or a tag set name.
+     * Null uses the driver default.
+     */
+    private String writeConcern;
+
+    /**
+     * Maximum time in milliseconds to wait for the write concern, {@code 0} waits indefinitely.
+     */
+    private long writeConcernTimeoutMS = 0;
+
+    /**
+     * Whether writes wait for the journal, null uses the server default.
+     */
+    private Boolean journal;
+
     /**
      * Connection timeout in milliseconds. Defaults to {@code 10000}.
      */
@@ -124,6 +176,21 @@ public class MongoConnectionInfo {
      */
     private boolean defaultConnection = true;
 
+    /**
+     * Number of documents the {@link MongoStreamReader} fetches per cursor round trip. Defaults to {@code 1000}.
+     */
+    private int streamBatchSize = 1000;
+
+    /**
+     * Batching settings of the {@link MongoBulkWriter} bound for this connection.
+     */
+    private MongoBulkWriteOptions bulkWrite = new MongoBulkWriteOptions();
+
+    /**
+     * Settings of the {@link MongoChangeStreams} bound for this connection.
+     */
+    private MongoChangeStreamOptions changeStreams = new MongoChangeStreamOptions();
+
     /**
      * Any additional custom properties.
      */
@@ -134,13 +201,24 @@ public class MongoConnectionInfo {
      * {@code MongoClient.createShared(vertx, config)}.
      *
      * @return the configuration as a JsonObject
+     * @throws InvalidConnectionInfoException when the tuning values are invalid, see {@link #validate()}
      */
     public JsonObject toJsonConfig() {
+        validate();
         JsonObject config = new JsonObject();
 
-        if (connectionString != null && !connectionString.isEmpty()) {
-            config.put("connection_string", connectionString);
+        // Compression and maxConnecting are only read from the connection string by the Vert.x client, and once a
+        // connection string is present the client reads the pool and socket settings from it and ignores the discrete keys
+        String connectionParameters = connectionStringParameters();
+        boolean usesConnectionString = connectionString != null && !connectionString.isEmpty();
+        if (usesConnectionString) {
+            config.put("connection_string", appendParameters(connectionString, joinParameters(connectionParameters, poolParameters())));
         } else {
+            if (!connectionParameters.isEmpty()) {
+                usesConnectionString = true;
+                config.put("connection_string", "mongodb://" + credentials() + host + ":" + port + "/?"
+                        + discreteParameters(joinParameters(connectionParameters, poolParameters())));
+            }
             config.put("host", host);
             config.put("port", port);
             if (username != null && !username.isEmpty()) {
@@ -156,32 +234,205 @@ public class MongoConnectionInfo {
 
         config.put("db_name", databaseName);
         config.put("useObjectId", useObjectId);
-        config.put("maxPoolSize", maxPoolSize);
-        config.put("minPoolSize", minPoolSize);
+        if (!usesConnectionString) {
+            config.put("maxPoolSize", maxPoolSize);
+            config.put("minPoolSize", minPoolSize);
+            if (maxIdleTimeMS > 0) {
+                config.put("maxIdleTimeMS", maxIdleTimeMS);
+            }
+            if (maxLifeTimeMS > 0) {
+                config.put("maxLifeTimeMS", maxLifeTimeMS);
+            }
+            if (waitQueueTimeoutMS > 0) {
+                config.put("waitQueueTimeoutMS", waitQueueTimeoutMS);
+            }
+            if (connectTimeoutMS > 0) {
+                config.put("connectTimeoutMS", connectTimeoutMS);
+            }
+            if (socketTimeoutMS > 0) {
+                config.put("socketTimeoutMS", socketTimeoutMS);
+            }
+        }
+        if (ssl) {
+            config.put("ssl", true);
+            config.put("trustAll", trustAll);
+        }
+        if (readPreference != null) {
+            config.put("readPreference", readPreference.getDriverName());
+        }
+        if (writeConcern != null) {
+            config.put("w", isNumber(writeConcern) ? (Object) Integer.parseInt(writeConcern) : writeConcern);
+            if (writeConcernTimeoutMS > 0) {
+                config.put("wtimeoutMS", writeConcernTimeoutMS);
+            }
+        }
+        if (journal != null) {
+            config.put("j", journal);
+        }
+
+        // Add any custom properties
+        for (Map.Entry<String, Object> entry : customProperties.entrySet()) {
+            config.put(entry.getKey(), entry.getValue());
+        }
+
+        return config;
+    }
 
+    /**
+     * Returns the configuration of the analytics client, identical to {@link #toJsonConfig()} apart from routing
+     * reads by {@link #analyticsReadPreference}.
+     *
+     * @return the configuration as a JsonObject, or null when no analytics read preference is set
+     */
+    public JsonObject toAnalyticsJsonConfig() {
+        if (analyticsReadPreference == null) {
+            return null;
+        }
+        JsonObject config = toJsonConfig();
+        config.put("readPreference", analyticsReadPreference.getDriverName());
+        String configured = config.getString("connection_string");
+        if (configured != null && configured.toLowerCase().contains("readpreference=")) {
+            // A read preference in the connection string takes precedence, replace it
+            config.put("connection_string", configured.replaceAll("(?i)readPreference=[^&]*",
+                    "readPreference=" + analyticsReadPreference.getDriverName()));
+        }
+        return config;
+    }
+
+    /**
+     * Checks the tuning values for consistency.
+     *
+     * @throws InvalidConnectionInfoException when a value is out of range or a compressor library is missing
+     */
+    public void validate() {
+        if (maxPoolSize <= 0) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': maxPoolSize must be positive, was " + maxPoolSize);
+        }
+        if (minPoolSize < 0 || minPoolSize > maxPoolSize) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': minPoolSize must be between 0 and maxPoolSize, was " + minPoolSize);
+        }
+        if (maxConnecting < 0 || waitQueueTimeoutMS < 0 || writeConcernTimeoutMS < 0) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': maxConnecting, waitQueueTimeoutMS and writeConcernTimeoutMS must not be negative");
+        }
+        if (writeConcern != null && (writeConcern.isBlank() || writeConcern.startsWith("-"))) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': writeConcern must be 'majority', a member count or a tag set name, was '" + writeConcern + "'");
+        }
+        if (journal != null && journal && "0".equals(writeConcern)) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': journal cannot be requested with an unacknowledged (w=0) write concern");
+        }
+        if (compressors != null) {
+            if (compressors.stream().anyMatch(Objects::isNull) || new HashSet<>(compressors).size() != compressors.size()) {
+                throw new InvalidConnectionInfoException("MongoDB '" + name + "': compressors must not contain null or duplicate entries");
+            }
+            requireCompressorLibrary(MongoCompressor.ZSTD, "com.github.luben.zstd.Zstd", "com.github.luben:zstd-jni");
+            requireCompressorLibrary(MongoCompressor.SNAPPY, "org.xerial.snappy.Snappy", "org.xerial.snappy:snappy-java");
+        }
+    }
+
+    private void requireCompressorLibrary(MongoCompressor compressor, String className, String artifact) {
+        if (!compressors.contains(compressor)) {
+            return;
+        }
+        try {
+            Class.forName(className, false, MongoConnectionInfo.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new InvalidConnectionInfoException("MongoDB '" + name + "': " + compressor.getDriverName()
+                    + " compression requires " + artifact + " on the module path", e);
+        }
+    }
+
+    private String connectionStringParameters() {
+        StringJoiner parameters = new StringJoiner("&");
+        if (compressors != null && !compressors.isEmpty()) {
+            StringJoiner names = new StringJoiner(",");
+            compressors.forEach(compressor -> names.add(compressor.getDriverName()));
+            parameters.add("compressors=" + names);
+        }
+        if (maxConnecting > 0) {
+            parameters.add("maxConnecting=" + maxConnecting);
+        }
+        return parameters.toString();
+    }
+
+    /**
+     * The pool and socket settings in connection string form, used whenever a connection string is emitted.
+     */
+    private String poolParameters() {
+        StringJoiner parameters = new StringJoiner("&");
+        parameters.add("maxPoolSize=" + maxPoolSize);
+        parameters.add("minPoolSize=" + minPoolSize);
         if (maxIdleTimeMS > 0) {
-            config.put("maxIdleTimeMS", maxIdleTimeMS);
+            parameters.add("maxIdleTimeMS=" + maxIdleTimeMS);
         }
         if (maxLifeTimeMS > 0) {
-            config.put("maxLifeTimeMS", maxLifeTimeMS);
+            parameters.add("maxLifeTimeMS=" + maxLifeTimeMS);
+        }
+        if (waitQueueTimeoutMS > 0) {
+            parameters.add("waitQueueTimeoutMS=" + waitQueueTimeoutMS);
         }
         if (connectTimeoutMS > 0) {
-            config.put("connectTimeoutMS", connectTimeoutMS);
+            parameters.add("connectTimeoutMS=" + connectTimeoutMS);
         }
         if (socketTimeoutMS > 0) {
-            config.put("socketTimeoutMS", socketTimeoutMS);
+            parameters.add("socketTimeoutMS=" + socketTimeoutMS);
+        }
+        return parameters.toString();
+    }
+
+    private static String joinParameters(String first, String second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        return second.isEmpty() ? first : first + "&" + second;
+    }
+
+    private String credentials() {
+        if (username == null || username.isEmpty()) {
+            return "";
+        }
+        return encode(username) + (password == null || password.isEmpty() ? "" : ":" + encode(password)) + "@";
+    }
+
+    private String discreteParameters(String parameters) {
+        StringJoiner joined = new StringJoiner("&");
+        joined.add(parameters);
+        if (username != null && !username.isEmpty() && authSource != null && !authSource.isEmpty()) {
+            joined.add("authSource=" + encode(authSource));
         }
         if (ssl) {
-            config.put("ssl", true);
-            config.put("trustAll", trustAll);
+            joined.add("tls=true");
         }
+        return joined.toString();
+    }
 
-        // Add any custom properties
-        for (Map.Entry<String, Object> entry : customProperties.entrySet()) {
-            config.put(entry.getKey(), entry.getValue());
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String appendParameters(String connectionString, String parameters) {
+        if (parameters.isEmpty()) {
+            return connectionString;
         }
+        StringJoiner missing = new StringJoiner("&");
+        String lower = connectionString.toLowerCase();
+        for (String parameter : parameters.split("&")) {
+            String key = parameter.substring(0, parameter.indexOf('=') + 1).toLowerCase();
+            if (!lower.contains("?" + key) && !lower.contains("&" + key)) {
+                missing.add(parameter);
+            }
+        }
+        if (missing.length() == 0) {
+            return connectionString;
+        }
+        if (connectionString.contains("?")) {
+            return connectionString + (connectionString.endsWith("?") || connectionString.endsWith("&") ? "" : "&") + missing;
+        }
+        int hosts = connectionString.indexOf("://");
+        boolean hasPath = connectionString.indexOf('/', hosts < 0 ? 0 : hosts + 3) >= 0;
+        return connectionString + (hasPath ? "?" : "/?") + missing;
+    }
 
-        return config;
+    private static boolean isNumber(String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
     }
 }
-
@@ -0,0 +1,53 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.guicedee.persistence.health.ComponentHealth;
+import com.guicedee.persistence.health.HealthProbe;
+import com.guicedee.persistence.health.HealthStatus;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Probes a MongoDB connection with a {@code ping} command, registered by {@link MongoModule}.
+ */
+public class MongoHealthProbe implements HealthProbe {
+
+    private final String name;
+    private final String database;
+    private final MongoClient client;
+
+    /**
+     * Creates the probe of a Mongo client.
+     *
+     * @param name     the connection name
+     * @param database the database the client uses
+     * @param client   the client to ping
+     */
+    public MongoHealthProbe(String name, String database, MongoClient client) {
+        this.name = name;
+        this.database = database;
+        this.client = client;
+    }
+
+    @Override
+    public String getName() {
+        return "mongo:" + name;
+    }
+
+    @Override
+    public String getType() {
+        return MONGODB;
+    }
+
+    @Override
+    public Uni<ComponentHealth> probe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("database", database);
+        return Uni.createFrom().completionStage(() -> client.runCommand("ping", new JsonObject().put("ping", 1)).toCompletionStage())
+                .map(reply -> ComponentHealth.of(this, HealthStatus.UP, details))
+                .onFailure().recoverWithItem(t -> ComponentHealth.down(this, details, t));
+    }
+}
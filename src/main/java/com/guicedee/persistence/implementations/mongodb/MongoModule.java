@@ -4,12 +4,16 @@ import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import com.guicedee.client.services.lifecycle.IGuiceModule;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
+import com.guicedee.persistence.health.PersistenceHealth;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.mongo.MongoClient;
 import lombok.extern.log4j.Log4j2;
 
+import java.time.Duration;
+import java.util.ServiceLoader;
+
 /**
  * A Guice module that creates and binds a Vert.x {@link MongoClient} into the injector.
  * <p>
@@ -23,6 +27,10 @@ import lombok.extern.log4j.Log4j2;
  *   <li>Subclass this class and implement {@link #getMongoConnectionInfo()}.</li>
  *   <li>Register the subclass as an {@code IGuiceModule} SPI provider.</li>
  *   <li>Inject {@code MongoClient} (optionally with {@code @Named("yourName")}).</li>
+ *   <li>Inject {@link MongoBulkWriter} with the same qualifier to batch writes, and {@link MongoStreamReader}
+ *   to stream large results, and {@link MongoChangeStreams} to watch collections for changes.</li>
+ *   <li>With {@link MongoConnectionInfo#setAnalyticsReadPreference(MongoReadPreference)} set, inject
+ *   {@code @Named("yourName-analytics") MongoClient} to route heavy reads away from the primary.</li>
  * </ol>
  *
  * <pre>{@code
@@ -42,6 +50,9 @@ public abstract class MongoModule<J extends MongoModule<J>>
         implements IGuiceModule<J>, IGuicePreDestroy<J> {
 
     private MongoClient mongoClient;
+    private MongoClient analyticsClient;
+    private MongoBulkWriter bulkWriter;
+    private MongoChangeStreams changeStreams;
 
     /**
      * Provides the MongoDB connection info for this module.
@@ -75,9 +86,43 @@ public abstract class MongoModule<J extends MongoModule<J>>
                     .annotatedWith(Names.named(info.getName()))
                     .toInstance(mongoClient);
 
+            bulkWriter = new MongoBulkWriter(info.getName(), mongoClient, vertx, info.getBulkWrite());
+            bind(MongoBulkWriter.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(bulkWriter);
+            MongoStreamReader streamReader = new MongoStreamReader(mongoClient, info.getStreamBatchSize());
+            bind(MongoStreamReader.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(streamReader);
+            MongoResumeTokenStore tokenStore = ServiceLoader.load(MongoResumeTokenStore.class).findFirst()
+                    .orElseGet(() -> new MongoCollectionResumeTokenStore(mongoClient, info.getChangeStreams().getResumeTokenCollection()));
+            changeStreams = new MongoChangeStreams(info, tokenStore, vertx);
+            bind(MongoChangeStreams.class)
+                    .annotatedWith(Names.named(info.getName()))
+                    .toInstance(changeStreams);
+
+            JsonObject analyticsConfig = info.toAnalyticsJsonConfig();
+            if (analyticsConfig != null) {
+                String analyticsName = info.getName() + "-analytics";
+                analyticsClient = MongoClient.createShared(vertx, analyticsConfig, analyticsName);
+                bind(MongoClient.class)
+                        .annotatedWith(Names.named(analyticsName))
+                        .toInstance(analyticsClient);
+                bind(MongoStreamReader.class)
+                        .annotatedWith(Names.named(analyticsName))
+                        .toInstance(new MongoStreamReader(analyticsClient, info.getStreamBatchSize()));
+                log.info("✅ Analytics MongoClient bound as @Named(\"{}\") reading from {}",
+                        analyticsName, info.getAnalyticsReadPreference().getDriverName());
+            }
+
             // If this is the default connection, also bind without @Named
+            PersistenceHealth.register(new MongoHealthProbe(info.getName(), info.getDatabaseName(), mongoClient));
+
             if (info.isDefaultConnection()) {
                 bind(MongoClient.class).toInstance(mongoClient);
+                bind(MongoBulkWriter.class).toInstance(bulkWriter);
+                bind(MongoStreamReader.class).toInstance(streamReader);
+                bind(MongoChangeStreams.class).toInstance(changeStreams);
             }
 
             log.info("✅ MongoClient bound as @Named(\"{}\"){}",
@@ -91,6 +136,28 @@ public abstract class MongoModule<J extends MongoModule<J>>
 
     @Override
     public void onDestroy() {
+        PersistenceHealth.unregister("mongo:" + getMongoConnectionInfo().getName());
+        if (bulkWriter != null) {
+            try {
+                bulkWriter.flush().await().atMost(Duration.ofSeconds(30));
+            } catch (Throwable t) {
+                log.warn("⚠️ Flushing MongoBulkWriter '{}' failed: {}", getMongoConnectionInfo().getName(), t.getMessage());
+            }
+        }
+        if (changeStreams != null) {
+            try {
+                changeStreams.close();
+            } catch (Throwable t) {
+                log.debug("⚠️ MongoChangeStreams close failed: {}", t.getMessage());
+            }
+        }
+        if (analyticsClient != null) {
+            try {
+                analyticsClient.close();
+            } catch (Throwable t) {
+                log.debug("⚠️ Analytics MongoClient close failed: {}", t.getMessage());
+            }
+        }
         if (mongoClient != null) {
             try {
                 mongoClient.close();
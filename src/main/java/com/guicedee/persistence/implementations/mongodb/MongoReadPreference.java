@@ -0,0 +1,40 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+/**
+ * The replica set members a MongoDB client may read from.
+ */
+public enum MongoReadPreference {
+    /**
+     * Only the primary, the driver default
+     */
+    PRIMARY("primary"),
+    /**
+     * The primary, or a secondary while no primary is available
+     */
+    PRIMARY_PREFERRED("primaryPreferred"),
+    /**
+     * Only secondaries
+     */
+    SECONDARY("secondary"),
+    /**
+     * Secondaries, or the primary while no secondary is available
+     */
+    SECONDARY_PREFERRED("secondaryPreferred"),
+    /**
+     * The member with the lowest latency
+     */
+    NEAREST("nearest");
+
+    private final String driverName;
+
+    MongoReadPreference(String driverName) {
+        this.driverName = driverName;
+    }
+
+    /**
+     * @return the name used in the client configuration
+     */
+    public String getDriverName() {
+        return driverName;
+    }
+}
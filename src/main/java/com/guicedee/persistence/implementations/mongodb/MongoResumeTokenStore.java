@@ -0,0 +1,29 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * SPI storing the resume tokens of {@link MongoChangeStreams} so a restarted application continues where it stopped.
+ * <p>
+ * Register an implementation with JPMS {@code provides} or {@code META-INF/services}; without one the tokens are kept
+ * in a collection of the watched database by {@link MongoCollectionResumeTokenStore}.
+ */
+public interface MongoResumeTokenStore {
+
+    /**
+     * Loads the last checkpointed token of a stream.
+     *
+     * @param streamId the stable identifier of the stream
+     * @return the token in extended JSON, or null when the stream has never been checkpointed
+     */
+    Uni<String> load(String streamId);
+
+    /**
+     * Checkpoints the token of a stream.
+     *
+     * @param streamId    the stable identifier of the stream
+     * @param resumeToken the token in extended JSON
+     * @return completes once the token is stored
+     */
+    Uni<Void> save(String streamId, String resumeToken);
+}
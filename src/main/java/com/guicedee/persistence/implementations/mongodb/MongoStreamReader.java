@@ -0,0 +1,111 @@
+package com.guicedee.persistence.implementations.mongodb;
+
+import com.guicedee.persistence.implementations.ReadStreamPublisher;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.AggregateOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+
+/**
+ * Streams MongoDB query and aggregation results as a {@link Multi} instead of buffering them.
+ * <p>
+ * {@code MongoClient.find} collects the whole result into a list. The reader uses the cursor based
+ * {@code findBatchWithOptions} and {@code aggregateWithOptions} streams: documents are fetched from the server
+ * {@link MongoConnectionInfo#getStreamBatchSize()} at a time and only as fast as the subscriber requests them, so
+ * exports of any size run in bounded memory. Pass a projection to have the server return only the needed fields.
+ * <p>
+ * One reader is bound per {@link MongoConnectionInfo#getName()} as {@code @Named("name") MongoStreamReader}.
+ *
+ * <pre>{@code
+ * @Inject @Named("events")
+ * MongoStreamReader reader;
+ *
+ * reader.find("events", new JsonObject().put("type", "order"), new JsonObject().put("payload", 1))
+ *       .onItem().transformToUniAndConcatenate(exporter::write)
+ *       .collect().last();
+ * }</pre>
+ */
+public class MongoStreamReader {
+
+    private final MongoClient client;
+    private final int batchSize;
+
+    /**
+     * Creates a reader for a Mongo client.
+     *
+     * @param client    the client to read with
+     * @param batchSize the number of documents fetched per cursor round trip
+     */
+    public MongoStreamReader(MongoClient client, int batchSize) {
+        this.client = client;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Streams the documents matching a query.
+     *
+     * @param collection the collection name
+     * @param query      the query filter
+     * @return the matching documents
+     */
+    public Multi<JsonObject> find(String collection, JsonObject query) {
+        return find(collection, query, new FindOptions().setBatchSize(batchSize));
+    }
+
+    /**
+     * Streams the documents matching a query, returning only the projected fields.
+     *
+     * @param collection the collection name
+     * @param query      the query filter
+     * @param projection the fields to return, e.g. {@code {"name": 1, "_id": 0}}
+     * @return the matching documents
+     */
+    public Multi<JsonObject> find(String collection, JsonObject query, JsonObject projection) {
+        return find(collection, query, new FindOptions().setBatchSize(batchSize).setFields(projection));
+    }
+
+    /**
+     * Streams the documents matching a query with explicit find options.
+     * The options are used as given, including their batch size.
+     *
+     * @param collection the collection name
+     * @param query      the query filter
+     * @param options    the find options
+     * @return the matching documents
+     */
+    public Multi<JsonObject> find(String collection, JsonObject query, FindOptions options) {
+        return ReadStreamPublisher.multi(() -> client.findBatchWithOptions(collection, query, options));
+    }
+
+    /**
+     * Streams the results of an aggregation pipeline.
+     *
+     * @param collection the collection name
+     * @param pipeline   the aggregation stages
+     * @return the aggregation results
+     */
+    public Multi<JsonObject> aggregate(String collection, JsonArray pipeline) {
+        return aggregate(collection, pipeline, new AggregateOptions().setBatchSize(batchSize));
+    }
+
+    /**
+     * Streams the results of an aggregation pipeline with explicit options.
+     *
+     * @param collection the collection name
+     * @param pipeline   the aggregation stages
+     * @param options    the aggregation options
+     * @return the aggregation results
+     */
+    public Multi<JsonObject> aggregate(String collection, JsonArray pipeline, AggregateOptions options) {
+        return ReadStreamPublisher.multi(() -> client.aggregateWithOptions(collection, pipeline, options));
+    }
+
+    /**
+     * @return the number of documents fetched per cursor round trip
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -1,6 +1,7 @@
 package com.guicedee.persistence.implementations.mysql;
 
 import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.core.Vertx;
 import io.vertx.mysqlclient.MySQLBuilder;
@@ -16,6 +17,11 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class MySqlConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
 
+    /**
+     * Pipelining and prepared statement cache settings of the unit.
+     */
+    private MySqlPerformanceOptions performance;
+
     /**
      * Creates a new MySqlConnectionBaseInfo instance.
      */
@@ -34,6 +40,24 @@ public class MySqlConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
         setDriver("mysql");
     }
 
+    /**
+     * @return the pipelining and prepared statement cache settings, or null for the client defaults
+     */
+    public MySqlPerformanceOptions getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Sets the pipelining and prepared statement cache settings of the unit.
+     *
+     * @param performance the settings
+     * @return this instance for chaining
+     */
+    public MySqlConnectionBaseInfo setPerformance(MySqlPerformanceOptions performance) {
+        this.performance = performance;
+        return this;
+    }
+
     /**
      * Returns a Vertx SqlClient configured for MySQL.
      *
@@ -48,50 +72,9 @@ public class MySqlConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
                 return null;
             }
 
-            MySQLConnectOptions connectOptions = new MySQLConnectOptions();
-
-            if (getServerName() != null) {
-                connectOptions.setHost(getServerName());
-            }
-
-            if (getPort() != null) {
-                connectOptions.setPort(Integer.parseInt(getPort()));
-            } else {
-                connectOptions.setPort(3306);
-            }
-
-            if (getDatabaseName() != null) {
-                connectOptions.setDatabase(getDatabaseName());
-            }
-
-            if (getUsername() != null) {
-                connectOptions.setUser(getUsername());
-            }
-
-            if (getPassword() != null) {
-                connectOptions.setPassword(getPassword());
-            }
-
-            // Set MySQL-specific properties from custom properties
-            if (getCustomProperties().containsKey("charset")) {
-                connectOptions.setCharset(getCustomProperties().get("charset"));
-            }
-
-            if (getCustomProperties().containsKey("collation")) {
-                connectOptions.setCollation(getCustomProperties().get("collation"));
-            }
-
-            // Configure pool options
-            PoolOptions poolOptions = new PoolOptions();
-
-            if (getMaxPoolSize() != null) {
-                poolOptions.setMaxSize(getMaxPoolSize());
-            }
+            MySQLConnectOptions connectOptions = toConnectOptions();
 
-            // Set shared pool name so Hibernate Reactive can reuse it
-            String puName = getPersistenceUnitName() != null ? getPersistenceUnitName() : "mysql-default";
-            poolOptions.setShared(true);
-            poolOptions.setName(puName);
+            PoolOptions poolOptions = toPoolOptions();
 
             // Create the pool using MySQLBuilder
             return MySQLBuilder.pool()
@@ -105,4 +88,71 @@ public class MySqlConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
             return null;
         }
     }
+
+    /**
+     * Builds the pool options of this unit through the {@link PoolOptionsCompiler}.
+     *
+     * @return the pool options
+     */
+    public PoolOptions toPoolOptions() {
+        return PoolOptionsCompiler.compile(this, "mysql-default");
+    }
+
+    /**
+     * Builds the MySQL connect options of this unit, including the {@link MySqlPerformanceOptions}.
+     *
+     * @return the connect options
+     * @throws com.guicedee.persistence.annotations.InvalidConnectionInfoException when the performance options are invalid
+     */
+    public MySQLConnectOptions toConnectOptions() {
+        MySQLConnectOptions connectOptions = new MySQLConnectOptions();
+
+        if (getServerName() != null) {
+            connectOptions.setHost(getServerName());
+        }
+
+        if (getPort() != null) {
+            connectOptions.setPort(Integer.parseInt(getPort()));
+        } else {
+            connectOptions.setPort(3306);
+        }
+
+        if (getDatabaseName() != null) {
+            connectOptions.setDatabase(getDatabaseName());
+        }
+
+        if (getUsername() != null) {
+            connectOptions.setUser(getUsername());
+        }
+
+        if (getPassword() != null) {
+            connectOptions.setPassword(getPassword());
+        }
+
+        // Set MySQL-specific properties from custom properties
+        if (getCustomProperties().containsKey("charset")) {
+            connectOptions.setCharset(getCustomProperties().get("charset"));
+        }
+
+        if (getCustomProperties().containsKey("collation")) {
+            connectOptions.setCollation(getCustomProperties().get("collation"));
+        }
+
+        // Reconnect policy, only applied when configured
+        if (getReconnectAttempts() != null) {
+            connectOptions.setReconnectAttempts(getReconnectAttempts());
+        }
+        if (getReconnectInterval() != null) {
+            connectOptions.setReconnectInterval(getReconnectInterval());
+        }
+
+        MySqlPerformanceOptions configured = performance != null ? performance : MySqlPerformanceOptions.fromProperties(getCustomProperties());
+        MySqlPerformanceOptions options = configured != null ? configured : new MySqlPerformanceOptions();
+        options.validate(getPersistenceUnitName());
+        options.applyTo(connectOptions, getPreparedStatementCacheSize());
+        if (configured != null) {
+            log.info("[DB-POOL] MySQL performance options for PU='{}': {}", getPersistenceUnitName(), configured);
+        }
+        return connectOptions;
+    }
 }
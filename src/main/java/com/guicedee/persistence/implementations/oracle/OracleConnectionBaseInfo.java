@@ -1,6 +1,7 @@
 package com.guicedee.persistence.implementations.oracle;
 
 import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import io.vertx.core.Vertx;
 import io.vertx.oracleclient.OracleBuilder;
@@ -16,6 +17,11 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class OracleConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
 
+    /**
+     * Row fetch, LOB prefetch and statement cache settings of the unit.
+     */
+    private OraclePerformanceOptions performance;
+
     /**
      * Creates a new OracleConnectionBaseInfo instance.
      */
@@ -34,6 +40,34 @@ public class OracleConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
         setDriver("oracle");
     }
 
+    /**
+     * @return the row fetch, LOB prefetch and statement cache settings, or null for the driver defaults
+     */
+    public OraclePerformanceOptions getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Sets the row fetch, LOB prefetch and statement cache settings of the unit.
+     *
+     * @param performance the settings
+     * @return this instance for chaining
+     */
+    public OracleConnectionBaseInfo setPerformance(OraclePerformanceOptions performance) {
+        this.performance = performance;
+        return this;
+    }
+
+    /**
+     * Returns the lightest statement the database answers, used to validate pooled connections.
+     *
+     * @return the validation statement
+     */
+    @Override
+    protected String getDefaultValidationQuery() {
+        return "SELECT 1 FROM DUAL";
+    }
+
     /**
      * Returns a Vertx SqlClient configured for Oracle.
      *
@@ -48,46 +82,9 @@ public class OracleConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
                 return null;
             }
 
-            OracleConnectOptions connectOptions = new OracleConnectOptions();
-
-            if (getServerName() != null) {
-                connectOptions.setHost(getServerName());
-            }
-
-            if (getPort() != null) {
-                connectOptions.setPort(Integer.parseInt(getPort()));
-            } else {
-                connectOptions.setPort(1521);
-            }
-
-            if (getDatabaseName() != null) {
-                connectOptions.setDatabase(getDatabaseName());
-            }
-
-            if (getUsername() != null) {
-                connectOptions.setUser(getUsername());
-            }
-
-            if (getPassword() != null) {
-                connectOptions.setPassword(getPassword());
-            }
-
-            // Set SSL if specified in custom properties
-            if (getCustomProperties().containsKey("ssl")) {
-                connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
-            }
-
-            // Configure pool options
-            PoolOptions poolOptions = new PoolOptions();
-
-            if (getMaxPoolSize() != null) {
-                poolOptions.setMaxSize(getMaxPoolSize());
-            }
+            OracleConnectOptions connectOptions = toConnectOptions();
 
-            // Set shared pool name so Hibernate Reactive can reuse it
-            String puName = getPersistenceUnitName() != null ? getPersistenceUnitName() : "oracle-default";
-            poolOptions.setShared(true);
-            poolOptions.setName(puName);
+            PoolOptions poolOptions = toPoolOptions();
 
             // Create the pool using OracleBuilder
             return OracleBuilder.pool()
@@ -101,4 +98,67 @@ public class OracleConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
             return null;
         }
     }
+
+    /**
+     * Builds the pool options of this unit through the {@link PoolOptionsCompiler}.
+     *
+     * @return the pool options
+     */
+    public PoolOptions toPoolOptions() {
+        return PoolOptionsCompiler.compile(this, "oracle-default");
+    }
+
+    /**
+     * Builds the Oracle connect options of this unit, including the {@link OraclePerformanceOptions}.
+     *
+     * @return the connect options
+     * @throws com.guicedee.persistence.annotations.InvalidConnectionInfoException when the performance options are invalid
+     */
+    public OracleConnectOptions toConnectOptions() {
+        OracleConnectOptions connectOptions = new OracleConnectOptions();
+
+        if (getServerName() != null) {
+            connectOptions.setHost(getServerName());
+        }
+
+        if (getPort() != null) {
+            connectOptions.setPort(Integer.parseInt(getPort()));
+        } else {
+            connectOptions.setPort(1521);
+        }
+
+        if (getDatabaseName() != null) {
+            connectOptions.setDatabase(getDatabaseName());
+        }
+
+        if (getUsername() != null) {
+            connectOptions.setUser(getUsername());
+        }
+
+        if (getPassword() != null) {
+            connectOptions.setPassword(getPassword());
+        }
+
+        // Set SSL if specified in custom properties
+        if (getCustomProperties().containsKey("ssl")) {
+            connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
+        }
+
+        // Reconnect policy, only applied when configured
+        if (getReconnectAttempts() != null) {
+            connectOptions.setReconnectAttempts(getReconnectAttempts());
+        }
+        if (getReconnectInterval() != null) {
+            connectOptions.setReconnectInterval(getReconnectInterval());
+        }
+
+        OraclePerformanceOptions tuning = performance != null ? performance : OraclePerformanceOptions.fromProperties(getCustomProperties());
+        OraclePerformanceOptions options = tuning != null ? tuning : new OraclePerformanceOptions();
+        options.validate(getPersistenceUnitName());
+        options.applyTo(connectOptions, getPreparedStatementCacheSize());
+        if (tuning != null) {
+            log.info("[DB-POOL] Oracle performance options for PU='{}': {}", getPersistenceUnitName(), tuning);
+        }
+        return connectOptions;
+    }
 }
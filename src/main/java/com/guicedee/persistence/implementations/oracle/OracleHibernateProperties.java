@@ -15,6 +15,8 @@ import java.util.Properties;
  */
 public class OracleHibernateProperties implements IPropertiesEntityManagerReader<OracleHibernateProperties> {
 
+    private static final String VERTX_PREFIX = "hibernate.vertx." + OraclePerformanceOptions.PROPERTY_PREFIX;
+
     /**
      * Process the properties for Oracle.
      * This method adds Oracle-specific Hibernate properties to the incoming properties.
@@ -85,9 +87,37 @@ public class OracleHibernateProperties implements IPropertiesEntityManagerReader
             incomingProperties.put("hibernate.id.new_generator_mappings", "false");
         }
 
+        // Keep Hibernate and the Vert.x client on one fetch size, see OraclePerformanceOptions
+        String vertxFetchSize = vertxProperty(incomingProperties, "fetch-size");
+        if (vertxFetchSize != null && !incomingProperties.containsKey("hibernate.jdbc.fetch_size")) {
+            incomingProperties.put("hibernate.jdbc.fetch_size", vertxFetchSize);
+        } else if (vertxFetchSize == null && incomingProperties.containsKey("hibernate.jdbc.fetch_size")) {
+            incomingProperties.put(VERTX_PREFIX + "fetch-size", incomingProperties.getProperty("hibernate.jdbc.fetch_size"));
+        }
+
+        // Carry JDBC driver style prefetch settings over to the Vert.x client
+        if (incomingProperties.containsKey("hibernate.connection.defaultLobPrefetchSize") && vertxProperty(incomingProperties, "lob-prefetch-size") == null) {
+            incomingProperties.put(VERTX_PREFIX + "lob-prefetch-size", incomingProperties.getProperty("hibernate.connection.defaultLobPrefetchSize"));
+        }
+        if (incomingProperties.containsKey("hibernate.connection.implicitStatementCacheSize") && vertxProperty(incomingProperties, "statement-cache-size") == null) {
+            incomingProperties.put(VERTX_PREFIX + "statement-cache-size", incomingProperties.getProperty("hibernate.connection.implicitStatementCacheSize"));
+        }
+
         return props;
     }
 
+    /**
+     * Reads an {@link OraclePerformanceOptions} property under either Vert.x prefix.
+     *
+     * @param properties the unit properties
+     * @param suffix     the property name after {@code oracle.}
+     * @return the value, or null when not set
+     */
+    private static String vertxProperty(Properties properties, String suffix) {
+        String value = properties.getProperty(VERTX_PREFIX + suffix);
+        return value != null ? value : properties.getProperty("vertx.sql." + OraclePerformanceOptions.PROPERTY_PREFIX + suffix);
+    }
+
     /**
      * Determines if this properties reader is applicable to the given persistence unit.
      * This method checks if the persistence unit is using Oracle by looking at the driver class
@@ -0,0 +1,156 @@
+package com.guicedee.persistence.implementations.oracle;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import io.vertx.oracleclient.OracleConnectOptions;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Row fetch, LOB prefetch and statement cache settings of an Oracle persistence unit.
+ * <p>
+ * The Oracle driver fetches 10 rows per round trip by default, so a 100k row report costs 10000 round trips. The
+ * settings are passed to the driver as connection properties when {@link OracleConnectionBaseInfo} creates the pool.
+ * Every setting can also be given as a persistence unit property, see {@link #fromProperties(Map)}, and
+ * {@link OracleHibernateProperties} keeps {@code hibernate.jdbc.fetch_size} in line with {@link #fetchSize}.
+ * Zero or null values leave the driver defaults in place.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class OraclePerformanceOptions {
+
+    /**
+     * The property prefix read by {@link #fromProperties(Map)}, after the {@code vertx.sql.} or {@code hibernate.vertx.} prefix.
+     */
+    public static final String PROPERTY_PREFIX = "oracle.";
+
+    /**
+     * The driver connection property for the rows fetched per round trip.
+     */
+    public static final String ROW_PREFETCH_PROPERTY = "defaultRowPrefetch";
+
+    /**
+     * The driver connection property for the LOB bytes returned with the row.
+     */
+    public static final String LOB_PREFETCH_PROPERTY = "oracle.jdbc.defaultLobPrefetchSize";
+
+    /**
+     * The driver connection property for the statements cached per connection.
+     */
+    public static final String STATEMENT_CACHE_PROPERTY = "oracle.jdbc.implicitStatementCacheSize";
+
+    /**
+     * Rows fetched per round trip, {@code 0} uses the driver default of 10.
+     */
+    private int fetchSize;
+
+    /**
+     * Bytes of each CLOB or BLOB returned together with the row, {@code 0} uses the driver default of 32 KiB and
+     * {@code -1} disables prefetching so every LOB is read with extra round trips.
+     */
+    private int lobPrefetchSize;
+
+    /**
+     * Whether statements are cached per connection, null enables the cache when a size is configured.
+     */
+    private Boolean cachePreparedStatements;
+
+    /**
+     * Statements cached per connection, {@code 0} falls back to the unit's {@code preparedStatementCacheSize}.
+     */
+    private int statementCacheSize;
+
+    /**
+     * Reads the settings from persistence unit properties with the {@link #PROPERTY_PREFIX} stripped of the
+     * {@code vertx.sql.} or {@code hibernate.vertx.} prefix, e.g. {@code hibernate.vertx.oracle.fetch-size}.
+     *
+     * @param properties the unit's custom properties
+     * @return the settings, or null when no property is present
+     * @throws InvalidConnectionInfoException when a value cannot be parsed
+     */
+    public static OraclePerformanceOptions fromProperties(Map<String, String> properties) {
+        OraclePerformanceOptions options = null;
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (!entry.getKey().startsWith(PROPERTY_PREFIX)) {
+                continue;
+            }
+            String key = entry.getKey().substring(PROPERTY_PREFIX.length());
+            String value = entry.getValue().trim();
+            options = options == null ? new OraclePerformanceOptions() : options;
+            switch (key) {
+                case "fetch-size" -> options.setFetchSize(parseInt(entry.getKey(), value));
+                case "lob-prefetch-size" -> options.setLobPrefetchSize(parseInt(entry.getKey(), value));
+                case "cache-prepared-statements" -> options.setCachePreparedStatements(Boolean.parseBoolean(value));
+                case "statement-cache-size" -> options.setStatementCacheSize(parseInt(entry.getKey(), value));
+                default -> {
+                    // unknown keys are left to the driver
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Checks the settings for consistency.
+     *
+     * @param unitName the persistence unit the settings belong to, used in messages
+     * @throws InvalidConnectionInfoException when a value is out of range
+     */
+    public void validate(String unitName) {
+        if (fetchSize < 0 || statementCacheSize < 0 || lobPrefetchSize < -1) {
+            throw new InvalidConnectionInfoException("Oracle '" + unitName + "': performance options must not be negative");
+        }
+        if (Boolean.FALSE.equals(cachePreparedStatements) && statementCacheSize > 0) {
+            throw new InvalidConnectionInfoException("Oracle '" + unitName
+                    + "': statementCacheSize is set but cachePreparedStatements is false");
+        }
+    }
+
+    /**
+     * Applies the settings to connect options.
+     *
+     * @param connectOptions   the options to update
+     * @param defaultCacheSize the unit's prepared statement cache size, used when no cache size is set here; may be null
+     * @return the connect options
+     */
+    public OracleConnectOptions applyTo(OracleConnectOptions connectOptions, Integer defaultCacheSize) {
+        if (fetchSize > 0) {
+            connectOptions.addProperty(ROW_PREFETCH_PROPERTY, String.valueOf(fetchSize));
+        }
+        if (lobPrefetchSize != 0) {
+            connectOptions.addProperty(LOB_PREFETCH_PROPERTY, String.valueOf(lobPrefetchSize));
+        }
+        int cacheSize = statementCacheSize > 0 ? statementCacheSize
+                : defaultCacheSize != null && defaultCacheSize > 0 ? defaultCacheSize : 0;
+        boolean cache = cachePreparedStatements != null ? cachePreparedStatements : cacheSize > 0;
+        connectOptions.setCachePreparedStatements(cache);
+        if (cache && cacheSize > 0) {
+            connectOptions.setPreparedStatementCacheMaxSize(cacheSize);
+            connectOptions.addProperty(STATEMENT_CACHE_PROPERTY, String.valueOf(cacheSize));
+        }
+        return connectOptions;
+    }
+
+    private static int parseInt(String property, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidConnectionInfoException("Oracle property " + property + " is not a number: " + value, e);
+        }
+    }
+}
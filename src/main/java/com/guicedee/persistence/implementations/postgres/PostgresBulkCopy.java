@@ -0,0 +1,280 @@
+package com.guicedee.persistence.implementations.postgres;
+
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import com.guicedee.persistence.implementations.ReadStreamPublisher;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PreparedStatement;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows into and out of PostgreSQL tables of a persistence unit, bypassing the entity layer.
+ * <p>
+ * Loading groups the rows of a {@link Multi} into batches of {@link PostgresBulkCopyOptions#getBatchSize()} and sends
+ * each batch as one {@code INSERT ... SELECT * FROM UNNEST($1::type[], ...)} statement: the values of a batch are
+ * transposed into one array per column, which the client encodes in the PostgreSQL binary format, so a batch costs a
+ * single round trip and a single plan regardless of its size. At most {@link PostgresBulkCopyOptions#getMaxInFlightBatches()}
+ * statements run at a time and the source is only requested as batches complete, so the source is never read ahead of
+ * the database. Batches commit independently; a failed load leaves the batches sent before the failure in place.
+ * <p>
+ * Exporting reads a query through a server cursor, fetching {@link PostgresBulkCopyOptions#getFetchSize()} rows per
+ * round trip as the subscriber requests them. The cursor holds a pool connection and a read transaction until the
+ * stream completes or is cancelled.
+ * <p>
+ * One instance is bound per PostgreSQL persistence unit as {@code @Named("unit") PostgresBulkCopy}.
+ *
+ * <pre>{@code
+ * @Inject @Named("warehouse")
+ * PostgresBulkCopy bulkCopy;
+ *
+ * bulkCopy.load("events", List.of("id bigint", "kind text", "created timestamp"),
+ *               source.map(e -> Tuple.of(e.id(), e.kind(), e.created())))
+ *         .subscribe().with(stats -> log.info("{} rows/s", stats.rowsPerSecond()));
+ *
+ * bulkCopy.export("SELECT id, kind FROM events WHERE created > $1", Tuple.of(since))
+ *         .subscribe().with(row -> out.write(row.getLong(0), row.getString(1)));
+ * }</pre>
+ */
+@Log4j2
+public class PostgresBulkCopy {
+
+    private final String persistenceUnitName;
+    private final PostgresBulkCopyOptions options;
+    private final Supplier<SqlClient> poolSupplier;
+    private final AtomicLong rowsLoaded = new AtomicLong();
+    private final AtomicLong rowsExported = new AtomicLong();
+    private volatile PostgresBulkStats lastLoad;
+    private volatile PostgresBulkStats lastExport;
+
+    /**
+     * Creates the bulk copy facility of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit name, used in log messages
+     * @param options             the batching settings, or null for the defaults
+     * @param poolSupplier        supplies the unit's pool
+     */
+    public PostgresBulkCopy(String persistenceUnitName, PostgresBulkCopyOptions options, Supplier<SqlClient> poolSupplier) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.options = options == null ? new PostgresBulkCopyOptions() : options;
+        this.poolSupplier = poolSupplier;
+    }
+
+    /**
+     * Loads rows into a table.
+     *
+     * @param table   the table name, optionally schema qualified
+     * @param columns the target columns as {@code "name type"}, e.g. {@code "created timestamp with time zone"}
+     * @param rows    the rows, each holding one value per column in order
+     * @return the load statistics once every row is written; fails with a {@link BulkWriteOperationException} naming the failed batch
+     */
+    public Uni<PostgresBulkStats> load(String table, List<String> columns, Multi<Tuple> rows) {
+        if (columns.isEmpty()) {
+            return Uni.createFrom().failure(new IllegalArgumentException("At least one column is required to load " + table));
+        }
+        String sql = insertStatement(table, columns);
+        int width = columns.size();
+        int batchSize = Math.max(1, options.getBatchSize());
+        return Uni.createFrom().deferred(() -> {
+            AtomicLong batches = new AtomicLong();
+            SqlClient client = poolSupplier.get();
+            if (client == null) {
+                return Uni.createFrom().failure(new IllegalStateException("No pool available for persistence unit " + persistenceUnitName));
+            }
+            long started = System.nanoTime();
+            return rows.group().intoLists().of(batchSize)
+                    .onItem().transformToUni(batch -> {
+                        long number = batches.incrementAndGet();
+                        return Uni.createFrom().completionStage(() -> client.preparedQuery(sql)
+                                        .execute(toColumnArrays(batch, width))
+                                        .toCompletionStage())
+                                .onFailure().transform(t -> new BulkWriteOperationException(
+                                        "Batch " + number + " of " + batch.size() + " rows into " + table + " failed", t))
+                                .map(result -> (long) result.rowCount());
+                    })
+                    .merge(Math.max(1, options.getMaxInFlightBatches()))
+                    .collect().with(Collectors.summingLong(Long::longValue))
+                    .map(total -> {
+                        rowsLoaded.addAndGet(total);
+                        PostgresBulkStats stats = new PostgresBulkStats(total, batches.get(), (System.nanoTime() - started) / 1_000_000);
+                        lastLoad = stats;
+                        log.info("📥 [PG-COPY] Loaded {} rows into '{}' of PU '{}' in {} batches, {} ms ({} rows/s)",
+                                total, table, persistenceUnitName, stats.batches(), stats.elapsedMillis(), Math.round(stats.rowsPerSecond()));
+                        return stats;
+                    });
+        });
+    }
+
+    /**
+     * Streams the rows of a query through a server cursor.
+     *
+     * @param query  the query, using {@code $1}-style parameters
+     * @param params the parameter values
+     * @return the rows, read as they are requested
+     */
+    public Multi<Row> export(String query, Tuple params) {
+        int fetchSize = Math.max(1, options.getFetchSize());
+        return Multi.createFrom().deferred(() -> {
+            AtomicLong exported = new AtomicLong();
+            long started = System.nanoTime();
+            return Multi.createFrom().resourceFromUni(() -> openCursor(query),
+                            cursor -> ReadStreamPublisher.multi(() -> cursor.statement().createStream(fetchSize, params))
+                                    .onItem().invoke(exported::incrementAndGet))
+                    .withFinalizer(cursor -> closeCursor(cursor).invoke(() -> {
+                        long rows = exported.get();
+                        rowsExported.addAndGet(rows);
+                        PostgresBulkStats stats = new PostgresBulkStats(rows, (rows + fetchSize - 1) / fetchSize,
+                                (System.nanoTime() - started) / 1_000_000);
+                        lastExport = stats;
+                        log.debug("📤 [PG-COPY] Exported {} rows from PU '{}' in {} ms ({} rows/s)",
+                                rows, persistenceUnitName, stats.elapsedMillis(), Math.round(stats.rowsPerSecond()));
+                    }));
+        });
+    }
+
+    /**
+     * Streams every row of a table through a server cursor.
+     *
+     * @param table   the table name, optionally schema qualified
+     * @param columns the columns to read
+     * @return the rows, read as they are requested
+     */
+    public Multi<Row> exportTable(String table, List<String> columns) {
+        return export("SELECT " + String.join(", ", columns) + " FROM " + table, Tuple.tuple());
+    }
+
+    /**
+     * @return the number of rows loaded since creation
+     */
+    public long getRowsLoaded() {
+        return rowsLoaded.get();
+    }
+
+    /**
+     * @return the number of rows exported since creation
+     */
+    public long getRowsExported() {
+        return rowsExported.get();
+    }
+
+    /**
+     * @return the statistics of the last completed load, or null before the first
+     */
+    public PostgresBulkStats getLastLoad() {
+        return lastLoad;
+    }
+
+    /**
+     * @return the statistics of the last finished export, or null before the first
+     */
+    public PostgresBulkStats getLastExport() {
+        return lastExport;
+    }
+
+    /**
+     * Builds the load statement of a table.
+     *
+     * @param table   the table name
+     * @param columns the target columns as {@code "name type"}
+     * @return the {@code INSERT ... SELECT * FROM UNNEST(...)} statement
+     * @throws IllegalArgumentException when a column has no type
+     */
+    static String insertStatement(String table, List<String> columns) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder arrays = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).strip();
+            int space = column.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("Column '" + column + "' of " + table + " needs a type, e.g. '" + column + " text'");
+            }
+            if (i > 0) {
+                names.append(", ");
+                arrays.append(", ");
+            }
+            names.append(column, 0, space);
+            arrays.append('$').append(i + 1).append("::").append(column.substring(space + 1).strip()).append("[]");
+        }
+        return "INSERT INTO " + table + " (" + names + ") SELECT * FROM UNNEST(" + arrays + ")";
+    }
+
+    /**
+     * Transposes a batch of rows into one typed array per column.
+     * A column without any value is sent as null, which {@code UNNEST} pads with nulls.
+     *
+     * @param batch the rows
+     * @param width the number of columns
+     * @return the statement parameters
+     * @throws IllegalArgumentException when a row has the wrong width or a column mixes value types
+     */
+    static Tuple toColumnArrays(List<Tuple> batch, int width) {
+        Tuple params = Tuple.tuple();
+        for (Tuple row : batch) {
+            if (row.size() != width) {
+                throw new IllegalArgumentException("Row has " + row.size() + " values, expected " + width);
+            }
+        }
+        for (int column = 0; column < width; column++) {
+            Class<?> type = null;
+            for (Tuple row : batch) {
+                Object value = row.getValue(column);
+                if (value != null) {
+                    type = value.getClass();
+                    break;
+                }
+            }
+            if (type == null) {
+                params.addValue(null);
+                continue;
+            }
+            Object array = Array.newInstance(type, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    Array.set(array, i, batch.get(i).getValue(column));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Column " + (column + 1) + " mixes " + type.getName() + " with "
+                            + batch.get(i).getValue(column).getClass().getName(), e);
+                }
+            }
+            params.addValue(array);
+        }
+        return params;
+    }
+
+    private Uni<Cursor> openCursor(String query) {
+        if (!(poolSupplier.get() instanceof Pool pool)) {
+            return Uni.createFrom().failure(new IllegalStateException("No pool available for persistence unit " + persistenceUnitName));
+        }
+        return Uni.createFrom().completionStage(() -> pool.getConnection()
+                // PostgreSQL keeps cursors open only inside a transaction
+                .compose(connection -> connection.begin()
+                        .compose(transaction -> connection.prepare(query)
+                                .map(statement -> new Cursor(connection, transaction, statement)))
+                        .onFailure(t -> connection.close()))
+                .toCompletionStage());
+    }
+
+    private Uni<Void> closeCursor(Cursor cursor) {
+        return Uni.createFrom().completionStage(() -> cursor.statement().close()
+                        .eventually(() -> cursor.transaction().rollback())
+                        .eventually(() -> cursor.connection().close())
+                        .toCompletionStage())
+                .onFailure().invoke(t -> log.debug("[PG-COPY] Closing export cursor of PU '{}' failed: {}", persistenceUnitName, t.getMessage()))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
+
+    private record Cursor(SqlConnection connection, Transaction transaction, PreparedStatement statement) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.guicedee.persistence.implementations.postgres;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Batching settings of the {@link PostgresBulkCopy} bound for a PostgreSQL persistence unit.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class PostgresBulkCopyOptions {
+
+    /**
+     * Rows sent per statement when loading. Defaults to {@code 5000}.
+     */
+    private int batchSize = 5000;
+
+    /**
+     * Load statements executed concurrently, each on its own pool connection. Defaults to {@code 2}.
+     */
+    private int maxInFlightBatches = 2;
+
+    /**
+     * Rows fetched per cursor round trip when exporting. Defaults to {@code 1000}.
+     */
+    private int fetchSize = 1000;
+}
@@ -0,0 +1,18 @@
+package com.guicedee.persistence.implementations.postgres;
+
+/**
+ * The outcome of a {@link PostgresBulkCopy} load or export.
+ *
+ * @param rows          the number of rows transferred
+ * @param batches       the number of statements or cursor fetches used
+ * @param elapsedMillis the duration of the transfer
+ */
+public record PostgresBulkStats(long rows, long batches, long elapsedMillis) {
+
+    /**
+     * @return the average rows transferred per second
+     */
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? rows * 1000d : rows * 1000d / elapsedMillis;
+    }
+}
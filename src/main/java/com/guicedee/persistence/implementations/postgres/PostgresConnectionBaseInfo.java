@@ -3,6 +3,7 @@ package com.guicedee.persistence.implementations.postgres;
 import com.guicedee.client.IGuiceContext;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.pgclient.PgConnectOptions;
@@ -17,7 +18,6 @@ import org.hibernate.reactive.pool.impl.SqlClientPool;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A specialized ConnectionBaseInfo implementation for PostgreSQL.
@@ -26,6 +26,16 @@ import java.util.concurrent.TimeUnit;
 @Log4j2
 public class PostgresConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
 
+    /**
+     * Reconnect settings of the unit's {@link PostgresNotifications} connection.
+     */
+    private PostgresNotificationOptions notifications;
+
+    /**
+     * Batching settings of the unit's {@link PostgresBulkCopy}.
+     */
+    private PostgresBulkCopyOptions bulkCopy;
+
     /**
      * Creates a new PostgresConnectionBaseInfo instance.
      */
@@ -44,6 +54,42 @@ public class PostgresConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
         setDriver("postgresql");
     }
 
+    /**
+     * @return the reconnect settings of the unit's {@link PostgresNotifications} connection, or null for the defaults
+     */
+    public PostgresNotificationOptions getNotifications() {
+        return notifications;
+    }
+
+    /**
+     * Sets the reconnect settings of the unit's {@link PostgresNotifications} connection.
+     *
+     * @param notifications the settings
+     * @return this instance for chaining
+     */
+    public PostgresConnectionBaseInfo setNotifications(PostgresNotificationOptions notifications) {
+        this.notifications = notifications;
+        return this;
+    }
+
+    /**
+     * @return the batching settings of the unit's {@link PostgresBulkCopy}, or null for the defaults
+     */
+    public PostgresBulkCopyOptions getBulkCopy() {
+        return bulkCopy;
+    }
+
+    /**
+     * Sets the batching settings of the unit's {@link PostgresBulkCopy}.
+     *
+     * @param bulkCopy the settings
+     * @return this instance for chaining
+     */
+    public PostgresConnectionBaseInfo setBulkCopy(PostgresBulkCopyOptions bulkCopy) {
+        this.bulkCopy = bulkCopy;
+        return this;
+    }
+
     /**
      * Returns a Vertx SqlClient configured for PostgreSQL.
      *
@@ -63,166 +109,146 @@ public class PostgresConnectionBaseInfo extends CleanVertxConnectionBaseInfo {
                 // best-effort logging only
             }
 
-            // Use reflection to create PgConnectOptions and PoolOptions
-            PgConnectOptions connectOptions;
+            PgConnectOptions connectOptions = toConnectOptions();
+            if (connectOptions == null) {
+                return null;
+            }
+
+            // Share pool across Vert.x contexts and give it a stable name so HR can reuse the same pool
+            PoolOptions poolOptions = toPoolOptions();
+            log.info("[DB-POOL] Using shared named pool='{}' maxSize={} for PostgreSQL", poolOptions.getName(), poolOptions.getMaxSize());
+
+            // Create the shared Pool and return it (Pool implements SqlClient producer)
             try {
-                connectOptions = new PgConnectOptions();
+                return Pool.pool(vertx, connectOptions, poolOptions);
             } catch (Exception e) {
-                log.error("Error creating PgConnectOptions", e);
+                log.error("Error creating PostgreSQL Pool", e);
                 return null;
             }
+        } catch (Exception e) {
+            log.error("Error creating PostgreSQL SqlClient", e);
+            return null;
+        }
+    }
 
-            connectOptions.setReconnectAttempts(30);
-            connectOptions.setReconnectInterval(1500);
-            connectOptions.setCachePreparedStatements(true);
-            connectOptions.setSslMode(SslMode.DISABLE);
-
-            // Set basic connection properties
-            try
-            {
-                if (getServerName() != null) {
-                    try {
-                        connectOptions.setHost(getServerName());
-                    } catch (Exception e) {
-                        log.error("Error setting host for PostgreSQL connection", e);
-                    }
-                }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException(e);
-            }
+    /**
+     * Builds the pool options of this unit through the {@link PoolOptionsCompiler}.
+     *
+     * @return the pool options
+     */
+    public PoolOptions toPoolOptions() {
+        return PoolOptionsCompiler.compile(this, "DefaultPersistenceUnit");
+    }
 
-            try
-            {
-                if (getPort() != null) {
-                    try {
-                        connectOptions.setPort(Integer.parseInt(getPort()));
-                    } catch (Exception e) {
-                        log.error("Error setting port for PostgreSQL connection", e);
-                    }
-                } else {
-                    // Default PostgreSQL port
-                    try {
-                        connectOptions.setPort(5432);
-                    } catch (Exception e) {
-                        log.error("Error setting default port for PostgreSQL connection", e);
-                    }
-                }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException(e);
-            }
+    /**
+     * Builds the PostgreSQL connect options of this unit, shared by the pool and the dedicated
+     * {@link PostgresNotifications} connection.
+     *
+     * @return the connect options, or null when they could not be created
+     */
+    public PgConnectOptions toConnectOptions() {
+        PgConnectOptions connectOptions;
+        try {
+            connectOptions = new PgConnectOptions();
+        } catch (Exception e) {
+            log.error("Error creating PgConnectOptions", e);
+            return null;
+        }
 
-            try
-            {
-                if (getDatabaseName() != null) {
-                    try {
-                        connectOptions.setDatabase(getDatabaseName());
-                    } catch (Exception e) {
-                        log.error("Error setting database for PostgreSQL connection", e);
-                    }
-                }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException(e);
-            }
+        // Reconnect policy, defaults to 30 attempts every 1500ms when not configured
+        connectOptions.setReconnectAttempts(getReconnectAttempts() != null ? getReconnectAttempts() : 30);
+        connectOptions.setReconnectInterval(getReconnectInterval() != null ? getReconnectInterval() : 1500);
+        connectOptions.setCachePreparedStatements(true);
+        // Keep room for the recorded query catalog so statements prepared at startup are not evicted
+        if (getQueryCatalog() != null && getQueryCatalog().isEnabled()) {
+            connectOptions.setPreparedStatementCacheMaxSize(Math.max(connectOptions.getPreparedStatementCacheMaxSize(),
+                    getQueryCatalog().getMaxStatements()));
+        }
+        connectOptions.setSslMode(SslMode.DISABLE);
 
-            try
-            {
-                if (getUsername() != null) {
-                    try {
-                        connectOptions.setUser(getUsername());
-                    } catch (Exception e) {
-                        log.error("Error setting user for PostgreSQL connection", e);
-                    }
+        // Set basic connection properties
+        try
+        {
+            if (getServerName() != null) {
+                try {
+                    connectOptions.setHost(getServerName());
+                } catch (Exception e) {
+                    log.error("Error setting host for PostgreSQL connection", e);
                 }
             }
-            catch (Exception e)
-            {
-                throw new RuntimeException(e);
-            }
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
 
-            try
-            {
-                if (getPassword() != null) {
-                    try {
-                        connectOptions.setPassword(getPassword());
-                    } catch (Exception e) {
-                        log.error("Error setting password for PostgreSQL connection", e);
-                    }
+        try
+        {
+            if (getPort() != null) {
+                try {
+                    connectOptions.setPort(Integer.parseInt(getPort()));
+                } catch (Exception e) {
+                    log.error("Error setting port for PostgreSQL connection", e);
                 }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException(e);
-            }
-
-            // Configure pool options
-
-            PoolOptions poolOptions;
-            try {
-                poolOptions = new PoolOptions();
-            } catch (Exception e) {
-                log.error("Error creating PoolOptions", e);
-                return null;
-            }
-
-            // Set pool size limits
-            if (getMaxPoolSize() != null) {
+            } else {
+                // Default PostgreSQL port
                 try {
-                    poolOptions.setMaxSize(getMaxPoolSize());
+                    connectOptions.setPort(5432);
                 } catch (Exception e) {
-                    log.error("Error setting max pool size", e);
+                    log.error("Error setting default port for PostgreSQL connection", e);
                 }
             }
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
 
-            // Min size not supported on all Vert.x versions used by this codebase
-
-            // Idle timeout: ConnectionBaseInfo.getMaxLifeTime() is expressed in seconds
-            if (getMaxLifeTime() != null && getMaxLifeTime() > 0) {
+        try
+        {
+            if (getDatabaseName() != null) {
                 try {
-                    poolOptions.setIdleTimeout(getMaxLifeTime());
-                    poolOptions.setIdleTimeoutUnit(TimeUnit.SECONDS);
-                } catch (Throwable t) {
-                    log.debug("Idle timeout options not supported on this Vert.x version, skipping");
+                    connectOptions.setDatabase(getDatabaseName());
+                } catch (Exception e) {
+                    log.error("Error setting database for PostgreSQL connection", e);
                 }
             }
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
 
-            // Share pool across Vert.x contexts and give it a stable name so HR can reuse the same pool
-            try {
-                poolOptions.setShared(true);
-            } catch (Throwable t) {
-                log.debug("Vert.x PoolOptions.setShared not available, skipping");
-            }
-
-            try {
-                String poolName = getPersistenceUnitName();
-                if (poolName == null || poolName.isBlank()) {
-                    poolName = "DefaultPersistenceUnit";
+        try
+        {
+            if (getUsername() != null) {
+                try {
+                    connectOptions.setUser(getUsername());
+                } catch (Exception e) {
+                    log.error("Error setting user for PostgreSQL connection", e);
                 }
-                // Name the pool so it is reused across contexts when the same name is requested
-                // This helps Hibernate Reactive pick up the same underlying pool when configured with the same name
-                PoolOptions.class.getMethod("setName", String.class).invoke(poolOptions, poolName);
-                log.info("[DB-POOL] Using shared named pool='{}' maxSize={} for PostgreSQL", poolName, getMaxPoolSize());
-            } catch (NoSuchMethodException e) {
-                log.debug("Vert.x PoolOptions.setName not available on this version, continuing without explicit name");
-            } catch (Throwable t) {
-                log.warn("[DB-POOL] Unable to set pool name due to: {}", t.toString());
             }
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
 
-            // Create the shared Pool and return it (Pool implements SqlClient producer)
-            try {
-                return Pool.pool(vertx, connectOptions, poolOptions);
-            } catch (Exception e) {
-                log.error("Error creating PostgreSQL Pool", e);
-                return null;
+        try
+        {
+            if (getPassword() != null) {
+                try {
+                    connectOptions.setPassword(getPassword());
+                } catch (Exception e) {
+                    log.error("Error setting password for PostgreSQL connection", e);
+                }
             }
-        } catch (Exception e) {
-            log.error("Error creating PostgreSQL SqlClient", e);
-            return null;
         }
+        catch (Exception e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return connectOptions;
     }
 }
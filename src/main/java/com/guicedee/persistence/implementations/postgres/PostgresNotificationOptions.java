@@ -0,0 +1,44 @@
+package com.guicedee.persistence.implementations.postgres;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Reconnect settings of the dedicated {@code LISTEN} connection of {@link PostgresNotifications}.
+ * <p>
+ * After the connection is lost it is reopened after {@link #reconnectDelay} milliseconds, doubling up to
+ * {@link #maxReconnectDelay}, and every channel is listened to again.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class PostgresNotificationOptions {
+
+    /**
+     * Milliseconds before the first reconnect attempt. Defaults to {@code 500}.
+     */
+    private long reconnectDelay = 500;
+
+    /**
+     * Upper bound of the doubling reconnect delay in milliseconds. Defaults to {@code 30000}.
+     */
+    private long maxReconnectDelay = 30000;
+
+    /**
+     * Reconnect attempts before the channels fail, {@code 0} retries forever. Defaults to {@code 0}.
+     */
+    private int maxReconnectAttempts;
+}
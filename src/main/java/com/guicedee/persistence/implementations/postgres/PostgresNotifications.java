@@ -0,0 +1,205 @@
+package com.guicedee.persistence.implementations.postgres;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.pubsub.PgChannel;
+import io.vertx.pgclient.pubsub.PgSubscriber;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Delivers PostgreSQL {@code NOTIFY} messages of a persistence unit as {@link Multi} streams, replacing table polling
+ * for work queues and cache invalidation.
+ * <p>
+ * Every channel shares one dedicated connection opened with the unit's connect options outside the pool, so listening
+ * never holds pool connections. The subscriber and its connection are created by the first subscription, so the
+ * instance can be bound before Vert.x is started. When it is lost it is reopened
+ * with a doubling delay (see {@link PostgresNotificationOptions}) and every channel is listened to again; notifications
+ * sent while disconnected are not delivered. A channel is unlistened once its last subscriber cancels.
+ * <p>
+ * Notifications arrive as the server pushes them and are buffered for subscribers that request less.
+ * <p>
+ * One instance is bound per PostgreSQL persistence unit as {@code @Named("unit") PostgresNotifications}.
+ *
+ * <pre>{@code
+ * @Inject @Named("orders")
+ * PostgresNotifications notifications;
+ *
+ * notifications.listen("order_created")
+ *              .subscribe().with(orderId -> worker.process(orderId));
+ * notifications.notify("order_created", "42");
+ * }</pre>
+ */
+@Log4j2
+public class PostgresNotifications implements AutoCloseable {
+
+    private final String persistenceUnitName;
+    private final Supplier<Vertx> vertxSupplier;
+    private final PgConnectOptions connectOptions;
+    private final PostgresNotificationOptions settings;
+    private final Supplier<SqlClient> poolSupplier;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private PgSubscriber subscriber;
+    private Future<Void> connecting;
+    private volatile boolean closed;
+
+    /**
+     * Creates the notification subscriber of a persistence unit; nothing is connected until a channel is listened to.
+     *
+     * @param persistenceUnitName the persistence unit name, used in log messages
+     * @param vertxSupplier       supplies the Vert.x instance once a channel is listened to, may return null
+     * @param connectOptions      the connect options of the unit
+     * @param options             the reconnect settings, or null for the defaults
+     * @param poolSupplier        supplies the unit's pool used by {@link #notify(String, String)}
+     */
+    public PostgresNotifications(String persistenceUnitName, Supplier<Vertx> vertxSupplier, PgConnectOptions connectOptions,
+                                 PostgresNotificationOptions options, Supplier<SqlClient> poolSupplier) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.vertxSupplier = vertxSupplier;
+        this.connectOptions = connectOptions;
+        this.settings = options == null ? new PostgresNotificationOptions() : options;
+        this.poolSupplier = poolSupplier;
+    }
+
+    /**
+     * Listens to a channel.
+     *
+     * @param channel the channel name, as used in {@code NOTIFY}
+     * @return the payloads of the notifications sent to the channel; fails when Vert.x is not started or the connection
+     * cannot be (re)opened
+     */
+    public Multi<String> listen(String channel) {
+        return Multi.createFrom().<String>emitter(emitter -> {
+            PgSubscriber pgSubscriber = subscriber();
+            if (pgSubscriber == null) {
+                emitter.fail(new IllegalStateException(closed
+                        ? "Notifications of persistence unit " + persistenceUnitName + " are closed"
+                        : "Vert.x is not available, persistence unit " + persistenceUnitName + " cannot listen"));
+                return;
+            }
+            PgChannel pgChannel = pgSubscriber.channel(channel);
+            pgChannel.subscribeHandler(v -> log.debug("📡 [PG-NOTIFY] PU '{}' listening to '{}'", persistenceUnitName, channel));
+            pgChannel.endHandler(v -> {
+                if (closed) {
+                    emitter.complete();
+                } else {
+                    emitter.fail(new IllegalStateException("LISTEN connection of persistence unit " + persistenceUnitName + " was lost"));
+                }
+            });
+            pgChannel.handler(payload -> {
+                received.incrementAndGet();
+                emitter.emit(payload);
+            });
+            // Removing the handler unlistens once the channel has no other subscriber
+            emitter.onTermination(() -> pgChannel.handler(null));
+            connect().onFailure(emitter::fail);
+        }, BackPressureStrategy.BUFFER);
+    }
+
+    /**
+     * Sends a notification through the unit's pool.
+     *
+     * @param channel the channel name
+     * @param payload the payload, at most 8000 bytes
+     * @return completes once the notification is sent; it is delivered when the sending transaction commits
+     */
+    public Uni<Void> notify(String channel, String payload) {
+        SqlClient client = poolSupplier.get();
+        if (client == null) {
+            return Uni.createFrom().failure(new IllegalStateException("No pool available for persistence unit " + persistenceUnitName));
+        }
+        return Uni.createFrom().completionStage(() -> client.preparedQuery("SELECT pg_notify($1, $2)")
+                        .execute(Tuple.of(channel, payload))
+                        .toCompletionStage())
+                .replaceWithVoid();
+    }
+
+    /**
+     * @return whether the dedicated connection is open
+     */
+    public synchronized boolean isConnected() {
+        return !closed && subscriber != null && subscriber.actualConnection() != null;
+    }
+
+    /**
+     * @return the number of notifications received since creation
+     */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /**
+     * @return the number of reconnect attempts since creation
+     */
+    public long getReconnectCount() {
+        return reconnects.get();
+    }
+
+    /**
+     * Closes the dedicated connection; listening streams complete.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (subscriber != null) {
+            subscriber.close();
+        }
+    }
+
+    private synchronized Future<Void> connect() {
+        if (closed) {
+            return Future.failedFuture(new IllegalStateException("Notifications of persistence unit " + persistenceUnitName + " are closed"));
+        }
+        if (connecting == null || connecting.failed()) {
+            connecting = subscriber.connect()
+                    .onSuccess(v -> log.info("📡 [PG-NOTIFY] Opened LISTEN connection for PU '{}'", persistenceUnitName));
+        }
+        return connecting;
+    }
+
+    /**
+     * Creates the subscriber on first use.
+     *
+     * @return the subscriber, or null while Vert.x is not available
+     */
+    private synchronized PgSubscriber subscriber() {
+        if (subscriber != null || closed) {
+            return subscriber;
+        }
+        Vertx vertx = vertxSupplier.get();
+        if (vertx == null) {
+            return null;
+        }
+        subscriber = PgSubscriber.subscriber(vertx, new PgConnectOptions(connectOptions)
+                // The subscriber reconnects itself, see the policy below
+                .setReconnectAttempts(0));
+        subscriber.reconnectPolicy(retries -> {
+            if (closed || (settings.getMaxReconnectAttempts() > 0 && retries >= settings.getMaxReconnectAttempts())) {
+                return -1L;
+            }
+            reconnects.incrementAndGet();
+            long delay = settings.getReconnectDelay() << Math.min(retries, 16);
+            log.info("🔁 [PG-NOTIFY] Reconnecting LISTEN connection of PU '{}' in {} ms (attempt {})",
+                    persistenceUnitName, Math.min(delay, settings.getMaxReconnectDelay()), retries + 1);
+            return Math.min(delay, settings.getMaxReconnectDelay());
+        });
+        subscriber.closeHandler(v -> {
+            synchronized (this) {
+                connecting = null;
+            }
+            if (!closed) {
+                log.warn("⚠️ [PG-NOTIFY] LISTEN connection of PU '{}' closed after exhausting reconnect attempts", persistenceUnitName);
+            }
+        });
+        return subscriber;
+    }
+}
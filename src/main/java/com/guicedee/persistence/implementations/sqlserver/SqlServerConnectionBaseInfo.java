@@ -5,12 +5,15 @@ import com.guicedee.client.IGuiceContext;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
 import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
 import io.vertx.core.Vertx;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.NetClientOptions;
 import io.vertx.core.net.TrustOptions;
 import io.vertx.mssqlclient.MSSQLBuilder;
 import io.vertx.mssqlclient.MSSQLConnectOptions;
+import io.vertx.sqlclient.ClientBuilder;
+import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PoolOptions;
 import io.vertx.sqlclient.SqlClient;
 import lombok.extern.log4j.Log4j2;
@@ -26,6 +29,11 @@ public class SqlServerConnectionBaseInfo extends ConnectionBaseInfo {
 
     private boolean trustServerCertificate;
 
+    /**
+     * Packet, encryption, statement cache and pool queue settings of the unit.
+     */
+    private SqlServerPerformanceOptions performance;
+
     /**
      * Gets whether to trust the server certificate.
      *
@@ -46,6 +54,24 @@ public class SqlServerConnectionBaseInfo extends ConnectionBaseInfo {
         return this;
     }
 
+    /**
+     * @return the packet, encryption, statement cache and pool queue settings, or null for the client defaults
+     */
+    public SqlServerPerformanceOptions getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Sets the packet, encryption, statement cache and pool queue settings of the unit.
+     *
+     * @param performance the settings, e.g. {@link SqlServerPerformanceOptions#largeResults()}
+     * @return This instance
+     */
+    public SqlServerConnectionBaseInfo setPerformance(SqlServerPerformanceOptions performance) {
+        this.performance = performance;
+        return this;
+    }
+
     /**
      * Creates a new SqlServerConnectionBaseInfo instance.
      */
@@ -61,260 +87,275 @@ public class SqlServerConnectionBaseInfo extends ConnectionBaseInfo {
             // Get the Vertx instance from the Guice context
             Vertx vertx = VertXPreStartup.getVertx();
 
-            io.vertx.mssqlclient.MSSQLConnectOptions connectOptions;
+            MSSQLConnectOptions connectOptions = toConnectOptions();
+            PoolOptions poolOptions = toPoolOptions();
 
-            // Set basic connection properties
-            if (getUrl() != null && !getUrl().isEmpty()) {
-                connectOptions = io.vertx.mssqlclient.MSSQLConnectOptions.fromUri(getUrl());
-            } else {
-                connectOptions = new io.vertx.mssqlclient.MSSQLConnectOptions();
+            // Units configured by URL connect over TLS trusting the server, with or without performance options;
+            // the connect options are parsed from the URL as well, so the reconnect policy applies either way
+            ClientBuilder<Pool> builder = MSSQLBuilder.pool();
+            if (!Strings.isNullOrEmpty(getUrl())) {
+                builder.with(new NetClientOptions().setSsl(true).setTrustAll(true));
             }
+            return builder
+                    .with(poolOptions)
+                    .connectingTo(connectOptions)
+                    .using(vertx)
+                    .build();
+        } catch (Exception e) {
+            log.error("Error creating SQL Server SqlClient", e);
+            return null;
+        }
+    }
 
-            if (getServerName() != null) {
-                connectOptions.setHost(getServerName());
-            }
+    /**
+     * Builds the pool options of this unit through the {@link PoolOptionsCompiler}, with the wait queue of the
+     * {@link SqlServerPerformanceOptions} taking precedence over the unit's pool tuning.
+     *
+     * @return the pool options
+     */
+    public PoolOptions toPoolOptions() {
+        PoolOptions poolOptions = PoolOptionsCompiler.compile(this, "sqlserver-default");
+        SqlServerPerformanceOptions tuning = effectivePerformance();
+        if (tuning != null) {
+            tuning.applyTo(poolOptions);
+        }
+        return poolOptions;
+    }
 
-            if (getPort() != null) {
-                connectOptions.setPort(Integer.parseInt(getPort()));
-            } else {
-                // Default SQL Server port
-                connectOptions.setPort(1433);
-            }
+    /**
+     * Builds the SQL Server connect options of this unit, including the {@link SqlServerPerformanceOptions}.
+     *
+     * @return the connect options
+     * @throws com.guicedee.persistence.annotations.InvalidConnectionInfoException when the performance options are invalid
+     */
+    public MSSQLConnectOptions toConnectOptions() {
+        MSSQLConnectOptions connectOptions;
+
+        // Set basic connection properties
+        if (getUrl() != null && !getUrl().isEmpty()) {
+            connectOptions = MSSQLConnectOptions.fromUri(getUrl());
+        } else {
+            connectOptions = new MSSQLConnectOptions();
+        }
 
-            if (getDatabaseName() != null) {
-                connectOptions.setDatabase(getDatabaseName());
-            }
+        if (getServerName() != null) {
+            connectOptions.setHost(getServerName());
+        }
 
-            if (getUsername() != null) {
-                connectOptions.setUser(getUsername());
-            }
+        if (getPort() != null) {
+            connectOptions.setPort(Integer.parseInt(getPort()));
+        } else {
+            // Default SQL Server port
+            connectOptions.setPort(1433);
+        }
 
-            if (getPassword() != null) {
-                connectOptions.setPassword(getPassword());
-            }
+        if (getDatabaseName() != null) {
+            connectOptions.setDatabase(getDatabaseName());
+        }
+
+        if (getUsername() != null) {
+            connectOptions.setUser(getUsername());
+        }
+
+        if (getPassword() != null) {
+            connectOptions.setPassword(getPassword());
+        }
 /*
 
-            // Set connection timeout
-            if (getAcquisitionTimeout() != null) {
-                connectOptions.addProperty("connectTimeout", String.valueOf(getAcquisitionTimeout() * 1000));
-            }
+        // Set connection timeout
+        if (getAcquisitionTimeout() != null) {
+            connectOptions.addProperty("connectTimeout", String.valueOf(getAcquisitionTimeout() * 1000));
+        }
 
-            // Set idle timeout
-            if (getMaxIdleTime() != null) {
-                connectOptions.addProperty("idleTimeout", String.valueOf(getMaxIdleTime() * 1000));
-            }
+        // Set idle timeout, in seconds
+        PoolOptionsCompiler.applyIdleTimeout(connectOptions, this);
 
-            // Set SQL Server-specific properties
-            // Set instance name if specified
-            if (getInstanceName() != null) {
-                connectOptions.addProperty("instanceName", getInstanceName());
-            }
+        // Set SQL Server-specific properties
+        // Set instance name if specified
+        if (getInstanceName() != null) {
+            connectOptions.addProperty("instanceName", getInstanceName());
+        }
 
-            // Handle integrated security and trust server certificate from custom properties or URL
-            if (getCustomProperties().containsKey("integratedSecurity") || (getUrl() != null && getUrl().contains("integratedSecurity=true"))) {
-                connectOptions.addProperty("integratedSecurity", "true");
-            }
+        // Handle integrated security and trust server certificate from custom properties or URL
+        if (getCustomProperties().containsKey("integratedSecurity") || (getUrl() != null && getUrl().contains("integratedSecurity=true"))) {
+            connectOptions.addProperty("integratedSecurity", "true");
+        }
 
-            // Authentication method
-            String authentication = getCustomProperties().get("authentication");
-            if (authentication == null && getUrl() != null && getUrl().contains("authentication=")) {
-                int start = getUrl().indexOf("authentication=") + "authentication=".length();
-                int end = getUrl().indexOf(";", start);
-                if (end == -1) end = getUrl().indexOf("&", start);
-                if (end == -1) end = getUrl().length();
-                authentication = getUrl().substring(start, end);
-            }
-            if (authentication != null) {
-                connectOptions.addProperty("authentication", authentication.toUpperCase());
-            }
+        // Authentication method
+        String authentication = getCustomProperties().get("authentication");
+        if (authentication == null && getUrl() != null && getUrl().contains("authentication=")) {
+            int start = getUrl().indexOf("authentication=") + "authentication=".length();
+            int end = getUrl().indexOf(";", start);
+            if (end == -1) end = getUrl().indexOf("&", start);
+            if (end == -1) end = getUrl().length();
+            authentication = getUrl().substring(start, end);
+        }
+        if (authentication != null) {
+            connectOptions.addProperty("authentication", authentication.toUpperCase());
+        }
 
-            // Handle encryption
-            if (getCustomProperties().containsKey("encrypt") || (getUrl() != null && getUrl().contains("encrypt=true"))) {
-                connectOptions.addProperty("encrypt", "true");
-            }
+        // Handle encryption
+        if (getCustomProperties().containsKey("encrypt") || (getUrl() != null && getUrl().contains("encrypt=true"))) {
+            connectOptions.addProperty("encrypt", "true");
+        }
 
-            // Handle Trust Store properties
-            String trustStorePath = getCustomProperties().get("trustStorePath");
-            if (trustStorePath != null) {
-                JksOptions jksOptions = new JksOptions();
-                jksOptions.setPath(trustStorePath);
-
-                String trustStorePassword = getCustomProperties().get("trustStorePassword");
-                if (trustStorePassword != null) {
-                    jksOptions.setPassword(trustStorePassword);
-                }
-                connectOptions.setSsl(true);
-                if (connectOptions.getSslOptions() != null) {
-                    connectOptions.getSslOptions().setTrustOptions(jksOptions);
-                } else {
-                    connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setTrustOptions(jksOptions));
-                }
-            }
+        // Handle Trust Store properties
+        String trustStorePath = getCustomProperties().get("trustStorePath");
+        if (trustStorePath != null) {
+            JksOptions jksOptions = new JksOptions();
+            jksOptions.setPath(trustStorePath);
 
-            // Handle Workstation ID
-            String workstationId = getCustomProperties().get("workstationId");
-            if (workstationId == null && getUrl() != null && getUrl().contains("workstationId=")) {
-                // Simple extraction from URL if present
-                int start = getUrl().indexOf("workstationId=") + "workstationId=".length();
-                int end = getUrl().indexOf(";", start);
-                if (end == -1) end = getUrl().length();
-                workstationId = getUrl().substring(start, end);
+            String trustStorePassword = getCustomProperties().get("trustStorePassword");
+            if (trustStorePassword != null) {
+                jksOptions.setPassword(trustStorePassword);
             }
-            if (workstationId != null) {
-                connectOptions.addProperty("workstationId", workstationId);
+            connectOptions.setSsl(true);
+            if (connectOptions.getSslOptions() != null) {
+                connectOptions.getSslOptions().setTrustOptions(jksOptions);
+            } else {
+                connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setTrustOptions(jksOptions));
             }
+        }
 
-            // Handle Application Name
-            String applicationName = getCustomProperties().get("applicationName");
-            if (applicationName == null && getUrl() != null && getUrl().contains("applicationName=")) {
-                int start = getUrl().indexOf("applicationName=") + "applicationName=".length();
-                int end = getUrl().indexOf(";", start);
-                if (end == -1) end = getUrl().indexOf("&", start); // Fallback for some URL formats
-                if (end == -1) end = getUrl().length();
-                applicationName = getUrl().substring(start, end);
-            }
-            if (applicationName != null) {
-                connectOptions.addProperty("applicationName", applicationName);
-            }
+        // Handle Workstation ID
+        String workstationId = getCustomProperties().get("workstationId");
+        if (workstationId == null && getUrl() != null && getUrl().contains("workstationId=")) {
+            // Simple extraction from URL if present
+            int start = getUrl().indexOf("workstationId=") + "workstationId=".length();
+            int end = getUrl().indexOf(";", start);
+            if (end == -1) end = getUrl().length();
+            workstationId = getUrl().substring(start, end);
+        }
+        if (workstationId != null) {
+            connectOptions.addProperty("workstationId", workstationId);
+        }
 
-            // Handle current schema
-            String currentSchema = getCustomProperties().get("currentSchema");
-            if (currentSchema == null && getUrl() != null && getUrl().contains("currentSchema=")) {
-                int start = getUrl().indexOf("currentSchema=") + "currentSchema=".length();
-                int end = getUrl().indexOf(";", start);
-                if (end == -1) end = getUrl().indexOf("&", start);
-                if (end == -1) end = getUrl().length();
-                currentSchema = getUrl().substring(start, end);
-            }
-            if (currentSchema != null) {
-                connectOptions.addProperty("currentSchema", currentSchema);
-            }
+        // Handle Application Name
+        String applicationName = getCustomProperties().get("applicationName");
+        if (applicationName == null && getUrl() != null && getUrl().contains("applicationName=")) {
+            int start = getUrl().indexOf("applicationName=") + "applicationName=".length();
+            int end = getUrl().indexOf(";", start);
+            if (end == -1) end = getUrl().indexOf("&", start); // Fallback for some URL formats
+            if (end == -1) end = getUrl().length();
+            applicationName = getUrl().substring(start, end);
+        }
+        if (applicationName != null) {
+            connectOptions.addProperty("applicationName", applicationName);
+        }
 
-            // Handle row fetch size
-            String rowFetchSize = getCustomProperties().get("rowFetchSize");
-            if (rowFetchSize == null && getUrl() != null && getUrl().contains("rowFetchSize=")) {
-                int start = getUrl().indexOf("rowFetchSize=") + "rowFetchSize=".length();
-                int end = getUrl().indexOf(";", start);
-                if (end == -1) end = getUrl().indexOf("&", start);
-                if (end == -1) end = getUrl().length();
-                rowFetchSize = getUrl().substring(start, end);
-            }
-            if (rowFetchSize != null) {
-                connectOptions.addProperty("rowFetchSize", rowFetchSize);
-            }
+        // Handle current schema
+        String currentSchema = getCustomProperties().get("currentSchema");
+        if (currentSchema == null && getUrl() != null && getUrl().contains("currentSchema=")) {
+            int start = getUrl().indexOf("currentSchema=") + "currentSchema=".length();
+            int end = getUrl().indexOf(";", start);
+            if (end == -1) end = getUrl().indexOf("&", start);
+            if (end == -1) end = getUrl().length();
+            currentSchema = getUrl().substring(start, end);
+        }
+        if (currentSchema != null) {
+            connectOptions.addProperty("currentSchema", currentSchema);
+        }
 
-            // Handle Key Store properties
-            String keyStorePath = getCustomProperties().get("keyStorePath");
-            if (keyStorePath != null) {
-                JksOptions jksOptions = new JksOptions();
-                jksOptions.setPath(keyStorePath);
-
-                String keyStorePassword = getCustomProperties().get("keyStorePassword");
-                if (keyStorePassword != null) {
-                    jksOptions.setPassword(keyStorePassword);
-                }
-                connectOptions.setSsl(true);
-                if (connectOptions.getSslOptions() != null) {
-                    connectOptions.getSslOptions().setKeyCertOptions(jksOptions);
-                } else {
-                    connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setKeyCertOptions(jksOptions));
-                }
-            }
+        // Handle row fetch size
+        String rowFetchSize = getCustomProperties().get("rowFetchSize");
+        if (rowFetchSize == null && getUrl() != null && getUrl().contains("rowFetchSize=")) {
+            int start = getUrl().indexOf("rowFetchSize=") + "rowFetchSize=".length();
+            int end = getUrl().indexOf(";", start);
+            if (end == -1) end = getUrl().indexOf("&", start);
+            if (end == -1) end = getUrl().length();
+            rowFetchSize = getUrl().substring(start, end);
+        }
+        if (rowFetchSize != null) {
+            connectOptions.addProperty("rowFetchSize", rowFetchSize);
+        }
 
-            // Set packet size if specified in custom properties
-            if (getCustomProperties().containsKey("packetSize")) {
-                try {
-                    connectOptions.setPacketSize(Integer.parseInt(getCustomProperties().get("packetSize")));
-                } catch (NumberFormatException e) {
-                    log.debug("Invalid packet size value: " + getCustomProperties().get("packetSize"));
-                }
-            }
+        // Handle Key Store properties
+        String keyStorePath = getCustomProperties().get("keyStorePath");
+        if (keyStorePath != null) {
+            JksOptions jksOptions = new JksOptions();
+            jksOptions.setPath(keyStorePath);
 
-            // Set SSL if specified in custom properties
-            if (getCustomProperties().containsKey("ssl")) {
-                connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
+            String keyStorePassword = getCustomProperties().get("keyStorePassword");
+            if (keyStorePassword != null) {
+                jksOptions.setPassword(keyStorePassword);
             }
-
-            // Set any other custom properties
-            for (Map.Entry<String, String> entry : getCustomProperties().entrySet()) {
-                String key = entry.getKey();
-                String value = entry.getValue();
-
-                // Skip properties that are not related to SQL connection or already handled
-                if (key.startsWith("hibernate.") || key.startsWith("jakarta.") || key.startsWith("javax.") || 
-                    key.equals("packetSize") || key.equals("ssl") || key.equals("integratedSecurity") || 
-                    key.equals("trustServerCertificate") || key.equals("encrypt") || key.equals("workstationId") || 
-                    key.equals("applicationName") || key.equals("currentSchema") || key.equals("authentication") ||
-                    key.equals("trustStorePath") || key.equals("trustStorePassword") || key.equals("rowFetchSize") ||
-                    key.equals("keyStorePath") || key.equals("keyStorePassword")) {
-                    continue;
-                }
-
-                try {
-                    // Try to use a generic property setter if available
-                    connectOptions.getProperties().put(key, value);
-                } catch (Exception e) {
-                    log.error("Error setting property " + key + " for SQL Server connection", e);
-                }
+            connectOptions.setSsl(true);
+            if (connectOptions.getSslOptions() != null) {
+                connectOptions.getSslOptions().setKeyCertOptions(jksOptions);
+            } else {
+                connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setKeyCertOptions(jksOptions));
             }
-*/
-
-            // Configure pool options
-            PoolOptions poolOptions = new PoolOptions();
+        }
 
-            // Set pool size limits
-            if (getMaxPoolSize() != null) {
-                poolOptions.setMaxSize(getMaxPoolSize());
+        // Set packet size if specified in custom properties
+        if (getCustomProperties().containsKey("packetSize")) {
+            try {
+                connectOptions.setPacketSize(Integer.parseInt(getCustomProperties().get("packetSize")));
+            } catch (NumberFormatException e) {
+                log.debug("Invalid packet size value: " + getCustomProperties().get("packetSize"));
             }
+        }
 
-      /*      if (getMinPoolSize() != null) {
-                try {
-                    java.lang.reflect.Method method = poolOptions.getClass().getMethod("setMinSize", int.class);
-                    method.invoke(poolOptions, getMinPoolSize());
-                } catch (Exception e) {
-                    log.error("Error setting min pool size", e);
-                }
-            }*/
-
-            // Set max wait queue size if acquire increment is specified
-            if (getAcquireIncrement() != null) {
-                poolOptions.setMaxWaitQueueSize(getAcquireIncrement());
-            }
+        // Set SSL if specified in custom properties
+        if (getCustomProperties().containsKey("ssl")) {
+            connectOptions.setSsl(Boolean.parseBoolean(getCustomProperties().get("ssl")));
+        }
 
-            // Set connection lifetime
-            if (getMaxLifeTime() != null) {
-                // Convert seconds to milliseconds
-                poolOptions.setMaxLifetime(getMaxLifeTime() * 1000);
+        // Set any other custom properties
+        for (Map.Entry<String, String> entry : getCustomProperties().entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+
+            // Skip properties that are not related to SQL connection or already handled
+            if (key.startsWith("hibernate.") || key.startsWith("jakarta.") || key.startsWith("javax.") || 
+                key.equals("packetSize") || key.equals("ssl") || key.equals("integratedSecurity") || 
+                key.equals("trustServerCertificate") || key.equals("encrypt") || key.equals("workstationId") || 
+                key.equals("applicationName") || key.equals("currentSchema") || key.equals("authentication") ||
+                key.equals("trustStorePath") || key.equals("trustStorePassword") || key.equals("rowFetchSize") ||
+                key.equals("keyStorePath") || key.equals("keyStorePassword")) {
+                continue;
             }
 
-            if (getCustomProperties().containsKey("trustServerCertificate") || (getUrl() != null && getUrl().contains("trustServerCertificate=true")) || isTrustServerCertificate()) {
-                connectOptions.setSsl(true);
-                if (connectOptions.getSslOptions() != null) {
-                    connectOptions.getSslOptions().setTrustAll(true);
-                } else {
-                    connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setTrustAll(true));
-                }
+            try {
+                // Try to use a generic property setter if available
+                connectOptions.getProperties().put(key, value);
+            } catch (Exception e) {
+                log.error("Error setting property " + key + " for SQL Server connection", e);
             }
+        }
+*/
 
-            if (!Strings.isNullOrEmpty(getUrl())) {
-                return MSSQLBuilder.pool()
-                        .with(new NetClientOptions().setSsl(true).setTrustAll(true))
-                        .with(poolOptions)
-                        .connectingTo(getUrl())
-                        .using(vertx)
-                        .build();
-            }
+        // Reconnect policy, only applied when configured
+        if (getReconnectAttempts() != null) {
+            connectOptions.setReconnectAttempts(getReconnectAttempts());
+        }
+        if (getReconnectInterval() != null) {
+            connectOptions.setReconnectInterval(getReconnectInterval());
+        }
 
+        if (getCustomProperties().containsKey("trustServerCertificate") || (getUrl() != null && getUrl().contains("trustServerCertificate=true")) || isTrustServerCertificate()) {
+            connectOptions.setSsl(true);
+            if (connectOptions.getSslOptions() != null) {
+                connectOptions.getSslOptions().setTrustAll(true);
+            } else {
+                connectOptions.setSslOptions(new io.vertx.core.net.ClientSSLOptions().setTrustAll(true));
+            }
+        }
 
-            // Create the pool using MSSQLBuilder
-            return MSSQLBuilder.pool()
-                    .with(poolOptions)
-                    .connectingTo(connectOptions)
-                    .using(vertx)
-                    .build();
-        } catch (Exception e) {
-            log.error("Error creating SQL Server SqlClient", e);
-            return null;
+        SqlServerPerformanceOptions tuning = effectivePerformance();
+        SqlServerPerformanceOptions options = tuning != null ? tuning : new SqlServerPerformanceOptions();
+        options.validate(getPersistenceUnitName());
+        options.applyTo(connectOptions, getPreparedStatementCacheSize());
+        if (tuning != null) {
+            log.info("[DB-POOL] SQL Server performance options for PU='{}': {}", getPersistenceUnitName(), tuning);
         }
+        return connectOptions;
+    }
+
+    /**
+     * @return the configured performance options, else those read from the custom properties, else null
+     */
+    private SqlServerPerformanceOptions effectivePerformance() {
+        return performance != null ? performance : SqlServerPerformanceOptions.fromProperties(getCustomProperties());
     }
 }
@@ -84,9 +84,29 @@ public class SqlServerHibernateProperties implements IPropertiesEntityManagerRea
             incomingProperties.put("hibernate.id.new_generator_mappings", "false");
         }
 
+        // Carry JDBC driver style throughput settings over to the Vert.x client, see SqlServerPerformanceOptions
+        mapToVertx(incomingProperties, "hibernate.connection.packetSize", "packet-size");
+        mapToVertx(incomingProperties, "hibernate.connection.encrypt", "encrypt");
+        mapToVertx(incomingProperties, "hibernate.connection.statementPoolingCacheSize", "prepared-statement-cache-max-size");
+
         return props;
     }
 
+    /**
+     * Copies a JDBC driver property to its {@code hibernate.vertx.sqlserver.*} counterpart unless that is already set.
+     *
+     * @param properties  the unit properties
+     * @param jdbcKey     the JDBC driver property
+     * @param vertxSuffix the property name after {@code hibernate.vertx.sqlserver.}
+     */
+    private static void mapToVertx(Properties properties, String jdbcKey, String vertxSuffix) {
+        String vertxKey = "hibernate.vertx." + SqlServerPerformanceOptions.PROPERTY_PREFIX + vertxSuffix;
+        if (properties.containsKey(jdbcKey) && !properties.containsKey(vertxKey)
+                && !properties.containsKey("vertx.sql." + SqlServerPerformanceOptions.PROPERTY_PREFIX + vertxSuffix)) {
+            properties.put(vertxKey, properties.getProperty(jdbcKey));
+        }
+    }
+
     /**
      * Determines if this properties reader is applicable to the given persistence unit.
      * This method checks if the persistence unit is using SQL Server by looking at the driver class
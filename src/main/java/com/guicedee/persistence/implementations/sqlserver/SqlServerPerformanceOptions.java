@@ -0,0 +1,226 @@
+package com.guicedee.persistence.implementations.sqlserver;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import io.vertx.mssqlclient.MSSQLConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * TDS packet, encryption, prepared statement cache and pool queue settings of a SQL Server persistence unit.
+ * <p>
+ * The settings are applied when {@link SqlServerConnectionBaseInfo} creates the pool. Two starting points are provided:
+ * <ul>
+ *     <li>{@link #oltp()} for many short statements returning few rows: default packets and a large statement cache</li>
+ *     <li>{@link #largeResults()} for reports and exports fetching many or wide rows: the largest TDS packet, so a
+ *     result needs far fewer packets and round trips</li>
+ * </ul>
+ * Every setting can also be given as a persistence unit property, see {@link #fromProperties(Map)}. Zero or null
+ * values leave the client defaults in place.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class SqlServerPerformanceOptions {
+
+    /**
+     * The smallest packet size SQL Server negotiates.
+     */
+    public static final int MIN_PACKET_SIZE = 512;
+
+    /**
+     * The largest packet size SQL Server negotiates.
+     */
+    public static final int MAX_PACKET_SIZE = 32767;
+
+    /**
+     * The property prefix read by {@link #fromProperties(Map)}, after the {@code vertx.sql.} or {@code hibernate.vertx.} prefix.
+     */
+    public static final String PROPERTY_PREFIX = "sqlserver.";
+
+    /**
+     * TDS packet size in bytes requested at login, {@code 0} uses the client default of 4096.
+     */
+    private int packetSize;
+
+    /**
+     * Whether the whole session is encrypted, null keeps the unit's SSL settings.
+     */
+    private Boolean encrypt;
+
+    /**
+     * Whether prepared statements are cached per connection, null enables the cache when a size is configured.
+     */
+    private Boolean cachePreparedStatements;
+
+    /**
+     * Prepared statements cached per connection, {@code 0} falls back to the unit's {@code preparedStatementCacheSize}.
+     */
+    private int preparedStatementCacheMaxSize;
+
+    /**
+     * Longest SQL text, in characters, that is cached, {@code 0} uses the client default of 2048.
+     */
+    private int preparedStatementCacheSqlLimit;
+
+    /**
+     * Requests allowed to wait for a pool connection, null keeps the pool setting and {@code -1} is unbounded.
+     */
+    private Integer maxWaitQueueSize;
+
+    /**
+     * Settings for many short statements returning few rows.
+     *
+     * @return default packets with a 512 statement cache and a bounded wait queue
+     */
+    public static SqlServerPerformanceOptions oltp() {
+        return new SqlServerPerformanceOptions()
+                .setCachePreparedStatements(true)
+                .setPreparedStatementCacheMaxSize(512)
+                .setMaxWaitQueueSize(1024);
+    }
+
+    /**
+     * Settings for fetching many or wide rows.
+     *
+     * @return the largest TDS packet with a small statement cache
+     */
+    public static SqlServerPerformanceOptions largeResults() {
+        return new SqlServerPerformanceOptions()
+                .setPacketSize(MAX_PACKET_SIZE)
+                .setCachePreparedStatements(true)
+                .setPreparedStatementCacheMaxSize(64);
+    }
+
+    /**
+     * Reads the settings from persistence unit properties with the {@link #PROPERTY_PREFIX} stripped of the
+     * {@code vertx.sql.} or {@code hibernate.vertx.} prefix, e.g. {@code hibernate.vertx.sqlserver.packet-size}.
+     * {@code sqlserver.workload} selects {@code oltp} or {@code large-results} as the starting point; the legacy
+     * {@code packetSize} property is honoured as well.
+     *
+     * @param properties the unit's custom properties
+     * @return the settings, or null when no property is present
+     * @throws InvalidConnectionInfoException when a value cannot be parsed
+     */
+    public static SqlServerPerformanceOptions fromProperties(Map<String, String> properties) {
+        String workload = properties.get(PROPERTY_PREFIX + "workload");
+        SqlServerPerformanceOptions options = null;
+        if (workload != null) {
+            options = switch (workload.trim().toLowerCase()) {
+                case "oltp" -> oltp();
+                case "large-results", "large_results" -> largeResults();
+                default -> throw new InvalidConnectionInfoException("Unknown SQL Server workload '" + workload
+                        + "', expected oltp or large-results");
+            };
+        }
+        String legacyPacketSize = properties.get("packetSize");
+        if (legacyPacketSize != null) {
+            options = options == null ? new SqlServerPerformanceOptions() : options;
+            options.setPacketSize(parseInt("packetSize", legacyPacketSize));
+        }
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (!entry.getKey().startsWith(PROPERTY_PREFIX)) {
+                continue;
+            }
+            String key = entry.getKey().substring(PROPERTY_PREFIX.length());
+            String value = entry.getValue().trim();
+            options = options == null ? new SqlServerPerformanceOptions() : options;
+            switch (key) {
+                case "packet-size" -> options.setPacketSize(parseInt(entry.getKey(), value));
+                case "encrypt" -> options.setEncrypt(Boolean.parseBoolean(value));
+                case "cache-prepared-statements" -> options.setCachePreparedStatements(Boolean.parseBoolean(value));
+                case "prepared-statement-cache-max-size" -> options.setPreparedStatementCacheMaxSize(parseInt(entry.getKey(), value));
+                case "prepared-statement-cache-sql-limit" -> options.setPreparedStatementCacheSqlLimit(parseInt(entry.getKey(), value));
+                case "max-wait-queue-size" -> options.setMaxWaitQueueSize(parseInt(entry.getKey(), value));
+                default -> {
+                    // workload is applied first, unknown keys are left to the driver
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Checks the settings for consistency.
+     *
+     * @param unitName the persistence unit the settings belong to, used in messages
+     * @throws InvalidConnectionInfoException when a value is out of range
+     */
+    public void validate(String unitName) {
+        if (packetSize != 0 && (packetSize < MIN_PACKET_SIZE || packetSize > MAX_PACKET_SIZE)) {
+            throw new InvalidConnectionInfoException("SQL Server '" + unitName + "': packetSize must be between "
+                    + MIN_PACKET_SIZE + " and " + MAX_PACKET_SIZE);
+        }
+        if (preparedStatementCacheMaxSize < 0 || preparedStatementCacheSqlLimit < 0
+                || (maxWaitQueueSize != null && maxWaitQueueSize < -1)) {
+            throw new InvalidConnectionInfoException("SQL Server '" + unitName + "': performance options must not be negative");
+        }
+        if (Boolean.FALSE.equals(cachePreparedStatements) && preparedStatementCacheMaxSize > 0) {
+            throw new InvalidConnectionInfoException("SQL Server '" + unitName
+                    + "': preparedStatementCacheMaxSize is set but cachePreparedStatements is false");
+        }
+    }
+
+    /**
+     * Applies the connection settings to connect options.
+     *
+     * @param connectOptions   the options to update
+     * @param defaultCacheSize the unit's prepared statement cache size, used when no cache size is set here; may be null
+     * @return the connect options
+     */
+    public MSSQLConnectOptions applyTo(MSSQLConnectOptions connectOptions, Integer defaultCacheSize) {
+        if (packetSize > 0) {
+            connectOptions.setPacketSize(packetSize);
+        }
+        if (encrypt != null) {
+            connectOptions.setSsl(encrypt);
+        }
+        int cacheSize = preparedStatementCacheMaxSize > 0 ? preparedStatementCacheMaxSize
+                : defaultCacheSize != null && defaultCacheSize > 0 ? defaultCacheSize : 0;
+        boolean cache = cachePreparedStatements != null ? cachePreparedStatements : cacheSize > 0;
+        connectOptions.setCachePreparedStatements(cache);
+        if (cache && cacheSize > 0) {
+            connectOptions.setPreparedStatementCacheMaxSize(cacheSize);
+        }
+        if (preparedStatementCacheSqlLimit > 0) {
+            connectOptions.setPreparedStatementCacheSqlLimit(preparedStatementCacheSqlLimit);
+        }
+        return connectOptions;
+    }
+
+    /**
+     * Applies the pool settings to pool options.
+     *
+     * @param poolOptions the options to update
+     * @return the pool options
+     */
+    public PoolOptions applyTo(PoolOptions poolOptions) {
+        if (maxWaitQueueSize != null) {
+            poolOptions.setMaxWaitQueueSize(maxWaitQueueSize);
+        }
+        return poolOptions;
+    }
+
+    private static int parseInt(String property, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidConnectionInfoException("SQL Server property " + property + " is not a number: " + value, e);
+        }
+    }
+}
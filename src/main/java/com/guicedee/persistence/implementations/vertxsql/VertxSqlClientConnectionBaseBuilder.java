@@ -4,6 +4,21 @@ import com.guicedee.persistence.CleanVertxConnectionBaseInfo;
 import com.guicedee.persistence.ConnectionBaseInfo;
 import com.guicedee.persistence.ConnectionBaseInfoFactory;
 import com.guicedee.persistence.IPropertiesConnectionInfoReader;
+import com.guicedee.persistence.implementations.db2.DB2ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.db2.DB2PerformanceOptions;
+import com.guicedee.persistence.implementations.mysql.MySqlConnectionBaseInfo;
+import com.guicedee.persistence.implementations.mysql.MySqlPerformanceOptions;
+import com.guicedee.persistence.implementations.oracle.OracleConnectionBaseInfo;
+import com.guicedee.persistence.implementations.oracle.OraclePerformanceOptions;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerConnectionBaseInfo;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerPerformanceOptions;
+import com.guicedee.persistence.metrics.QueryCatalogOptions;
+import com.guicedee.persistence.metrics.QueryMetricsOptions;
+import com.guicedee.persistence.pool.CircuitBreakerOptions;
+import com.guicedee.persistence.pool.ConnectionRecyclingOptions;
+import com.guicedee.persistence.pool.ConnectionValidationOptions;
+import com.guicedee.persistence.pool.PoolAffinity;
+import com.guicedee.persistence.pool.PoolTuningOptions;
 import org.hibernate.jpa.boot.spi.PersistenceUnitDescriptor;
 
 
@@ -119,12 +134,7 @@ public class VertxSqlClientConnectionBaseBuilder
                 case "hibernate.hikari.idleTimeout":
                 {
                     try {
-                        // Convert from milliseconds to seconds if needed
-                        int timeout = Integer.parseInt(value);
-                        if (timeout > 1000) { // Assume it's in milliseconds if > 1000
-                            timeout = timeout / 1000;
-                        }
-                        cbi.setMaxIdleTime(timeout);
+                        cbi.setMaxIdleTime(toSeconds(prop, value));
                     } catch (NumberFormatException e) {
                         // Ignore if not a valid number
                     }
@@ -135,12 +145,7 @@ public class VertxSqlClientConnectionBaseBuilder
                 case "hibernate.hikari.maxLifetime":
                 {
                     try {
-                        // Convert from milliseconds to seconds if needed
-                        int lifetime = Integer.parseInt(value);
-                        if (lifetime > 1000) { // Assume it's in milliseconds if > 1000
-                            lifetime = lifetime / 1000;
-                        }
-                        cbi.setMaxLifeTime(lifetime);
+                        cbi.setMaxLifeTime(toSeconds(prop, value));
                     } catch (NumberFormatException e) {
                         // Ignore if not a valid number
                     }
@@ -151,12 +156,7 @@ public class VertxSqlClientConnectionBaseBuilder
                 case "hibernate.hikari.connectionTimeout":
                 {
                     try {
-                        // Convert from milliseconds to seconds if needed
-                        int timeout = Integer.parseInt(value);
-                        if (timeout > 1000) { // Assume it's in milliseconds if > 1000
-                            timeout = timeout / 1000;
-                        }
-                        cbi.setAcquisitionTimeout(timeout);
+                        cbi.setAcquisitionTimeout(toSeconds(prop, value));
                     } catch (NumberFormatException e) {
                         // Ignore if not a valid number
                     }
@@ -181,6 +181,35 @@ public class VertxSqlClientConnectionBaseBuilder
                     break;
                 }
 
+                case "vertx.sql.pool.reconfigurable":
+                case "hibernate.vertx.pool.reconfigurable":
+                {
+                    cbi.setReconfigurablePool(Boolean.parseBoolean(value));
+                    break;
+                }
+
+                // Reconnect policy
+                case "vertx.sql.reconnect-attempts":
+                case "hibernate.vertx.reconnect-attempts":
+                {
+                    try {
+                        cbi.setReconnectAttempts(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        // Ignore if not a valid number
+                    }
+                    break;
+                }
+                case "vertx.sql.reconnect-interval":
+                case "hibernate.vertx.reconnect-interval":
+                {
+                    try {
+                        cbi.setReconnectInterval(Integer.parseInt(value));
+                    } catch (NumberFormatException e) {
+                        // Ignore if not a valid number
+                    }
+                    break;
+                }
+
                 // Add any other properties to customProperties
                 default:
                 {
@@ -189,6 +218,30 @@ public class VertxSqlClientConnectionBaseBuilder
                         String key = prop.startsWith("vertx.sql.") ? 
                                     prop.substring("vertx.sql.".length()) : 
                                     prop.substring("hibernate.vertx.".length());
+                        if (key.startsWith("circuit-breaker.")) {
+                            applyCircuitBreakerProperty(key.substring("circuit-breaker.".length()), value, cbi);
+                            break;
+                        }
+                        if (key.startsWith("metrics.")) {
+                            applyQueryMetricsProperty(key.substring("metrics.".length()), value, cbi);
+                            break;
+                        }
+                        if (key.startsWith("catalog.")) {
+                            applyQueryCatalogProperty(key.substring("catalog.".length()), value, cbi);
+                            break;
+                        }
+                        if (key.startsWith("validation.")) {
+                            applyValidationProperty(key.substring("validation.".length()), value, cbi);
+                            break;
+                        }
+                        if (key.startsWith("pool.")) {
+                            applyPoolTuningProperty(key.substring("pool.".length()), value, cbi);
+                            break;
+                        }
+                        if (key.startsWith("recycling.")) {
+                            applyRecyclingProperty(key.substring("recycling.".length()), value, cbi);
+                            break;
+                        }
                         cbi.getCustomProperties().put(key, value);
                     }
                     break;
@@ -205,10 +258,211 @@ public class VertxSqlClientConnectionBaseBuilder
         // Copy all properties from the original ConnectionBaseInfo
         copyProperties(cbi, specificCbi);
 
+        // Typed SQL Server tuning from the sqlserver.* properties
+        if (specificCbi instanceof SqlServerConnectionBaseInfo sqlServer && sqlServer.getPerformance() == null) {
+            sqlServer.setPerformance(SqlServerPerformanceOptions.fromProperties(sqlServer.getCustomProperties()));
+        }
+        // Typed Oracle tuning from the oracle.* properties
+        if (specificCbi instanceof OracleConnectionBaseInfo oracle && oracle.getPerformance() == null) {
+            oracle.setPerformance(OraclePerformanceOptions.fromProperties(oracle.getCustomProperties()));
+        }
+        // Typed DB2 tuning from the db2.* properties
+        if (specificCbi instanceof DB2ConnectionBaseInfo db2 && db2.getPerformance() == null) {
+            db2.setPerformance(DB2PerformanceOptions.fromProperties(db2.getCustomProperties()));
+        }
+        // Typed MySQL and MariaDB tuning from the mysql.* properties
+        if (specificCbi instanceof MySqlConnectionBaseInfo mySql && mySql.getPerformance() == null) {
+            mySql.setPerformance(MySqlPerformanceOptions.fromProperties(mySql.getCustomProperties()));
+        }
+
         // Return the database-specific ConnectionBaseInfo
         return specificCbi;
     }
 
+    /**
+     * Applies a {@code circuit-breaker.*} property to the connection's breaker options.
+     *
+     * @param key   the property name without the {@code circuit-breaker.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyCircuitBreakerProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getCircuitBreaker() == null) {
+            cbi.setCircuitBreaker(new CircuitBreakerOptions());
+        }
+        CircuitBreakerOptions options = cbi.getCircuitBreaker();
+        try {
+            switch (key) {
+                case "enabled" -> options.setEnabled(Boolean.parseBoolean(value));
+                case "failure-rate-threshold" -> options.setFailureRateThreshold(Integer.parseInt(value));
+                case "slow-call-rate-threshold" -> options.setSlowCallRateThreshold(Integer.parseInt(value));
+                case "slow-call-duration-threshold" -> options.setSlowCallDurationThreshold(Long.parseLong(value));
+                case "sliding-window-size" -> options.setSlidingWindowSize(Integer.parseInt(value));
+                case "minimum-number-of-calls" -> options.setMinimumNumberOfCalls(Integer.parseInt(value));
+                case "wait-duration-in-open-state" -> options.setWaitDurationInOpenState(Long.parseLong(value));
+                case "probe-timeout" -> options.setProbeTimeout(Long.parseLong(value));
+                default -> cbi.getCustomProperties().put("circuit-breaker." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Applies a {@code validation.*} property to the connection's background validation options.
+     *
+     * @param key   the property name without the {@code validation.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyValidationProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getConnectionValidation() == null) {
+            cbi.setConnectionValidation(new ConnectionValidationOptions());
+        }
+        ConnectionValidationOptions options = cbi.getConnectionValidation();
+        try {
+            switch (key) {
+                case "enabled" -> options.setEnabled(Boolean.parseBoolean(value));
+                case "interval" -> options.setInterval(Long.parseLong(value));
+                case "batch-size" -> options.setBatchSize(Integer.parseInt(value));
+                case "sample-rate" -> options.setSampleRate(Integer.parseInt(value));
+                case "timeout" -> options.setTimeout(Long.parseLong(value));
+                default -> cbi.getCustomProperties().put("validation." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Applies a {@code metrics.*} property to the connection's query metrics options.
+     *
+     * @param key   the property name without the {@code metrics.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyQueryMetricsProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getQueryMetrics() == null) {
+            cbi.setQueryMetrics(new QueryMetricsOptions());
+        }
+        QueryMetricsOptions options = cbi.getQueryMetrics();
+        try {
+            switch (key) {
+                case "enabled" -> options.setEnabled(Boolean.parseBoolean(value));
+                case "slow-query-threshold" -> options.setSlowQueryThreshold(Long.parseLong(value));
+                case "slow-query-sample-rate" -> options.setSlowQuerySampleRate(Integer.parseInt(value));
+                case "slow-query-log-size" -> options.setSlowQueryLogSize(Integer.parseInt(value));
+                case "log-slow-queries" -> options.setLogSlowQueries(Boolean.parseBoolean(value));
+                case "max-shapes" -> options.setMaxShapes(Integer.parseInt(value));
+                default -> cbi.getCustomProperties().put("metrics." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Applies a {@code catalog.*} property to the connection's query catalog options.
+     *
+     * @param key   the property name without the {@code catalog.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyQueryCatalogProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getQueryCatalog() == null) {
+            cbi.setQueryCatalog(new QueryCatalogOptions());
+        }
+        QueryCatalogOptions options = cbi.getQueryCatalog();
+        try {
+            switch (key) {
+                case "enabled" -> options.setEnabled(Boolean.parseBoolean(value));
+                case "directory" -> options.setDirectory(value);
+                case "max-statements" -> options.setMaxStatements(Integer.parseInt(value));
+                case "flush-interval" -> options.setFlushInterval(Long.parseLong(value));
+                case "warm-connections" -> options.setWarmConnections(Integer.parseInt(value));
+                case "warmup-timeout" -> options.setWarmupTimeout(Long.parseLong(value));
+                default -> cbi.getCustomProperties().put("catalog." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Applies a {@code pool.*} property to the connection's pool tuning options.
+     *
+     * @param key   the property name without the {@code pool.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyPoolTuningProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getPoolTuning() == null) {
+            cbi.setPoolTuning(new PoolTuningOptions());
+        }
+        PoolTuningOptions options = cbi.getPoolTuning();
+        try {
+            switch (key) {
+                case "event-loop-size" -> options.setEventLoopSize(Integer.parseInt(value));
+                case "max-wait-queue-size" -> options.setMaxWaitQueueSize(Integer.parseInt(value));
+                case "cleaner-period" -> options.setPoolCleanerPeriod(Integer.parseInt(value));
+                case "shared" -> options.setShared(Boolean.parseBoolean(value));
+                case "affinity" -> {
+                    try {
+                        options.setAffinity(PoolAffinity.valueOf(value.trim().toUpperCase().replace('-', '_')));
+                    } catch (IllegalArgumentException e) {
+                        // Ignore if not a known affinity
+                    }
+                }
+                case "partition-max-size" -> options.setPartitionMaxSize(Integer.parseInt(value));
+                default -> cbi.getCustomProperties().put("pool." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Applies a {@code recycling.*} property to the connection's staggered recycling options.
+     *
+     * @param key   the property name without the {@code recycling.} prefix
+     * @param value the property value
+     * @param cbi   the connection info to populate
+     */
+    private void applyRecyclingProperty(String key, String value, ConnectionBaseInfo cbi) {
+        if (cbi.getConnectionRecycling() == null) {
+            cbi.setConnectionRecycling(new ConnectionRecyclingOptions());
+        }
+        ConnectionRecyclingOptions options = cbi.getConnectionRecycling();
+        try {
+            switch (key) {
+                case "enabled" -> options.setEnabled(Boolean.parseBoolean(value));
+                case "max-retire-percent" -> options.setMaxRetirePercent(Integer.parseInt(value));
+                case "lifetime-jitter" -> options.setLifetimeJitter(Integer.parseInt(value));
+                case "drain-timeout" -> options.setDrainTimeout(Long.parseLong(value));
+                default -> cbi.getCustomProperties().put("recycling." + key, value);
+            }
+        } catch (NumberFormatException e) {
+            // Ignore if not a valid number
+        }
+    }
+
+    /**
+     * Reads a pool time property as seconds. The Hikari properties are in milliseconds and are rounded up to whole
+     * seconds; the {@code vertx.sql.pool.*} and {@code hibernate.vertx.pool.*} properties are already in seconds.
+     *
+     * @param prop  the property name
+     * @param value the property value
+     * @return the value in seconds
+     * @throws NumberFormatException when the value is not a number
+     */
+    private static int toSeconds(String prop, String value) {
+        int number = Integer.parseInt(value.trim());
+        if (prop.startsWith("hibernate.hikari.")) {
+            return (int) ((number + 999L) / 1000);
+        }
+        return number;
+    }
+
     /**
      * Determines the database type from the driver class or URL.
      *
@@ -341,6 +595,24 @@ public class VertxSqlClientConnectionBaseBuilder
         // Copy test query
         target.setTestQuery(source.getTestQuery());
 
+        // Copy reconnect policy and circuit breaker
+        if (source.getReconnectAttempts() != null) {
+            target.setReconnectAttempts(source.getReconnectAttempts());
+        }
+        if (source.getReconnectInterval() != null) {
+            target.setReconnectInterval(source.getReconnectInterval());
+        }
+        target.setCircuitBreaker(source.getCircuitBreaker());
+        target.setConnectionValidation(source.getConnectionValidation());
+        target.setQueryMetrics(source.getQueryMetrics());
+        target.setQueryCatalog(source.getQueryCatalog());
+        target.setPoolTuning(source.getPoolTuning());
+        target.setConnectionRecycling(source.getConnectionRecycling());
+        target.setPoolName(source.getPoolName());
+        if (source.getReconfigurablePool() != null) {
+            target.setReconfigurablePool(source.getReconfigurablePool());
+        }
+
         // Copy server instance name property
         target.setServerInstanceNameProperty(source.getServerInstanceNameProperty());
 
@@ -0,0 +1,343 @@
+package com.guicedee.persistence.metrics;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The distinct statements a persistence unit executes, kept in a local file and prepared again at the next startup.
+ * <p>
+ * After a deploy every connection prepares its statements again on first use, so the first minutes run slowly. The
+ * catalog is fed by {@link QueryMetricsTracer} with the exact text of each {@code SELECT}, {@code INSERT},
+ * {@code UPDATE}, {@code DELETE}, {@code WITH}, {@code MERGE} and {@code CALL} statement, up to
+ * {@link QueryCatalogOptions#getMaxStatements()}, and written to {@code <directory>/<unit>.sql} every
+ * {@link QueryCatalogOptions#getFlushInterval()} and on shutdown. At startup {@link #warmUp()} borrows
+ * {@link QueryCatalogOptions#getWarmConnections()} connections at once, so each is a distinct physical connection, and
+ * prepares every recorded statement on each of them, filling the connections' prepared statement caches before the
+ * unit reports ready. Statements that no longer prepare, for example after a schema change, are dropped.
+ * <p>
+ * An enabled catalog reports {@link #isWarming()} from its creation until its warm-up completes, fails or times out,
+ * so health checks keep the unit starting while its connections are being prepared.
+ * <p>
+ * Recording a known statement costs one set lookup. Warm-up failures are logged and never fail startup.
+ */
+@Log4j2
+public class QueryCatalog {
+
+    private static final String[] PREPARABLE = {"select", "insert", "update", "delete", "with", "merge", "call"};
+
+    private final String persistenceUnitName;
+    private final QueryCatalogOptions options;
+    private final int maxConnections;
+    private final Supplier<SqlClient> poolSupplier;
+
+    private final Set<String> statements = ConcurrentHashMap.newKeySet();
+    private final AtomicLong prepared = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean dirty;
+    private volatile boolean warming;
+    private volatile Vertx vertx;
+    private volatile long timerId = -1;
+
+    /**
+     * Creates the catalog of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param options             the catalog settings, or null for the defaults
+     * @param maxConnections      the unit's pool size, used when no warm connection count is configured
+     * @param poolSupplier        supplies the current pool of the persistence unit, may return null
+     */
+    public QueryCatalog(String persistenceUnitName, QueryCatalogOptions options, int maxConnections, Supplier<SqlClient> poolSupplier) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.options = options == null ? new QueryCatalogOptions() : options;
+        this.maxConnections = maxConnections;
+        this.poolSupplier = poolSupplier;
+        this.warming = this.options.isEnabled();
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param sql the statement text
+     */
+    public void record(String sql) {
+        if (!options.isEnabled() || statements.contains(sql) || statements.size() >= options.getMaxStatements() || !isPreparable(sql)) {
+            return;
+        }
+        if (statements.add(sql)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Loads the recorded statements and prepares them on the unit's pooled connections.
+     *
+     * @return the number of statements prepared over all connections, completes within the warm-up timeout
+     */
+    public Uni<Integer> warmUp() {
+        if (!options.isEnabled()) {
+            warming = false;
+            return Uni.createFrom().item(0);
+        }
+        return Uni.createFrom().item(this::load)
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .chain(this::prepareAll)
+                .ifNoItem().after(Duration.ofMillis(options.getWarmupTimeout())).recoverWithItem(() -> {
+                    log.warn("⚠️ Query catalog warm-up of PU '{}' did not finish within {}ms, continuing startup",
+                            persistenceUnitName, options.getWarmupTimeout());
+                    return (int) prepared.get();
+                })
+                .onFailure().recoverWithItem(t -> {
+                    log.warn("⚠️ Query catalog warm-up of PU '{}' failed: {}", persistenceUnitName, t.getMessage());
+                    return 0;
+                })
+                .onTermination().invoke(() -> warming = false);
+    }
+
+    /**
+     * Schedules the periodic writes of newly recorded statements.
+     *
+     * @param vertx the Vert.x instance to schedule on
+     */
+    public synchronized void start(Vertx vertx) {
+        if (!options.isEnabled() || vertx == null || timerId >= 0) {
+            return;
+        }
+        this.vertx = vertx;
+        timerId = vertx.setPeriodic(Math.max(1, options.getFlushInterval()), id -> {
+            if (dirty) {
+                Infrastructure.getDefaultWorkerPool().execute(this::save);
+            }
+        });
+    }
+
+    /**
+     * Cancels the periodic writes and writes any newly recorded statements.
+     */
+    public synchronized void stop() {
+        if (timerId >= 0 && vertx != null) {
+            vertx.cancelTimer(timerId);
+        }
+        timerId = -1;
+        save();
+    }
+
+    /**
+     * Reads the catalog file into the recorded statements.
+     *
+     * @return the statements read, empty when there is no file
+     */
+    public List<String> load() {
+        Path file = getFile();
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try {
+            List<String> loaded = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(QueryCatalog::decode)
+                    .limit(Math.max(0, options.getMaxStatements()))
+                    .toList();
+            statements.addAll(loaded);
+            log.debug("📋 Loaded {} catalogued statements of PU '{}' from {}", loaded.size(), persistenceUnitName, file);
+            return loaded;
+        } catch (IOException e) {
+            log.warn("⚠️ Reading the query catalog of PU '{}' from {} failed: {}", persistenceUnitName, file, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Writes the recorded statements to the catalog file when new statements were recorded since the last write.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        Path file = getFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, statements.stream().sorted().map(QueryCatalog::encode).toList(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("⚠️ Writing the query catalog of PU '{}' to {} failed: {}", persistenceUnitName, file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the catalog file of the persistence unit
+     */
+    public Path getFile() {
+        return Path.of(options.getDirectory()).resolve(persistenceUnitName.replaceAll("[^A-Za-z0-9._-]", "_") + ".sql");
+    }
+
+    /**
+     * @return a snapshot of the recorded statements
+     */
+    public Set<String> getStatements() {
+        return Set.copyOf(statements);
+    }
+
+    /**
+     * @return true until the startup warm-up has completed, failed or timed out
+     */
+    public boolean isWarming() {
+        return warming;
+    }
+
+    /**
+     * @return the number of statement preparations during warm-up, counted per connection
+     */
+    public long getPreparedCount() {
+        return prepared.get();
+    }
+
+    /**
+     * @return the number of statements dropped because they no longer prepared
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return the persistence unit this catalog belongs to
+     */
+    public String getPersistenceUnitName() {
+        return persistenceUnitName;
+    }
+
+    /**
+     * @return the settings in use
+     */
+    public QueryCatalogOptions getOptions() {
+        return options;
+    }
+
+    private Uni<Integer> prepareAll(List<String> catalogued) {
+        SqlClient client = poolSupplier == null ? null : poolSupplier.get();
+        if (catalogued.isEmpty() || !(client instanceof Pool pool)) {
+            return Uni.createFrom().item(0);
+        }
+        int connections = Math.max(1, options.getWarmConnections() > 0 ? options.getWarmConnections() : maxConnections);
+        Set<String> rejected = ConcurrentHashMap.newKeySet();
+        List<SqlConnection> held = Collections.synchronizedList(new ArrayList<>());
+        List<Uni<Integer>> warmers = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            warmers.add(warm(pool, catalogued, rejected, held));
+        }
+        return Uni.join().all(warmers).andCollectFailures()
+                .map(counts -> counts.stream().mapToInt(Integer::intValue).sum())
+                .eventually(() -> {
+                    synchronized (held) {
+                        held.forEach(SqlConnection::close);
+                    }
+                    if (!rejected.isEmpty()) {
+                        statements.removeAll(rejected);
+                        failed.addAndGet(rejected.size());
+                        dirty = true;
+                    }
+                })
+                .invoke(count -> log.info("🔥 Prepared {} catalogued statements of PU '{}' on {} connections",
+                        catalogued.size() - rejected.size(), persistenceUnitName, held.size()));
+    }
+
+    /**
+     * Borrows one connection, held until the warm-up ends, and prepares every statement on it.
+     *
+     * @return the number of statements prepared on the connection
+     */
+    private Uni<Integer> warm(Pool pool, List<String> catalogued, Set<String> rejected, List<SqlConnection> held) {
+        Future<SqlConnection> acquire = pool.getConnection();
+        return Uni.createFrom().completionStage(acquire.toCompletionStage())
+                .onCancellation().invoke(() -> acquire.onSuccess(SqlConnection::close))
+                .chain(conn -> {
+                    held.add(conn);
+                    return Multi.createFrom().iterable(catalogued)
+                            .onItem().transformToUniAndConcatenate(sql -> Uni.createFrom()
+                                    .completionStage(() -> conn.prepare(sql).toCompletionStage())
+                                    .map(statement -> {
+                                        prepared.incrementAndGet();
+                                        return 1;
+                                    })
+                                    .onFailure().recoverWithItem(t -> {
+                                        if (rejected.add(sql)) {
+                                            log.debug("📋 Dropping catalogued statement of PU '{}' that no longer prepares: {}", persistenceUnitName, t.getMessage());
+                                        }
+                                        return 0;
+                                    }))
+                            .collect().with(Collectors.summingInt(Integer::intValue));
+                })
+                .onFailure().recoverWithItem(t -> {
+                    log.debug("📋 No connection of PU '{}' available for warm-up: {}", persistenceUnitName, t.getMessage());
+                    return 0;
+                });
+    }
+
+    private static boolean isPreparable(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        for (String keyword : PREPARABLE) {
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escapes a statement onto a single line of a catalog file.
+     *
+     * @param sql the statement text
+     * @return the line
+     */
+    public static String encode(String sql) {
+        return sql.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    /**
+     * Reverses {@link #encode(String)}.
+     *
+     * @param line a line of a catalog file
+     * @return the statement text
+     */
+    public static String decode(String line) {
+        StringBuilder sql = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char escaped = line.charAt(++i);
+                sql.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                sql.append(c);
+            }
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.guicedee.persistence.metrics;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings for the per persistence unit {@link QueryCatalog}.
+ * <p>
+ * The distinct statements a unit executes are recorded to a file in {@link #directory} and prepared on
+ * {@link #warmConnections} pooled connections at the next startup, before the unit reports ready.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class QueryCatalogOptions {
+
+    /**
+     * Whether statements are recorded and pre-prepared at startup. Defaults to {@code false}.
+     */
+    private boolean enabled;
+
+    /**
+     * Directory the catalog files are kept in, one file per persistence unit. Defaults to {@code .guicedee/query-catalog}.
+     */
+    private String directory = ".guicedee/query-catalog";
+
+    /**
+     * Maximum number of distinct statements recorded; further statements are not recorded. Defaults to {@code 256}.
+     */
+    private int maxStatements = 256;
+
+    /**
+     * Time in milliseconds between writes of newly recorded statements to the file. Defaults to {@code 60000}.
+     */
+    private long flushInterval = 60000;
+
+    /**
+     * Number of connections the catalog is prepared on at startup, {@code 0} for the unit's pool size. Defaults to {@code 0}.
+     */
+    private int warmConnections;
+
+    /**
+     * Time in milliseconds startup waits for the warm-up before reporting ready regardless. Defaults to {@code 30000}.
+     */
+    private long warmupTimeout = 30000;
+}
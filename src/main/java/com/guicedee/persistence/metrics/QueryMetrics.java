@@ -0,0 +1,212 @@
+package com.guicedee.persistence.metrics;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Query latency statistics of one persistence unit.
+ * <p>
+ * Statements are resolved to their {@link QueryStats} by exact text first, which is a single map lookup on the hot
+ * path since Hibernate Reactive and prepared statements reuse the same SQL strings. Only a statement seen for the first
+ * time is normalized with {@link SqlShapes}. Recording into the histogram does not allocate.
+ *
+ * <pre>{@code
+ * @Inject @Named("orders")
+ * QueryMetrics metrics;
+ *
+ * metrics.report(10).forEach(row -> log.info("{} p99={}µs", row.shape(), row.p99Micros()));
+ * }</pre>
+ */
+@Log4j2
+public class QueryMetrics {
+
+    /**
+     * The shape statements are grouped under once {@link QueryMetricsOptions#getMaxShapes()} is reached
+     */
+    public static final String OTHER_SHAPE = "<other>";
+
+    private final String persistenceUnitName;
+    private final QueryMetricsOptions options;
+    private final long slowThresholdMicros;
+
+    private final Map<String, QueryStats> byStatement = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> byShape = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<SlowQuerySample> slowQueries;
+    private final AtomicLong slowQueryCount = new AtomicLong();
+    private final AtomicLong slowQueryWrites = new AtomicLong();
+
+    private volatile QueryCatalog catalog;
+
+    /**
+     * Creates the statistics of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param options             the settings, or null for the defaults
+     */
+    public QueryMetrics(String persistenceUnitName, QueryMetricsOptions options) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.options = options == null ? new QueryMetricsOptions() : options;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(this.options.getSlowQueryThreshold());
+        this.slowQueries = new AtomicReferenceArray<>(Math.max(1, this.options.getSlowQueryLogSize()));
+    }
+
+    /**
+     * Resolves the statistics of a statement, normalizing it the first time it is seen.
+     *
+     * @param sql the statement text
+     * @return the statistics of the statement's shape
+     */
+    public QueryStats stats(String sql) {
+        QueryStats stats = byStatement.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        if (byStatement.size() >= options.getMaxShapes()) {
+            return byShape.computeIfAbsent(OTHER_SHAPE, k -> new QueryStats(k, 0));
+        }
+        stats = byShape.computeIfAbsent(SqlShapes.normalize(sql), shape -> new QueryStats(shape, SqlShapes.countParameters(sql)));
+        QueryStats existing = byStatement.putIfAbsent(sql, stats);
+        return existing != null ? existing : stats;
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param stats         the statistics resolved with {@link #stats(String)}
+     * @param durationNanos the latency in nanoseconds
+     * @param failed        whether the execution failed
+     */
+    public void record(QueryStats stats, long durationNanos, boolean failed) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        stats.record(micros, failed);
+        if (micros >= slowThresholdMicros) {
+            recordSlow(stats, micros, failed);
+        }
+    }
+
+    /**
+     * Records one execution of a statement.
+     *
+     * @param sql           the statement text
+     * @param durationNanos the latency in nanoseconds
+     * @param failed        whether the execution failed
+     */
+    public void record(String sql, long durationNanos, boolean failed) {
+        record(stats(sql), durationNanos, failed);
+    }
+
+    private void recordSlow(QueryStats stats, long micros, boolean failed) {
+        if (slowQueryCount.incrementAndGet() % Math.max(1, options.getSlowQuerySampleRate()) != 0) {
+            return;
+        }
+        SlowQuerySample sample = new SlowQuerySample(stats.getShape(), micros, stats.getParameterCount(), failed, Instant.now());
+        slowQueries.set((int) (slowQueryWrites.getAndIncrement() % slowQueries.length()), sample);
+        if (options.isLogSlowQueries()) {
+            log.warn("🐢 Slow query on PU '{}' took {}ms with {} bind parameters - {}",
+                    persistenceUnitName, micros / 1000, stats.getParameterCount(), stats.getShape());
+        }
+    }
+
+    /**
+     * Returns the shapes with the highest total time.
+     *
+     * @param topN the number of rows to return
+     * @return the report rows, highest total time first
+     */
+    public List<QueryStatsSnapshot> report(int topN) {
+        return report(topN, Comparator.comparingLong(QueryStatsSnapshot::totalMicros).reversed());
+    }
+
+    /**
+     * Returns the first shapes in the given order.
+     *
+     * @param topN  the number of rows to return
+     * @param order the ordering of the rows
+     * @return the report rows
+     */
+    public List<QueryStatsSnapshot> report(int topN, Comparator<QueryStatsSnapshot> order) {
+        return byShape.values().stream()
+                .map(QueryStats::snapshot)
+                .sorted(order)
+                .limit(Math.max(0, topN))
+                .toList();
+    }
+
+    /**
+     * @return the retained slow-query samples, oldest first
+     */
+    public List<SlowQuerySample> getSlowQueries() {
+        long writes = slowQueryWrites.get();
+        int size = slowQueries.length();
+        List<SlowQuerySample> samples = new ArrayList<>(size);
+        for (long i = Math.max(0, writes - size); i < writes; i++) {
+            SlowQuerySample sample = slowQueries.get((int) (i % size));
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * @return the number of queries above the slow threshold, sampled or not
+     */
+    public long getSlowQueryCount() {
+        return slowQueryCount.get();
+    }
+
+    /**
+     * Clears all statistics and samples.
+     */
+    public void reset() {
+        byStatement.clear();
+        byShape.clear();
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+        slowQueryCount.set(0);
+        slowQueryWrites.set(0);
+    }
+
+    /**
+     * @return the persistence unit these statistics belong to
+     */
+    public String getPersistenceUnitName() {
+        return persistenceUnitName;
+    }
+
+    /**
+     * @return the settings in use
+     */
+    public QueryMetricsOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return the statement catalog of the persistence unit, fed by the same tracer, or null when there is none
+     */
+    public QueryCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Attaches the statement catalog of the persistence unit so the tracer records executed statements into it.
+     *
+     * @param catalog the catalog, or null to stop recording
+     * @return this instance
+     */
+    public QueryMetrics setCatalog(QueryCatalog catalog) {
+        this.catalog = catalog;
+        return this;
+    }
+}
@@ -0,0 +1,60 @@
+package com.guicedee.persistence.metrics;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings for the per persistence unit {@link QueryMetrics}.
+ * <p>
+ * Every query is recorded into a latency histogram keyed by its normalized SQL shape. Queries slower than
+ * {@link #slowQueryThreshold} are sampled, one in {@link #slowQuerySampleRate}, into a bounded slow-query log.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class QueryMetricsOptions {
+
+    /**
+     * Whether queries of the persistence unit are recorded. Defaults to {@code true}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Duration in milliseconds above which a query counts as slow. Defaults to {@code 500}.
+     */
+    private long slowQueryThreshold = 500;
+
+    /**
+     * Keep one in this many slow queries in the slow-query log. Defaults to {@code 1}, every slow query.
+     */
+    private int slowQuerySampleRate = 1;
+
+    /**
+     * Number of slow-query samples retained. Defaults to {@code 100}.
+     */
+    private int slowQueryLogSize = 100;
+
+    /**
+     * Whether sampled slow queries are also written to the log. Defaults to {@code true}.
+     */
+    private boolean logSlowQueries = true;
+
+    /**
+     * Maximum number of distinct statement texts tracked; further statements are grouped under one shape.
+     * Defaults to {@code 1000}.
+     */
+    private int maxShapes = 1000;
+}
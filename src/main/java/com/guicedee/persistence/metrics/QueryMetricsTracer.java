@@ -0,0 +1,278 @@
+package com.guicedee.persistence.metrics;
+
+import com.guicedee.client.Environment;
+import com.guicedee.persistence.tracing.PersistenceSpan;
+import com.guicedee.persistence.tracing.PersistenceTracer;
+import com.guicedee.persistence.tracing.PersistenceTracing;
+import io.vertx.core.Context;
+import io.vertx.core.spi.VertxServiceProvider;
+import io.vertx.core.spi.VertxTracerFactory;
+import io.vertx.core.spi.tracing.SpanKind;
+import io.vertx.core.spi.tracing.TagExtractor;
+import io.vertx.core.spi.tracing.VertxTracer;
+import io.vertx.core.tracing.TracingOptions;
+import io.vertx.core.tracing.TracingPolicy;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A Vert.x tracer that times every SQL client query and records it into the {@link QueryMetrics} of the persistence
+ * unit it belongs to.
+ * <p>
+ * The Vert.x SQL clients report each query with its statement, database and user as tags. The statement text is read
+ * through the {@link TagExtractor} without copying, the persistence unit is found by database and user, and the only
+ * per-query allocation is the small in-flight token that carries the start time to the response.
+ * Non-SQL requests and requests with {@link TracingPolicy#IGNORE} pass through untouched.
+ * <p>
+ * The tags carry no persistence unit name, so units connecting to the same database with the same user share one route:
+ * their queries are all recorded into the unit registered last, and a warning is logged when that happens. Give such
+ * units distinct users to keep their statistics apart.
+ * <p>
+ * Vert.x accepts a single tracer, and this one sees every HTTP and event bus request as well. It is therefore installed
+ * only when {@link #isRequired()}: the {@value #ENABLED_PROPERTY} system property or environment variable is
+ * {@code true}, or a {@link PersistenceTracer} is registered. Vert.x is built before the persistence units are read, so
+ * the unit's {@code vertx.sql.metrics.enabled} property only turns recording off per unit.
+ * <p>
+ * When installed it forwards every request and response to the application's tracer, so its tracing keeps working:
+ * the factory set with {@link #setDelegateFactory(VertxTracerFactory)}, else the only {@link VertxTracerFactory}, such as
+ * OpenTelemetry or Zipkin, found on the module path. When several are found and none is set, it forwards to none of
+ * them and logs a warning.
+ * <p>
+ * When a {@link PersistenceTracer} is registered, each query is also reported as a {@link PersistenceTracer#QUERY} span.
+ * Statements are also recorded into the unit's {@link QueryCatalog} when one is attached to its metrics.
+ * <p>
+ * Installed through {@link #factory()} by {@link com.guicedee.persistence.VertxVerticalPersistenceConfiguration}.
+ */
+@Log4j2
+public class QueryMetricsTracer implements VertxTracer<Object, Object> {
+
+    /**
+     * The shared tracer instance, used when no other tracer is available
+     */
+    public static final QueryMetricsTracer INSTANCE = new QueryMetricsTracer(null);
+
+    /**
+     * The system property or environment variable that installs the tracer when {@code true}, read when Vert.x is built
+     */
+    public static final String ENABLED_PROPERTY = "VERTX_SQL_METRICS_ENABLED";
+
+    private static volatile VertxTracerFactory delegateFactory;
+
+    private static final Map<String, DatabaseEntry> byDatabase = new ConcurrentHashMap<>();
+    private static volatile QueryMetrics sole;
+
+    private final VertxTracer<Object, Object> delegate;
+
+    /**
+     * Creates a tracer forwarding to another tracer.
+     *
+     * @param delegate the tracer every request and response is forwarded to, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public QueryMetricsTracer(VertxTracer<?, ?> delegate) {
+        this.delegate = (VertxTracer<Object, Object>) delegate;
+    }
+
+    /**
+     * @return true when the tracer is to be installed, because query metrics are switched on with
+     * {@value #ENABLED_PROPERTY} or a {@link PersistenceTracer} reports query spans
+     */
+    public static boolean isRequired() {
+        return Boolean.parseBoolean(Environment.getSystemPropertyOrEnvironment(ENABLED_PROPERTY, "false"))
+                || PersistenceTracing.isEnabled();
+    }
+
+    /**
+     * Sets the application's tracer factory, which the installed tracer forwards to. Set it before Vert.x is built, in
+     * place of {@code VertxBuilder.withTracer}, while query metrics are installed.
+     *
+     * @param factory the application's tracer factory, null restores discovery
+     */
+    public static void setDelegateFactory(VertxTracerFactory factory) {
+        delegateFactory = factory;
+    }
+
+    /**
+     * Creates the tracer factory to install, wrapping the application's tracer.
+     *
+     * @return the factory
+     */
+    public static VertxTracerFactory factory() {
+        return options -> {
+            VertxTracer<?, ?> existing = discover(options);
+            return existing == null ? INSTANCE : new QueryMetricsTracer(existing);
+        };
+    }
+
+    private static VertxTracer<?, ?> discover(TracingOptions options) {
+        VertxTracerFactory configured = delegateFactory;
+        if (configured != null) {
+            return forwardTo(configured, options);
+        }
+        List<VertxTracerFactory> found = new ArrayList<>();
+        try {
+            for (VertxServiceProvider provider : ServiceLoader.load(VertxServiceProvider.class)) {
+                if (provider instanceof VertxTracerFactory factory) {
+                    found.add(factory);
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("⚠️ Looking up Vert.x tracers failed, query metrics run without forwarding: {}", e.getMessage());
+            return null;
+        }
+        if (found.size() > 1) {
+            log.warn("⚠️ Found {} Vert.x tracer factories {}, query metrics forward to none of them; choose one with QueryMetricsTracer.setDelegateFactory",
+                    found.size(), found.stream().map(factory -> factory.getClass().getName()).toList());
+            return null;
+        }
+        return found.isEmpty() ? null : forwardTo(found.getFirst(), options);
+    }
+
+    private static VertxTracer<?, ?> forwardTo(VertxTracerFactory factory, TracingOptions options) {
+        VertxTracer<?, ?> tracer = factory.tracer(options);
+        if (tracer != null) {
+            log.info("📋 Query metrics tracer forwards to {}", tracer.getClass().getName());
+        }
+        return tracer;
+    }
+
+    /**
+     * Routes queries against a database and user to a persistence unit's metrics.
+     * A unit registered with the same database and user as another unit replaces its route.
+     *
+     * @param metrics  the persistence unit's metrics
+     * @param database the database name from the connection info, may be null
+     * @param user     the user name from the connection info, may be null
+     */
+    public static synchronized void register(QueryMetrics metrics, String database, String user) {
+        DatabaseEntry entry = byDatabase.computeIfAbsent(database == null ? "" : database, k -> new DatabaseEntry());
+        QueryMetrics previous = entry.byUser.put(user == null ? "" : user, metrics);
+        if (previous != null && previous != metrics) {
+            log.warn("⚠️ PU '{}' and PU '{}' use the same database '{}' and user '{}', their query metrics are recorded into PU '{}'",
+                    previous.getPersistenceUnitName(), metrics.getPersistenceUnitName(), database, user, metrics.getPersistenceUnitName());
+        }
+        entry.sole = entry.byUser.size() == 1 ? metrics : null;
+        int registered = byDatabase.values().stream().mapToInt(e -> e.byUser.size()).sum();
+        sole = registered == 1 ? metrics : null;
+    }
+
+    /**
+     * Removes all routes.
+     */
+    public static synchronized void clear() {
+        byDatabase.clear();
+        sole = null;
+    }
+
+    @Override
+    public <R> Object receiveRequest(Context context, SpanKind kind, TracingPolicy policy, R request, String operation,
+                                     Iterable<Map.Entry<String, String>> headers, TagExtractor<R> tagExtractor) {
+        return delegate == null ? null : delegate.receiveRequest(context, kind, policy, request, operation, headers, tagExtractor);
+    }
+
+    @Override
+    public <R> void sendResponse(Context context, R response, Object payload, Throwable failure, TagExtractor<R> tagExtractor) {
+        if (delegate != null) {
+            delegate.sendResponse(context, response, payload, failure, tagExtractor);
+        }
+    }
+
+    @Override
+    public <R> Object sendRequest(Context context, SpanKind kind, TracingPolicy policy, R request, String operation,
+                                  BiConsumer<String, String> headers, TagExtractor<R> tagExtractor) {
+        Object forwarded = delegate == null ? null : delegate.sendRequest(context, kind, policy, request, operation, headers, tagExtractor);
+        InFlight inFlight = measure(policy, request, tagExtractor, forwarded);
+        if (inFlight == null && forwarded != null) {
+            return new InFlight(null, null, PersistenceSpan.NOOP, 0, forwarded);
+        }
+        return inFlight;
+    }
+
+    @Override
+    public void close() {
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    private <R> InFlight measure(TracingPolicy policy, R request, TagExtractor<R> tagExtractor, Object forwarded) {
+        if (policy == TracingPolicy.IGNORE || tagExtractor == null) {
+            return null;
+        }
+        String statement = null;
+        String database = null;
+        String user = null;
+        int length = tagExtractor.len(request);
+        for (int i = 0; i < length; i++) {
+            String name = tagExtractor.name(request, i);
+            switch (name) {
+                case "db.statement", "db.query.text" -> statement = tagExtractor.value(request, i);
+                case "db.instance", "db.namespace" -> database = tagExtractor.value(request, i);
+                case "db.user" -> user = tagExtractor.value(request, i);
+                default -> {
+                }
+            }
+        }
+        if (statement == null) {
+            return null;
+        }
+        // The unit is resolved regardless of its metrics setting, so spans carry the unit and vendor either way
+        QueryMetrics unit = resolve(database, user);
+        if (unit != null && unit.getCatalog() != null) {
+            unit.getCatalog().record(statement);
+        }
+        QueryMetrics metrics = unit != null && unit.getOptions().isEnabled() ? unit : null;
+        PersistenceSpan span = PersistenceSpan.NOOP;
+        if (PersistenceTracing.isEnabled()) {
+            span = PersistenceTracing.startSpan(PersistenceTracer.QUERY, unit == null ? null : unit.getPersistenceUnitName())
+                    .setAttribute(PersistenceTracer.DB_STATEMENT, statement);
+        } else if (metrics == null) {
+            return null;
+        }
+        return new InFlight(metrics, metrics == null ? null : metrics.stats(statement), span, System.nanoTime(), forwarded);
+    }
+
+    @Override
+    public <R> void receiveResponse(Context context, R response, Object payload, Throwable failure, TagExtractor<R> tagExtractor) {
+        if (payload instanceof InFlight inFlight) {
+            if (inFlight.metrics != null) {
+                inFlight.metrics.record(inFlight.stats, System.nanoTime() - inFlight.startNanos, failure != null);
+            }
+            inFlight.span.end(failure);
+            if (inFlight.forwarded != null && delegate != null) {
+                delegate.receiveResponse(context, response, inFlight.forwarded, failure, tagExtractor);
+            }
+        }
+    }
+
+    private static QueryMetrics resolve(String database, String user) {
+        QueryMetrics single = sole;
+        if (single != null) {
+            return single;
+        }
+        DatabaseEntry entry = byDatabase.get(database == null ? "" : database);
+        if (entry == null) {
+            return null;
+        }
+        QueryMetrics metrics = entry.sole;
+        if (metrics != null) {
+            return metrics;
+        }
+        return entry.byUser.get(user == null ? "" : user);
+    }
+
+    private static final class DatabaseEntry {
+        private final Map<String, QueryMetrics> byUser = new ConcurrentHashMap<>();
+        private volatile QueryMetrics sole;
+    }
+
+    private record InFlight(QueryMetrics metrics, QueryStats stats, PersistenceSpan span, long startNanos, Object forwarded) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.guicedee.persistence.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of one SQL shape.
+ */
+public final class QueryStats {
+
+    private final String shape;
+    private final int parameterCount;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    QueryStats(String shape, int parameterCount) {
+        this.shape = shape;
+        this.parameterCount = parameterCount;
+    }
+
+    void record(long micros, boolean failed) {
+        histogram.record(micros);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * @return the normalized SQL shape
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * @return the number of bind parameters of the statement
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @return the latency histogram of the shape
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * @return the number of failed executions
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return a point-in-time copy of the statistics
+     */
+    public QueryStatsSnapshot snapshot() {
+        return new QueryStatsSnapshot(shape, parameterCount, histogram.getCount(), getErrors(), histogram.getTotalMicros(),
+                histogram.getMeanMicros(), histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(95),
+                histogram.getValueAtPercentile(99), histogram.getMaxMicros());
+    }
+}
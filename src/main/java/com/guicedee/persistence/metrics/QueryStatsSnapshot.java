@@ -0,0 +1,27 @@
+package com.guicedee.persistence.metrics;
+
+/**
+ * A point-in-time view of the statistics of one SQL shape, as returned by {@link QueryMetrics#report(int)}.
+ *
+ * @param shape          the normalized SQL shape
+ * @param parameterCount the number of bind parameters of the statement
+ * @param count          the number of executions
+ * @param errors         the number of failed executions
+ * @param totalMicros    the summed latency in microseconds
+ * @param meanMicros     the mean latency in microseconds
+ * @param p50Micros      the median latency in microseconds
+ * @param p95Micros      the 95th percentile latency in microseconds
+ * @param p99Micros      the 99th percentile latency in microseconds
+ * @param maxMicros      the highest latency in microseconds
+ */
+public record QueryStatsSnapshot(String shape,
+                                 int parameterCount,
+                                 long count,
+                                 long errors,
+                                 long totalMicros,
+                                 double meanMicros,
+                                 long p50Micros,
+                                 long p95Micros,
+                                 long p99Micros,
+                                 long maxMicros) {
+}
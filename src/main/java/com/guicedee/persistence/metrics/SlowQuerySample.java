@@ -0,0 +1,15 @@
+package com.guicedee.persistence.metrics;
+
+import java.time.Instant;
+
+/**
+ * A sampled slow query.
+ *
+ * @param shape          the normalized SQL shape
+ * @param durationMicros the query latency in microseconds
+ * @param parameterCount the number of bind parameters of the statement
+ * @param failed         whether the query failed
+ * @param timestamp      when the query completed
+ */
+public record SlowQuerySample(String shape, long durationMicros, int parameterCount, boolean failed, Instant timestamp) {
+}
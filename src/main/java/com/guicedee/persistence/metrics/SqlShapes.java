@@ -0,0 +1,150 @@
+package com.guicedee.persistence.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape so that statements differing only in literals or bind markers share statistics.
+ * <p>
+ * String and numeric literals and every bind marker style ({@code ?}, {@code $1}, {@code :name}, {@code @P1}) become
+ * {@code ?}, whitespace is collapsed, and {@code IN} lists of markers are folded to {@code (?...)}.
+ * Only called once per distinct statement text, so it is not on the hot path.
+ */
+public final class SqlShapes {
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+
+    /**
+     * The highest bind marker number counted, the bind parameter limit of the PostgreSQL protocol.
+     */
+    private static final int MAX_NUMBERED = 65_535;
+
+    private SqlShapes() {
+    }
+
+    /**
+     * Returns the normalized shape of a statement.
+     *
+     * @param sql the statement text
+     * @return the shape
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        boolean space = false;
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+                continue;
+            }
+            if (space) {
+                out.append(' ');
+                space = false;
+            }
+            if (c == '\'') {
+                i = skipQuoted(sql, i);
+                out.append('?');
+            } else if (isMarkerStart(sql, i)) {
+                i = skipMarker(sql, i);
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i + 1 < length && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+            }
+        }
+        return IN_LIST.matcher(out).replaceAll("(?...)");
+    }
+
+    /**
+     * Returns the number of bind parameters a statement takes.
+     * Numbered markers ({@code $3}) count as their highest number, read from the digits after the {@code $} and capped
+     * at 65535; other markers count once per occurrence. Malformed markers such as {@code $1abc} never fail the count.
+     *
+     * @param sql the statement text
+     * @return the bind parameter count
+     */
+    public static int countParameters(String sql) {
+        if (sql == null) {
+            return 0;
+        }
+        int count = 0;
+        int highestNumbered = 0;
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i);
+            } else if (c == '$' && isMarkerStart(sql, i)) {
+                highestNumbered = Math.max(highestNumbered, markerNumber(sql, i + 1));
+                i = skipMarker(sql, i);
+            } else if (isMarkerStart(sql, i)) {
+                i = skipMarker(sql, i);
+                count++;
+            }
+        }
+        return count + highestNumbered;
+    }
+
+    private static int skipQuoted(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return sql.length() - 1;
+    }
+
+    private static boolean isMarkerStart(String sql, int i) {
+        char c = sql.charAt(i);
+        boolean hasNext = i + 1 < sql.length();
+        return switch (c) {
+            case '?' -> true;
+            case '$' -> hasNext && Character.isDigit(sql.charAt(i + 1));
+            case ':' -> hasNext && Character.isJavaIdentifierStart(sql.charAt(i + 1)) && (i == 0 || sql.charAt(i - 1) != ':');
+            case '@' -> hasNext && (sql.charAt(i + 1) == 'P' || sql.charAt(i + 1) == 'p')
+                    && i + 2 < sql.length() && Character.isDigit(sql.charAt(i + 2));
+            default -> false;
+        };
+    }
+
+    private static int skipMarker(String sql, int i) {
+        char c = sql.charAt(i);
+        if (c == '?') {
+            return i;
+        }
+        int j = c == '@' ? i + 2 : i + 1;
+        while (j < sql.length() && Character.isJavaIdentifierPart(sql.charAt(j))) {
+            j++;
+        }
+        return j - 1;
+    }
+
+    private static int markerNumber(String sql, int start) {
+        int number = 0;
+        for (int i = start; i < sql.length() && Character.isDigit(sql.charAt(i)); i++) {
+            number = Math.min(MAX_NUMBERED, number * 10 + Character.digit(sql.charAt(i), 10));
+        }
+        return number;
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '"' || previous == '.';
+    }
+}
@@ -0,0 +1,72 @@
+package com.guicedee.persistence.pool;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Thresholds for the {@link PoolCircuitBreaker} guarding a persistence unit.
+ * <p>
+ * The breaker keeps a count-based sliding window of the most recent calls. Once at least
+ * {@link #minimumNumberOfCalls} have been recorded, it opens when either the failure rate or the
+ * slow-call rate reaches its threshold. While open, calls fail immediately; after
+ * {@link #waitDurationInOpenState} a single probe (the persistence unit's {@code testQuery}) decides
+ * whether to close again.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CircuitBreakerOptions {
+
+    /**
+     * Whether the breaker is active. When disabled calls pass straight through. Defaults to {@code true}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Failure rate in percent (1-100) at which the breaker opens. Defaults to {@code 50}.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Slow-call rate in percent (1-100) at which the breaker opens. Defaults to {@code 100}.
+     */
+    private int slowCallRateThreshold = 100;
+
+    /**
+     * Duration in milliseconds after which a successful call counts as slow. Defaults to {@code 5000}.
+     */
+    private long slowCallDurationThreshold = 5000;
+
+    /**
+     * Number of calls kept in the sliding window. Defaults to {@code 50}.
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * Minimum number of recorded calls before rates are evaluated. Defaults to {@code 10}.
+     */
+    private int minimumNumberOfCalls = 10;
+
+    /**
+     * Time in milliseconds the breaker stays open before probing. Defaults to {@code 10000}.
+     */
+    private long waitDurationInOpenState = 10000;
+
+    /**
+     * Timeout in milliseconds for the half-open probe query. Defaults to {@code 2000}.
+     */
+    private long probeTimeout = 2000;
+}
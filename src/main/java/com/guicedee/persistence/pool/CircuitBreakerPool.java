@@ -0,0 +1,123 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.annotations.CircuitBreakerOpenException;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PrepareOptions;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.TransactionPropagation;
+
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+/**
+ * A view of a persistence unit's registered pool that routes every borrow through the unit's {@link PoolCircuitBreaker}.
+ * <p>
+ * {@link #getConnection()}, {@link #withConnection(Function)} and {@link #withTransaction(Function)} are recorded by the
+ * breaker and fail at once with a {@link CircuitBreakerOpenException} while it is open. One-shot {@link #query(String)}
+ * and {@link #preparedQuery(String)} calls borrow inside the Vert.x pool, so they are not recorded, but they fail fast
+ * as well while the breaker is not closed.
+ * <p>
+ * {@code VertxPersistenceModule.getSqlClientByEntityManager} hands out this view, created once per registered pool by
+ * {@link PoolCircuitBreaker#guard(io.vertx.sqlclient.SqlClient)}. The registry itself keeps the unguarded pool, which the
+ * breaker's probe, the connection validator and pool swaps work with.
+ */
+public class CircuitBreakerPool implements Pool {
+
+    private final Pool delegate;
+    private final PoolCircuitBreaker circuitBreaker;
+
+    /**
+     * Creates a guarded view of a pool.
+     *
+     * @param delegate       the registered pool
+     * @param circuitBreaker the breaker of the pool's persistence unit
+     */
+    public CircuitBreakerPool(Pool delegate, PoolCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @return the registered pool behind the breaker
+     */
+    public Pool getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Future<SqlConnection> getConnection() {
+        return circuitBreaker.guard(delegate::getConnection);
+    }
+
+    @Override
+    public Query<RowSet<Row>> query(String sql) {
+        return circuitBreaker.isCallPermitted() ? delegate.query(sql) : rejected(Query.class);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+        return circuitBreaker.isCallPermitted() ? delegate.preparedQuery(sql) : rejected(PreparedQuery.class);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+        return circuitBreaker.isCallPermitted() ? delegate.preparedQuery(sql, options) : rejected(PreparedQuery.class);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(Function<SqlConnection, Future<T>> function) {
+        return circuitBreaker.guard(() -> delegate.withTransaction(function));
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(TransactionPropagation txPropagation, Function<SqlConnection, Future<T>> function) {
+        return circuitBreaker.guard(() -> delegate.withTransaction(txPropagation, function));
+    }
+
+    @Override
+    public <T> Future<T> withConnection(Function<SqlConnection, Future<T>> function) {
+        return circuitBreaker.guard(() -> delegate.withConnection(function));
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Future<Void> close() {
+        return delegate.close();
+    }
+
+    /**
+     * A query whose executions fail with the breaker's open exception, only built while the breaker rejects calls.
+     */
+    @SuppressWarnings("unchecked")
+    private <Q> Q rejected(Class<?> type) {
+        CircuitBreakerOpenException failure = circuitBreaker.openException();
+        return (Q) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if (Future.class.isAssignableFrom(method.getReturnType())) {
+                return Future.failedFuture(failure);
+            }
+            if (method.getReturnType().isInstance(proxy)) {
+                // mapping and collecting return the same rejected query
+                return proxy;
+            }
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "rejected-" + type.getSimpleName();
+            }
+            throw failure;
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.guicedee.persistence.pool;
+
+/**
+ * The states of a {@link PoolCircuitBreaker}.
+ */
+public enum CircuitBreakerState {
+    /**
+     * Calls flow normally and outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * Calls are rejected immediately without touching the pool.
+     */
+    OPEN,
+    /**
+     * A probe is deciding whether the database is reachable again.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,73 @@
+package com.guicedee.persistence.pool;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings for the {@link RecyclingPool} that retires a persistence unit's connections a slice at a time.
+ * <p>
+ * Connections opened together at warm-up otherwise reach {@code maxLifeTime} together and the whole pool reconnects at
+ * once. With recycling enabled the pool is split into slices of at most {@link #maxRetirePercent} percent of the
+ * connections; one slice is replaced every {@code maxLifeTime / slices}, shortened by up to {@link #lifetimeJitter}
+ * percent, so no two retirements coincide and no two nodes stay in step. A pool needs at least
+ * {@code 100 / maxRetirePercent} connections to be recycled.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ConnectionRecyclingOptions {
+
+    /**
+     * Whether connections are recycled in slices. It also requires a positive {@code maxLifeTime}. Defaults to {@code false}.
+     */
+    private boolean enabled;
+
+    /**
+     * Largest share of the pool's connections, in percent (1-100), retired at one time. Defaults to {@code 25}.
+     */
+    private int maxRetirePercent = 25;
+
+    /**
+     * Largest random reduction, in percent (0-50), of each interval between retirements. Defaults to {@code 10}.
+     */
+    private int lifetimeJitter = 10;
+
+    /**
+     * Time in milliseconds a retired slice keeps serving borrowed connections before it is closed. Defaults to {@code 30000}.
+     */
+    private long drainTimeout = 30000;
+
+    /**
+     * @param maxPoolSize the unit's pool size
+     * @return the most connections retired at one time within {@link #maxRetirePercent}, 0 when a single connection is
+     * already a larger share of the pool
+     */
+    public int retireLimit(int maxPoolSize) {
+        int percent = Math.min(100, Math.max(1, maxRetirePercent));
+        return Math.max(0, maxPoolSize) * percent / 100;
+    }
+
+    /**
+     * @param maxPoolSize the unit's pool size
+     * @return the number of slices the pool is split into so that none holds more than {@link #retireLimit(int)}
+     * connections, one per connection when the limit is 0
+     */
+    public int sliceCount(int maxPoolSize) {
+        int size = Math.max(1, maxPoolSize);
+        int limit = Math.max(1, retireLimit(size));
+        return (size + limit - 1) / limit;
+    }
+}
@@ -0,0 +1,57 @@
+package com.guicedee.persistence.pool;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Settings for the {@link ConnectionValidator} that checks idle pooled connections in the background.
+ * <p>
+ * Every {@link #interval} the validator borrows a sample of {@link #sampleRate} percent of the pool's
+ * connections, at most {@link #batchSize} at a time, and runs the persistence unit's validation query on each.
+ * When a connection fails its check the unit's pool is renewed, so the connection is closed instead of being handed to
+ * application code.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ConnectionValidationOptions {
+
+    /**
+     * Whether background validation runs. It also requires a validation query, i.e. a {@code testQuery}
+     * or {@code enableJdbc4ConnectionTest}. Defaults to {@code false}.
+     */
+    private boolean enabled;
+
+    /**
+     * Time in milliseconds between validation rounds. Defaults to {@code 30000}.
+     */
+    private long interval = 30000;
+
+    /**
+     * Maximum number of connections borrowed at the same time by one round. Defaults to {@code 2}.
+     */
+    private int batchSize = 2;
+
+    /**
+     * Percentage (1-100) of the pool's connections checked per round. Defaults to {@code 25}.
+     */
+    private int sampleRate = 25;
+
+    /**
+     * Time in milliseconds a single check may take before the connection counts as dead. Defaults to {@code 2000}.
+     */
+    private long timeout = 2000;
+}
@@ -0,0 +1,237 @@
+package com.guicedee.persistence.pool;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Periodically validates idle connections of a persistence unit's Vert.x pool.
+ * <p>
+ * Vert.x pools have no validate-on-borrow hook, so after a network blip the first query on every stale connection
+ * fails. The validator borrows a sample of the pool's connections in small batches and runs the validation query
+ * on each. Vert.x pools cannot discard a single physical connection, so when a connection fails its check or does not
+ * answer within the timeout, the validator renews the unit's pool: a fresh pool replaces it in the registry and the old
+ * pool, including the failed connection, is closed once the connections borrowed from it are returned, at the latest
+ * after the drain timeout, see {@link PoolReconfigurer#renew(String, Duration)}. The failed connection is never handed to
+ * application code again. Failed checks are counted and logged.
+ * <p>
+ * Connections checked in a round are held until the round ends so each round sees distinct connections.
+ * A round stops early when no idle connection is available within the timeout, as busy connections are being
+ * validated by real traffic anyway. Rounds are skipped while the persistence unit's circuit breaker is not closed.
+ * <p>
+ * Validation is opt-in, see {@link ConnectionValidationOptions#isEnabled()}.
+ */
+@Log4j2
+public class ConnectionValidator {
+
+    private final String persistenceUnitName;
+    private final ConnectionValidationOptions options;
+    private final String validationQuery;
+    private final Supplier<SqlClient> poolSupplier;
+    private final PoolCircuitBreaker circuitBreaker;
+    private final Supplier<Uni<Void>> poolRenewer;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rounds = new AtomicLong();
+    private final AtomicLong validated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile Vertx vertx;
+    private volatile long timerId = -1;
+
+    /**
+     * Creates a validator for a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit to validate
+     * @param options             the validation settings, or null for the defaults
+     * @param validationQuery     the statement used to check a connection, null disables validation
+     * @param poolSupplier        supplies the current pool of the persistence unit, may return null
+     * @param circuitBreaker      the breaker guarding the persistence unit, may be null
+     * @param poolRenewer         replaces the pool of the persistence unit after a failed check, may be null to only
+     *                            count failures
+     */
+    public ConnectionValidator(String persistenceUnitName,
+                               ConnectionValidationOptions options,
+                               String validationQuery,
+                               Supplier<SqlClient> poolSupplier,
+                               PoolCircuitBreaker circuitBreaker,
+                               Supplier<Uni<Void>> poolRenewer) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.options = options == null ? new ConnectionValidationOptions() : options;
+        this.validationQuery = validationQuery;
+        this.poolSupplier = poolSupplier;
+        this.circuitBreaker = circuitBreaker;
+        this.poolRenewer = poolRenewer;
+    }
+
+    /**
+     * Schedules the periodic validation rounds.
+     *
+     * @param vertx the Vert.x instance to schedule on
+     */
+    public synchronized void start(Vertx vertx) {
+        if (!options.isEnabled() || validationQuery == null || vertx == null) {
+            log.debug("📋 Connection validation disabled for PU '{}'", persistenceUnitName);
+            return;
+        }
+        if (timerId >= 0) {
+            return;
+        }
+        this.vertx = vertx;
+        timerId = vertx.setPeriodic(options.getInterval(), id -> {
+            if (running.compareAndSet(false, true)) {
+                validate().subscribe().with(
+                        count -> running.set(false),
+                        t -> {
+                            running.set(false);
+                            log.warn("⚠️ Connection validation round failed for PU '{}': {}", persistenceUnitName, t.getMessage());
+                        });
+            }
+        });
+        log.info("✅ Connection validation started for PU '{}' every {}ms", persistenceUnitName, options.getInterval());
+    }
+
+    /**
+     * Cancels the periodic validation rounds.
+     */
+    public synchronized void stop() {
+        if (timerId >= 0 && vertx != null) {
+            vertx.cancelTimer(timerId);
+        }
+        timerId = -1;
+    }
+
+    /**
+     * Runs one validation round now, and renews the pool when a connection failed its check.
+     *
+     * @return the number of connections that failed their check
+     */
+    public Uni<Integer> validate() {
+        SqlClient client = poolSupplier == null ? null : poolSupplier.get();
+        if (!(client instanceof Pool pool) || validationQuery == null) {
+            return Uni.createFrom().item(0);
+        }
+        if (circuitBreaker != null && circuitBreaker.getState() != CircuitBreakerState.CLOSED) {
+            return Uni.createFrom().item(0);
+        }
+        int size = pool.size();
+        if (size <= 0) {
+            return Uni.createFrom().item(0);
+        }
+        int sample = Math.max(1, (int) Math.ceil(size * options.getSampleRate() / 100.0));
+        long failedBefore = failed.get();
+        List<SqlConnection> held = new ArrayList<>(sample);
+        rounds.incrementAndGet();
+        return batch(pool, sample, held)
+                .eventually(() -> held.forEach(SqlConnection::close))
+                .map(v -> (int) (failed.get() - failedBefore))
+                .call(failures -> failures > 0 ? renew(failures) : Uni.createFrom().voidItem());
+    }
+
+    /**
+     * Replaces the pool holding the failed connections, so they are closed with it instead of being handed out again.
+     */
+    private Uni<Void> renew(int failures) {
+        if (poolRenewer == null) {
+            return Uni.createFrom().voidItem();
+        }
+        return poolRenewer.get()
+                .invoke(() -> log.info("🔄 Renewed the pool of PU '{}' after {} connections failed validation", persistenceUnitName, failures))
+                .onFailure().recoverWithUni(t -> {
+                    log.warn("⚠️ Renewing the pool of PU '{}' failed, failed connections stay pooled: {}", persistenceUnitName, t.getMessage());
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    private Uni<Void> batch(Pool pool, int remaining, List<SqlConnection> held) {
+        if (remaining <= 0) {
+            return Uni.createFrom().voidItem();
+        }
+        int batchSize = Math.min(Math.max(1, options.getBatchSize()), remaining);
+        List<Uni<Boolean>> checks = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            checks.add(check(pool, held));
+        }
+        return Uni.join().all(checks).andCollectFailures()
+                .chain(acquired -> acquired.contains(Boolean.FALSE)
+                        ? Uni.createFrom().voidItem()
+                        : batch(pool, remaining - batchSize, held));
+    }
+
+    /**
+     * Borrows one connection and checks it.
+     *
+     * @return false when no connection could be borrowed
+     */
+    private Uni<Boolean> check(Pool pool, List<SqlConnection> held) {
+        Duration timeout = Duration.ofMillis(options.getTimeout());
+        Future<SqlConnection> acquire = pool.getConnection();
+        return Uni.createFrom().completionStage(acquire.toCompletionStage())
+                .ifNoItem().after(timeout).fail()
+                .onItem().transformToUni(conn -> {
+                    Future<RowSet<Row>> query = conn.query(validationQuery).execute();
+                    return Uni.createFrom().completionStage(query.toCompletionStage())
+                            .ifNoItem().after(timeout).fail()
+                            .map(rows -> {
+                                validated.incrementAndGet();
+                                synchronized (held) {
+                                    held.add(conn);
+                                }
+                                return Boolean.TRUE;
+                            })
+                            .onFailure().recoverWithItem(t -> {
+                                failed.incrementAndGet();
+                                log.warn("⚠️ Connection of PU '{}' failed validation: {}", persistenceUnitName, t.toString());
+                                // Held until its check settles; the renewed pool replaces it and closes it with the old pool
+                                query.onComplete(ar -> conn.close());
+                                return Boolean.TRUE;
+                            });
+                })
+                .onFailure().recoverWithItem(t -> {
+                    // The pool is busy; return the connection should it still arrive after the timeout
+                    acquire.onSuccess(SqlConnection::close);
+                    return Boolean.FALSE;
+                });
+    }
+
+    /**
+     * @return the number of validation rounds run
+     */
+    public long getRounds() {
+        return rounds.get();
+    }
+
+    /**
+     * @return the number of connections that passed their check
+     */
+    public long getValidatedCount() {
+        return validated.get();
+    }
+
+    /**
+     * @return the number of connections that failed their check
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return the persistence unit this validator checks
+     */
+    public String getPersistenceUnitName() {
+        return persistenceUnitName;
+    }
+}
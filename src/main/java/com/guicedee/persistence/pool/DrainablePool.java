@@ -0,0 +1,240 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PrepareOptions;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.TransactionPropagation;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A Vert.x pool that counts the connections currently borrowed from it, so it can be closed as soon as the last one is
+ * returned instead of after a fixed delay.
+ * <p>
+ * Connections are counted from {@link #getConnection()} until they are closed, and for the duration of
+ * {@link #withConnection(Function)} and {@link #withTransaction(Function)}. One-shot {@link #query(String)} and
+ * {@link #preparedQuery(String)} calls borrow inside the Vert.x pool and are not counted; {@link #drain(Vertx, long)}
+ * covers them with its timeout.
+ * <p>
+ * {@link RecyclingPool#create(ConnectionBaseInfo)} wraps the pool of units whose pools are swapped, partitioned or
+ * recycled, see {@link #appliesTo(ConnectionBaseInfo)}, and {@link PoolReconfigurer} and {@link RecyclingPool} drain the
+ * pools they retire through it. Other units keep the plain Vert.x pool, which is closed at the drain timeout if it is
+ * ever replaced.
+ * <p>
+ * A borrowed connection is handed out behind a proxy implementing the driver's connection interfaces; the interfaces
+ * are collected once per connection class.
+ */
+@Log4j2
+public class DrainablePool implements Pool {
+
+    private static final ClassValue<Class<?>[]> leaseInterfaces = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            collectInterfaces(type, interfaces);
+            return interfaces.toArray(Class<?>[]::new);
+        }
+    };
+
+    private final Pool delegate;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Promise<Void> closing = Promise.promise();
+
+    private volatile boolean draining;
+
+    /**
+     * Wraps a pool so its borrowed connections are counted.
+     *
+     * @param client the pool, may be null
+     * @return the counting pool, or the client itself when it is null, not a pool or already counted
+     */
+    public static SqlClient wrap(SqlClient client) {
+        if (client instanceof Pool pool && !(client instanceof DrainablePool) && !(client instanceof RecyclingPool)) {
+            return new DrainablePool(pool);
+        }
+        return client;
+    }
+
+    /**
+     * @param connectionInfo the unit's connection settings
+     * @return true when the unit's pool can be swapped, is partitioned by context or is recycled in slices, so counting
+     * its borrowed connections lets a retired pool close as soon as they are returned
+     */
+    public static boolean appliesTo(ConnectionBaseInfo connectionInfo) {
+        return Boolean.TRUE.equals(connectionInfo.getReconfigurablePool())
+                || connectionInfo.getPoolTuning() != null && connectionInfo.getPoolTuning().getAffinity() == PoolAffinity.CONTEXT
+                || RecyclingPool.recycles(connectionInfo);
+    }
+
+    /**
+     * Creates a counting pool.
+     *
+     * @param delegate the pool connections are borrowed from
+     */
+    public DrainablePool(Pool delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Closes the pool once no connection is borrowed from it, or once the timeout elapses, whichever comes first.
+     *
+     * @param vertx        the Vert.x instance for the timeout, the pool is closed at once when null
+     * @param timeoutMillis the upper bound for borrowed work to finish, the pool is closed at once when not positive
+     * @return completes when the pool is closed
+     */
+    public Future<Void> drain(Vertx vertx, long timeoutMillis) {
+        draining = true;
+        if (vertx == null || timeoutMillis <= 0 || inUse.get() == 0) {
+            closeDelegate(false);
+        } else {
+            long timerId = vertx.setTimer(timeoutMillis, id -> closeDelegate(true));
+            closing.future().onComplete(ar -> vertx.cancelTimer(timerId));
+        }
+        return closing.future();
+    }
+
+    /**
+     * @return the number of connections currently borrowed through this pool
+     */
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * @return the wrapped Vert.x pool
+     */
+    public Pool getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Future<SqlConnection> getConnection() {
+        acquire();
+        return delegate.getConnection()
+                .onFailure(t -> release())
+                .map(this::lease);
+    }
+
+    @Override
+    public Query<RowSet<Row>> query(String sql) {
+        return delegate.query(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+        return delegate.preparedQuery(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+        return delegate.preparedQuery(sql, options);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(Function<SqlConnection, Future<T>> function) {
+        acquire();
+        return delegate.withTransaction(function).andThen(ar -> release());
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(TransactionPropagation txPropagation, Function<SqlConnection, Future<T>> function) {
+        acquire();
+        return delegate.withTransaction(txPropagation, function).andThen(ar -> release());
+    }
+
+    @Override
+    public <T> Future<T> withConnection(Function<SqlConnection, Future<T>> function) {
+        acquire();
+        return delegate.withConnection(function).andThen(ar -> release());
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Future<Void> close() {
+        draining = true;
+        closeDelegate(false);
+        return closing.future();
+    }
+
+    private void acquire() {
+        inUse.incrementAndGet();
+    }
+
+    private void release() {
+        if (inUse.decrementAndGet() == 0 && draining) {
+            closeDelegate(false);
+        }
+    }
+
+    private void closeDelegate(boolean timedOut) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (timedOut) {
+            log.warn("⚠️ [DB-POOL] Closing drained pool with {} connections still borrowed", inUse.get());
+        }
+        delegate.close().onComplete(closing);
+    }
+
+    /**
+     * Hands out the connection behind a proxy that counts its first close as the return of the lease. The proxy
+     * implements the exported connection interfaces of the driver, such as {@code PgConnection}, so driver specific
+     * casts keep working.
+     */
+    private SqlConnection lease(SqlConnection connection) {
+        AtomicBoolean returned = new AtomicBoolean();
+        return (SqlConnection) Proxy.newProxyInstance(connection.getClass().getClassLoader(), leaseInterfaces.get(connection.getClass()),
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    boolean returning = "close".equals(method.getName()) && method.getParameterCount() == 0 && returned.compareAndSet(false, true);
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (returning) {
+                            release();
+                        }
+                    }
+                });
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                if (SqlConnection.class.isAssignableFrom(candidate)
+                        && candidate.getModule().isExported(candidate.getPackageName())) {
+                    interfaces.add(candidate);
+                }
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+        interfaces.add(SqlConnection.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.guicedee.persistence.pool;
+
+/**
+ * How the connections of a persistence unit's pool are tied to Vert.x event loops, see {@link PoolTuningOptions#getAffinity()}.
+ */
+public enum PoolAffinity {
+    /**
+     * One shared pool; connections stay on the event loop that first created them and may serve callers on any loop.
+     */
+    NONE,
+    /**
+     * One shared pool whose connections are spread over {@link PoolTuningOptions#getEventLoopSize()} event loops,
+     * or the Vert.x default event loop count when that is not set.
+     */
+    EVENT_LOOP,
+    /**
+     * One pool partition per calling Vert.x context, created on that context, so a verticle's queries and their
+     * callbacks never leave its event loop. Calls made outside a context use the unit's registered pool.
+     */
+    CONTEXT
+}
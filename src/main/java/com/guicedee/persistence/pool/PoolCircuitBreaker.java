@@ -0,0 +1,453 @@
+package com.guicedee.persistence.pool;
+
+import com.google.inject.Provider;
+import com.guicedee.persistence.annotations.CircuitBreakerOpenException;
+import com.guicedee.persistence.tracing.PersistenceSpan;
+import com.guicedee.persistence.tracing.PersistenceTracer;
+import com.guicedee.persistence.tracing.PersistenceTracing;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A circuit breaker stage placed in front of a persistence unit's Vert.x pool and {@link Mutiny.SessionFactory}.
+ * <p>
+ * During a database outage the Vert.x clients keep retrying connections, so every request queues behind the
+ * reconnect attempts. The breaker tracks the outcome and latency of recent calls and, once the failure or
+ * slow-call rate crosses the configured thresholds, rejects further calls with a
+ * {@link CircuitBreakerOpenException} until the database answers the persistence unit's {@code testQuery} again.
+ * <p>
+ * One breaker is bound per persistence unit as {@code @Named("puName") PoolCircuitBreaker}. The bound
+ * {@link Mutiny.SessionFactory} is guarded by {@link #guard(Mutiny.SessionFactory)}, so every session and transaction it
+ * opens is recorded and rejected while the breaker is open, and {@code VertxPersistenceModule.getSqlClientByEntityManager}
+ * hands out the registered pool behind a {@link CircuitBreakerPool}. The methods below guard explicit calls as well.
+ *
+ * <pre>{@code
+ * @Inject @Named("orders")
+ * PoolCircuitBreaker breaker;
+ *
+ * breaker.withSession(session -> session.find(Order.class, id));
+ * }</pre>
+ */
+@Log4j2
+public class PoolCircuitBreaker {
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String persistenceUnitName;
+    private final CircuitBreakerOptions options;
+    private final String testQuery;
+    private final Supplier<SqlClient> poolSupplier;
+    private final Provider<Mutiny.SessionFactory> sessionFactoryProvider;
+
+    private final byte[] window;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private volatile CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private volatile long openedAt;
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private volatile Guarded<SqlClient> guardedPool;
+    private volatile Guarded<Mutiny.SessionFactory> guardedSessionFactory;
+
+    /**
+     * Creates a breaker for a persistence unit.
+     *
+     * @param persistenceUnitName    the persistence unit the breaker guards
+     * @param options                the thresholds, or null for the defaults
+     * @param testQuery              the query used to probe the database while half-open, may be null
+     * @param poolSupplier           supplies the current pool of the persistence unit, may return null
+     * @param sessionFactoryProvider provides the session factory of the persistence unit, may be null
+     */
+    public PoolCircuitBreaker(String persistenceUnitName,
+                              CircuitBreakerOptions options,
+                              String testQuery,
+                              Supplier<SqlClient> poolSupplier,
+                              Provider<Mutiny.SessionFactory> sessionFactoryProvider) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.options = options == null ? new CircuitBreakerOptions() : options;
+        this.testQuery = testQuery;
+        this.poolSupplier = poolSupplier;
+        this.sessionFactoryProvider = sessionFactoryProvider;
+        this.window = new byte[Math.max(1, this.options.getSlidingWindowSize())];
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(this.options.getSlowCallDurationThreshold());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(this.options.getWaitDurationInOpenState());
+    }
+
+    /**
+     * Runs an operation through the breaker.
+     * The operation is only subscribed to when the breaker permits the call.
+     *
+     * @param operation supplies the work to perform
+     * @param <T>       the result type
+     * @return the guarded operation
+     */
+    public <T> Uni<T> execute(Supplier<Uni<T>> operation) {
+        if (!options.isEnabled()) {
+            return Uni.createFrom().deferred(operation);
+        }
+        return Uni.createFrom().deferred(() -> {
+            CircuitBreakerState current = getState();
+            if (current == CircuitBreakerState.CLOSED) {
+                return record(operation);
+            }
+            if (current == CircuitBreakerState.HALF_OPEN && probing.compareAndSet(false, true)) {
+                return probe(operation);
+            }
+            return Uni.createFrom().failure(openException());
+        });
+    }
+
+    /**
+     * Runs a Vert.x operation through the breaker, recording its outcome while the breaker is closed.
+     *
+     * @param operation supplies the work to perform, only called when the breaker permits the call
+     * @param <T>       the result type
+     * @return the guarded result
+     */
+    public <T> Future<T> guard(Supplier<Future<T>> operation) {
+        if (!options.isEnabled()) {
+            return operation.get();
+        }
+        if (getState() == CircuitBreakerState.CLOSED) {
+            long start = System.nanoTime();
+            Future<T> result;
+            try {
+                result = operation.get();
+            } catch (Throwable t) {
+                onResult(false, System.nanoTime() - start);
+                return Future.failedFuture(t);
+            }
+            return result.andThen(ar -> onResult(ar.succeeded(), System.nanoTime() - start));
+        }
+        // Open or half-open, the probe is handled by the Mutiny path
+        return Future.fromCompletionStage(execute(() -> Uni.createFrom().completionStage(() -> operation.get().toCompletionStage()))
+                .subscribeAsCompletionStage());
+    }
+
+    /**
+     * @return true when calls currently pass the breaker without probing
+     */
+    public boolean isCallPermitted() {
+        return !options.isEnabled() || getState() == CircuitBreakerState.CLOSED;
+    }
+
+    /**
+     * Guards a registered pool of the persistence unit; the view is created once per pool.
+     *
+     * @param client the registered pool
+     * @return the pool behind a {@link CircuitBreakerPool}, or the client itself when the breaker is disabled or it is not a pool
+     */
+    public SqlClient guard(SqlClient client) {
+        if (!options.isEnabled() || !(client instanceof Pool pool)) {
+            return client;
+        }
+        Guarded<SqlClient> current = guardedPool;
+        if (current == null || current.source() != client) {
+            current = new Guarded<>(client, new CircuitBreakerPool(pool, this));
+            guardedPool = current;
+        }
+        return current.view();
+    }
+
+    /**
+     * Guards the session factory of the persistence unit: every call returning a {@link Uni}, such as
+     * {@code withSession}, {@code withTransaction} or {@code openSession}, runs through {@link #execute(Supplier)}.
+     * The view is created once per factory.
+     *
+     * @param factory the session factory
+     * @return the guarded factory, or the factory itself when the breaker is disabled
+     */
+    public Mutiny.SessionFactory guard(Mutiny.SessionFactory factory) {
+        if (!options.isEnabled() || factory == null) {
+            return factory;
+        }
+        Guarded<Mutiny.SessionFactory> current = guardedSessionFactory;
+        if (current == null || current.source() != factory) {
+            current = new Guarded<>(factory, guardedProxy(factory));
+            guardedSessionFactory = current;
+        }
+        return current.view();
+    }
+
+    /**
+     * @return provides the persistence unit's session factory guarded by this breaker
+     */
+    public Provider<Mutiny.SessionFactory> guardedSessionFactoryProvider() {
+        return () -> guard(sessionFactory());
+    }
+
+    /**
+     * Opens a reactive session through the breaker.
+     *
+     * @param work the work to perform with the session
+     * @param <T>  the result type
+     * @return the guarded result
+     */
+    public <T> Uni<T> withSession(Function<Mutiny.Session, Uni<T>> work) {
+        return execute(() -> sessionFactory().withSession(work));
+    }
+
+    /**
+     * Runs a reactive transaction through the breaker.
+     * While tracing is enabled the begin (up to the work starting) and commit (from the work completing) phases are
+     * reported as spans.
+     *
+     * @param work the work to perform inside the transaction
+     * @param <T>  the result type
+     * @return the guarded result
+     */
+    public <T> Uni<T> withTransaction(Function<Mutiny.Session, Uni<T>> work) {
+        if (!PersistenceTracing.isEnabled()) {
+            return execute(() -> sessionFactory().withTransaction(work));
+        }
+        return execute(() -> {
+            PersistenceSpan begin = PersistenceTracing.startSpan(PersistenceTracer.TRANSACTION_BEGIN, persistenceUnitName);
+            AtomicBoolean begun = new AtomicBoolean();
+            PersistenceSpan[] commit = {PersistenceSpan.NOOP};
+            return sessionFactory().withTransaction((Mutiny.Session session) -> {
+                        if (begun.compareAndSet(false, true)) {
+                            begin.end();
+                        }
+                        return work.apply(session)
+                                .onItem().invoke(() -> commit[0] = PersistenceTracing.startSpan(PersistenceTracer.TRANSACTION_COMMIT, persistenceUnitName));
+                    })
+                    .onItemOrFailure().invoke((item, failure) -> {
+                        if (begun.compareAndSet(false, true)) {
+                            begin.end(failure);
+                        }
+                        commit[0].end(failure);
+                    });
+        });
+    }
+
+    /**
+     * Borrows a connection from the persistence unit's Vert.x pool through the breaker.
+     * While tracing is enabled the wait for the connection is reported as a {@link PersistenceTracer#POOL_ACQUIRE} span.
+     *
+     * @param work the work to perform with the connection
+     * @param <T>  the result type
+     * @return the guarded result
+     */
+    public <T> Uni<T> withConnection(Function<SqlConnection, Future<T>> work) {
+        return execute(() -> {
+            SqlClient client = poolSupplier == null ? null : poolSupplier.get();
+            if (!(client instanceof Pool pool)) {
+                return Uni.createFrom().failure(new IllegalStateException("No Vert.x pool registered for persistence unit " + persistenceUnitName));
+            }
+            if (!PersistenceTracing.isEnabled()) {
+                return Uni.createFrom().completionStage(() -> pool.withConnection(work).toCompletionStage());
+            }
+            return Uni.createFrom().completionStage(() -> {
+                PersistenceSpan acquire = PersistenceTracing.startSpan(PersistenceTracer.POOL_ACQUIRE, persistenceUnitName);
+                return pool.getConnection()
+                        .andThen(ar -> acquire.end(ar.cause()))
+                        .compose(connection -> work.apply(connection).andThen(ar -> connection.close()))
+                        .toCompletionStage();
+            });
+        });
+    }
+
+    /**
+     * Returns the current state, moving from open to half-open once the wait duration has elapsed.
+     *
+     * @return the breaker state
+     */
+    public CircuitBreakerState getState() {
+        if (state == CircuitBreakerState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            synchronized (this) {
+                if (state == CircuitBreakerState.OPEN) {
+                    state = CircuitBreakerState.HALF_OPEN;
+                    log.info("🔌 Circuit breaker for PU '{}' is half-open, probing", persistenceUnitName);
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Forces the breaker closed and clears the recorded calls.
+     */
+    public synchronized void reset() {
+        clearWindow();
+        state = CircuitBreakerState.CLOSED;
+        probing.set(false);
+    }
+
+    /**
+     * @return the persistence unit this breaker guards
+     */
+    public String getPersistenceUnitName() {
+        return persistenceUnitName;
+    }
+
+    /**
+     * @return the thresholds in use
+     */
+    public CircuitBreakerOptions getOptions() {
+        return options;
+    }
+
+    private <T> Uni<T> record(Supplier<Uni<T>> operation) {
+        long start = System.nanoTime();
+        Uni<T> uni;
+        try {
+            uni = operation.get();
+        } catch (Throwable t) {
+            onResult(false, System.nanoTime() - start);
+            return Uni.createFrom().failure(t);
+        }
+        return uni.onItemOrFailure().invoke((item, failure) -> onResult(failure == null, System.nanoTime() - start));
+    }
+
+    private <T> Uni<T> probe(Supplier<Uni<T>> operation) {
+        SqlClient client = poolSupplier == null ? null : poolSupplier.get();
+        if (testQuery == null || testQuery.isBlank() || client == null) {
+            // No probe query available, the call itself decides
+            long start = System.nanoTime();
+            return Uni.createFrom().deferred(operation)
+                    .onItemOrFailure().invoke((item, failure) -> onProbeResult(failure == null && System.nanoTime() - start < slowCallNanos))
+                    .onCancellation().invoke(this::onProbeCancelled);
+        }
+        return Uni.createFrom().completionStage(() -> client.query(testQuery).execute().toCompletionStage())
+                .ifNoItem().after(Duration.ofMillis(options.getProbeTimeout())).fail()
+                .onItemOrFailure().invoke((rows, failure) -> onProbeResult(failure == null))
+                .onCancellation().invoke(this::onProbeCancelled)
+                .onFailure().transform(t -> new CircuitBreakerOpenException("Probe failed for persistence unit " + persistenceUnitName, t))
+                .chain(() -> record(operation));
+    }
+
+    private synchronized void onProbeResult(boolean healthy) {
+        probing.set(false);
+        if (healthy) {
+            clearWindow();
+            state = CircuitBreakerState.CLOSED;
+            log.info("✅ Circuit breaker for PU '{}' closed", persistenceUnitName);
+        } else {
+            open();
+        }
+    }
+
+    /**
+     * A cancelled probe reports no outcome, so the breaker stays half-open and lets the next call probe again.
+     */
+    private void onProbeCancelled() {
+        probing.set(false);
+    }
+
+    private synchronized void onResult(boolean success, long elapsedNanos) {
+        if (state != CircuitBreakerState.CLOSED) {
+            return;
+        }
+        byte outcome = !success ? FAILURE : elapsedNanos >= slowCallNanos ? SLOW : SUCCESS;
+        if (recordedCalls == window.length) {
+            byte evicted = window[windowIndex];
+            if (evicted == FAILURE) {
+                failedCalls--;
+            } else if (evicted == SLOW) {
+                slowCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (outcome == FAILURE) {
+            failedCalls++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+        if (recordedCalls < options.getMinimumNumberOfCalls()) {
+            return;
+        }
+        if (failedCalls * 100 >= options.getFailureRateThreshold() * recordedCalls
+                || slowCalls * 100 >= options.getSlowCallRateThreshold() * recordedCalls) {
+            log.warn("⚠️ Circuit breaker for PU '{}' opening - {} failed and {} slow of the last {} calls",
+                    persistenceUnitName, failedCalls, slowCalls, recordedCalls);
+            open();
+        }
+    }
+
+    private void open() {
+        clearWindow();
+        openedAt = System.nanoTime();
+        state = CircuitBreakerState.OPEN;
+    }
+
+    private void clearWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mutiny.SessionFactory guardedProxy(Mutiny.SessionFactory factory) {
+        return (Mutiny.SessionFactory) Proxy.newProxyInstance(Mutiny.SessionFactory.class.getClassLoader(),
+                new Class<?>[]{Mutiny.SessionFactory.class}, (proxy, method, args) -> {
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (!Uni.class.isAssignableFrom(method.getReturnType())) {
+                        return invoke(method, factory, args);
+                    }
+                    return execute(() -> (Uni<Object>) invoke(method, factory, args));
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    CircuitBreakerOpenException openException() {
+        return new CircuitBreakerOpenException("Circuit breaker is open for persistence unit " + persistenceUnitName);
+    }
+
+    private Mutiny.SessionFactory sessionFactory() {
+        if (sessionFactoryProvider == null) {
+            throw new IllegalStateException("No Mutiny.SessionFactory available for persistence unit " + persistenceUnitName);
+        }
+        return sessionFactoryProvider.get();
+    }
+
+    /**
+     * A guarded view and the instance it was created for.
+     */
+    private record Guarded<T>(T source, T view) {
+    }
+}
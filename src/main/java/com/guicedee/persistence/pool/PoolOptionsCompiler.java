@@ -0,0 +1,170 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import io.vertx.core.VertxOptions;
+import io.vertx.sqlclient.PoolOptions;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles the pool settings of a persistence unit into Vert.x {@link PoolOptions}, identically for every vendor.
+ * <p>
+ * {@link ConnectionBaseInfo#getMaxIdleTime()}, {@link ConnectionBaseInfo#getMaxLifeTime()} and
+ * {@link ConnectionBaseInfo#getAcquisitionTimeout()} are in seconds and passed with {@link TimeUnit#SECONDS}; unset or
+ * non-positive values keep the Vert.x defaults (no idle timeout, no lifetime limit, 30 second acquisition timeout).
+ * The remaining settings come from {@link ConnectionBaseInfo#getPoolTuning()}, including the {@link PoolAffinity}:
+ * {@link PoolAffinity#EVENT_LOOP} spreads the connections over the event loops, and a partition created by
+ * {@link PoolPartitions} gets its share of the pool size, stays on its creating context and is not shared. The unit's
+ * registered pool keeps what its partitions leave over, so partitions and registered pool together open no more than
+ * {@code maxPoolSize} connections. A slice
+ * created by {@link RecyclingPool} likewise gets its share of the pool size, has no lifetime limit and is not shared.
+ */
+@Log4j2
+public final class PoolOptionsCompiler {
+
+    private PoolOptionsCompiler() {
+    }
+
+    /**
+     * Compiles the pool options of a persistence unit.
+     *
+     * @param info            the persistence unit's connection info
+     * @param defaultPoolName the pool name used when the unit has none
+     * @return new pool options
+     */
+    public static PoolOptions compile(ConnectionBaseInfo info, String defaultPoolName) {
+        PoolTuningOptions tuning = info.getPoolTuning() != null ? info.getPoolTuning() : new PoolTuningOptions();
+        PoolOptions poolOptions = new PoolOptions();
+
+        if (info.getMaxPoolSize() != null && info.getMaxPoolSize() > 0) {
+            poolOptions.setMaxSize(info.getMaxPoolSize());
+        }
+        int maxSize = poolOptions.getMaxSize();
+        if (tuning.getAffinity() == PoolAffinity.CONTEXT) {
+            poolOptions.setMaxSize(unitPoolSize(info));
+        }
+
+        if (info.getMaxIdleTime() != null && info.getMaxIdleTime() > 0) {
+            poolOptions.setIdleTimeout(info.getMaxIdleTime());
+            poolOptions.setIdleTimeoutUnit(TimeUnit.SECONDS);
+        }
+
+        if (info.getMaxLifeTime() != null && info.getMaxLifeTime() > 0) {
+            poolOptions.setMaxLifetime(info.getMaxLifeTime());
+            poolOptions.setMaxLifetimeUnit(TimeUnit.SECONDS);
+        }
+
+        if (info.getAcquisitionTimeout() != null && info.getAcquisitionTimeout() > 0) {
+            poolOptions.setConnectionTimeout(info.getAcquisitionTimeout());
+            poolOptions.setConnectionTimeoutUnit(TimeUnit.SECONDS);
+        }
+
+        poolOptions.setMaxWaitQueueSize(tuning.getMaxWaitQueueSize());
+        if (tuning.getPoolCleanerPeriod() > 0) {
+            poolOptions.setPoolCleanerPeriod(tuning.getPoolCleanerPeriod());
+        }
+        if (tuning.getAffinity() == PoolAffinity.EVENT_LOOP) {
+            poolOptions.setEventLoopSize(eventLoops(tuning));
+        } else if (tuning.getEventLoopSize() > 0) {
+            poolOptions.setEventLoopSize(tuning.getEventLoopSize());
+        }
+
+        // A shared, named pool is reused by Hibernate Reactive when it asks for the same name
+        String poolName = info.getPoolName() != null && !info.getPoolName().isBlank() ? info.getPoolName() : defaultPoolName;
+        poolOptions.setShared(tuning.isShared());
+        poolOptions.setName(poolName);
+
+        // A context partition keeps its connections on the creating context and belongs to that context alone
+        Integer partition = PoolPartitions.creatingPartition();
+        if (partition != null) {
+            poolOptions.setMaxSize(partitionSize(tuning, maxSize));
+            poolOptions.setEventLoopSize(0);
+            poolOptions.setShared(false);
+            poolOptions.setName(poolName + "-partition-" + partition);
+        }
+
+        // A recycling slice gets its share of the pool size and is retired by rotation rather than by lifetime
+        RecyclingPool.Slice slice = RecyclingPool.creatingSlice();
+        if (slice != null) {
+            poolOptions.setMaxSize(slice.size());
+            poolOptions.setMaxLifetime(0);
+            poolOptions.setShared(false);
+            poolOptions.setName(poolName + "-slice-" + slice.name());
+        }
+
+        log.debug("[DB-POOL] PU='{}' pool='{}' maxSize={} idle={}s lifetime={}s connectionTimeout={}s waitQueue={} cleaner={}ms eventLoops={}",
+                info.getPersistenceUnitName(), poolName, poolOptions.getMaxSize(), info.getMaxIdleTime(), info.getMaxLifeTime(),
+                info.getAcquisitionTimeout(), poolOptions.getMaxWaitQueueSize(), poolOptions.getPoolCleanerPeriod(),
+                poolOptions.getEventLoopSize());
+        return poolOptions;
+    }
+
+    /**
+     * Sets the socket idle timeout of a unit's connect options to its {@link ConnectionBaseInfo#getMaxIdleTime()}, in
+     * seconds with {@link TimeUnit#SECONDS} set explicitly. Connect options without a socket idle timeout are left as
+     * they are, the pool's idle timeout applies either way.
+     *
+     * @param connectOptions the connect options, set reflectively so vendor-neutral units need no driver types
+     * @param info           the persistence unit's connection info
+     */
+    public static void applyIdleTimeout(Object connectOptions, ConnectionBaseInfo info) {
+        if (connectOptions == null || info.getMaxIdleTime() == null || info.getMaxIdleTime() <= 0) {
+            return;
+        }
+        try {
+            Method setIdleTimeout = connectOptions.getClass().getMethod("setIdleTimeout", int.class);
+            Method setIdleTimeoutUnit = connectOptions.getClass().getMethod("setIdleTimeoutUnit", TimeUnit.class);
+            setIdleTimeout.invoke(connectOptions, info.getMaxIdleTime());
+            setIdleTimeoutUnit.invoke(connectOptions, TimeUnit.SECONDS);
+        } catch (NoSuchMethodException e) {
+            log.debug("[DB-POOL] {} has no socket idle timeout, PU='{}' relies on the pool idle timeout",
+                    connectOptions.getClass().getSimpleName(), info.getPersistenceUnitName());
+        } catch (ReflectiveOperationException e) {
+            log.error("Error setting idle timeout", e);
+        }
+    }
+
+    /**
+     * Returns how many context partitions a unit may hold. One connection of the pool size is kept for the unit's
+     * registered pool, so a unit whose partitions would need all of it holds one partition less.
+     *
+     * @param info the persistence unit's connection info
+     * @return the partition limit, 0 when the pool size leaves no room for a partition
+     */
+    static int partitionLimit(ConnectionBaseInfo info) {
+        PoolTuningOptions tuning = info.getPoolTuning() != null ? info.getPoolTuning() : new PoolTuningOptions();
+        int maxSize = maxSize(info);
+        return (maxSize - 1) / partitionSize(tuning, maxSize);
+    }
+
+    /**
+     * Returns the size of a unit's registered pool: its pool size, or with {@link PoolAffinity#CONTEXT} what is left
+     * after every partition it may hold.
+     *
+     * @param info the persistence unit's connection info
+     * @return the registered pool size, at least 1
+     */
+    static int unitPoolSize(ConnectionBaseInfo info) {
+        int maxSize = maxSize(info);
+        PoolTuningOptions tuning = info.getPoolTuning();
+        if (tuning == null || tuning.getAffinity() != PoolAffinity.CONTEXT) {
+            return maxSize;
+        }
+        return maxSize - partitionLimit(info) * partitionSize(tuning, maxSize);
+    }
+
+    private static int maxSize(ConnectionBaseInfo info) {
+        return info.getMaxPoolSize() != null && info.getMaxPoolSize() > 0 ? info.getMaxPoolSize() : PoolOptions.DEFAULT_MAX_SIZE;
+    }
+
+    private static int partitionSize(PoolTuningOptions tuning, int maxSize) {
+        return tuning.getPartitionMaxSize() > 0 ? tuning.getPartitionMaxSize()
+                : Math.max(1, (maxSize + eventLoops(tuning) - 1) / eventLoops(tuning));
+    }
+
+    private static int eventLoops(PoolTuningOptions tuning) {
+        return tuning.getEventLoopSize() > 0 ? tuning.getEventLoopSize() : VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
+    }
+}
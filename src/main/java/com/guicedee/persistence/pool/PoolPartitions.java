@@ -0,0 +1,171 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.SqlClient;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the per-context pool partitions of persistence units using {@link PoolAffinity#CONTEXT}.
+ * <p>
+ * A partition is created the first time a Vert.x context borrows from the unit, on that context, so its connections
+ * live on the context's event loop and query callbacks are delivered without a thread hop. The partition is kept in
+ * the context's data, which duplicated contexts share with their verticle context, so every handler of a verticle uses
+ * the same partition.
+ * <p>
+ * Every partition is registered per unit, and a unit gets at most as many partitions as fit in its
+ * {@code maxPoolSize} next to at least one connection of its registered pool, see
+ * {@link PoolOptionsCompiler#partitionLimit(ConnectionBaseInfo)}. The registered pool is sized to what the partitions
+ * leave over, and further contexts get null and borrow from it. Partitions of undeployed verticles are dropped from the count when the
+ * limit is reached. {@link #closeAll()} closes every partition on reset, and {@link PoolReconfigurer} drains the
+ * partitions of a unit it swaps, so the next borrow creates them with the new settings.
+ * <p>
+ * {@link ReconfigurableSqlClientPool} borrows from the partitions, so Hibernate Reactive sessions follow the affinity.
+ */
+@Log4j2
+public final class PoolPartitions {
+
+    private static final String CONTEXT_KEY_PREFIX = "guicedee.persistence.partition.";
+
+    private static final ThreadLocal<Integer> creating = new ThreadLocal<>();
+    private static final Map<String, AtomicInteger> created = new ConcurrentHashMap<>();
+    private static final Map<String, List<Partition>> partitions = new ConcurrentHashMap<>();
+
+    private PoolPartitions() {
+    }
+
+    /**
+     * Returns the partition of the calling context, creating it on first use.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param connectionInfo      the unit's connection settings
+     * @return the partition, or null when called outside a Vert.x context, the unit has reached its partition limit or
+     * the partition could not be created
+     */
+    public static SqlClient current(String persistenceUnitName, ConnectionBaseInfo connectionInfo) {
+        Context context = Vertx.currentContext();
+        if (context == null) {
+            return null;
+        }
+        String key = CONTEXT_KEY_PREFIX + persistenceUnitName;
+        if (context.get(key) instanceof SqlClient partition) {
+            return partition;
+        }
+        List<Partition> unitPartitions = partitions.computeIfAbsent(persistenceUnitName, k -> new ArrayList<>());
+        synchronized (unitPartitions) {
+            int limit = PoolOptionsCompiler.partitionLimit(connectionInfo);
+            if (unitPartitions.size() >= limit) {
+                pruneUndeployed(unitPartitions, context.owner());
+            }
+            if (unitPartitions.size() >= limit) {
+                log.debug("[DB-POOL] PU='{}' has its limit of {} partitions, thread='{}' borrows from the unit pool",
+                        persistenceUnitName, limit, Thread.currentThread().getName());
+                return null;
+            }
+            int index = created.computeIfAbsent(persistenceUnitName, k -> new AtomicInteger()).incrementAndGet();
+            SqlClient partition;
+            creating.set(index);
+            try {
+                partition = DrainablePool.wrap(connectionInfo.toPooledDatasource());
+            } finally {
+                creating.remove();
+            }
+            if (partition != null) {
+                context.put(key, partition);
+                unitPartitions.add(new Partition(context, key, partition));
+                log.info("[DB-POOL] Created partition {} of PU='{}' on thread='{}'", index, persistenceUnitName, Thread.currentThread().getName());
+            }
+            return partition;
+        }
+    }
+
+    /**
+     * Removes the partitions of a unit and drains them; contexts borrowing afterwards create new partitions.
+     *
+     * @param persistenceUnitName the persistence unit
+     * @param vertx               the Vert.x instance for the timeout, the partitions are closed at once when null
+     * @param drainTimeout        the upper bound for borrowed work to finish
+     * @return completes when every partition is closed
+     */
+    public static Future<Void> closeAll(String persistenceUnitName, Vertx vertx, Duration drainTimeout) {
+        List<Partition> unitPartitions = partitions.remove(persistenceUnitName);
+        if (unitPartitions == null) {
+            return Future.succeededFuture();
+        }
+        List<Future<Void>> closed = new ArrayList<>();
+        synchronized (unitPartitions) {
+            for (Partition partition : unitPartitions) {
+                partition.context().remove(partition.key());
+                closed.add(PoolReconfigurer.drain(partition.client(), vertx, drainTimeout));
+            }
+            unitPartitions.clear();
+        }
+        return Future.join(closed).mapEmpty();
+    }
+
+    /**
+     * Closes the partitions of every unit at once and resets the creation counts.
+     *
+     * @return completes when every partition is closed
+     */
+    public static Future<Void> closeAll() {
+        List<Future<Void>> closed = new ArrayList<>();
+        for (String persistenceUnitName : List.copyOf(partitions.keySet())) {
+            closed.add(closeAll(persistenceUnitName, null, Duration.ZERO));
+        }
+        created.clear();
+        return Future.join(closed).mapEmpty();
+    }
+
+    /**
+     * @param persistenceUnitName the persistence unit
+     * @return the number of partitions created for the unit since startup or the last {@link #closeAll()}
+     */
+    public static int getPartitionsCreated(String persistenceUnitName) {
+        AtomicInteger count = created.get(persistenceUnitName);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @param persistenceUnitName the persistence unit
+     * @return the number of partitions the unit currently holds
+     */
+    public static int getPartitionCount(String persistenceUnitName) {
+        List<Partition> unitPartitions = partitions.get(persistenceUnitName);
+        if (unitPartitions == null) {
+            return 0;
+        }
+        synchronized (unitPartitions) {
+            return unitPartitions.size();
+        }
+    }
+
+    /**
+     * @return the index of the partition being created on this thread, or null outside {@link #current(String, ConnectionBaseInfo)}
+     */
+    static Integer creatingPartition() {
+        return creating.get();
+    }
+
+    /**
+     * Drops the partitions whose verticle is no longer deployed; Vert.x closed their pools with the verticle.
+     */
+    private static void pruneUndeployed(List<Partition> unitPartitions, Vertx vertx) {
+        Set<String> deployed = vertx.deploymentIDs();
+        unitPartitions.removeIf(partition -> partition.context().deploymentID() != null
+                && !deployed.contains(partition.context().deploymentID()));
+    }
+
+    private record Partition(Context context, String key, SqlClient client) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.bind.JtaPersistModule;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.vertx.spi.VertXPreStartup;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.SqlClient;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replaces the Vert.x pool of a running persistence unit without a restart.
+ * <p>
+ * A new pool is built from the updated {@link ConnectionBaseInfo}, checked with the validation query, and atomically
+ * swapped into the registry behind {@link VertxPersistenceModule#getSqlClientByEntityManager(String)}. Everything that
+ * looks the pool up through the registry follows the swap: the circuit breaker, the connection validator and, for units
+ * with {@link ConnectionBaseInfo#setReconfigurablePool(Boolean)}, Hibernate Reactive via {@link ReconfigurableSqlClientPool}.
+ * <p>
+ * Work already holding a connection of the old pool finishes on it; the old pool is closed as soon as its last borrowed
+ * connection is returned, and at the latest once the drain timeout has elapsed.
+ * <p>
+ * A reactive unit must have been started with {@link ReconfigurableSqlClientPool}, otherwise Hibernate Reactive keeps
+ * its own pool and the swap is refused.
+ *
+ * <pre>{@code
+ * ConnectionBaseInfo updated = VertxPersistenceModule.getConnectionInfoByEntityManager("orders");
+ * updated.setMaxPoolSize(40);
+ * PoolReconfigurer.reconfigure("orders", updated).await().indefinitely();
+ * }</pre>
+ */
+@Log4j2
+public final class PoolReconfigurer {
+
+    /**
+     * The default time given to in-flight work on the old pool before it is closed
+     */
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Map<String, AtomicInteger> generations = new ConcurrentHashMap<>();
+
+    private PoolReconfigurer() {
+    }
+
+    /**
+     * Swaps the pool of a persistence unit, draining the old pool for {@link #DEFAULT_DRAIN_TIMEOUT}.
+     *
+     * @param persistenceUnitName the persistence unit to reconfigure
+     * @param updated             the new connection settings
+     * @return completes once the new pool is live
+     */
+    public static Uni<Void> reconfigure(String persistenceUnitName, ConnectionBaseInfo updated) {
+        return reconfigure(persistenceUnitName, updated, DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * Swaps the pool of a persistence unit.
+     *
+     * @param persistenceUnitName the persistence unit to reconfigure
+     * @param updated             the new connection settings
+     * @param drainTimeout        the longest in-flight work may keep using the old pool before it is closed
+     * @return completes once the new pool is live, fails and leaves the old pool in place when the new pool cannot connect
+     * or Hibernate Reactive of the unit does not borrow through {@link ReconfigurableSqlClientPool}
+     */
+    public static Uni<Void> reconfigure(String persistenceUnitName, ConnectionBaseInfo updated, Duration drainTimeout) {
+        ConnectionBaseInfo current = VertxPersistenceModule.getConnectionInfoByEntityManager(persistenceUnitName);
+        if (current == null) {
+            return Uni.createFrom().failure(new IllegalArgumentException("No persistence unit registered with name " + persistenceUnitName));
+        }
+        if (current.isReactive() && !ReconfigurableSqlClientPool.isInstalled(persistenceUnitName)) {
+            return Uni.createFrom().failure(new IllegalStateException("Persistence unit " + persistenceUnitName
+                    + " was not started with ReconfigurableSqlClientPool, Hibernate Reactive would keep its current pool;"
+                    + " enable ConnectionBaseInfo.setReconfigurablePool(true)"));
+        }
+        return rebuild(persistenceUnitName, updated, drainTimeout);
+    }
+
+    /**
+     * Replaces the pool of a persistence unit with a fresh pool built from its current settings, so connections found
+     * dead are closed with the old pool instead of being handed out again.
+     * <p>
+     * The settings do not change, so a reactive unit without {@link ReconfigurableSqlClientPool} is renewed as well;
+     * its Hibernate Reactive pool is not validated through the registry either.
+     *
+     * @param persistenceUnitName the persistence unit to renew
+     * @param drainTimeout        the longest in-flight work may keep using the old pool before it is closed
+     * @return completes once the fresh pool is live, fails and leaves the old pool in place when it cannot connect
+     */
+    public static Uni<Void> renew(String persistenceUnitName, Duration drainTimeout) {
+        ConnectionBaseInfo current = VertxPersistenceModule.getConnectionInfoByEntityManager(persistenceUnitName);
+        if (current == null) {
+            return Uni.createFrom().failure(new IllegalArgumentException("No persistence unit registered with name " + persistenceUnitName));
+        }
+        return rebuild(persistenceUnitName, current, drainTimeout);
+    }
+
+    private static Uni<Void> rebuild(String persistenceUnitName, ConnectionBaseInfo updated, Duration drainTimeout) {
+        int generation = generations.computeIfAbsent(persistenceUnitName, k -> new AtomicInteger()).incrementAndGet();
+        updated.setPersistenceUnitName(persistenceUnitName);
+        updated.setPoolName(persistenceUnitName + "-" + generation);
+
+        return Uni.createFrom().item(() -> RecyclingPool.create(updated))
+                .onItem().ifNull().failWith(() -> new IllegalStateException("Unable to build a new pool for persistence unit " + persistenceUnitName))
+                .call(pool -> warmUp(pool, updated.getValidationQuery()))
+                .invoke(pool -> swap(persistenceUnitName, updated, pool, drainTimeout))
+                .replaceWithVoid();
+    }
+
+    private static Uni<?> warmUp(SqlClient pool, String validationQuery) {
+        if (validationQuery == null) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(() -> pool.query(validationQuery).execute().toCompletionStage())
+                .onFailure().call(t -> Uni.createFrom().completionStage(() -> pool.close().toCompletionStage()));
+    }
+
+    private static void swap(String persistenceUnitName, ConnectionBaseInfo updated, SqlClient pool, Duration drainTimeout) {
+        SqlClient old;
+        Map<ConnectionBaseInfo, JtaPersistModule> modules = VertxPersistenceModule.getConnectionModules();
+        synchronized (modules) {
+            old = VertxPersistenceModule.getSqlClientMap().put(persistenceUnitName, pool);
+            ConnectionBaseInfo current = VertxPersistenceModule.getConnectionInfoByEntityManager(persistenceUnitName);
+            if (current != null && current != updated) {
+                // ConnectionBaseInfo equality is by persistence unit name, re-key so lookups return the new settings
+                JtaPersistModule module = modules.remove(current);
+                modules.put(updated, module);
+            }
+        }
+        log.info("🔄 [DB-POOL] Swapped pool for PU='{}' to '{}', draining previous pool for up to {}ms",
+                persistenceUnitName, updated.getPoolName(), drainTimeout.toMillis());
+        // Context partitions were created with the previous settings, contexts create new ones on their next borrow
+        PoolPartitions.closeAll(persistenceUnitName, VertXPreStartup.getVertx(), drainTimeout);
+        if (old == null || old == pool) {
+            return;
+        }
+        drain(old, VertXPreStartup.getVertx(), drainTimeout)
+                .onSuccess(v -> log.info("🛑 [DB-POOL] Closed drained pool of PU='{}'", persistenceUnitName))
+                .onFailure(t -> log.warn("⚠️ [DB-POOL] Closing drained pool of PU='{}' failed: {}", persistenceUnitName, t.getMessage()));
+    }
+
+    /**
+     * Closes a replaced pool once its borrowed connections are returned, at the latest after the timeout.
+     * Pools that do not count their borrowed connections are closed when the timeout elapses.
+     *
+     * @param old          the replaced pool
+     * @param vertx        the Vert.x instance for the timeout, the pool is closed at once when null
+     * @param drainTimeout the upper bound for borrowed work to finish
+     * @return completes when the pool is closed
+     */
+    static Future<Void> drain(SqlClient old, Vertx vertx, Duration drainTimeout) {
+        long timeout = Math.max(0, drainTimeout.toMillis());
+        if (old instanceof DrainablePool drainable) {
+            return drainable.drain(vertx, timeout);
+        }
+        if (old instanceof RecyclingPool recycling) {
+            return recycling.drain(vertx, timeout);
+        }
+        if (vertx == null || timeout == 0) {
+            return old.close();
+        }
+        Promise<Void> closed = Promise.promise();
+        vertx.setTimer(timeout, id -> old.close().onComplete(closed));
+        return closed.future();
+    }
+}
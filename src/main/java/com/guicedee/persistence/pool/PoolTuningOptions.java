@@ -0,0 +1,60 @@
+package com.guicedee.persistence.pool;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Pool settings of a persistence unit that have no equivalent among the JDBC style connection properties.
+ * <p>
+ * Together with the pool size, idle time, lifetime and acquisition timeout of the unit they are compiled into the
+ * Vert.x {@code PoolOptions} of every vendor by {@link PoolOptionsCompiler}.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, setterVisibility = NONE)
+@JsonInclude(NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ToString
+@Getter
+@Setter
+@Accessors(chain = true)
+public class PoolTuningOptions {
+
+    /**
+     * Event loops the pool spreads its connections over, {@code 0} keeps connections on the creating context. Defaults to {@code 0}.
+     */
+    private int eventLoopSize;
+
+    /**
+     * Requests allowed to wait for a connection before further requests fail, {@code -1} is unbounded. Defaults to {@code -1}.
+     */
+    private int maxWaitQueueSize = -1;
+
+    /**
+     * Interval in milliseconds at which idle and expired connections are evicted. Defaults to {@code 1000}.
+     */
+    private int poolCleanerPeriod = 1000;
+
+    /**
+     * Whether the pool is shared by name across Vert.x contexts, so Hibernate Reactive reuses it. Defaults to {@code true}.
+     */
+    private boolean shared = true;
+
+    /**
+     * How connections are tied to event loops. Defaults to {@link PoolAffinity#NONE}.
+     */
+    private PoolAffinity affinity = PoolAffinity.NONE;
+
+    /**
+     * Connections per context partition with {@link PoolAffinity#CONTEXT}, {@code 0} divides the unit's
+     * {@code maxPoolSize} by the event loop count (at least 1). Defaults to {@code 0}.
+     */
+    private int partitionMaxSize;
+}
@@ -0,0 +1,136 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.reactive.pool.impl.SqlClientPool;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.Stoppable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A Hibernate Reactive connection pool that borrows from the Vert.x pool registered for its persistence unit in
+ * {@link VertxPersistenceModule#getSqlClientMap()}.
+ * <p>
+ * The pool is looked up on every borrow, so when {@link PoolReconfigurer} swaps the registered pool new sessions
+ * immediately use the new pool while sessions already holding a connection finish on the old one.
+ * <p>
+ * Units with {@link PoolAffinity#CONTEXT} borrow from the calling context's {@link PoolPartitions partition} instead,
+ * falling back to the registered pool outside a Vert.x context.
+ * <p>
+ * Enabled per persistence unit with {@link ConnectionBaseInfo#setReconfigurablePool(Boolean)}, {@link PoolAffinity#CONTEXT}
+ * or {@link ConnectionRecyclingOptions#isEnabled() connection recycling}, any of which registers this class as
+ * {@code hibernate.vertx.pool.class}.
+ */
+@Log4j2
+public class ReconfigurableSqlClientPool extends SqlClientPool implements ServiceRegistryAwareService, Configurable, Stoppable {
+
+    /**
+     * The property carrying the persistence unit whose registered pool is used
+     */
+    public static final String PERSISTENCE_UNIT_PROPERTY = "hibernate.vertx.pool.persistence-unit";
+
+    private static final Set<String> installed = ConcurrentHashMap.newKeySet();
+
+    private String persistenceUnitName;
+    private SqlStatementLogger sqlStatementLogger;
+    private SqlExceptionHelper sqlExceptionHelper;
+
+    /**
+     * Instantiated by Hibernate Reactive from {@code hibernate.vertx.pool.class}.
+     */
+    public ReconfigurableSqlClientPool() {
+    }
+
+    @Override
+    public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+        JdbcServices jdbcServices = serviceRegistry.getService(JdbcServices.class);
+        sqlStatementLogger = jdbcServices.getSqlStatementLogger();
+        sqlExceptionHelper = jdbcServices.getSqlExceptionHelper();
+    }
+
+    @Override
+    public void configure(Map<String, Object> configuration) {
+        Object unit = configuration.get(PERSISTENCE_UNIT_PROPERTY);
+        persistenceUnitName = unit == null ? null : unit.toString();
+        if (persistenceUnitName != null) {
+            installed.add(persistenceUnitName);
+        }
+        log.info("[DB-POOL] Hibernate Reactive for PU='{}' borrows from the registered reconfigurable pool", persistenceUnitName);
+    }
+
+    @Override
+    protected Pool getPool() {
+        ConnectionBaseInfo unitInfo = VertxPersistenceModule.getConnectionInfoByEntityManager(persistenceUnitName);
+        if (unitInfo != null && unitInfo.getPoolTuning() != null && unitInfo.getPoolTuning().getAffinity() == PoolAffinity.CONTEXT
+                && PoolPartitions.current(persistenceUnitName, unitInfo) instanceof Pool partition) {
+            return partition;
+        }
+        // Sessions are guarded by the bound session factory, borrowing through the breaker again would count them twice
+        SqlClient client = VertxPersistenceModule.getRegisteredSqlClient(persistenceUnitName);
+        if (client == null) {
+            ConnectionBaseInfo connectionInfo = VertxPersistenceModule.getConnectionInfoByEntityManager(persistenceUnitName);
+            if (connectionInfo != null) {
+                SqlClient created = RecyclingPool.create(connectionInfo);
+                if (created != null) {
+                    client = VertxPersistenceModule.getSqlClientMap().putIfAbsent(persistenceUnitName, created);
+                    if (client == null) {
+                        client = created;
+                    } else {
+                        created.close();
+                    }
+                }
+            }
+        }
+        if (client instanceof Pool pool) {
+            return pool;
+        }
+        throw new IllegalStateException("No Vert.x pool registered for persistence unit " + persistenceUnitName);
+    }
+
+    @Override
+    public void stop() {
+        if (persistenceUnitName != null) {
+            installed.remove(persistenceUnitName);
+        }
+    }
+
+    /**
+     * @param persistenceUnitName the persistence unit
+     * @return true when Hibernate Reactive of the unit borrows through this pool, so it follows pool swaps
+     */
+    public static boolean isInstalled(String persistenceUnitName) {
+        return installed.contains(persistenceUnitName);
+    }
+
+    @Override
+    protected SqlStatementLogger getSqlStatementLogger() {
+        return sqlStatementLogger;
+    }
+
+    @Override
+    public SqlExceptionHelper getSqlExceptionHelper() {
+        return sqlExceptionHelper;
+    }
+
+    /**
+     * The registered pool is owned by the persistence module, closing the session factory leaves it open.
+     *
+     * @return a completed stage
+     */
+    public CompletionStage<Void> getCloseFuture() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
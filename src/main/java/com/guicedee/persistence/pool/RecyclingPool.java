@@ -0,0 +1,418 @@
+package com.guicedee.persistence.pool;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.vertx.spi.VertXPreStartup;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PrepareOptions;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.TransactionPropagation;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A pool that retires the connections of a persistence unit a slice at a time instead of all at once.
+ * <p>
+ * Vert.x retires each connection when it reaches {@code maxLifeTime}, so connections opened together during warm-up or
+ * a traffic burst are all closed and reopened together, and every node started together does the same. This pool
+ * splits the unit's {@link ConnectionBaseInfo#getMaxPoolSize()} over {@link ConnectionRecyclingOptions#sliceCount(int)}
+ * independent Vert.x pools of at most {@link ConnectionRecyclingOptions#retireLimit(int)} connections each, and hands
+ * out connections from them in turn, skipping slices whose connections are all borrowed. Every
+ * {@code maxLifeTime / slices}, shortened by a random {@link ConnectionRecyclingOptions#getLifetimeJitter()}, one slice is replaced by a fresh one, oldest
+ * first; the replaced slice is closed once its borrowed connections are returned, at the latest after
+ * {@link ConnectionRecyclingOptions#getDrainTimeout()}. At most {@link ConnectionRecyclingOptions#getMaxRetirePercent()} percent of the connections are
+ * retired per interval and no connection outlives {@code maxLifeTime} plus the drain timeout. A pool too small to retire
+ * a single connection within that percentage is not recycled, and a warning names the percentage it needs.
+ * <p>
+ * Units with recycling enabled register this pool in {@link VertxPersistenceModule#getSqlClientMap()}, and Hibernate
+ * Reactive borrows from it through {@link ReconfigurableSqlClientPool}. Recycle rate metrics are read from the
+ * registered pool:
+ *
+ * <pre>{@code
+ * if (VertxPersistenceModule.getRegisteredSqlClient("orders") instanceof RecyclingPool pool) {
+ *     long retiredLastMinute = pool.getConnectionsRetiredLastMinute();
+ * }
+ * }</pre>
+ */
+@Log4j2
+public class RecyclingPool implements Pool {
+
+    private static final long MINUTE = 60_000L;
+
+    private static final ThreadLocal<Slice> creating = new ThreadLocal<>();
+
+    private final String persistenceUnitName;
+    private final ConnectionBaseInfo connectionInfo;
+    private final ConnectionRecyclingOptions options;
+    private final AtomicReferenceArray<DrainablePool> slices;
+    private final int[] sliceSizes;
+    private final long lifetime;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicLong rotations = new AtomicLong();
+    private final AtomicLong connectionsRetired = new AtomicLong();
+    private final Deque<long[]> recentRetirements = new ArrayDeque<>();
+
+    private int oldest;
+    private volatile Vertx vertx;
+    private volatile long timerId = -1;
+    private volatile boolean closed;
+
+    /**
+     * Creates the pool of a persistence unit, recycling in slices when {@link ConnectionBaseInfo#getConnectionRecycling()}
+     * is enabled and the unit has a positive {@link ConnectionBaseInfo#getMaxLifeTime()}.
+     *
+     * @param connectionInfo the unit's connection settings
+     * @return a started recycling pool, else the unit's pool, as a {@link DrainablePool} when
+     * {@link DrainablePool#appliesTo(ConnectionBaseInfo)}; null when no pool could be created
+     */
+    public static SqlClient create(ConnectionBaseInfo connectionInfo) {
+        if (!recycles(connectionInfo)) {
+            return plainPool(connectionInfo);
+        }
+        int maxPoolSize = maxPoolSize(connectionInfo);
+        if (connectionInfo.getConnectionRecycling().retireLimit(maxPoolSize) < 1) {
+            log.warn("⚠️ [DB-POOL] PU='{}' cannot retire at most {}% of its {} connections at a time, at least {}% is needed; connections are not recycled",
+                    connectionInfo.getPersistenceUnitName(), connectionInfo.getConnectionRecycling().getMaxRetirePercent(), maxPoolSize,
+                    (100 + maxPoolSize - 1) / maxPoolSize);
+            return plainPool(connectionInfo);
+        }
+        RecyclingPool pool = new RecyclingPool(connectionInfo, connectionInfo.getConnectionRecycling());
+        if (!pool.fill()) {
+            pool.close();
+            return null;
+        }
+        pool.start(VertXPreStartup.getVertx());
+        return pool;
+    }
+
+    /**
+     * @param connectionInfo the unit's connection settings
+     * @return true when the unit's connections are recycled in slices
+     */
+    public static boolean recycles(ConnectionBaseInfo connectionInfo) {
+        return connectionInfo.getConnectionRecycling() != null && connectionInfo.getConnectionRecycling().isEnabled()
+                && connectionInfo.getMaxLifeTime() != null && connectionInfo.getMaxLifeTime() > 0;
+    }
+
+    /**
+     * Creates an unfilled recycling pool; {@link #create(ConnectionBaseInfo)} fills and starts it.
+     *
+     * @param connectionInfo the unit's connection settings
+     * @param options        the recycling settings
+     */
+    protected RecyclingPool(ConnectionBaseInfo connectionInfo, ConnectionRecyclingOptions options) {
+        this.persistenceUnitName = connectionInfo.getPersistenceUnitName();
+        this.connectionInfo = connectionInfo;
+        this.options = options;
+        int maxPoolSize = maxPoolSize(connectionInfo);
+        int count = options.sliceCount(maxPoolSize);
+        this.slices = new AtomicReferenceArray<>(count);
+        this.sliceSizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            sliceSizes[i] = Math.max(1, maxPoolSize / count + (i < maxPoolSize % count ? 1 : 0));
+        }
+        this.lifetime = connectionInfo.getMaxLifeTime() * 1000L;
+    }
+
+    /**
+     * Creates every slice.
+     *
+     * @return false when a slice could not be created
+     */
+    boolean fill() {
+        for (int i = 0; i < slices.length(); i++) {
+            DrainablePool slice = newSlice(i);
+            if (slice == null) {
+                return false;
+            }
+            slices.set(i, slice);
+        }
+        log.info("♻️ [DB-POOL] PU='{}' recycles {} slices, one every ~{}ms", persistenceUnitName, slices.length(), getRotationInterval());
+        return true;
+    }
+
+    /**
+     * Schedules the rotations on the given Vert.x instance.
+     *
+     * @param vertx the Vert.x instance, rotation is disabled when null
+     */
+    public void start(Vertx vertx) {
+        if (vertx == null) {
+            log.warn("⚠️ [DB-POOL] Vert.x is not available, connections of PU='{}' are not recycled", persistenceUnitName);
+            return;
+        }
+        this.vertx = vertx;
+        scheduleNext();
+    }
+
+    /**
+     * Replaces the oldest slice with a fresh one and closes the replaced slice once its borrowed connections are
+     * returned, at the latest after the drain timeout.
+     *
+     * @return the number of connections the replaced slice held, 0 when the fresh slice could not be created
+     */
+    public synchronized int rotate() {
+        if (closed) {
+            return 0;
+        }
+        int index = oldest;
+        DrainablePool fresh = newSlice(index);
+        if (fresh == null) {
+            log.warn("⚠️ [DB-POOL] PU='{}' could not create a replacement for slice {}, keeping the current slice", persistenceUnitName, index);
+            return 0;
+        }
+        DrainablePool retired = slices.getAndSet(index, fresh);
+        oldest = (index + 1) % slices.length();
+        int retiredSize = retired.size();
+        rotations.incrementAndGet();
+        connectionsRetired.addAndGet(retiredSize);
+        long now = System.currentTimeMillis();
+        synchronized (recentRetirements) {
+            recentRetirements.addLast(new long[]{now, retiredSize});
+            trim(now);
+        }
+        log.debug("♻️ [DB-POOL] PU='{}' retired slice {} holding {} connections", persistenceUnitName, index, retiredSize);
+        drain(retired);
+        return retiredSize;
+    }
+
+    /**
+     * Stops the rotations and closes every slice once its borrowed connections are returned, at the latest after the
+     * timeout.
+     *
+     * @param vertx         the Vert.x instance for the timeout, the slices are closed at once when null
+     * @param timeoutMillis the upper bound for borrowed work to finish
+     * @return completes when every slice is closed
+     */
+    public synchronized Future<Void> drain(Vertx vertx, long timeoutMillis) {
+        closed = true;
+        Vertx v = this.vertx;
+        if (v != null && timerId >= 0) {
+            v.cancelTimer(timerId);
+        }
+        List<Future<Void>> draining = new ArrayList<>();
+        for (int i = 0; i < slices.length(); i++) {
+            DrainablePool slice = slices.getAndSet(i, null);
+            if (slice != null) {
+                draining.add(slice.drain(vertx, timeoutMillis));
+            }
+        }
+        return Future.all(draining).mapEmpty();
+    }
+
+    /**
+     * @return the number of slices the connections are spread over
+     */
+    public int getSliceCount() {
+        return slices.length();
+    }
+
+    /**
+     * @return the nominal milliseconds between two rotations, before jitter
+     */
+    public long getRotationInterval() {
+        return Math.max(1, lifetime / slices.length());
+    }
+
+    /**
+     * @return the number of slices replaced since startup
+     */
+    public long getRotations() {
+        return rotations.get();
+    }
+
+    /**
+     * @return the number of connections retired by rotation since startup
+     */
+    public long getConnectionsRetired() {
+        return connectionsRetired.get();
+    }
+
+    /**
+     * @return the number of connections retired by rotation during the last minute, the current recycle rate
+     */
+    public long getConnectionsRetiredLastMinute() {
+        long now = System.currentTimeMillis();
+        synchronized (recentRetirements) {
+            trim(now);
+            long total = 0;
+            for (long[] retirement : recentRetirements) {
+                total += retirement[1];
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public Future<SqlConnection> getConnection() {
+        return slice().getConnection();
+    }
+
+    @Override
+    public Query<RowSet<Row>> query(String sql) {
+        return slice().query(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql) {
+        return slice().preparedQuery(sql);
+    }
+
+    @Override
+    public PreparedQuery<RowSet<Row>> preparedQuery(String sql, PrepareOptions options) {
+        return slice().preparedQuery(sql, options);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(Function<SqlConnection, Future<T>> function) {
+        return slice().withTransaction(function);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(TransactionPropagation txPropagation, Function<SqlConnection, Future<T>> function) {
+        return slice().withTransaction(txPropagation, function);
+    }
+
+    @Override
+    public <T> Future<T> withConnection(Function<SqlConnection, Future<T>> function) {
+        return slice().withConnection(function);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slices.length(); i++) {
+            DrainablePool slice = slices.get(i);
+            if (slice != null) {
+                size += slice.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Future<Void> close() {
+        return drain(null, 0);
+    }
+
+    /**
+     * @return the slice being created on this thread, or null outside a slice creation
+     */
+    static Slice creatingSlice() {
+        return creating.get();
+    }
+
+    private static SqlClient plainPool(ConnectionBaseInfo connectionInfo) {
+        SqlClient client = connectionInfo.toPooledDatasource();
+        return DrainablePool.appliesTo(connectionInfo) ? DrainablePool.wrap(client) : client;
+    }
+
+    private static int maxPoolSize(ConnectionBaseInfo connectionInfo) {
+        // With context affinity the slices share what the partitions leave over
+        return PoolOptionsCompiler.unitPoolSize(connectionInfo);
+    }
+
+    /**
+     * Picks the next slice in turn that has a connection to spare, else the least borrowed slice, so callers do not
+     * queue on a full slice while another is idle. One-shot queries are not counted as borrowed.
+     */
+    private Pool slice() {
+        int count = slices.length();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        DrainablePool leastBorrowed = null;
+        int leastSpare = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            DrainablePool slice = slices.get(index);
+            if (slice == null) {
+                continue;
+            }
+            int spare = sliceSizes[index] - slice.getInUse();
+            if (spare > 0) {
+                return slice;
+            }
+            if (spare > leastSpare) {
+                leastBorrowed = slice;
+                leastSpare = spare;
+            }
+        }
+        if (leastBorrowed != null) {
+            return leastBorrowed;
+        }
+        throw new IllegalStateException("The recycling pool of persistence unit " + persistenceUnitName + " is closed");
+    }
+
+    private DrainablePool newSlice(int index) {
+        SqlClient client;
+        creating.set(new Slice(index, slices.length(), sliceSizes[index], index + "-" + generation.incrementAndGet()));
+        try {
+            client = connectionInfo.toPooledDatasource();
+        } finally {
+            creating.remove();
+        }
+        if (client instanceof Pool pool) {
+            return new DrainablePool(pool);
+        }
+        if (client != null) {
+            client.close();
+        }
+        return null;
+    }
+
+    private void scheduleNext() {
+        Vertx v = vertx;
+        if (closed || v == null) {
+            return;
+        }
+        long interval = getRotationInterval();
+        int jitter = Math.min(50, Math.max(0, options.getLifetimeJitter()));
+        long delay = jitter == 0 ? interval : interval - ThreadLocalRandom.current().nextLong(interval * jitter / 100 + 1);
+        timerId = v.setTimer(Math.max(1, delay), id -> {
+            try {
+                rotate();
+            } finally {
+                scheduleNext();
+            }
+        });
+    }
+
+    private void drain(DrainablePool retired) {
+        retired.drain(vertx, options.getDrainTimeout())
+                .onFailure(t -> log.warn("⚠️ [DB-POOL] Closing retired slice of PU='{}' failed: {}", persistenceUnitName, t.getMessage()));
+    }
+
+    private void trim(long now) {
+        while (!recentRetirements.isEmpty() && recentRetirements.peekFirst()[0] < now - MINUTE) {
+            recentRetirements.removeFirst();
+        }
+    }
+
+    /**
+     * The slice a pool is being created for.
+     *
+     * @param index the slice position
+     * @param count the number of slices
+     * @param size  the slice's share of the pool size
+     * @param name  the unique suffix of the slice's pool name
+     */
+    record Slice(int index, int count, int size, String name) {
+    }
+}
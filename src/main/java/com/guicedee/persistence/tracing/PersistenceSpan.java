@@ -0,0 +1,44 @@
+package com.guicedee.persistence.tracing;
+
+/**
+ * A span opened by a {@link PersistenceTracer} around one persistence operation.
+ */
+public interface PersistenceSpan {
+
+    /**
+     * The span returned while tracing is disabled; every call is a no-op.
+     */
+    PersistenceSpan NOOP = new PersistenceSpan() {
+        @Override
+        public PersistenceSpan setAttribute(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end(Throwable failure) {
+        }
+    };
+
+    /**
+     * Adds an attribute to the span.
+     *
+     * @param key   the attribute name
+     * @param value the attribute value
+     * @return this span
+     */
+    PersistenceSpan setAttribute(String key, String value);
+
+    /**
+     * Ends the span successfully.
+     */
+    default void end() {
+        end(null);
+    }
+
+    /**
+     * Ends the span.
+     *
+     * @param failure the failure of the operation, or null when it succeeded
+     */
+    void end(Throwable failure);
+}
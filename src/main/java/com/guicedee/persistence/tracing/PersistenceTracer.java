@@ -0,0 +1,69 @@
+package com.guicedee.persistence.tracing;
+
+/**
+ * SPI bridging persistence operations into a tracing system such as OpenTelemetry.
+ * <p>
+ * Register an implementation with JPMS {@code provides com.guicedee.persistence.tracing.PersistenceTracer with ...}
+ * or {@code META-INF/services}. Without one the {@link #NOOP} tracer is used and tracing costs nothing.
+ * <p>
+ * Spans are opened for pool acquisition ({@link #POOL_ACQUIRE}), query execution ({@link #QUERY}), transaction begin
+ * ({@link #TRANSACTION_BEGIN}) and commit ({@link #TRANSACTION_COMMIT}), and EntityManagerFactory startup
+ * ({@link #EMF_START}). Every span carries the {@link #PERSISTENCE_UNIT} and {@link #DB_SYSTEM} attributes.
+ * <p>
+ * Pool acquisition and transaction spans are only opened for work run through
+ * {@link com.guicedee.persistence.pool.PoolCircuitBreaker#withConnection PoolCircuitBreaker.withConnection} and
+ * {@link com.guicedee.persistence.pool.PoolCircuitBreaker#withTransaction PoolCircuitBreaker.withTransaction}; sessions
+ * opened directly on the {@code Mutiny.SessionFactory} and connections borrowed from the registered pool report their
+ * queries only.
+ */
+public interface PersistenceTracer {
+
+    /**
+     * Span name for borrowing a connection from a pool
+     */
+    String POOL_ACQUIRE = "db.pool.acquire";
+    /**
+     * Span name for executing a query
+     */
+    String QUERY = "db.query";
+    /**
+     * Span name for beginning a transaction
+     */
+    String TRANSACTION_BEGIN = "db.transaction.begin";
+    /**
+     * Span name for committing a transaction
+     */
+    String TRANSACTION_COMMIT = "db.transaction.commit";
+    /**
+     * Span name for creating the EntityManagerFactory of a persistence unit
+     */
+    String EMF_START = "db.emf.start";
+
+    /**
+     * Attribute carrying the persistence unit name
+     */
+    String PERSISTENCE_UNIT = "db.persistence_unit";
+    /**
+     * Attribute carrying the database vendor from {@code ConnectionBaseInfo.getDriver()}
+     */
+    String DB_SYSTEM = "db.system";
+    /**
+     * Attribute carrying the statement text of a query
+     */
+    String DB_STATEMENT = "db.statement";
+
+    /**
+     * The tracer used when no implementation is registered.
+     */
+    PersistenceTracer NOOP = (name, persistenceUnit, vendor) -> PersistenceSpan.NOOP;
+
+    /**
+     * Opens a span.
+     *
+     * @param name            the span name
+     * @param persistenceUnit the persistence unit the operation belongs to
+     * @param vendor          the database vendor, may be null
+     * @return the open span
+     */
+    PersistenceSpan startSpan(String name, String persistenceUnit, String vendor);
+}
@@ -0,0 +1,122 @@
+package com.guicedee.persistence.tracing;
+
+import io.smallrye.mutiny.Uni;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the active {@link PersistenceTracer} and opens spans with the persistence unit attributes.
+ * <p>
+ * The tracer is discovered once through {@link ServiceLoader}, or set with {@link #setTracer(PersistenceTracer)}.
+ * While the {@link PersistenceTracer#NOOP} tracer is active {@link #trace(String, String, Supplier)} returns the
+ * operation unchanged, so disabled tracing adds no work to the reactive pipeline.
+ */
+@Log4j2
+public final class PersistenceTracing {
+
+    private static final Map<String, String> vendors = new ConcurrentHashMap<>();
+    private static volatile PersistenceTracer tracer;
+
+    private PersistenceTracing() {
+    }
+
+    /**
+     * @return the active tracer, discovering it on first use
+     */
+    public static PersistenceTracer getTracer() {
+        PersistenceTracer current = tracer;
+        if (current == null) {
+            synchronized (PersistenceTracing.class) {
+                if (tracer == null) {
+                    tracer = ServiceLoader.load(PersistenceTracer.class).findFirst().orElse(PersistenceTracer.NOOP);
+                    if (tracer != PersistenceTracer.NOOP) {
+                        log.info("🔭 Persistence tracing enabled with {}", tracer.getClass().getName());
+                    }
+                }
+                current = tracer;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the active tracer.
+     *
+     * @param persistenceTracer the tracer to use, null restores discovery
+     */
+    public static void setTracer(PersistenceTracer persistenceTracer) {
+        tracer = persistenceTracer;
+    }
+
+    /**
+     * @return true when a tracer other than the no-op tracer is active
+     */
+    public static boolean isEnabled() {
+        return getTracer() != PersistenceTracer.NOOP;
+    }
+
+    /**
+     * Records the database vendor of a persistence unit, added to all its spans.
+     *
+     * @param persistenceUnit the persistence unit name
+     * @param vendor          the vendor from {@code ConnectionBaseInfo.getDriver()}
+     */
+    public static void registerVendor(String persistenceUnit, String vendor) {
+        if (persistenceUnit != null && vendor != null) {
+            vendors.put(persistenceUnit, vendor);
+        }
+    }
+
+    /**
+     * Opens a span for a persistence unit.
+     *
+     * @param name            the span name
+     * @param persistenceUnit the persistence unit name
+     * @return the open span, {@link PersistenceSpan#NOOP} while tracing is disabled
+     */
+    public static PersistenceSpan startSpan(String name, String persistenceUnit) {
+        PersistenceTracer current = getTracer();
+        if (current == PersistenceTracer.NOOP) {
+            return PersistenceSpan.NOOP;
+        }
+        String vendor = persistenceUnit == null ? null : vendors.get(persistenceUnit);
+        PersistenceSpan span = current.startSpan(name, persistenceUnit, vendor);
+        if (persistenceUnit != null) {
+            span.setAttribute(PersistenceTracer.PERSISTENCE_UNIT, persistenceUnit);
+        }
+        if (vendor != null) {
+            span.setAttribute(PersistenceTracer.DB_SYSTEM, vendor);
+        }
+        return span;
+    }
+
+    /**
+     * Wraps a reactive operation in a span.
+     *
+     * @param name            the span name
+     * @param persistenceUnit the persistence unit name
+     * @param operation       supplies the operation
+     * @param <T>             the result type
+     * @return the traced operation, or the operation itself while tracing is disabled
+     */
+    public static <T> Uni<T> trace(String name, String persistenceUnit, Supplier<Uni<T>> operation) {
+        if (!isEnabled()) {
+            return Uni.createFrom().deferred(operation);
+        }
+        return Uni.createFrom().deferred(() -> {
+            PersistenceSpan span = startSpan(name, persistenceUnit);
+            return operation.get().onItemOrFailure().invoke((item, failure) -> span.end(failure));
+        });
+    }
+
+    /**
+     * Removes all vendor registrations, the active tracer is kept.
+     */
+    public static void clearVendors() {
+        vendors.clear();
+    }
+}
@@ -25,12 +25,18 @@ module com.guicedee.persistence {
     exports com.guicedee.persistence.implementations.vertxsql;
     exports com.guicedee.persistence.implementations.mongodb;
     exports com.guicedee.persistence.implementations.cassandra;
+    exports com.guicedee.persistence.pool;
+    exports com.guicedee.persistence.metrics;
+    exports com.guicedee.persistence.tracing;
+    exports com.guicedee.persistence.health;
+    exports com.guicedee.persistence.health.rest;
 
     requires transitive org.hibernate.reactive;
     requires transitive com.guicedee.vertx;
     requires transitive com.guicedee.guicedinjection;
 
     requires static com.guicedee.rest;
+    requires static jakarta.ws.rs;
 
     requires org.slf4j;
 
@@ -44,11 +50,20 @@ module com.guicedee.persistence {
     requires static io.vertx.sql.client.db2;
     requires static io.vertx.sql.client.oracle;
     requires static io.vertx.mongo.client;
+    requires static org.mongodb.driver.core;
+    requires static org.mongodb.driver.reactivestreams;
+    requires static org.mongodb.bson;
+    requires static org.reactivestreams;
     requires static io.vertx.cassandra.client;
+    requires static com.datastax.oss.driver.core;
     requires transitive io.vertx.sql.client;
 
     uses com.guicedee.persistence.IPropertiesConnectionInfoReader;
     uses com.guicedee.persistence.IPropertiesEntityManagerReader;
+    uses com.guicedee.persistence.tracing.PersistenceTracer;
+    uses io.vertx.core.spi.VertxServiceProvider;
+    uses com.guicedee.persistence.implementations.mongodb.MongoResumeTokenStore;
+    uses com.guicedee.persistence.implementations.cassandra.CassandraScanCheckpointStore;
 
     provides IGuiceConfigurator with GuicedConfigurator;
     provides IPropertiesEntityManagerReader with SystemEnvironmentVariablesPropertiesReader, HibernateEntityManagerProperties,
@@ -61,18 +76,24 @@ module com.guicedee.persistence {
             ;
 
     provides ServiceContributor with com.guicedee.persistence.implementations.VertxServiceContributor;
+    provides com.guicedee.vertx.spi.VertxConfigurator with com.guicedee.persistence.VertxVerticalPersistenceConfiguration;
 
     opens com.guicedee.persistence to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
     opens com.guicedee.persistence.annotations to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
     opens com.guicedee.persistence.bind to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
     opens com.guicedee.persistence.implementations to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
     opens com.guicedee.persistence.implementations.postgres to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
-    opens com.guicedee.persistence.implementations.mysql to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.mysql;
-    opens com.guicedee.persistence.implementations.db2 to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.db2;
-    opens com.guicedee.persistence.implementations.sqlserver to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
-    opens com.guicedee.persistence.implementations.oracle to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.oracle;
+    opens com.guicedee.persistence.implementations.mysql to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.mysql,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.implementations.db2 to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.db2,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.implementations.sqlserver to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.implementations.oracle to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,io.vertx.sql.client.oracle,com.fasterxml.jackson.databind;
     opens com.guicedee.persistence.implementations.vertxsql to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny;
     opens com.guicedee.persistence.implementations.mongodb to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,net.bytebuddy,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.pool to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.metrics to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.tracing to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,org.hibernate.orm.core,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.health to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind;
+    opens com.guicedee.persistence.health.rest to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,net.bytebuddy,io.smallrye.mutiny,com.fasterxml.jackson.databind,com.guicedee.rest;
     opens com.guicedee.persistence.implementations.cassandra to com.google.guice,com.guicedee.guicedinjection,io.vertx.core,io.vertx.codegen.api,net.bytebuddy,com.fasterxml.jackson.databind;
 
     exports com.guicedee.persistence.implementations;
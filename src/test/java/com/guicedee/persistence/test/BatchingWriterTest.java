@@ -0,0 +1,141 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import com.guicedee.persistence.implementations.BatchWriteLimits;
+import com.guicedee.persistence.implementations.BatchingWriter;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the size, open batch, in-flight and pending limits of {@link BatchingWriter} against a stub store.
+ */
+public class BatchingWriterTest {
+
+    @Test
+    public void testFullBatchIsSent() {
+        RecordingWriter writer = new RecordingWriter(new Limits().setMaxBatchSize(2));
+        writer.write("a", "1").subscribe().with(item -> {
+        });
+        assertTrue(writer.sent.isEmpty());
+        writer.write("a", "2").subscribe().with(item -> {
+        });
+
+        assertEquals(List.of("a"), writer.keys());
+        assertEquals(List.of("1", "2"), writer.sent.getFirst().getWrites());
+        assertEquals(0, writer.getOpenBatches());
+    }
+
+    @Test
+    public void testOldestOpenBatchIsSentAtTheLimit() {
+        RecordingWriter writer = new RecordingWriter(new Limits().setMaxOpenBatches(2));
+        for (String key : List.of("a", "b", "a", "c", "d")) {
+            writer.write(key, "value").subscribe().with(item -> {
+            });
+        }
+
+        assertEquals(List.of("a", "b"), writer.keys(), "The oldest open batches are sent to make room");
+        assertEquals(2, writer.sent.getFirst().getWrites().size());
+        assertEquals(2, writer.getOpenBatches());
+    }
+
+    @Test
+    public void testInFlightLimitQueuesBatches() {
+        RecordingWriter writer = new RecordingWriter(new Limits().setMaxBatchSize(1).setMaxInFlightBatches(1));
+        writer.write("a", "1").subscribe().with(item -> {
+        });
+        writer.write("b", "2").subscribe().with(item -> {
+        });
+        assertEquals(List.of("a"), writer.keys());
+        assertEquals(1, writer.getInFlightBatches());
+
+        writer.results.getFirst().complete();
+        assertEquals(List.of("a", "b"), writer.keys(), "The queued batch is sent once the first is acknowledged");
+    }
+
+    @Test
+    public void testPendingLimitFailsFast() {
+        RecordingWriter writer = new RecordingWriter(new Limits().setMaxPendingWrites(1));
+        writer.write("a", "1").subscribe().with(item -> {
+        });
+        assertThrows(BulkWriteOperationException.class, () -> writer.write("a", "2").await().atMost(Duration.ofSeconds(5)));
+        assertEquals(1, writer.getPendingWrites());
+    }
+
+    @Test
+    public void testFailureIsMappedBySubclass() {
+        RecordingWriter writer = new RecordingWriter(new Limits().setMaxBatchSize(1));
+        List<Throwable> failures = new ArrayList<>();
+        writer.write("a", "1").subscribe().with(item -> {
+        }, failures::add);
+        writer.results.getFirst().fail(new IllegalStateException("down"));
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(BulkWriteOperationException.class, failures.getFirst());
+        assertEquals(0, writer.getPendingWrites());
+    }
+
+    /**
+     * Records the batches it is asked to send and settles them on demand.
+     */
+    private static class RecordingWriter extends BatchingWriter<String, String, Limits> {
+
+        private final List<Batch<String, String>> sent = new ArrayList<>();
+        private final List<Promise<Void>> results = new ArrayList<>();
+
+        RecordingWriter(Limits limits) {
+            super("recording", null, limits);
+        }
+
+        Uni<Void> write(String key, String value) {
+            return submit(key, value);
+        }
+
+        List<String> keys() {
+            return sent.stream().map(Batch::getKey).toList();
+        }
+
+        @Override
+        protected Future<?> send(Batch<String, String> batch) {
+            Promise<Void> result = Promise.promise();
+            sent.add(batch);
+            results.add(result);
+            return result.future();
+        }
+
+        @Override
+        protected void fail(Batch<String, String> batch, Throwable cause) {
+            batch.getEmitters().forEach(emitter -> emitter.fail(new BulkWriteOperationException("failed", cause)));
+        }
+
+        @Override
+        protected long estimateSize(String write) {
+            return write.length();
+        }
+    }
+
+    /**
+     * Limits of the stub writer, flushed only by size or the open batch limit.
+     */
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    private static class Limits implements BatchWriteLimits {
+        private int maxBatchSize = 100;
+        private long maxBatchBytes;
+        private long flushInterval;
+        private int maxInFlightBatches = 4;
+        private int maxOpenBatches;
+        private int maxPendingWrites;
+    }
+}
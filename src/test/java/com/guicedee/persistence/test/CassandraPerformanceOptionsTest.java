@@ -0,0 +1,60 @@
+package com.guicedee.persistence.test;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.implementations.cassandra.CassandraPerformanceOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link CassandraPerformanceOptions} map onto the DataStax driver configuration.
+ */
+public class CassandraPerformanceOptionsTest {
+
+    @Test
+    public void testDefaultsLeaveDriverConfigUntouched() {
+        assertNull(new CassandraPerformanceOptions().toConfigLoader());
+    }
+
+    @Test
+    public void testOptionsMappedToDriverConfig() {
+        DriverConfigLoader loader = new CassandraPerformanceOptions()
+                .setLocalDatacenter("dc1")
+                .setConnectionsPerLocalNode(4)
+                .setMaxRequestsPerConnection(2048)
+                .setMaxConcurrentRequests(512)
+                .setSpeculativeExecutions(2)
+                .setSpeculativeExecutionDelay(50)
+                .setDefaultIdempotence(true)
+                .setPageSize(1000)
+                .toConfigLoader();
+        DriverExecutionProfile profile = loader.getInitialConfig().getDefaultProfile();
+
+        assertEquals("dc1", profile.getString(DefaultDriverOption.LOAD_BALANCING_LOCAL_DATACENTER));
+        assertEquals(4, profile.getInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE));
+        assertEquals(2048, profile.getInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS));
+        assertEquals("ConcurrencyLimitingRequestThrottler", profile.getString(DefaultDriverOption.REQUEST_THROTTLER_CLASS));
+        assertEquals(512, profile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS));
+        assertEquals(3, profile.getInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX), "The initial execution is counted");
+        assertEquals(Duration.ofMillis(50), profile.getDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY));
+        assertTrue(profile.getBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE));
+        assertEquals(1000, profile.getInt(DefaultDriverOption.REQUEST_PAGE_SIZE));
+        loader.close();
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(InvalidConnectionInfoException.class, () -> new CassandraPerformanceOptions()
+                .setMaxConcurrentRequests(100).setMaxRequestsPerSecond(100).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new CassandraPerformanceOptions()
+                .setConnectionsPerLocalNode(-1).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new CassandraPerformanceOptions()
+                .setLocalDatacenter(" ").validate("test"));
+        assertDoesNotThrow(() -> new CassandraPerformanceOptions().setLocalDatacenter("dc1").validate("test"));
+    }
+}
@@ -1,8 +1,19 @@
 package com.guicedee.persistence.test;
 
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 import com.guicedee.client.IGuiceContext;
+import com.guicedee.persistence.implementations.cassandra.CassandraBatchWriter;
+import com.guicedee.persistence.implementations.cassandra.CassandraRowMapper;
+import com.guicedee.persistence.implementations.cassandra.CassandraScan;
+import com.guicedee.persistence.implementations.cassandra.CassandraScanOptions;
+import com.guicedee.persistence.implementations.cassandra.CassandraStatements;
+import com.guicedee.persistence.implementations.cassandra.CassandraStreamReader;
+import com.guicedee.persistence.implementations.cassandra.CassandraTokenRangeScanner;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.vertx.cassandra.CassandraClient;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.BeforeAll;
@@ -12,6 +23,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -26,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>A {@link CassandraClient} is properly bound and injectable</li>
  *   <li>CQL queries can be executed</li>
  *   <li>Data can be inserted and retrieved</li>
+ *   <li>Prepared statements are cached and rows map to records</li>
  * </ol>
  */
 @Testcontainers
@@ -118,7 +131,106 @@ public class CassandraTest {
 
         assertTrue(latch.await(60, TimeUnit.SECONDS), "Operation should complete within 60 seconds");
     }
-}
 
+    /**
+     * Mapped from {@code test_ks.prepared_books}; {@code authorName} maps to the {@code author_name} column.
+     */
+    public record Book(String id, String title, String authorName, int pages) {
+    }
+
+    @Test
+    public void testPreparedStatementsAndRecordMapper() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        CassandraClient client = IGuiceContext.get(CassandraClient.class);
+        CassandraStatements statements = IGuiceContext.get(CassandraStatements.class);
+
+        Uni.createFrom().completionStage(() -> client.execute("CREATE KEYSPACE IF NOT EXISTS test_ks WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}")
+                        .compose(v -> client.execute("CREATE TABLE IF NOT EXISTS test_ks.prepared_books (id text PRIMARY KEY, title text, author_name text, pages int)"))
+                        .toCompletionStage())
+                .await().atMost(Duration.ofSeconds(60));
+
+        String insert = "INSERT INTO test_ks.prepared_books (id, title, author_name, pages) VALUES (?, ?, ?, ?)";
+        statements.execute(insert, "1", "The Hobbit", "J. R. R. Tolkien", 310).await().atMost(Duration.ofSeconds(30));
+        statements.execute(insert, "2", "Leaf by Niggle", "J. R. R. Tolkien", null).await().atMost(Duration.ofSeconds(30));
+        assertEquals(1, statements.size(), "Both inserts share one prepared statement");
+
+        CassandraRowMapper<Book> books = CassandraRowMapper.forRecord(Book.class);
+        List<Book> found = statements.query("SELECT * FROM test_ks.prepared_books WHERE id IN (?, ?)", books, "1", "2")
+                .await().atMost(Duration.ofSeconds(30));
+
+        assertEquals(2, found.size());
+        Book hobbit = found.stream().filter(b -> b.id().equals("1")).findFirst().orElseThrow();
+        assertEquals(new Book("1", "The Hobbit", "J. R. R. Tolkien", 310), hobbit);
+        Book niggle = found.stream().filter(b -> b.id().equals("2")).findFirst().orElseThrow();
+        assertEquals(0, niggle.pages(), "Null primitives map to their default");
+    }
+
+    @Test
+    public void testBatchWriterAndStreamReader() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        CassandraClient client = IGuiceContext.get(CassandraClient.class);
+        CassandraBatchWriter writer = IGuiceContext.get(CassandraBatchWriter.class);
+        CassandraStreamReader reader = IGuiceContext.get(Key.get(CassandraStreamReader.class, Names.named("testCassandra")));
+
+        Uni.createFrom().completionStage(() -> client.execute("CREATE KEYSPACE IF NOT EXISTS test_ks WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}")
+                        .compose(v -> client.execute("CREATE TABLE IF NOT EXISTS test_ks.samples (sensor text, seq int, value double, PRIMARY KEY (sensor, seq))"))
+                        .toCompletionStage())
+                .await().atMost(Duration.ofSeconds(60));
+
+        String insert = "INSERT INTO test_ks.samples (sensor, seq, value) VALUES (?, ?, ?)";
+        Multi.createFrom().range(0, 300)
+                .onItem().transformToUniAndMerge(i -> writer.write(insert, "sensor-" + (i % 3), i, i * 0.5))
+                .collect().last()
+                .await().atMost(Duration.ofSeconds(60));
+        writer.flush().await().atMost(Duration.ofSeconds(30));
+        assertEquals(0, writer.getPendingStatements(), "Every statement should be acknowledged");
+
+        // Pages of 7 rows force the reader to fetch many pages for one partition
+        List<Row> rows = reader.stream(SimpleStatement.newInstance("SELECT * FROM test_ks.samples WHERE sensor = ?", "sensor-1")
+                        .setPageSize(7))
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+        assertEquals(100, rows.size());
+        assertEquals(1, rows.get(0).getInt("seq"));
+
+        List<Row> first = reader.stream("SELECT sensor, seq FROM test_ks.samples")
+                .select().first(150)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+        assertEquals(150, first.size(), "Cancelling the stream should stop after the requested rows");
+    }
 
+    @Test
+    public void testTokenRangeScan() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
 
+        CassandraClient client = IGuiceContext.get(CassandraClient.class);
+        CassandraBatchWriter writer = IGuiceContext.get(CassandraBatchWriter.class);
+        CassandraTokenRangeScanner scanner = IGuiceContext.get(CassandraTokenRangeScanner.class);
+
+        Uni.createFrom().completionStage(() -> client.execute("CREATE KEYSPACE IF NOT EXISTS test_ks WITH replication = {'class': 'SimpleStrategy', 'replication_factor': 1}")
+                        .compose(v -> client.execute("CREATE TABLE IF NOT EXISTS test_ks.scanned (id int PRIMARY KEY, payload text)"))
+                        .toCompletionStage())
+                .await().atMost(Duration.ofSeconds(60));
+        Multi.createFrom().range(0, 500)
+                .onItem().transformToUniAndMerge(i -> writer.write("INSERT INTO test_ks.scanned (id, payload) VALUES (?, ?)", i, "row-" + i))
+                .collect().last()
+                .await().atMost(Duration.ofSeconds(60));
+        writer.flush().await().atMost(Duration.ofSeconds(30));
+
+        CassandraScan scan = scanner.scan("test_ks.scanned", "id", "id, payload", "test-scan",
+                new CassandraScanOptions().setSplits(16).setParallelism(4).setCheckpointInterval(0));
+        List<Row> rows = scan.rows().collect().asList().await().atMost(Duration.ofSeconds(60));
+
+        assertEquals(500, rows.size());
+        assertEquals(500, rows.stream().map(row -> row.getInt("id")).distinct().count(), "Each row is scanned once");
+        assertEquals(16, scan.getCompletedRanges());
+        assertEquals(500, scan.getRowsScanned());
+        assertTrue(scan.isDone());
+    }
+}
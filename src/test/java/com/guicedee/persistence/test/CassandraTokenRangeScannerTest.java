@@ -0,0 +1,40 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.implementations.cassandra.CassandraTokenRangeScanner;
+import com.guicedee.persistence.implementations.cassandra.CassandraTokenRangeScanner.TokenRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link CassandraTokenRangeScanner} splits the token ring.
+ */
+public class CassandraTokenRangeScannerTest {
+
+    @Test
+    public void testSplitCoversRingContiguously() {
+        for (int splits : new int[]{1, 2, 3, 7, 64, 1000}) {
+            List<TokenRange> ranges = CassandraTokenRangeScanner.split(splits);
+            assertEquals(splits, ranges.size());
+            assertEquals(Long.MIN_VALUE, ranges.getFirst().start());
+            assertEquals(Long.MAX_VALUE, ranges.getLast().end());
+            for (int i = 0; i < splits; i++) {
+                assertEquals(i, ranges.get(i).index());
+                assertTrue(ranges.get(i).start() < ranges.get(i).end(), "Ranges must not be empty");
+                if (i > 0) {
+                    assertEquals(ranges.get(i - 1).end(), ranges.get(i).start(), "Ranges must be contiguous");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplitWidthsAreEqual() {
+        List<TokenRange> ranges = CassandraTokenRangeScanner.split(4);
+        assertEquals(Long.MIN_VALUE / 2, ranges.get(0).end() + 1);
+        assertEquals(-1, ranges.get(1).end());
+        assertEquals(Long.MAX_VALUE / 2, ranges.get(2).end());
+    }
+}
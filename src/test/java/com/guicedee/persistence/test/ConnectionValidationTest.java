@@ -0,0 +1,146 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.persistence.implementations.db2.DB2ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.oracle.OracleConnectionBaseInfo;
+import com.guicedee.persistence.implementations.postgres.PostgresConnectionBaseInfo;
+import com.guicedee.persistence.pool.ConnectionValidationOptions;
+import com.guicedee.persistence.pool.ConnectionValidator;
+import com.guicedee.persistence.pool.DrainablePool;
+import com.guicedee.persistence.pool.PoolReconfigurer;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Query;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the validation query selection, that the validator is inert without a pool, and that a connection failing
+ * its check is not handed out again.
+ */
+public class ConnectionValidationTest {
+
+    private static final String UNIT = "validated";
+
+    @AfterEach
+    public void reset() {
+        VertxPersistenceModule.reset();
+    }
+
+    @Test
+    public void testTestQueryWins() {
+        PostgresConnectionBaseInfo info = new PostgresConnectionBaseInfo();
+        info.setEnableJdbc4ConnectionTest(true);
+        info.setTestQuery("SELECT now()");
+        assertEquals("SELECT now()", info.getValidationQuery());
+    }
+
+    @Test
+    public void testVendorDefaultWhenJdbc4TestEnabled() {
+        PostgresConnectionBaseInfo postgres = new PostgresConnectionBaseInfo();
+        postgres.setEnableJdbc4ConnectionTest(true);
+        assertEquals("SELECT 1", postgres.getValidationQuery());
+
+        OracleConnectionBaseInfo oracle = new OracleConnectionBaseInfo();
+        oracle.setEnableJdbc4ConnectionTest(true);
+        assertEquals("SELECT 1 FROM DUAL", oracle.getValidationQuery());
+
+        DB2ConnectionBaseInfo db2 = new DB2ConnectionBaseInfo();
+        db2.setEnableJdbc4ConnectionTest(true);
+        assertEquals("SELECT 1 FROM SYSIBM.SYSDUMMY1", db2.getValidationQuery());
+    }
+
+    @Test
+    public void testNoValidationWhenNotConfigured() {
+        assertNull(new PostgresConnectionBaseInfo().getValidationQuery());
+    }
+
+    @Test
+    public void testValidatorWithoutPool() {
+        ConnectionValidator validator = new ConnectionValidator("test", null, "SELECT 1", () -> null, null, null);
+        assertEquals(0, validator.validate().await().indefinitely());
+        assertEquals(0, validator.getRounds());
+    }
+
+    @Test
+    public void testFailedConnectionIsNotHandedOutAgain() throws Exception {
+        List<Object> lenders = new ArrayList<>();
+        AtomicBoolean staleClosed = new AtomicBoolean();
+        Pool stale = stubPool(false, staleClosed, lenders);
+        ConnectionBaseInfo info = new ConnectionBaseInfo() {
+            @Override
+            public SqlClient toPooledDatasource() {
+                return stubPool(true, new AtomicBoolean(), lenders);
+            }
+        };
+        info.setPersistenceUnitName(UNIT);
+        VertxPersistenceModule.getConnectionModules().put(info, null);
+        VertxPersistenceModule.getSqlClientMap().put(UNIT, new DrainablePool(stale));
+
+        ConnectionValidator validator = new ConnectionValidator(UNIT, new ConnectionValidationOptions().setEnabled(true), "SELECT 1",
+                () -> VertxPersistenceModule.getSqlClientByEntityManager(UNIT), null,
+                () -> PoolReconfigurer.renew(UNIT, Duration.ZERO));
+        assertEquals(1, validator.validate().await().atMost(Duration.ofSeconds(5)));
+        assertEquals(1, validator.getFailedCount());
+        assertTrue(staleClosed.get(), "The pool holding the failed connection must be closed");
+
+        VertxPersistenceModule.getSqlClientByEntityManager(UNIT).getConnection()
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).close();
+        assertEquals(2, lenders.size());
+        assertNotSame(stale, lenders.get(1), "The next borrow must come from the renewed pool");
+    }
+
+    private static Pool stubPool(boolean healthy, AtomicBoolean closed, List<Object> lenders) {
+        return (Pool) Proxy.newProxyInstance(ConnectionValidationTest.class.getClassLoader(), new Class<?>[]{Pool.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> {
+                        lenders.add(proxy);
+                        yield Future.succeededFuture(stubConnection(healthy));
+                    }
+                    case "query" -> stubQuery(healthy);
+                    case "close" -> {
+                        closed.set(true);
+                        yield Future.succeededFuture();
+                    }
+                    case "size" -> 1;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "stub-pool";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static SqlConnection stubConnection(boolean healthy) {
+        return (SqlConnection) Proxy.newProxyInstance(ConnectionValidationTest.class.getClassLoader(), new Class<?>[]{SqlConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "query" -> stubQuery(healthy);
+                    case "close" -> Future.succeededFuture();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "stub-connection";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Query<?> stubQuery(boolean healthy) {
+        return (Query<?>) Proxy.newProxyInstance(ConnectionValidationTest.class.getClassLoader(), new Class<?>[]{Query.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "execute" -> healthy ? Future.succeededFuture() : Future.failedFuture(new IllegalStateException("connection reset"));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
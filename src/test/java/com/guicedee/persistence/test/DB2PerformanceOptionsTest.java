@@ -0,0 +1,117 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.implementations.db2.DB2ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.db2.DB2PerformanceOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.db2client.DB2ConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link DB2PerformanceOptions} and the unit's pool settings reach the options a DB2 pool is created with.
+ */
+public class DB2PerformanceOptionsTest {
+
+    @Test
+    public void testPoolSettingsReachPoolOptions() {
+        CapturingDB2ConnectionBaseInfo info = new CapturingDB2ConnectionBaseInfo();
+        info.setMaxPoolSize(12);
+        info.setMaxIdleTime(240);
+        info.setMaxLifeTime(1800);
+        info.setAcquisitionTimeout(15);
+        info.setPoolName("db2-orders");
+        info.toPooledDatasource();
+
+        PoolOptions pool = info.poolOptions;
+        assertEquals(12, pool.getMaxSize());
+        assertEquals(240, pool.getIdleTimeout());
+        assertEquals(TimeUnit.SECONDS, pool.getIdleTimeoutUnit());
+        assertEquals(1800, pool.getMaxLifetime());
+        assertEquals(TimeUnit.SECONDS, pool.getMaxLifetimeUnit());
+        assertEquals(15, pool.getConnectionTimeout());
+        assertEquals(TimeUnit.SECONDS, pool.getConnectionTimeoutUnit());
+        assertTrue(pool.isShared());
+        assertEquals("db2-orders", pool.getName());
+    }
+
+    @Test
+    public void testPerformanceOptionsReachConnectOptions() {
+        CapturingDB2ConnectionBaseInfo info = new CapturingDB2ConnectionBaseInfo();
+        info.setPerformance(new DB2PerformanceOptions()
+                .setPipeliningLimit(16)
+                .setPreparedStatementCacheMaxSize(128)
+                .setPreparedStatementCacheSqlLimit(4096)
+                .setTcpKeepAlive(true));
+        info.toPooledDatasource();
+
+        assertEquals(16, info.connectOptions.getPipeliningLimit());
+        assertTrue(info.connectOptions.getCachePreparedStatements());
+        assertEquals(128, info.connectOptions.getPreparedStatementCacheMaxSize());
+        assertEquals(4096, info.connectOptions.getPreparedStatementCacheSqlLimit());
+        assertTrue(info.netClientOptions.isTcpKeepAlive());
+    }
+
+    @Test
+    public void testUnitCacheSizeUsedWhenUnset() {
+        CapturingDB2ConnectionBaseInfo info = new CapturingDB2ConnectionBaseInfo();
+        info.setPreparedStatementCacheSize(64);
+        info.toPooledDatasource();
+
+        assertTrue(info.connectOptions.getCachePreparedStatements());
+        assertEquals(64, info.connectOptions.getPreparedStatementCacheMaxSize());
+        assertFalse(info.netClientOptions.isTcpKeepAlive());
+        assertEquals("db2-default", info.poolOptions.getName());
+    }
+
+    @Test
+    public void testReadFromProperties() {
+        assertNull(DB2PerformanceOptions.fromProperties(Map.of("ssl", "true")));
+
+        DB2PerformanceOptions options = DB2PerformanceOptions.fromProperties(Map.of(
+                "db2.pipelining-limit", "8",
+                "db2.tcp-keep-alive", "true"));
+        assertEquals(8, options.getPipeliningLimit());
+        assertTrue(options.getTcpKeepAlive());
+
+        DB2ConnectionBaseInfo info = new DB2ConnectionBaseInfo();
+        info.getCustomProperties().put("db2.prepared-statement-cache-max-size", "32");
+        assertEquals(32, info.toConnectOptions().getPreparedStatementCacheMaxSize());
+
+        assertThrows(InvalidConnectionInfoException.class,
+                () -> DB2PerformanceOptions.fromProperties(Map.of("db2.pipelining-limit", "many")));
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(InvalidConnectionInfoException.class, () -> new DB2PerformanceOptions()
+                .setPipeliningLimit(-1).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new DB2PerformanceOptions()
+                .setCachePreparedStatements(false).setPreparedStatementCacheMaxSize(10).validate("test"));
+        assertDoesNotThrow(() -> new DB2PerformanceOptions().setPipeliningLimit(4).validate("test"));
+    }
+
+    /**
+     * Records the options instead of opening a pool.
+     */
+    private static class CapturingDB2ConnectionBaseInfo extends DB2ConnectionBaseInfo {
+        private DB2ConnectOptions connectOptions;
+        private PoolOptions poolOptions;
+        private NetClientOptions netClientOptions;
+
+        @Override
+        protected SqlClient createPool(Vertx vertx, DB2ConnectOptions connectOptions, PoolOptions poolOptions, NetClientOptions netClientOptions) {
+            this.connectOptions = connectOptions;
+            this.poolOptions = poolOptions;
+            this.netClientOptions = netClientOptions;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.bind.HqlPrecompiler;
+import com.guicedee.persistence.implementations.hibernateproperties.HibernateEntityManagerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how the {@link HqlPrecompiler} is enabled and how its query catalog is kept on disk.
+ */
+public class HqlPrecompilerTest {
+
+    @Test
+    public void testEnabledFromProperties() {
+        assertFalse(HqlPrecompiler.fromProperties("test", null).isEnabled());
+        assertFalse(HqlPrecompiler.fromProperties("test", Map.of("hibernate.show_sql", "true")).isEnabled());
+        assertTrue(HqlPrecompiler.fromProperties("test", Map.of(HqlPrecompiler.PRECOMPILE_PROPERTY, "true")).isEnabled());
+
+        HibernateEntityManagerProperties hibernate = new HibernateEntityManagerProperties();
+        hibernate.enablePrecompiledBoot();
+        Properties properties = new Properties();
+        hibernate.process(null, properties);
+        assertEquals("false", properties.getProperty("hibernate.query.startup_check"));
+        assertEquals("true", properties.getProperty(HqlPrecompiler.PRECOMPILE_PROPERTY));
+    }
+
+    @Test
+    public void testCatalogRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("hql-catalog");
+        HqlPrecompiler precompiler = new HqlPrecompiler("orders", true, directory.toString());
+        precompiler.register("select 1")
+                .register("select o.id\nfrom Order o", Long.class)
+                .register("select 1");
+        precompiler.save(null);
+        assertEquals(directory.resolve("orders.hql"), precompiler.getFile());
+        assertEquals(2, Files.readAllLines(precompiler.getFile()).size());
+
+        HqlPrecompiler restarted = new HqlPrecompiler("orders", true, directory.toString());
+        assertEquals(2, restarted.load());
+        assertEquals(Set.of("select 1", "select o.id\nfrom Order o"), restarted.getQueries());
+
+        HqlPrecompiler disabled = new HqlPrecompiler("disabled", false, directory.toString());
+        disabled.register("select 1").save(null);
+        assertFalse(Files.exists(disabled.getFile()));
+    }
+}
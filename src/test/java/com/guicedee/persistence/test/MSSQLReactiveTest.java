@@ -5,7 +5,12 @@ import com.google.inject.name.Names;
 import com.guicedee.client.IGuiceContext;
 import com.guicedee.persistence.PersistService;
 import com.guicedee.persistence.bind.JtaPersistService;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerConnectionBaseInfo;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerPerformanceOptions;
 import com.guicedee.vertx.spi.VertXPreStartup;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Row;
 import lombok.extern.log4j.Log4j2;
 import org.hibernate.reactive.mutiny.Mutiny;
 import org.junit.jupiter.api.BeforeAll;
@@ -121,5 +126,46 @@ public class MSSQLReactiveTest {
             fail("Test failed: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * Compares fetching wide rows with the default packet size and with {@link SqlServerPerformanceOptions#largeResults()}.
+     * The timings are logged for comparison only, the container runs on the local host so the gain understates a real network.
+     */
+    @Test
+    public void testWideRowFetchBenchmark() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        long plain = timeWideRows("mssql-bench-default", null);
+        long tuned = timeWideRows("mssql-bench-large", SqlServerPerformanceOptions.largeResults());
+        log.info("SQL Server 20000 wide rows: default packets {} ms, large results profile {} ms", plain, tuned);
+    }
+
+    private long timeWideRows(String poolName, SqlServerPerformanceOptions options) {
+        SqlServerConnectionBaseInfo info = new SqlServerConnectionBaseInfo();
+        info.setServerName(mssqlContainer.getHost());
+        info.setPort(String.valueOf(mssqlContainer.getMappedPort(1433)));
+        info.setDatabaseName("master");
+        info.setUsername("sa");
+        info.setPassword(MSSQL_PASSWORD);
+        info.setTrustServerCertificate(true);
+        info.setMaxPoolSize(1);
+        info.setPoolName(poolName);
+        info.setPerformance(options);
+        Pool pool = (Pool) info.toPooledDatasource();
+        assertNotNull(pool, "The benchmark pool should be created");
+        String wideRows = "SELECT TOP 20000 REPLICATE('x', 2000) AS a, REPLICATE('y', 2000) AS b"
+                + " FROM sys.all_objects o1 CROSS JOIN sys.all_objects o2";
+        try {
+            // Warm up the connection
+            pool.query("SELECT 1").execute().toCompletionStage().toCompletableFuture().join();
+            long started = System.nanoTime();
+            RowSet<Row> rows = pool.query(wideRows).execute().toCompletionStage().toCompletableFuture().join();
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            assertEquals(20000, rows.size());
+            return elapsed;
+        } finally {
+            pool.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+}
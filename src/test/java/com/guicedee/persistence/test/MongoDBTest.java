@@ -3,6 +3,14 @@ package com.guicedee.persistence.test;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 import com.guicedee.client.IGuiceContext;
+import com.guicedee.persistence.annotations.BulkWriteOperationException;
+import com.guicedee.persistence.implementations.mongodb.MongoBulkWriteOptions;
+import com.guicedee.persistence.implementations.mongodb.MongoBulkWriter;
+import com.guicedee.persistence.implementations.mongodb.MongoChangeEvent;
+import com.guicedee.persistence.implementations.mongodb.MongoChangeStreams;
+import com.guicedee.persistence.implementations.mongodb.MongoStreamReader;
+import com.guicedee.vertx.spi.VertXPreStartup;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.mongo.MongoClient;
 import lombok.extern.log4j.Log4j2;
@@ -13,6 +21,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -27,6 +37,9 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>A {@link MongoClient} is properly bound and injectable</li>
  *   <li>Documents can be saved and retrieved</li>
  *   <li>Collections can be listed</li>
+ *   <li>Bulk writes are batched and partial failures are reported per operation</li>
+ *   <li>Large results stream with projection applied by the server</li>
+ *   <li>Change stream events reach subscribers sharing one cursor</li>
  * </ol>
  */
 @Testcontainers
@@ -144,5 +157,92 @@ public class MongoDBTest {
 
         assertTrue(latch.await(30, TimeUnit.SECONDS), "Operation should complete within 30 seconds");
     }
-}
 
+    @Test
+    public void testBulkWriterPartialFailure() throws Exception {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        MongoClient client = IGuiceContext.get(MongoClient.class);
+        MongoBulkWriter writer = new MongoBulkWriter("testMongo", client, VertXPreStartup.getVertx(),
+                new MongoBulkWriteOptions().setOrdered(false).setMaxBatchSize(100));
+
+        List<Uni<Throwable>> writes = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            // Operation 150 repeats the id of operation 149
+            JsonObject document = new JsonObject().put("_id", "bulk-" + Math.min(i, 149)).put("seq", i);
+            writes.add(writer.insert("bulkBooks", document)
+                    .onItem().<Throwable>transform(v -> null)
+                    .onFailure().recoverWithItem(t -> t));
+        }
+        List<Throwable> results = Uni.join().all(writes).andCollectFailures().await().atMost(Duration.ofSeconds(30));
+
+        assertEquals(0, writer.getPendingOperations());
+        assertEquals(1, results.stream().filter(t -> t != null).count(), "Only the duplicate insert should fail");
+        assertInstanceOf(BulkWriteOperationException.class, results.get(150));
+        assertEquals(11000, ((BulkWriteOperationException) results.get(150)).getCode(), "Duplicate key error code");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        client.count("bulkBooks", new JsonObject()).onComplete(res -> {
+            assertTrue(res.succeeded());
+            assertEquals(249L, res.result(), "The rest of the unordered batch should be written");
+            latch.countDown();
+        });
+        assertTrue(latch.await(30, TimeUnit.SECONDS), "Operation should complete within 30 seconds");
+    }
+
+    @Test
+    public void testStreamingFindWithProjection() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        MongoBulkWriter writer = IGuiceContext.get(MongoBulkWriter.class);
+        List<Uni<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            writes.add(writer.insert("streamBooks", new JsonObject().put("seq", i).put("body", "x".repeat(100))));
+        }
+        Uni.join().all(writes).andFailFast().await().atMost(Duration.ofSeconds(30));
+
+        MongoStreamReader reader = new MongoStreamReader(IGuiceContext.get(MongoClient.class), 50);
+        List<JsonObject> documents = reader.find("streamBooks", new JsonObject(), new JsonObject().put("seq", 1).put("_id", 0))
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+
+        assertEquals(500, documents.size());
+        assertTrue(documents.stream().allMatch(d -> d.fieldNames().size() == 1 && d.containsKey("seq")),
+                "Only the projected field should be returned");
+
+        List<JsonObject> firstTen = reader.find("streamBooks", new JsonObject())
+                .select().first(10)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+        assertEquals(10, firstTen.size(), "Cancelling after ten documents should end the stream");
+    }
+
+    @Test
+    public void testChangeStreamFanOut() throws Exception {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        MongoChangeStreams changes = IGuiceContext.get(MongoChangeStreams.class);
+        MongoClient client = IGuiceContext.get(MongoClient.class);
+
+        CountDownLatch received = new CountDownLatch(2);
+        List<MongoChangeEvent> events = new java.util.concurrent.CopyOnWriteArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            changes.watch("watchedBooks").subscribe().with(event -> {
+                events.add(event);
+                received.countDown();
+            });
+        }
+        // Give the shared cursor time to open before writing
+        Thread.sleep(1000);
+        client.insert("watchedBooks", new JsonObject().put("title", "Silmarillion"));
+
+        assertTrue(received.await(30, TimeUnit.SECONDS), "Both subscribers should receive the insert");
+        assertEquals("insert", events.get(0).operationType());
+        assertNotNull(events.get(0).resumeToken());
+        assertSame(events.get(0), events.get(1), "Subscribers share one stream");
+        assertTrue(changes.getLagMillis("watchedBooks") >= 0);
+    }
+}
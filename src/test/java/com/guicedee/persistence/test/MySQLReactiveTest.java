@@ -5,7 +5,12 @@ import com.google.inject.name.Names;
 import com.guicedee.client.IGuiceContext;
 import com.guicedee.persistence.PersistService;
 import com.guicedee.persistence.bind.JtaPersistService;
+import com.guicedee.persistence.implementations.mysql.MySqlConnectionBaseInfo;
+import com.guicedee.persistence.implementations.mysql.MySqlPerformanceOptions;
 import com.guicedee.vertx.spi.VertXPreStartup;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.Tuple;
 import lombok.extern.log4j.Log4j2;
 import org.hibernate.reactive.mutiny.Mutiny;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,6 +22,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -125,4 +132,54 @@ public class MySQLReactiveTest {
             fail("Test failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Compares a single connection with and without pipelining on many small statements.
+     * The timings are logged for comparison only, the container runs on the local host so the gain understates a real network.
+     */
+    @Test
+    public void testPipeliningBenchmark() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        long plain = timeStatements("mysql-bench-plain", new MySqlPerformanceOptions());
+        long pipelined = timeStatements("mysql-bench-pipelined", new MySqlPerformanceOptions()
+                .setPipeliningLimit(64)
+                .setPreparedStatementCacheMaxSize(64));
+        log.info("MySQL 2000 statements on one connection: default {} ms, pipelined {} ms", plain, pipelined);
+    }
+
+    private long timeStatements(String poolName, MySqlPerformanceOptions options) {
+        MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo();
+        info.setServerName(mysqlContainer.getHost());
+        info.setPort(String.valueOf(mysqlContainer.getMappedPort(3306)));
+        info.setDatabaseName(MYSQL_DATABASE);
+        info.setUsername(MYSQL_USER);
+        info.setPassword(MYSQL_PASSWORD);
+        info.setMaxPoolSize(1);
+        info.setPoolName(poolName);
+        info.setPerformance(options);
+        Pool pool = (Pool) info.toPooledDatasource();
+        assertNotNull(pool, "The benchmark pool should be created");
+        try {
+            // Warm up the connection and the statement cache
+            runStatements(pool, 100);
+            long started = System.nanoTime();
+            runStatements(pool, 2000);
+            return (System.nanoTime() - started) / 1_000_000;
+        } finally {
+            pool.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    private static void runStatements(Pool pool, int count) {
+        List<Future<?>> results = new ArrayList<>(count);
+        pool.withConnection(connection -> {
+            for (int i = 0; i < count; i++) {
+                results.add(connection.preparedQuery("SELECT ?").execute(Tuple.of(i)));
+            }
+            return Future.all(results);
+        }).toCompletionStage().toCompletableFuture().join();
+        assertEquals(count, results.stream().filter(Future::succeeded).count());
+    }
 }
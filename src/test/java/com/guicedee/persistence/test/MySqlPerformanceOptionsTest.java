@@ -0,0 +1,86 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.implementations.mysql.MySqlConnectionBaseInfo;
+import com.guicedee.persistence.implementations.mysql.MySqlPerformanceOptions;
+import io.vertx.mysqlclient.MySQLConnectOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link MySqlPerformanceOptions} map onto the Vert.x MySQL connect options.
+ */
+public class MySqlPerformanceOptionsTest {
+
+    @Test
+    public void testDefaultsKeepClientDefaults() {
+        MySQLConnectOptions defaults = new MySQLConnectOptions();
+        MySQLConnectOptions options = new MySqlConnectionBaseInfo().toConnectOptions();
+
+        assertEquals(defaults.getPipeliningLimit(), options.getPipeliningLimit());
+        assertEquals(defaults.isUseAffectedRows(), options.isUseAffectedRows());
+        assertFalse(options.getCachePreparedStatements());
+    }
+
+    @Test
+    public void testOptionsMappedToConnectOptions() {
+        MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo();
+        info.setPerformance(new MySqlPerformanceOptions()
+                .setPipeliningLimit(32)
+                .setUseAffectedRows(true)
+                .setPreparedStatementCacheMaxSize(512)
+                .setPreparedStatementCacheSqlLimit(4096));
+        MySQLConnectOptions options = info.toConnectOptions();
+
+        assertEquals(32, options.getPipeliningLimit());
+        assertTrue(options.isUseAffectedRows());
+        assertTrue(options.getCachePreparedStatements());
+        assertEquals(512, options.getPreparedStatementCacheMaxSize());
+        assertEquals(4096, options.getPreparedStatementCacheSqlLimit());
+    }
+
+    @Test
+    public void testUnitCacheSizeUsedAsFallback() {
+        MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo();
+        info.setPreparedStatementCacheSize(100);
+        MySQLConnectOptions options = info.toConnectOptions();
+
+        assertTrue(options.getCachePreparedStatements());
+        assertEquals(100, options.getPreparedStatementCacheMaxSize());
+
+        info.setPerformance(new MySqlPerformanceOptions().setCachePreparedStatements(false));
+        assertFalse(info.toConnectOptions().getCachePreparedStatements());
+    }
+
+    @Test
+    public void testReadFromProperties() {
+        assertNull(MySqlPerformanceOptions.fromProperties(Map.of("ssl", "true")));
+
+        MySqlPerformanceOptions options = MySqlPerformanceOptions.fromProperties(Map.of(
+                "mysql.pipelining-limit", "16",
+                "mysql.use-affected-rows", "true"));
+        assertEquals(16, options.getPipeliningLimit());
+        assertTrue(options.getUseAffectedRows());
+
+        MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo();
+        info.getCustomProperties().put("mysql.prepared-statement-cache-max-size", "32");
+        MySQLConnectOptions connectOptions = info.toConnectOptions();
+        assertTrue(connectOptions.getCachePreparedStatements());
+        assertEquals(32, connectOptions.getPreparedStatementCacheMaxSize());
+
+        assertThrows(InvalidConnectionInfoException.class,
+                () -> MySqlPerformanceOptions.fromProperties(Map.of("mysql.pipelining-limit", "many")));
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(InvalidConnectionInfoException.class, () -> new MySqlPerformanceOptions()
+                .setPipeliningLimit(-1).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new MySqlPerformanceOptions()
+                .setCachePreparedStatements(false).setPreparedStatementCacheMaxSize(10).validate("test"));
+        assertDoesNotThrow(() -> new MySqlPerformanceOptions().setPipeliningLimit(16).validate("test"));
+    }
+}
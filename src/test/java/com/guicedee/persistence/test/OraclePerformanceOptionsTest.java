@@ -0,0 +1,83 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.implementations.oracle.OracleConnectionBaseInfo;
+import com.guicedee.persistence.implementations.oracle.OracleHibernateProperties;
+import com.guicedee.persistence.implementations.oracle.OraclePerformanceOptions;
+import io.vertx.oracleclient.OracleConnectOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link OraclePerformanceOptions} map onto the Vert.x Oracle connect options and Hibernate properties.
+ */
+public class OraclePerformanceOptionsTest {
+
+    @Test
+    public void testDefaultsKeepDriverDefaults() {
+        OracleConnectOptions options = new OracleConnectionBaseInfo().toConnectOptions();
+
+        assertFalse(options.getProperties().containsKey(OraclePerformanceOptions.ROW_PREFETCH_PROPERTY));
+        assertFalse(options.getProperties().containsKey(OraclePerformanceOptions.LOB_PREFETCH_PROPERTY));
+        assertFalse(options.getCachePreparedStatements());
+    }
+
+    @Test
+    public void testOptionsMappedToDriverProperties() {
+        OracleConnectionBaseInfo info = new OracleConnectionBaseInfo();
+        info.setPerformance(new OraclePerformanceOptions()
+                .setFetchSize(1000)
+                .setLobPrefetchSize(65536)
+                .setStatementCacheSize(200));
+        OracleConnectOptions options = info.toConnectOptions();
+
+        assertEquals("1000", options.getProperties().get(OraclePerformanceOptions.ROW_PREFETCH_PROPERTY));
+        assertEquals("65536", options.getProperties().get(OraclePerformanceOptions.LOB_PREFETCH_PROPERTY));
+        assertEquals("200", options.getProperties().get(OraclePerformanceOptions.STATEMENT_CACHE_PROPERTY));
+        assertTrue(options.getCachePreparedStatements());
+        assertEquals(200, options.getPreparedStatementCacheMaxSize());
+    }
+
+    @Test
+    public void testReadFromProperties() {
+        assertNull(OraclePerformanceOptions.fromProperties(Map.of("ssl", "true")));
+
+        OraclePerformanceOptions options = OraclePerformanceOptions.fromProperties(Map.of(
+                "oracle.fetch-size", "500",
+                "oracle.lob-prefetch-size", "-1"));
+        assertEquals(500, options.getFetchSize());
+        assertEquals(-1, options.getLobPrefetchSize());
+
+        OracleConnectionBaseInfo info = new OracleConnectionBaseInfo();
+        info.getCustomProperties().put("oracle.fetch-size", "250");
+        assertEquals("250", info.toConnectOptions().getProperties().get(OraclePerformanceOptions.ROW_PREFETCH_PROPERTY));
+    }
+
+    @Test
+    public void testHibernateFetchSizeFollowsVertxFetchSize() {
+        Properties properties = new Properties();
+        properties.put("hibernate.vertx.oracle.fetch-size", "1000");
+        new OracleHibernateProperties().processProperties(null, properties);
+        assertEquals("1000", properties.getProperty("hibernate.jdbc.fetch_size"));
+
+        Properties jdbcStyle = new Properties();
+        jdbcStyle.put("hibernate.jdbc.fetch_size", "300");
+        new OracleHibernateProperties().processProperties(null, jdbcStyle);
+        assertEquals("300", jdbcStyle.getProperty("hibernate.vertx.oracle.fetch-size"));
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(InvalidConnectionInfoException.class, () -> new OraclePerformanceOptions()
+                .setFetchSize(-1).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new OraclePerformanceOptions()
+                .setLobPrefetchSize(-2).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new OraclePerformanceOptions()
+                .setCachePreparedStatements(false).setStatementCacheSize(10).validate("test"));
+        assertDoesNotThrow(() -> new OraclePerformanceOptions().setFetchSize(1000).validate("test"));
+    }
+}
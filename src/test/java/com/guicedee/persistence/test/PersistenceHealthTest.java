@@ -0,0 +1,144 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.bind.JtaPersistService;
+import com.guicedee.persistence.health.ComponentHealth;
+import com.guicedee.persistence.health.HealthProbe;
+import com.guicedee.persistence.health.HealthReport;
+import com.guicedee.persistence.health.HealthStatus;
+import com.guicedee.persistence.health.PersistenceHealth;
+import com.guicedee.persistence.health.PersistenceUnitHealthProbe;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.metrics.QueryCatalogOptions;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that {@link PersistenceHealth} caches and shares probes and aggregates readiness.
+ */
+public class PersistenceHealthTest {
+
+    @AfterEach
+    public void restore() {
+        PersistenceHealth.getProbeNames().forEach(PersistenceHealth::unregister);
+        PersistenceHealth.setCacheMillis(5000);
+        PersistenceHealth.setTimeoutMillis(2000);
+    }
+
+    @Test
+    public void testUnitIsStartingWhileCatalogWarms() throws IOException {
+        JtaPersistService started = new JtaPersistService("health-warming", Map.of()) {
+            @Override
+            public Status getStatus() {
+                return Status.STARTED;
+            }
+        };
+        QueryCatalog catalog = new QueryCatalog("health-warming", new QueryCatalogOptions().setEnabled(true)
+                .setDirectory(Files.createTempDirectory("query-catalog").toString()), 1, () -> null);
+        PersistenceUnitHealthProbe probe = new PersistenceUnitHealthProbe("health-warming", started, null, null, catalog, () -> null, null);
+
+        assertTrue(catalog.isWarming());
+        assertEquals(HealthStatus.STARTING, probe.probe().await().atMost(Duration.ofSeconds(5)).status(),
+                "A started unit is not ready before its catalog is warmed up");
+        catalog.warmUp().await().atMost(Duration.ofSeconds(5));
+        assertFalse(catalog.isWarming());
+        assertEquals(HealthStatus.UP, probe.probe().await().atMost(Duration.ofSeconds(5)).status());
+    }
+
+    @Test
+    public void testProbeResultIsCached() {
+        CountingProbe probe = new CountingProbe("test:cached", Uni.createFrom().item(HealthStatus.UP));
+        PersistenceHealth.register(probe);
+
+        HealthReport first = PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+        HealthReport second = PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(1, probe.calls.get(), "The second check should reuse the cached result");
+        assertEquals(HealthStatus.UP, first.status());
+        assertTrue(second.ready());
+        assertTrue(second.components().getFirst().checkedAt() > 0);
+    }
+
+    @Test
+    public void testExpiredResultIsProbedAgain() {
+        PersistenceHealth.setCacheMillis(0);
+        CountingProbe probe = new CountingProbe("test:expired", Uni.createFrom().item(HealthStatus.UP));
+        PersistenceHealth.register(probe);
+
+        PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+        PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(2, probe.calls.get());
+    }
+
+    @Test
+    public void testSlowProbeReportsDown() {
+        PersistenceHealth.setTimeoutMillis(50);
+        PersistenceHealth.register(new CountingProbe("test:slow", Uni.createFrom().nothing()));
+
+        HealthReport report = PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(HealthStatus.DOWN, report.status());
+        assertFalse(report.ready());
+        assertTrue(report.components().getFirst().error().contains("50 ms"));
+    }
+
+    @Test
+    public void testReadinessUsesWorstStatus() {
+        PersistenceHealth.register(new CountingProbe("test:up", Uni.createFrom().item(HealthStatus.UP)));
+        PersistenceHealth.register(new CountingProbe("test:degraded", Uni.createFrom().item(HealthStatus.DEGRADED)));
+
+        HealthReport degraded = PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+        assertEquals(HealthStatus.DEGRADED, degraded.status());
+        assertTrue(degraded.ready(), "Degraded components still accept traffic");
+
+        PersistenceHealth.register(new CountingProbe("test:starting", Uni.createFrom().item(HealthStatus.STARTING)));
+        HealthReport starting = PersistenceHealth.check().await().atMost(Duration.ofSeconds(5));
+        assertEquals(HealthStatus.STARTING, starting.status());
+        assertFalse(starting.ready());
+    }
+
+    @Test
+    public void testLastKnownDoesNotProbe() {
+        CountingProbe probe = new CountingProbe("test:live", Uni.createFrom().item(HealthStatus.UP));
+        PersistenceHealth.register(probe);
+
+        assertEquals(HealthStatus.STARTING, PersistenceHealth.lastKnown().status());
+        assertEquals(0, probe.calls.get());
+    }
+
+    private static final class CountingProbe implements HealthProbe {
+        private final String name;
+        private final Uni<HealthStatus> status;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingProbe(String name, Uni<HealthStatus> status) {
+            this.name = name;
+            this.status = status;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getType() {
+            return "test";
+        }
+
+        @Override
+        public Uni<ComponentHealth> probe() {
+            calls.incrementAndGet();
+            return status.map(s -> ComponentHealth.of(this, s, Map.of()));
+        }
+    }
+}
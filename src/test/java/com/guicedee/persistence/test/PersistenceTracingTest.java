@@ -0,0 +1,84 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.tracing.PersistenceSpan;
+import com.guicedee.persistence.tracing.PersistenceTracer;
+import com.guicedee.persistence.tracing.PersistenceTracing;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that {@link PersistenceTracing} opens spans with the persistence unit attributes and stays out of the way when disabled.
+ */
+public class PersistenceTracingTest {
+
+    @AfterEach
+    public void restore() {
+        PersistenceTracing.setTracer(PersistenceTracer.NOOP);
+        PersistenceTracing.clearVendors();
+    }
+
+    @Test
+    public void testNoopReturnsNoopSpan() {
+        PersistenceTracing.setTracer(PersistenceTracer.NOOP);
+        assertFalse(PersistenceTracing.isEnabled());
+        assertSame(PersistenceSpan.NOOP, PersistenceTracing.startSpan(PersistenceTracer.QUERY, "test"));
+        assertEquals(1, PersistenceTracing.trace(PersistenceTracer.QUERY, "test", () -> Uni.createFrom().item(1)).await().indefinitely());
+    }
+
+    @Test
+    public void testTraceRecordsAttributesAndFailure() {
+        List<RecordingSpan> spans = new ArrayList<>();
+        PersistenceTracing.setTracer((name, persistenceUnit, vendor) -> {
+            RecordingSpan span = new RecordingSpan(name);
+            spans.add(span);
+            return span;
+        });
+        PersistenceTracing.registerVendor("orders", "postgresql");
+
+        PersistenceTracing.trace(PersistenceTracer.QUERY, "orders", () -> Uni.createFrom().item(1)).await().indefinitely();
+        assertThrows(IllegalStateException.class, () -> PersistenceTracing
+                .trace(PersistenceTracer.TRANSACTION_COMMIT, "orders", () -> Uni.createFrom().failure(new IllegalStateException("down")))
+                .await().indefinitely());
+
+        assertEquals(2, spans.size());
+        assertEquals("orders", spans.get(0).attributes.get(PersistenceTracer.PERSISTENCE_UNIT));
+        assertEquals("postgresql", spans.get(0).attributes.get(PersistenceTracer.DB_SYSTEM));
+        assertTrue(spans.get(0).ended);
+        assertNull(spans.get(0).failure);
+        assertEquals(PersistenceTracer.TRANSACTION_COMMIT, spans.get(1).name);
+        assertInstanceOf(IllegalStateException.class, spans.get(1).failure);
+    }
+
+    private static final class RecordingSpan implements PersistenceSpan {
+        private final String name;
+        private final Map<String, String> attributes = new ConcurrentHashMap<>();
+        private volatile boolean ended;
+        private volatile Throwable failure;
+
+        private RecordingSpan(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public PersistenceSpan setAttribute(String key, String value) {
+            if (value != null) {
+                attributes.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public void end(Throwable failure) {
+            this.ended = true;
+            this.failure = failure;
+        }
+    }
+}
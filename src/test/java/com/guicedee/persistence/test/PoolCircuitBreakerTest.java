@@ -0,0 +1,153 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.CircuitBreakerOpenException;
+import com.guicedee.persistence.pool.CircuitBreakerOptions;
+import com.guicedee.persistence.pool.CircuitBreakerState;
+import com.guicedee.persistence.pool.PoolCircuitBreaker;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import org.hibernate.reactive.mutiny.Mutiny;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the state transitions of {@link PoolCircuitBreaker} and the guarded pool and session factory without a database.
+ */
+public class PoolCircuitBreakerTest {
+
+    private static PoolCircuitBreaker breaker(long openMillis) {
+        CircuitBreakerOptions options = new CircuitBreakerOptions()
+                .setSlidingWindowSize(4)
+                .setMinimumNumberOfCalls(4)
+                .setFailureRateThreshold(50)
+                .setWaitDurationInOpenState(openMillis);
+        return new PoolCircuitBreaker("test", options, null, null, null);
+    }
+
+    private static void fail(PoolCircuitBreaker breaker) {
+        assertThrows(IllegalStateException.class, () -> breaker
+                .execute(() -> Uni.createFrom().failure(new IllegalStateException("down")))
+                .await().indefinitely());
+    }
+
+    @Test
+    public void testOpensAtFailureRate() {
+        PoolCircuitBreaker breaker = breaker(60_000);
+        breaker.execute(() -> Uni.createFrom().item(1)).await().indefinitely();
+        breaker.execute(() -> Uni.createFrom().item(1)).await().indefinitely();
+        fail(breaker);
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState(), "Minimum number of calls not yet reached");
+        fail(breaker);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState(), "2 of 4 calls failed, breaker should open");
+    }
+
+    @Test
+    public void testShortCircuitsWhileOpen() {
+        PoolCircuitBreaker breaker = breaker(60_000);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        AtomicInteger invoked = new AtomicInteger();
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker
+                .execute(() -> Uni.createFrom().item(invoked.incrementAndGet()))
+                .await().indefinitely());
+        assertEquals(0, invoked.get(), "Operation must not run while the breaker is open");
+    }
+
+    @Test
+    public void testHalfOpenProbeCloses() throws InterruptedException {
+        PoolCircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        Thread.sleep(100);
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        assertEquals(1, breaker.execute(() -> Uni.createFrom().item(1)).await().indefinitely());
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenProbeFailureReopens() throws InterruptedException {
+        PoolCircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        Thread.sleep(100);
+        fail(breaker);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testDisabledPassesThrough() {
+        PoolCircuitBreaker breaker = new PoolCircuitBreaker("test", new CircuitBreakerOptions().setEnabled(false), null, null, null);
+        for (int i = 0; i < 20; i++) {
+            fail(breaker);
+        }
+        assertEquals(1, breaker.execute(() -> Uni.createFrom().item(1)).await().indefinitely());
+    }
+
+    @Test
+    public void testGuardedPoolFailsFastWhileOpen() {
+        PoolCircuitBreaker breaker = breaker(60_000);
+        AtomicInteger borrowed = new AtomicInteger();
+        Pool pool = (Pool) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Pool.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> {
+                        borrowed.incrementAndGet();
+                        yield Future.failedFuture(new IllegalStateException("down"));
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        SqlClient guarded = breaker.guard(pool);
+        assertSame(guarded, breaker.guard(pool), "The view is created once per pool");
+
+        for (int i = 0; i < 4; i++) {
+            ((Pool) guarded).getConnection();
+        }
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState(), "Failed borrows through the view open the breaker");
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> ((Pool) guarded).getConnection().toCompletionStage().toCompletableFuture().get());
+        assertInstanceOf(CircuitBreakerOpenException.class, rejected.getCause());
+        assertEquals(4, borrowed.get(), "The pool must not be borrowed from while the breaker is open");
+
+        ExecutionException query = assertThrows(ExecutionException.class,
+                () -> guarded.query("SELECT 1").execute().toCompletionStage().toCompletableFuture().get());
+        assertInstanceOf(CircuitBreakerOpenException.class, query.getCause());
+    }
+
+    @Test
+    public void testGuardedSessionFactoryFailsFastWhileOpen() {
+        PoolCircuitBreaker breaker = breaker(60_000);
+        AtomicInteger sessions = new AtomicInteger();
+        Mutiny.SessionFactory factory = (Mutiny.SessionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Mutiny.SessionFactory.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "withSession" -> {
+                        sessions.incrementAndGet();
+                        yield Uni.createFrom().item(1);
+                    }
+                    case "isOpen" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        Mutiny.SessionFactory guarded = breaker.guard(factory);
+        assertTrue(guarded.isOpen(), "Calls not returning a Uni pass straight through");
+        assertEquals(1, guarded.withSession(session -> Uni.createFrom().item(1)).await().indefinitely());
+
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThrows(CircuitBreakerOpenException.class,
+                () -> guarded.withSession(session -> Uni.createFrom().item(1)).await().indefinitely());
+        assertEquals(1, sessions.get(), "No session may be opened while the breaker is open");
+    }
+}
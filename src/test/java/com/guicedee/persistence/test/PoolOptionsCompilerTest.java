@@ -0,0 +1,287 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.db2.DB2ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.mysql.MySqlConnectionBaseInfo;
+import com.guicedee.persistence.implementations.oracle.OracleConnectionBaseInfo;
+import com.guicedee.persistence.implementations.postgres.PostgresConnectionBaseInfo;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerConnectionBaseInfo;
+import com.guicedee.persistence.pool.ConnectionRecyclingOptions;
+import com.guicedee.persistence.pool.DrainablePool;
+import com.guicedee.persistence.pool.PoolAffinity;
+import com.guicedee.persistence.pool.PoolOptionsCompiler;
+import com.guicedee.persistence.pool.PoolPartitions;
+import com.guicedee.persistence.pool.PoolTuningOptions;
+import com.guicedee.persistence.pool.RecyclingPool;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.mysqlclient.MySQLBuilder;
+import io.vertx.mysqlclient.MySQLConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.SqlClient;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that {@link PoolOptionsCompiler} produces the same pool options for every vendor, with the unit's times in seconds.
+ */
+public class PoolOptionsCompilerTest {
+
+    private record Vendor(String name, Supplier<ConnectionBaseInfo> info, Function<ConnectionBaseInfo, PoolOptions> compile) {
+    }
+
+    private record Case(String name, Integer maxPoolSize, Integer maxIdleTime, Integer maxLifeTime, Integer acquisitionTimeout,
+                        PoolTuningOptions tuning,
+                        int expectedMaxSize, int expectedIdle, int expectedLifetime, int expectedConnectionTimeout,
+                        int expectedWaitQueue, int expectedCleaner, int expectedEventLoops, boolean expectedShared) {
+    }
+
+    private static final List<Vendor> VENDORS = List.of(
+            new Vendor("postgres", PostgresConnectionBaseInfo::new, i -> ((PostgresConnectionBaseInfo) i).toPoolOptions()),
+            new Vendor("mysql", MySqlConnectionBaseInfo::new, i -> ((MySqlConnectionBaseInfo) i).toPoolOptions()),
+            new Vendor("oracle", OracleConnectionBaseInfo::new, i -> ((OracleConnectionBaseInfo) i).toPoolOptions()),
+            new Vendor("db2", DB2ConnectionBaseInfo::new, i -> ((DB2ConnectionBaseInfo) i).toPoolOptions()),
+            new Vendor("sqlserver", SqlServerConnectionBaseInfo::new, i -> ((SqlServerConnectionBaseInfo) i).toPoolOptions()));
+
+    private static final List<Case> CASES = List.of(
+            new Case("defaults", null, null, null, null, null,
+                    PoolOptions.DEFAULT_MAX_SIZE, PoolOptions.DEFAULT_IDLE_TIMEOUT, PoolOptions.DEFAULT_MAXIMUM_LIFETIME,
+                    PoolOptions.DEFAULT_CONNECTION_TIMEOUT, -1, 1000, PoolOptions.DEFAULT_EVENT_LOOP_SIZE, true),
+            new Case("seconds", 20, 300, 1800, 10, null,
+                    20, 300, 1800, 10, -1, 1000, PoolOptions.DEFAULT_EVENT_LOOP_SIZE, true),
+            new Case("non-positive times ignored", 8, 0, -1, 0, null,
+                    8, PoolOptions.DEFAULT_IDLE_TIMEOUT, PoolOptions.DEFAULT_MAXIMUM_LIFETIME,
+                    PoolOptions.DEFAULT_CONNECTION_TIMEOUT, -1, 1000, PoolOptions.DEFAULT_EVENT_LOOP_SIZE, true),
+            new Case("tuned", 32, 60, 900, 5, new PoolTuningOptions()
+                    .setEventLoopSize(4)
+                    .setMaxWaitQueueSize(256)
+                    .setPoolCleanerPeriod(250)
+                    .setShared(false),
+                    32, 60, 900, 5, 256, 250, 4, false),
+            new Case("event loop affinity", 16, null, null, null, new PoolTuningOptions()
+                    .setAffinity(PoolAffinity.EVENT_LOOP),
+                    16, PoolOptions.DEFAULT_IDLE_TIMEOUT, PoolOptions.DEFAULT_MAXIMUM_LIFETIME,
+                    PoolOptions.DEFAULT_CONNECTION_TIMEOUT, -1, 1000, VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE, true));
+
+    @TestFactory
+    public List<DynamicTest> testEveryVendorCompilesTheSameOptions() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Vendor vendor : VENDORS) {
+            for (Case c : CASES) {
+                tests.add(DynamicTest.dynamicTest(vendor.name() + ": " + c.name(), () -> {
+                    ConnectionBaseInfo info = vendor.info().get();
+                    info.setPoolName("orders");
+                    info.setMaxPoolSize(c.maxPoolSize());
+                    info.setMaxIdleTime(c.maxIdleTime());
+                    info.setMaxLifeTime(c.maxLifeTime());
+                    info.setAcquisitionTimeout(c.acquisitionTimeout());
+                    info.setPoolTuning(c.tuning());
+                    PoolOptions options = vendor.compile().apply(info);
+
+                    assertEquals(c.expectedMaxSize(), options.getMaxSize());
+                    assertEquals(c.expectedIdle(), options.getIdleTimeout());
+                    assertEquals(c.expectedLifetime(), options.getMaxLifetime());
+                    assertEquals(c.expectedConnectionTimeout(), options.getConnectionTimeout());
+                    if (c.maxIdleTime() != null && c.maxIdleTime() > 0) {
+                        assertEquals(TimeUnit.SECONDS, options.getIdleTimeoutUnit());
+                    }
+                    if (c.maxLifeTime() != null && c.maxLifeTime() > 0) {
+                        assertEquals(TimeUnit.SECONDS, options.getMaxLifetimeUnit());
+                    }
+                    if (c.acquisitionTimeout() != null && c.acquisitionTimeout() > 0) {
+                        assertEquals(TimeUnit.SECONDS, options.getConnectionTimeoutUnit());
+                    }
+                    assertEquals(c.expectedWaitQueue(), options.getMaxWaitQueueSize());
+                    assertEquals(c.expectedCleaner(), options.getPoolCleanerPeriod());
+                    assertEquals(c.expectedEventLoops(), options.getEventLoopSize());
+                    assertEquals(c.expectedShared(), options.isShared());
+                    assertEquals("orders", options.getName());
+                }));
+            }
+        }
+        return tests;
+    }
+
+    @Test
+    public void testDefaultPoolNameUsedWithoutUnitName() {
+        assertEquals("fallback", PoolOptionsCompiler.compile(new MySqlConnectionBaseInfo(), "fallback").getName());
+
+        MySqlConnectionBaseInfo named = new MySqlConnectionBaseInfo();
+        named.setPersistenceUnitName("billing");
+        assertEquals("billing", PoolOptionsCompiler.compile(named, "fallback").getName());
+    }
+
+    @Test
+    public void testSocketIdleTimeoutInSeconds() {
+        // The path CleanVertxConnectionBaseInfo, VertxConnectionBaseInfo and SqlServerConnectionBaseInfo take
+        MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo();
+        info.setMaxIdleTime(1800);
+        NetClientOptions socket = new NetClientOptions();
+        PoolOptionsCompiler.applyIdleTimeout(socket, info);
+        assertEquals(1800, socket.getIdleTimeout());
+        assertEquals(TimeUnit.SECONDS, socket.getIdleTimeoutUnit());
+
+        NetClientOptions unset = new NetClientOptions();
+        PoolOptionsCompiler.applyIdleTimeout(unset, new MySqlConnectionBaseInfo());
+        assertEquals(NetClientOptions.DEFAULT_IDLE_TIMEOUT, unset.getIdleTimeout());
+        assertDoesNotThrow(() -> PoolOptionsCompiler.applyIdleTimeout(new MySQLConnectOptions(), info));
+    }
+
+    @Test
+    public void testContextAffinityPartitionsPerContext() {
+        Vertx vertx = Vertx.vertx();
+        try {
+            List<PoolOptions> compiled = new CopyOnWriteArrayList<>();
+            MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo() {
+                @Override
+                public SqlClient toPooledDatasource() {
+                    PoolOptions options = toPoolOptions();
+                    compiled.add(options);
+                    // Pools connect lazily, so nothing is opened here
+                    return MySQLBuilder.pool().with(options).connectingTo(new MySQLConnectOptions()).using(vertx).build();
+                }
+            };
+            info.setPoolName("partitioned");
+            info.setMaxPoolSize(8);
+            info.setPoolTuning(new PoolTuningOptions().setAffinity(PoolAffinity.CONTEXT).setEventLoopSize(4));
+
+            Context first = vertx.getOrCreateContext();
+            Context second = CompletableFuture.supplyAsync(vertx::getOrCreateContext).join();
+            SqlClient firstPartition = onContext(first, () -> PoolPartitions.current("partitioned", info));
+            SqlClient secondPartition = onContext(second, () -> PoolPartitions.current("partitioned", info));
+
+            assertSame(firstPartition, onContext(first, () -> PoolPartitions.current("partitioned", info)));
+            assertNotSame(firstPartition, secondPartition);
+            assertNull(PoolPartitions.current("partitioned", info));
+            assertEquals(2, PoolPartitions.getPartitionsCreated("partitioned"));
+            assertEquals(2, compiled.size());
+            for (PoolOptions options : compiled) {
+                assertEquals(2, options.getMaxSize());
+                assertFalse(options.isShared());
+                assertEquals(0, options.getEventLoopSize());
+                assertTrue(options.getName().startsWith("partitioned-partition-"));
+            }
+        } finally {
+            PoolPartitions.closeAll("partitioned", null, Duration.ZERO).toCompletionStage().toCompletableFuture().join();
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    public void testContextPartitionsCappedAtPoolSize() {
+        Vertx vertx = Vertx.vertx();
+        try {
+            MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo() {
+                @Override
+                public SqlClient toPooledDatasource() {
+                    return MySQLBuilder.pool().with(toPoolOptions()).connectingTo(new MySQLConnectOptions()).using(vertx).build();
+                }
+            };
+            info.setPoolName("capped");
+            info.setMaxPoolSize(5);
+            info.setPoolTuning(new PoolTuningOptions().setAffinity(PoolAffinity.CONTEXT).setEventLoopSize(2).setPartitionMaxSize(2));
+
+            List<Context> contexts = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                contexts.add(CompletableFuture.supplyAsync(vertx::getOrCreateContext).join());
+            }
+            SqlClient first = onContext(contexts.get(0), () -> PoolPartitions.current("capped", info));
+            assertNotNull(first);
+            assertNotNull(onContext(contexts.get(1), () -> PoolPartitions.current("capped", info)));
+            assertNull(onContext(contexts.get(2), () -> PoolPartitions.current("capped", info)),
+                    "Two partitions of two connections and one shared connection fill a pool of five, the third context uses the unit pool");
+            assertEquals(2, PoolPartitions.getPartitionCount("capped"));
+            assertEquals(1, info.toPoolOptions().getMaxSize(), "The unit pool keeps what the partitions leave over");
+
+            PoolPartitions.closeAll("capped", null, Duration.ZERO).toCompletionStage().toCompletableFuture().join();
+            assertEquals(0, PoolPartitions.getPartitionCount("capped"));
+            SqlClient recreated = onContext(contexts.get(0), () -> PoolPartitions.current("capped", info));
+            assertNotNull(recreated);
+            assertNotSame(first, recreated, "A closed partition is replaced on the next borrow");
+        } finally {
+            PoolPartitions.closeAll("capped", null, Duration.ZERO).toCompletionStage().toCompletableFuture().join();
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    public void testRecyclingSlicesRotateOneAtATime() {
+        Vertx vertx = Vertx.vertx();
+        try {
+            List<PoolOptions> compiled = new CopyOnWriteArrayList<>();
+            MySqlConnectionBaseInfo info = new MySqlConnectionBaseInfo() {
+                @Override
+                public SqlClient toPooledDatasource() {
+                    PoolOptions options = toPoolOptions();
+                    compiled.add(options);
+                    return MySQLBuilder.pool().with(options).connectingTo(new MySQLConnectOptions()).using(vertx).build();
+                }
+            };
+            info.setPoolName("recycled");
+            info.setMaxPoolSize(10);
+            info.setMaxLifeTime(3600);
+            info.setConnectionRecycling(new ConnectionRecyclingOptions().setEnabled(true).setMaxRetirePercent(25).setDrainTimeout(0));
+
+            RecyclingPool pool = assertInstanceOf(RecyclingPool.class, RecyclingPool.create(info));
+            try {
+                assertEquals(5, pool.getSliceCount(), "Slices of 3 would retire 30% at a time");
+                assertEquals(720_000L, pool.getRotationInterval());
+                assertEquals(List.of(2, 2, 2, 2, 2), compiled.stream().map(PoolOptions::getMaxSize).toList());
+                for (PoolOptions options : compiled) {
+                    assertEquals(0, options.getMaxLifetime());
+                    assertFalse(options.isShared());
+                    assertTrue(options.getName().startsWith("recycled-slice-"));
+                }
+
+                pool.rotate();
+                assertEquals(1, pool.getRotations());
+                assertEquals(6, compiled.size());
+                assertEquals("recycled-slice-0-6", compiled.get(5).getName());
+                assertEquals(2, compiled.get(5).getMaxSize());
+            } finally {
+                pool.close().toCompletionStage().toCompletableFuture().join();
+            }
+
+            info.setConnectionRecycling(new ConnectionRecyclingOptions());
+            assertFalse(RecyclingPool.recycles(info));
+            assertEquals(1, new ConnectionRecyclingOptions().setMaxRetirePercent(100).sliceCount(10));
+            assertEquals(3, new ConnectionRecyclingOptions().setMaxRetirePercent(10).sliceCount(3));
+            assertEquals(0, new ConnectionRecyclingOptions().setMaxRetirePercent(10).retireLimit(4));
+
+            // 4 connections cannot be retired 10% at a time, the unit keeps a plain pool
+            info.setMaxPoolSize(4);
+            info.setConnectionRecycling(new ConnectionRecyclingOptions().setEnabled(true).setMaxRetirePercent(10));
+            SqlClient plain = RecyclingPool.create(info);
+            assertInstanceOf(DrainablePool.class, plain);
+            plain.close().toCompletionStage().toCompletableFuture().join();
+
+            // Without recycling, reconfiguration or context affinity the pool is registered as built
+            info.setConnectionRecycling(new ConnectionRecyclingOptions());
+            SqlClient unwrapped = RecyclingPool.create(info);
+            assertFalse(unwrapped instanceof DrainablePool);
+            unwrapped.close().toCompletionStage().toCompletableFuture().join();
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    private static SqlClient onContext(Context context, Supplier<SqlClient> action) {
+        CompletableFuture<SqlClient> result = new CompletableFuture<>();
+        context.runOnContext(v -> result.complete(action.get()));
+        return result.join();
+    }
+}
@@ -0,0 +1,205 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.ConnectionBaseInfo;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.persistence.pool.ConnectionRecyclingOptions;
+import com.guicedee.persistence.pool.DrainablePool;
+import com.guicedee.persistence.pool.PoolReconfigurer;
+import com.guicedee.persistence.pool.RecyclingPool;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the pool swap, registry re-keying and drain of {@link PoolReconfigurer}, and the slice lending of
+ * {@link RecyclingPool}, against stub pools, without a database.
+ */
+public class PoolReconfigurerTest {
+
+    private static final String UNIT = "reconfigured";
+
+    @AfterEach
+    public void reset() {
+        VertxPersistenceModule.reset();
+    }
+
+    private static Pool stubPool(AtomicBoolean closed) {
+        return stubPool(closed, new ArrayList<>());
+    }
+
+    private static Pool stubPool(AtomicBoolean closed, List<Object> lenders) {
+        return (Pool) Proxy.newProxyInstance(PoolReconfigurerTest.class.getClassLoader(), new Class<?>[]{Pool.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> {
+                        lenders.add(proxy);
+                        yield Future.succeededFuture(stubConnection());
+                    }
+                    case "close" -> {
+                        closed.set(true);
+                        yield Future.succeededFuture();
+                    }
+                    case "size" -> 0;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "stub-pool";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static SqlConnection stubConnection() {
+        return (SqlConnection) Proxy.newProxyInstance(PoolReconfigurerTest.class.getClassLoader(), new Class<?>[]{SqlConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> Future.succeededFuture();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "stub-connection";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static StubConnectionInfo register(AtomicBoolean closed, boolean reactive) {
+        StubConnectionInfo current = new StubConnectionInfo(new AtomicBoolean());
+        current.setPersistenceUnitName(UNIT);
+        current.setReactive(reactive);
+        VertxPersistenceModule.getConnectionModules().put(current, null);
+        VertxPersistenceModule.getSqlClientMap().put(UNIT, new DrainablePool(stubPool(closed)));
+        return current;
+    }
+
+    @Test
+    public void testSwapRekeysAndClosesIdlePool() {
+        AtomicBoolean oldClosed = new AtomicBoolean();
+        StubConnectionInfo current = register(oldClosed, false);
+        SqlClient old = VertxPersistenceModule.getSqlClientByEntityManager(UNIT);
+
+        AtomicBoolean newClosed = new AtomicBoolean();
+        StubConnectionInfo updated = new StubConnectionInfo(newClosed);
+        updated.setReactive(false);
+        updated.setReconfigurablePool(true);
+        updated.setMaxPoolSize(40);
+        PoolReconfigurer.reconfigure(UNIT, updated, Duration.ofSeconds(30)).await().atMost(Duration.ofSeconds(5));
+
+        SqlClient swapped = VertxPersistenceModule.getSqlClientByEntityManager(UNIT);
+        assertNotSame(old, swapped, "The registry must hand out the new pool");
+        assertInstanceOf(DrainablePool.class, swapped);
+        assertSame(updated, VertxPersistenceModule.getConnectionInfoByEntityManager(UNIT), "Lookups must return the new settings");
+        assertTrue(VertxPersistenceModule.getConnectionModules().keySet().stream().anyMatch(key -> key == updated));
+        assertTrue(VertxPersistenceModule.getConnectionModules().keySet().stream().noneMatch(key -> key == current));
+        assertTrue(updated.getPoolName().startsWith(UNIT + "-"), "The new pool gets a generation suffix");
+        assertTrue(oldClosed.get(), "An old pool with nothing borrowed is closed at once");
+        assertFalse(newClosed.get());
+    }
+
+    @Test
+    public void testRefusesReactiveUnitWithoutReconfigurablePool() {
+        AtomicBoolean oldClosed = new AtomicBoolean();
+        register(oldClosed, true);
+        SqlClient old = VertxPersistenceModule.getSqlClientByEntityManager(UNIT);
+
+        StubConnectionInfo updated = new StubConnectionInfo(new AtomicBoolean());
+        assertThrows(IllegalStateException.class, () -> PoolReconfigurer.reconfigure(UNIT, updated, Duration.ZERO)
+                .await().atMost(Duration.ofSeconds(5)));
+        assertSame(old, VertxPersistenceModule.getSqlClientByEntityManager(UNIT), "The old pool must stay in place");
+        assertFalse(oldClosed.get());
+    }
+
+    @Test
+    public void testDrainClosesWhenLastConnectionReturns() throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            AtomicBoolean closed = new AtomicBoolean();
+            DrainablePool pool = new DrainablePool(stubPool(closed));
+            SqlConnection borrowed = pool.getConnection().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(1, pool.getInUse());
+
+            Future<Void> drained = pool.drain(vertx, 30_000);
+            assertFalse(closed.get(), "The pool must stay open while a connection is borrowed");
+
+            borrowed.close();
+            drained.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertTrue(closed.get(), "The pool must close once the last connection is returned");
+            assertEquals(0, pool.getInUse());
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDrainTimeoutIsUpperBound() throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            AtomicBoolean closed = new AtomicBoolean();
+            DrainablePool pool = new DrainablePool(stubPool(closed));
+            pool.getConnection().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            pool.drain(vertx, 50).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertTrue(closed.get(), "A leaked connection must not keep the pool open past the timeout");
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRecyclingPoolLendsFromIdleSlice() throws Exception {
+        List<Object> slices = new ArrayList<>();
+        List<Object> lenders = new ArrayList<>();
+        ConnectionBaseInfo info = new ConnectionBaseInfo() {
+            @Override
+            public SqlClient toPooledDatasource() {
+                Pool slice = stubPool(new AtomicBoolean(), lenders);
+                slices.add(slice);
+                return slice;
+            }
+        };
+        info.setPersistenceUnitName("recycled");
+        info.setMaxPoolSize(2);
+        info.setMaxLifeTime(3600);
+        info.setConnectionRecycling(new ConnectionRecyclingOptions().setEnabled(true).setMaxRetirePercent(50).setDrainTimeout(0));
+
+        RecyclingPool pool = assertInstanceOf(RecyclingPool.class, RecyclingPool.create(info));
+        try {
+            assertEquals(2, pool.getSliceCount());
+            SqlConnection first = pool.getConnection().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            SqlConnection second = pool.getConnection().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            second.close();
+            SqlConnection third = pool.getConnection().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(slices.get(0), slices.get(1), slices.get(1)), lenders,
+                    "The turn of the full first slice must pass to the idle second slice");
+            first.close();
+            third.close();
+        } finally {
+            pool.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Connection settings whose pool is a stub recording its close.
+     */
+    private static class StubConnectionInfo extends ConnectionBaseInfo {
+
+        private final AtomicBoolean closed;
+
+        StubConnectionInfo(AtomicBoolean closed) {
+            this.closed = closed;
+            setEnableJdbc4ConnectionTest(false);
+        }
+
+        @Override
+        public SqlClient toPooledDatasource() {
+            return stubPool(closed);
+        }
+    }
+}
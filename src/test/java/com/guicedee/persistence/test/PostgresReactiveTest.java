@@ -5,7 +5,26 @@ import com.google.inject.name.Names;
 import com.guicedee.client.IGuiceContext;
 import com.guicedee.vertx.spi.VertXPreStartup;
 import com.guicedee.persistence.PersistService;
+import com.guicedee.persistence.bind.HqlPrecompiler;
 import com.guicedee.persistence.bind.JtaPersistService;
+import com.guicedee.persistence.implementations.VertxPersistenceModule;
+import com.guicedee.persistence.implementations.postgres.PostgresBulkCopy;
+import com.guicedee.persistence.implementations.postgres.PostgresBulkStats;
+import com.guicedee.persistence.implementations.postgres.PostgresConnectionBaseInfo;
+import com.guicedee.persistence.implementations.postgres.PostgresNotifications;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.metrics.QueryCatalogOptions;
+import com.guicedee.persistence.pool.PoolAffinity;
+import com.guicedee.persistence.pool.PoolPartitions;
+import com.guicedee.persistence.pool.PoolTuningOptions;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
 import lombok.extern.log4j.Log4j2;
 import org.hibernate.reactive.mutiny.Mutiny;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,8 +33,17 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.nio.file.Files;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.guicedee.persistence.test.PostgresTest.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -147,5 +175,193 @@ public class PostgresReactiveTest {
         }
     }
 
+    @Test
+    public void testListenNotify() throws InterruptedException {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        PostgresNotifications notifications = IGuiceContext.get(Key.get(PostgresNotifications.class, Names.named("testPostgresReactive")));
+        List<String> received = new CopyOnWriteArrayList<>();
+        Cancellable subscription = notifications.listen("test_events").subscribe().with(received::add);
+        try {
+            // LISTEN is issued once the dedicated connection is open, keep notifying until the first message arrives
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+                notifications.notify("test_events", "invalidate:42").await().atMost(Duration.ofSeconds(10));
+                Thread.sleep(200);
+            }
+            assertFalse(received.isEmpty(), "A notification should have been received");
+            assertEquals("invalidate:42", received.getFirst());
+            assertTrue(notifications.isConnected());
+            assertTrue(notifications.getReceivedCount() > 0);
+        } finally {
+            subscription.cancel();
+        }
+    }
+
+    @Test
+    public void testBulkLoadAndExport() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        VertxPersistenceModule.getSqlClientByEntityManager("testPostgresReactive")
+                .query("CREATE TABLE IF NOT EXISTS bulk_events (id bigint PRIMARY KEY, kind text, note text)")
+                .execute()
+                .toCompletionStage().toCompletableFuture().join();
+
+        PostgresBulkCopy bulkCopy = IGuiceContext.get(Key.get(PostgresBulkCopy.class, Names.named("testPostgresReactive")));
+        int count = 12_000;
+        // The note column is always null, it is padded by UNNEST
+        Multi<Tuple> rows = Multi.createFrom().range(0, count)
+                .map(i -> Tuple.of((long) i, i % 2 == 0 ? "even" : "odd", null));
+        PostgresBulkStats loaded = bulkCopy.load("bulk_events", List.of("id bigint", "kind text", "note text"), rows)
+                .await().atMost(Duration.ofSeconds(60));
+        assertEquals(count, loaded.rows());
+        assertEquals(3, loaded.batches());
+        assertTrue(loaded.rowsPerSecond() > 0);
+
+        List<Row> exported = bulkCopy.export("SELECT id, kind FROM bulk_events WHERE kind = $1 ORDER BY id", Tuple.of("odd"))
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(60));
+        assertEquals(count / 2, exported.size());
+        assertEquals(1L, exported.getFirst().getLong(0));
+        assertEquals(count / 2, bulkCopy.getLastExport().rows());
+    }
+
+    @Test
+    public void testQueryCatalogWarmUp() throws Exception {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        PostgresConnectionBaseInfo info = new PostgresConnectionBaseInfo();
+        info.setServerName(postgresContainer.getHost());
+        info.setPort(String.valueOf(postgresContainer.getMappedPort(5432)));
+        info.setDatabaseName(POSTGRES_DATABASE);
+        info.setUsername(POSTGRES_USER);
+        info.setPassword(POSTGRES_PASSWORD);
+        info.setMaxPoolSize(2);
+        info.setPoolName("pg-query-catalog");
+        info.setQueryCatalog(new QueryCatalogOptions().setEnabled(true)
+                .setDirectory(Files.createTempDirectory("query-catalog").toString()));
+        SqlClient pool = info.toPooledDatasource();
+        try {
+            QueryCatalog recorded = new QueryCatalog("pg-query-catalog", info.getQueryCatalog(), 2, () -> pool);
+            recorded.record("SELECT $1::int AS answer");
+            recorded.record("SELECT missing_column FROM missing_table");
+            recorded.save();
+
+            QueryCatalog catalog = new QueryCatalog("pg-query-catalog", info.getQueryCatalog(), 2, () -> pool);
+            int prepared = catalog.warmUp().await().atMost(Duration.ofSeconds(60));
+            assertEquals(2, prepared);
+            assertEquals(1, catalog.getFailedCount());
+            assertEquals(Set.of("SELECT $1::int AS answer"), catalog.getStatements());
+        } finally {
+            pool.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
 
+    @Test
+    public void testHqlPrecompilation() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        JtaPersistService ps = (JtaPersistService) IGuiceContext.get(Key.get(PersistService.class, Names.named("testPostgresReactive")));
+        ps.start().await().atMost(Duration.ofSeconds(60));
+        HqlPrecompiler precompiler = ps.getHqlPrecompiler()
+                .register("select 1")
+                .register("select local datetime", LocalDateTime.class)
+                .register("select x from NoSuchEntity x");
+        int compiled = precompiler.precompile(new JtaPersistService.EntityManagerFactoryProvider(ps).get())
+                .await().atMost(Duration.ofSeconds(60));
+        assertTrue(compiled >= 2);
+        assertEquals(1, precompiler.getFailedCount());
+        assertFalse(precompiler.getQueries().contains("select x from NoSuchEntity x"));
+    }
+
+    private static final int CONTEXTS = 4;
+    private static final int QUERIES_PER_CONTEXT = 500;
+
+    @Test
+    public void testContextAffinityBenchmark() {
+        IGuiceContext.registerModule("com.guicedee.guicedpersistence.test");
+        IGuiceContext.getContext().inject();
+
+        long none = timeContexts(affinityInfo("pg-affinity-none", PoolAffinity.NONE));
+        long eventLoop = timeContexts(affinityInfo("pg-affinity-event-loop", PoolAffinity.EVENT_LOOP));
+        PostgresConnectionBaseInfo contextInfo = affinityInfo("pg-affinity-context", PoolAffinity.CONTEXT);
+        long context = timeContexts(contextInfo);
+        assertEquals(CONTEXTS, PoolPartitions.getPartitionsCreated("pg-affinity-context"));
+        int partitionConnections = CONTEXTS * contextInfo.getPoolTuning().getPartitionMaxSize();
+        int sharedConnections = contextInfo.toPoolOptions().getMaxSize();
+        assertEquals(contextInfo.getMaxPoolSize(), partitionConnections + sharedConnections,
+                "The partitions and the unit's shared pool together stay within maxPoolSize");
+        log.info("PostgreSQL {} contexts x {} sequential queries: none {} ms, event loop {} ms, context {} ms",
+                CONTEXTS, QUERIES_PER_CONTEXT, none, eventLoop, context);
+    }
+
+    private PostgresConnectionBaseInfo affinityInfo(String poolName, PoolAffinity affinity) {
+        PostgresConnectionBaseInfo info = new PostgresConnectionBaseInfo();
+        info.setServerName(postgresContainer.getHost());
+        info.setPort(String.valueOf(postgresContainer.getMappedPort(5432)));
+        info.setDatabaseName(POSTGRES_DATABASE);
+        info.setUsername(POSTGRES_USER);
+        info.setPassword(POSTGRES_PASSWORD);
+        // With context affinity one connection stays with the unit's shared pool
+        info.setMaxPoolSize(affinity == PoolAffinity.CONTEXT ? CONTEXTS + 1 : CONTEXTS);
+        info.setPoolName(poolName);
+        info.setPoolTuning(new PoolTuningOptions().setAffinity(affinity).setEventLoopSize(CONTEXTS).setPartitionMaxSize(1));
+        return info;
+    }
+
+    private long timeContexts(PostgresConnectionBaseInfo info) {
+        String poolName = info.getPoolName();
+        PoolAffinity affinity = info.getPoolTuning().getAffinity();
+        Vertx vertx = VertXPreStartup.getVertx();
+        SqlClient shared = affinity == PoolAffinity.CONTEXT ? null : info.toPooledDatasource();
+        ExecutorService threads = Executors.newFixedThreadPool(CONTEXTS);
+        try {
+            // Each thread gets its own sticky context, standing in for one verticle per event loop
+            List<Context> contexts = new ArrayList<>();
+            for (int i = 0; i < CONTEXTS; i++) {
+                contexts.add(CompletableFuture.supplyAsync(vertx::getOrCreateContext, threads).join());
+            }
+            // Warm up the connections, then time the contexts running concurrently
+            runOnContexts(contexts, poolName, info, shared, 20);
+            long started = System.nanoTime();
+            runOnContexts(contexts, poolName, info, shared, QUERIES_PER_CONTEXT);
+            return (System.nanoTime() - started) / 1_000_000;
+        } finally {
+            threads.shutdown();
+            if (shared != null) {
+                shared.close().toCompletionStage().toCompletableFuture().join();
+            }
+            PoolPartitions.closeAll(poolName, null, Duration.ZERO).toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    private static void runOnContexts(List<Context> contexts, String poolName, PostgresConnectionBaseInfo info, SqlClient shared, int queries) {
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+        for (Context context : contexts) {
+            CompletableFuture<Void> finished = new CompletableFuture<>();
+            context.runOnContext(v -> {
+                SqlClient client = shared != null ? shared : PoolPartitions.current(poolName, info);
+                runSequential(client, queries).onComplete(ar -> {
+                    if (ar.succeeded()) {
+                        finished.complete(null);
+                    } else {
+                        finished.completeExceptionally(ar.cause());
+                    }
+                });
+            });
+            done.add(finished);
+        }
+        CompletableFuture.allOf(done.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static Future<Void> runSequential(SqlClient client, int remaining) {
+        if (remaining == 0) {
+            return Future.succeededFuture();
+        }
+        return client.query("SELECT 1").execute().compose(rows -> runSequential(client, remaining - 1));
+    }
 }
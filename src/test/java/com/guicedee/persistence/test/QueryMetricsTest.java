@@ -0,0 +1,139 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.metrics.LatencyHistogram;
+import com.guicedee.persistence.metrics.QueryCatalog;
+import com.guicedee.persistence.metrics.QueryCatalogOptions;
+import com.guicedee.persistence.metrics.QueryMetrics;
+import com.guicedee.persistence.metrics.QueryMetricsOptions;
+import com.guicedee.persistence.metrics.QueryMetricsTracer;
+import com.guicedee.persistence.metrics.QueryStatsSnapshot;
+import com.guicedee.persistence.metrics.SqlShapes;
+import io.vertx.core.Context;
+import io.vertx.core.spi.tracing.SpanKind;
+import io.vertx.core.spi.tracing.TagExtractor;
+import io.vertx.core.spi.tracing.VertxTracer;
+import io.vertx.core.tracing.TracingOptions;
+import io.vertx.core.tracing.TracingPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies SQL shape normalization, the latency histogram and the per-PU report.
+ */
+public class QueryMetricsTest {
+
+    @Test
+    public void testNormalizeLiteralsAndMarkers() {
+        assertEquals("select * from orders where id = ? and name = ?",
+                SqlShapes.normalize("select *   from orders\n where id = 42 and name = 'O''Brien'"));
+        assertEquals("select * from t1 where a = ? and b = ?",
+                SqlShapes.normalize("select * from t1 where a = $1 and b = :name"));
+        assertEquals("select * from t where id in (?...)",
+                SqlShapes.normalize("select * from t where id in (?, ?, ?)"));
+        assertEquals("select col::int from t where x = ?",
+                SqlShapes.normalize("select col::int from t where x = @P1"));
+    }
+
+    @Test
+    public void testCountParameters() {
+        assertEquals(2, SqlShapes.countParameters("select * from t where a = ? and b = ?"));
+        assertEquals(3, SqlShapes.countParameters("select * from t where a = $1 and b = $3 or c = $1"));
+        assertEquals(1, SqlShapes.countParameters("select '?' from t where a = :a and b::int = 1"));
+        assertEquals(1, SqlShapes.countParameters("select * from t where a = $1abc"));
+        assertEquals(2, SqlShapes.countParameters("select $1$ from t where b = $2"));
+        assertEquals(65_535, SqlShapes.countParameters("select * from t where a = $99999999999999999999"));
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(100_000, histogram.getMaxMicros());
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 50_000) <= 50_000 * 0.07, "p50 was " + p50);
+        assertTrue(Math.abs(p99 - 99_000) <= 99_000 * 0.07, "p99 was " + p99);
+    }
+
+    @Test
+    public void testReportAndSlowQueries() {
+        QueryMetrics metrics = new QueryMetrics("test", new QueryMetricsOptions().setSlowQueryThreshold(10).setLogSlowQueries(false));
+        for (int i = 0; i < 5; i++) {
+            metrics.record("select * from a where id = " + i, TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        metrics.record("select * from b where id = ?", TimeUnit.MILLISECONDS.toNanos(50), true);
+
+        List<QueryStatsSnapshot> report = metrics.report(10);
+        assertEquals(2, report.size());
+        assertEquals("select * from b where id = ?", report.get(0).shape(), "Highest total time first");
+        assertEquals(1, report.get(0).errors());
+        assertEquals(5, report.get(1).count(), "Literal variants share one shape");
+
+        assertEquals(1, metrics.getSlowQueries().size());
+        assertEquals(1, metrics.getSlowQueries().get(0).parameterCount());
+    }
+
+    @Test
+    public void testQueryCatalogRecordsAndPersists() throws IOException {
+        Path directory = Files.createTempDirectory("query-catalog");
+        QueryCatalogOptions options = new QueryCatalogOptions().setEnabled(true).setDirectory(directory.toString()).setMaxStatements(3);
+        QueryCatalog catalog = new QueryCatalog("orders/unit", options, 2, () -> null);
+        catalog.record("select * from orders where id = $1");
+        catalog.record("select * from orders where id = $1");
+        catalog.record(" (SELECT id\n  FROM orders\\x) ");
+        catalog.record("BEGIN");
+        catalog.record("create table t (id int)");
+        catalog.record("update orders set state = $1");
+        catalog.record("delete from orders");
+        assertEquals(3, catalog.getStatements().size());
+        assertFalse(catalog.getStatements().contains("BEGIN"));
+
+        catalog.save();
+        assertEquals(directory.resolve("orders_unit.sql"), catalog.getFile());
+        assertEquals(3, Files.readAllLines(catalog.getFile()).size());
+
+        QueryCatalog restarted = new QueryCatalog("orders/unit", options, 2, () -> null);
+        assertEquals(catalog.getStatements(), Set.copyOf(restarted.load()));
+        assertEquals(0, restarted.warmUp().await().indefinitely());
+
+        QueryCatalog disabled = new QueryCatalog("orders/unit", new QueryCatalogOptions(), 2, () -> null);
+        disabled.record("select 1");
+        assertTrue(disabled.getStatements().isEmpty());
+    }
+
+    @Test
+    public void testTracerForwardsToDelegateFactory() {
+        List<String> forwarded = new ArrayList<>();
+        VertxTracer<Object, Object> application = new VertxTracer<>() {
+            @Override
+            public <R> Object sendRequest(Context context, SpanKind kind, TracingPolicy policy, R request, String operation,
+                                          BiConsumer<String, String> headers, TagExtractor<R> tagExtractor) {
+                forwarded.add(operation);
+                return operation;
+            }
+        };
+        QueryMetricsTracer.setDelegateFactory(options -> application);
+        try {
+            VertxTracer<?, ?> tracer = QueryMetricsTracer.factory().tracer(new TracingOptions());
+            assertNotSame(QueryMetricsTracer.INSTANCE, tracer);
+            tracer.sendRequest(null, SpanKind.RPC, TracingPolicy.PROPAGATE, "request", "publish", (name, value) -> {
+            }, null);
+            assertEquals(List.of("publish"), forwarded, "Non-SQL requests reach the application's tracer");
+        } finally {
+            QueryMetricsTracer.setDelegateFactory(null);
+        }
+    }
+}
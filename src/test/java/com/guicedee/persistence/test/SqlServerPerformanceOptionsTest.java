@@ -0,0 +1,76 @@
+package com.guicedee.persistence.test;
+
+import com.guicedee.persistence.annotations.InvalidConnectionInfoException;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerConnectionBaseInfo;
+import com.guicedee.persistence.implementations.sqlserver.SqlServerPerformanceOptions;
+import io.vertx.mssqlclient.MSSQLConnectOptions;
+import io.vertx.sqlclient.PoolOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies how {@link SqlServerPerformanceOptions} map onto the Vert.x SQL Server connect and pool options.
+ */
+public class SqlServerPerformanceOptionsTest {
+
+    @Test
+    public void testDefaultsKeepClientDefaults() {
+        MSSQLConnectOptions options = new SqlServerConnectionBaseInfo().toConnectOptions();
+
+        assertEquals(new MSSQLConnectOptions().getPacketSize(), options.getPacketSize());
+        assertFalse(options.getCachePreparedStatements());
+    }
+
+    @Test
+    public void testLargeResultsProfile() {
+        SqlServerConnectionBaseInfo info = new SqlServerConnectionBaseInfo();
+        info.setPerformance(SqlServerPerformanceOptions.largeResults());
+        MSSQLConnectOptions options = info.toConnectOptions();
+
+        assertEquals(SqlServerPerformanceOptions.MAX_PACKET_SIZE, options.getPacketSize());
+        assertTrue(options.getCachePreparedStatements());
+        assertEquals(64, options.getPreparedStatementCacheMaxSize());
+    }
+
+    @Test
+    public void testOltpProfileSetsWaitQueue() {
+        PoolOptions poolOptions = SqlServerPerformanceOptions.oltp().applyTo(new PoolOptions());
+        assertEquals(1024, poolOptions.getMaxWaitQueueSize());
+    }
+
+    @Test
+    public void testReadFromProperties() {
+        assertNull(SqlServerPerformanceOptions.fromProperties(Map.of("charset", "utf8")));
+
+        SqlServerPerformanceOptions options = SqlServerPerformanceOptions.fromProperties(Map.of(
+                "sqlserver.workload", "large-results",
+                "sqlserver.prepared-statement-cache-max-size", "128",
+                "sqlserver.encrypt", "true"));
+        assertEquals(SqlServerPerformanceOptions.MAX_PACKET_SIZE, options.getPacketSize());
+        assertEquals(128, options.getPreparedStatementCacheMaxSize());
+        assertTrue(options.getEncrypt());
+
+        assertEquals(8192, SqlServerPerformanceOptions.fromProperties(Map.of("packetSize", "8192")).getPacketSize());
+    }
+
+    @Test
+    public void testCustomPropertiesApplyWithoutTypedOptions() {
+        SqlServerConnectionBaseInfo info = new SqlServerConnectionBaseInfo();
+        info.getCustomProperties().put("sqlserver.packet-size", "16384");
+        assertEquals(16384, info.toConnectOptions().getPacketSize());
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(InvalidConnectionInfoException.class, () -> new SqlServerPerformanceOptions()
+                .setPacketSize(100).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> new SqlServerPerformanceOptions()
+                .setPacketSize(65536).validate("test"));
+        assertThrows(InvalidConnectionInfoException.class, () -> SqlServerPerformanceOptions.fromProperties(
+                Map.of("sqlserver.workload", "batch")));
+        assertDoesNotThrow(() -> SqlServerPerformanceOptions.largeResults().validate("test"));
+    }
+}
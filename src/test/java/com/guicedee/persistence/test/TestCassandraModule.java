@@ -2,6 +2,7 @@ package com.guicedee.persistence.test;
 
 import com.guicedee.persistence.implementations.cassandra.CassandraConnectionInfo;
 import com.guicedee.persistence.implementations.cassandra.CassandraModule;
+import com.guicedee.persistence.implementations.cassandra.CassandraScanOptions;
 
 /**
  * Test Guice module that configures a CassandraClient for the Cassandra testcontainer.
@@ -17,6 +18,8 @@ public class TestCassandraModule extends CassandraModule<TestCassandraModule> {
         return new CassandraConnectionInfo()
                 .setName("testCassandra")
                 .addContactPoint(host, port)
+                // No keyspace is set, so the scan checkpoints go to the keyspace the tests create
+                .setScan(new CassandraScanOptions().setCheckpointTable("test_ks.scan_checkpoints"))
                 .setDefaultConnection(true);
     }
 }
@@ -28,6 +28,7 @@ open module guiced.persistence.test {
     requires com.ongres.scram.client;
     requires com.guicedee.vertx;
     requires io.vertx.mongo.client;
+    requires org.mongodb.driver.core;
     requires io.vertx.cassandra.client;
     //requires org.postgresql.jdbc;
 